@@ -11,7 +11,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.Hashtable;
 import java.util.StringTokenizer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -226,108 +225,69 @@ public final class HijrahDate
      */
     private static final String DEFAULT_CONFIG_PATH = "javax" + FILE_SEP + "time" + FILE_SEP + "i18n";
     /**
-     * Holding the adjusted month days in year. The key is a year (Integer) and
-     * the value is the all the month days in year (Integer[]).
+     * Holding the adjusted month days in year, indexed by year.
+     * The value is the 0-based day-of-year at the start of each month.
+     * Years without a deviation share the non-adjusted arrays.
      */
-    private static final Hashtable<Integer, Integer[]> ADJUSTED_MONTH_DAYS = new Hashtable<Integer, Integer[]>();
+    private static final int[][] ADJUSTED_MONTH_DAYS;
     /**
-     * Holding the adjusted month length in year. The key is a year (Integer)
-     * and the value is the all the month length in year (Integer[]).
+     * Holding the adjusted month length in year, indexed by year.
+     * The value is the length of each month.
+     * Years without a deviation share the non-adjusted arrays.
      */
-    private static final Hashtable<Integer, Integer[]> ADJUSTED_MONTH_LENGTHS = new Hashtable<Integer, Integer[]>();
+    private static final int[][] ADJUSTED_MONTH_LENGTHS;
     /**
-     * Holding the adjusted days in the 30 year cycle. The key is a cycle number
-     * (Integer) and the value is the all the starting days of the year in the
-     * cycle (Integer[]).
+     * Holding the adjusted days in the 30 year cycle, indexed by
+     * {@code cycleNumber * 30 + yearInCycle}. The value is the starting day
+     * of the year in the cycle.
      */
-    private static final Hashtable<Integer, Integer[]> ADJUSTED_CYCLE_YEARS = new Hashtable<Integer, Integer[]>();
+    private static final int[] ADJUSTED_CYCLE_YEARS;
     /**
-     * Holding the adjusted cycle in the 1 - 30000 year. The key is the cycle
-     * number (Integer) and the value is the starting days in the cycle in the
-     * term.
+     * Holding the adjusted cycle in the 1 - 30000 year, indexed by the cycle
+     * number. The value is the starting day of the cycle.
      */
-    private static final Long[] ADJUSTED_CYCLES;
+    private static final int[] ADJUSTED_CYCLES;
     /**
      * Holding the adjusted min values.
      */
-    private static final Integer[] ADJUSTED_MIN_VALUES;
+    private static final int[] ADJUSTED_MIN_VALUES;
     /**
      * Holding the adjusted max least max values.
      */
-    private static final Integer[] ADJUSTED_LEAST_MAX_VALUES;
+    private static final int[] ADJUSTED_LEAST_MAX_VALUES;
     /**
      * Holding adjusted max values.
      */
-    private static final Integer[] ADJUSTED_MAX_VALUES;
-    /**
-     * Holding the non-adjusted month days in year for non leap year.
-     */
-    private static final Integer[] DEFAULT_MONTH_DAYS;
-    /**
-     * Holding the non-adjusted month days in year for leap year.
-     */
-    private static final Integer[] DEFAULT_LEAP_MONTH_DAYS;
-    /**
-     * Holding the non-adjusted month length for non leap year.
-     */
-    private static final Integer[] DEFAULT_MONTH_LENGTHS;
-    /**
-     * Holding the non-adjusted month length for leap year.
-     */
-    private static final Integer[] DEFAULT_LEAP_MONTH_LENGTHS;
-    /**
-     * Holding the non-adjusted 30 year cycle starting day.
-     */
-    private static final Integer[] DEFAULT_CYCLE_YEARS;
+    private static final int[] ADJUSTED_MAX_VALUES;
     /**
      * number of 30-year cycles to hold the deviation data.
      */
     private static final int MAX_ADJUSTED_CYCLE = 334; // to support year 9999
 
-    static { // Initialize the static integer array;
-
-        DEFAULT_MONTH_DAYS = new Integer[NUM_DAYS.length];
-        for (int i = 0; i < NUM_DAYS.length; i++) {
-            DEFAULT_MONTH_DAYS[i] = new Integer(NUM_DAYS[i]);
-        }
-
-        DEFAULT_LEAP_MONTH_DAYS = new Integer[LEAP_NUM_DAYS.length];
-        for (int i = 0; i < LEAP_NUM_DAYS.length; i++) {
-            DEFAULT_LEAP_MONTH_DAYS[i] = new Integer(LEAP_NUM_DAYS[i]);
-        }
-
-        DEFAULT_MONTH_LENGTHS = new Integer[MONTH_LENGTH.length];
-        for (int i = 0; i < MONTH_LENGTH.length; i++) {
-            DEFAULT_MONTH_LENGTHS[i] = new Integer(MONTH_LENGTH[i]);
-        }
-
-        DEFAULT_LEAP_MONTH_LENGTHS = new Integer[LEAP_MONTH_LENGTH.length];
-        for (int i = 0; i < LEAP_MONTH_LENGTH.length; i++) {
-            DEFAULT_LEAP_MONTH_LENGTHS[i] = new Integer(LEAP_MONTH_LENGTH[i]);
-        }
+    static { // Initialize the tables, which are never changed once the deviation config is read
 
-        DEFAULT_CYCLE_YEARS = new Integer[CYCLEYEAR_START_DATE.length];
-        for (int i = 0; i < CYCLEYEAR_START_DATE.length; i++) {
-            DEFAULT_CYCLE_YEARS[i] = new Integer(CYCLEYEAR_START_DATE[i]);
+        ADJUSTED_MONTH_DAYS = new int[MAX_YEAR_OF_ERA + 1][];
+        ADJUSTED_MONTH_LENGTHS = new int[MAX_YEAR_OF_ERA + 1][];
+        for (int year = 1; year <= MAX_YEAR_OF_ERA; year++) {
+            if (isLeapYear(year)) {
+                ADJUSTED_MONTH_DAYS[year] = LEAP_NUM_DAYS;
+                ADJUSTED_MONTH_LENGTHS[year] = LEAP_MONTH_LENGTH;
+            } else {
+                ADJUSTED_MONTH_DAYS[year] = NUM_DAYS;
+                ADJUSTED_MONTH_LENGTHS[year] = MONTH_LENGTH;
+            }
         }
 
-        ADJUSTED_CYCLES = new Long[MAX_ADJUSTED_CYCLE];
+        ADJUSTED_CYCLES = new int[MAX_ADJUSTED_CYCLE];
+        ADJUSTED_CYCLE_YEARS = new int[MAX_ADJUSTED_CYCLE * 30];
         for (int i = 0; i < ADJUSTED_CYCLES.length; i++) {
-            ADJUSTED_CYCLES[i] = new Long(10631 * i);
+            ADJUSTED_CYCLES[i] = 10631 * i;
+            System.arraycopy(CYCLEYEAR_START_DATE, 0, ADJUSTED_CYCLE_YEARS, i * 30, 30);
         }
         // Initialize min values, least max values and max values.
-        ADJUSTED_MIN_VALUES = new Integer[MIN_VALUES.length];
-        for (int i = 0; i < MIN_VALUES.length; i++) {
-            ADJUSTED_MIN_VALUES[i] = new Integer(MIN_VALUES[i]);
-        }
-        ADJUSTED_LEAST_MAX_VALUES = new Integer[LEAST_MAX_VALUES.length];
-        for (int i = 0; i < LEAST_MAX_VALUES.length; i++) {
-            ADJUSTED_LEAST_MAX_VALUES[i] = new Integer(LEAST_MAX_VALUES[i]);
-        }
-        ADJUSTED_MAX_VALUES = new Integer[MAX_VALUES.length];
-        for (int i = 0; i < MAX_VALUES.length; i++) {
-            ADJUSTED_MAX_VALUES[i] = new Integer(MAX_VALUES[i]);
-        }
+        ADJUSTED_MIN_VALUES = MIN_VALUES.clone();
+        ADJUSTED_LEAST_MAX_VALUES = LEAST_MAX_VALUES.clone();
+        ADJUSTED_MAX_VALUES = MAX_VALUES.clone();
         try {
             readDeviationConfig();
         } catch (IOException e) {
@@ -1025,46 +985,40 @@ public final class HijrahDate
         int cycleNumber = (year - 1) / 30; // 0-based.
         int yearInCycle = (year - 1) % 30; // 0-based.
 
-        int dayInCycle = getAdjustedCycle(cycleNumber)[Math.abs(yearInCycle)]
-                .intValue();
+        int dayInCycle = getCycleYearStartDay(cycleNumber, Math.abs(yearInCycle));
 
         if (yearInCycle < 0) {
             dayInCycle = -dayInCycle;
         }
 
-        Long cycleDays;
-
-        try {
-            cycleDays = ADJUSTED_CYCLES[cycleNumber];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            cycleDays = null;
-        }
+        long cycleDays = getCycleStartDay(cycleNumber);
 
-        if (cycleDays == null) {
-            cycleDays = new Long(cycleNumber * 10631);
-        }
-
-        return (cycleDays.longValue() + dayInCycle + HIJRAH_JAN_1_1_GREGORIAN_DAY - 1);
+        return (cycleDays + dayInCycle + HIJRAH_JAN_1_1_GREGORIAN_DAY - 1);
     }
 
     /**
      * Returns the 30 year cycle number from the epoch day.
+     * <p>
+     * The adjusted cycles only differ from the unadjusted ones by a few days,
+     * thus the cycle is estimated and then corrected rather than searched.
      *
      * @param epochDay  an epoch day
      * @return a cycle number
      */
     private static int getCycleNumber(long epochDay) {
-        Long[] days = ADJUSTED_CYCLES;
-        int cycleNumber;
-        try {
-            for (int i = 0; i < days.length; i++) {
-                if (epochDay < days[i].longValue()) {
-                    return i - 1;
-                }
-            }
-            cycleNumber = (int) epochDay / 10631;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            cycleNumber = (int) epochDay / 10631;
+        int[] days = ADJUSTED_CYCLES;
+        if (epochDay < days[0]) {
+            return -1;
+        }
+        if (epochDay >= days[days.length - 1]) {
+            return (int) epochDay / 10631;
+        }
+        int cycleNumber = (int) Math.min(epochDay / 10631, days.length - 2);
+        while (epochDay < days[cycleNumber]) {
+            cycleNumber--;
+        }
+        while (epochDay >= days[cycleNumber + 1]) {
+            cycleNumber++;
         }
         return cycleNumber;
     }
@@ -1077,17 +1031,20 @@ public final class HijrahDate
      * @return a day of cycle
      */
     private static int getDayOfCycle(long epochDay, int cycleNumber) {
-        Long day;
+        return (int) (epochDay - getCycleStartDay(cycleNumber));
+    }
 
-        try {
-            day = ADJUSTED_CYCLES[cycleNumber];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            day = null;
-        }
-        if (day == null) {
-            day = new Long(cycleNumber * 10631);
+    /**
+     * Returns the adjusted starting day of the cycle from the cycle number specified.
+     *
+     * @param cycleNumber  a cycle number
+     * @return the starting day of the cycle
+     */
+    private static int getCycleStartDay(int cycleNumber) {
+        if (cycleNumber >= 0 && cycleNumber < MAX_ADJUSTED_CYCLE) {
+            return ADJUSTED_CYCLES[cycleNumber];
         }
-        return (int) (epochDay - day.longValue());
+        return cycleNumber * 10631;
     }
 
     /**
@@ -1098,22 +1055,27 @@ public final class HijrahDate
      * @return a year in cycle
      */
     private static int getYearInCycle(int cycleNumber, long dayOfCycle) {
-        Integer[] cycles = getAdjustedCycle(cycleNumber);
         if (dayOfCycle == 0) {
             return 0;
         }
+        int[] cycles = CYCLEYEAR_START_DATE;
+        int base = 0;
+        if (cycleNumber >= 0 && cycleNumber < MAX_ADJUSTED_CYCLE) {
+            cycles = ADJUSTED_CYCLE_YEARS;
+            base = cycleNumber * 30;
+        }
 
         if (dayOfCycle > 0) {
-            for (int i = 0; i < cycles.length; i++) {
-                if (dayOfCycle < cycles[i].intValue()) {
+            for (int i = 0; i < 30; i++) {
+                if (dayOfCycle < cycles[base + i]) {
                     return i - 1;
                 }
             }
             return 29;
         } else {
             dayOfCycle = -dayOfCycle;
-            for (int i = 0; i < cycles.length; i++) {
-                if (dayOfCycle <= cycles[i].intValue()) {
+            for (int i = 0; i < 30; i++) {
+                if (dayOfCycle <= cycles[base + i]) {
                     return i - 1;
                 }
             }
@@ -1122,69 +1084,44 @@ public final class HijrahDate
     }
 
     /**
-     * Returns adjusted 30 year cycle startind day as Integer array from the
+     * Returns adjusted starting day of the year in the 30 year cycle from the
      * cycle number specified.
      *
      * @param cycleNumber  a cycle number
-     * @return an Integer array
+     * @param yearInCycle  year in cycle, from 0 to 29
+     * @return the starting day of the year in the cycle
      */
-    private static Integer[] getAdjustedCycle(int cycleNumber) {
-        Integer[] cycles;
-        try {
-            cycles = ADJUSTED_CYCLE_YEARS.get(new Integer(cycleNumber));
-        } catch (ArrayIndexOutOfBoundsException e) {
-            cycles = null;
-        }
-        if (cycles == null) {
-            cycles = DEFAULT_CYCLE_YEARS;
+    private static int getCycleYearStartDay(int cycleNumber, int yearInCycle) {
+        if (cycleNumber >= 0 && cycleNumber < MAX_ADJUSTED_CYCLE) {
+            return ADJUSTED_CYCLE_YEARS[cycleNumber * 30 + yearInCycle];
         }
-        return cycles;
+        return CYCLEYEAR_START_DATE[yearInCycle];
     }
 
     /**
-     * Returns adjusted month days as Integer array form the year specified.
+     * Returns adjusted month days as int array form the year specified.
      *
      * @param year  a year
-     * @return an Integer array
+     * @return an int array, not to be altered
      */
-    private static Integer[] getAdjustedMonthDays(int year) {
-        Integer[] newMonths;
-        try {
-            newMonths = ADJUSTED_MONTH_DAYS.get(new Integer(year));
-        } catch (ArrayIndexOutOfBoundsException e) {
-            newMonths = null;
-        }
-        if (newMonths == null) {
-            if (isLeapYear(year)) {
-                newMonths = DEFAULT_LEAP_MONTH_DAYS;
-            } else {
-                newMonths = DEFAULT_MONTH_DAYS;
-            }
+    private static int[] getAdjustedMonthDays(int year) {
+        if (year >= MIN_YEAR_OF_ERA && year <= MAX_YEAR_OF_ERA) {
+            return ADJUSTED_MONTH_DAYS[year];
         }
-        return newMonths;
+        return isLeapYear(year) ? LEAP_NUM_DAYS : NUM_DAYS;
     }
 
     /**
-     * Returns adjusted month length as Integer array form the year specified.
+     * Returns adjusted month length as int array form the year specified.
      *
      * @param year  a year
-     * @return an Integer array
+     * @return an int array, not to be altered
      */
-    private static Integer[] getAdjustedMonthLength(int year) {
-        Integer[] newMonths;
-        try {
-            newMonths = ADJUSTED_MONTH_LENGTHS.get(new Integer(year));
-        } catch (ArrayIndexOutOfBoundsException e) {
-            newMonths = null;
+    private static int[] getAdjustedMonthLength(int year) {
+        if (year >= MIN_YEAR_OF_ERA && year <= MAX_YEAR_OF_ERA) {
+            return ADJUSTED_MONTH_LENGTHS[year];
         }
-        if (newMonths == null) {
-            if (isLeapYear(year)) {
-                newMonths = DEFAULT_LEAP_MONTH_LENGTHS;
-            } else {
-                newMonths = DEFAULT_MONTH_LENGTHS;
-            }
-        }
-        return newMonths;
+        return isLeapYear(year) ? LEAP_MONTH_LENGTH : MONTH_LENGTH;
     }
 
     /**
@@ -1196,12 +1133,12 @@ public final class HijrahDate
      * @return day-of-year
      */
     private static int getDayOfYear(int cycleNumber, int dayOfCycle, int yearInCycle) {
-        Integer[] cycles = getAdjustedCycle(cycleNumber);
+        int yearStart = getCycleYearStartDay(cycleNumber, yearInCycle);
 
         if (dayOfCycle > 0) {
-            return dayOfCycle - cycles[yearInCycle].intValue();
+            return dayOfCycle - yearStart;
         } else {
-            return cycles[yearInCycle].intValue() + dayOfCycle;
+            return yearStart + dayOfCycle;
         }
     }
 
@@ -1214,11 +1151,11 @@ public final class HijrahDate
      */
     private static int getMonthOfYear(int dayOfYear, int year) {
 
-        Integer[] newMonths = getAdjustedMonthDays(year);
+        int[] newMonths = getAdjustedMonthDays(year);
 
         if (dayOfYear >= 0) {
             for (int i = 0; i < newMonths.length; i++) {
-                if (dayOfYear < newMonths[i].intValue()) {
+                if (dayOfYear < newMonths[i]) {
                     return i - 1;
                 }
             }
@@ -1227,7 +1164,7 @@ public final class HijrahDate
             dayOfYear = (isLeapYear(year) ? (dayOfYear + 355)
                     : (dayOfYear + 354));
             for (int i = 0; i < newMonths.length; i++) {
-                if (dayOfYear < newMonths[i].intValue()) {
+                if (dayOfYear < newMonths[i]) {
                     return i - 1;
                 }
             }
@@ -1245,11 +1182,11 @@ public final class HijrahDate
      */
     private static int getDayOfMonth(int dayOfYear, int month, int year) {
 
-        Integer[] newMonths = getAdjustedMonthDays(year);
+        int[] newMonths = getAdjustedMonthDays(year);
 
         if (dayOfYear >= 0) {
             if (month > 0) {
-                return dayOfYear - newMonths[month].intValue();
+                return dayOfYear - newMonths[month];
             } else {
                 return dayOfYear;
             }
@@ -1257,7 +1194,7 @@ public final class HijrahDate
             dayOfYear = (isLeapYear(year) ? (dayOfYear + 355)
                     : (dayOfYear + 354));
             if (month > 0) {
-                return dayOfYear - newMonths[month].intValue();
+                return dayOfYear - newMonths[month];
             } else {
                 return dayOfYear;
             }
@@ -1282,8 +1219,7 @@ public final class HijrahDate
      * @return month days from the beginning of year
      */
     private static int getMonthDays(int month, int year) {
-        Integer[] newMonths = getAdjustedMonthDays(year);
-        return newMonths[month].intValue();
+        return getAdjustedMonthDays(year)[month];
     }
     
     /**
@@ -1294,34 +1230,31 @@ public final class HijrahDate
      * @return month length
      */
     static int getMonthLength(int month, int year) {
-      Integer[] newMonths = getAdjustedMonthLength(year);
-      return newMonths[month].intValue();
+      return getAdjustedMonthLength(year)[month];
     }
     
     /**
      * Returns year length.
+     * <p>
+     * Within the supported years the cycle tables are used, which hold the
+     * unadjusted lengths where there is no deviation.
      *
      * @param year  year
      * @return year length
      */
     static int getYearLength(int year) {
 
-        int cycleNumber = (year - 1) / 30;
-        Integer[] cycleYears;
-        try {
-            cycleYears = ADJUSTED_CYCLE_YEARS.get(cycleNumber);
-        } catch (ArrayIndexOutOfBoundsException e) {
-            cycleYears = null;
-        }
-        if (cycleYears != null) {
+        if (year >= MIN_YEAR_OF_ERA && year <= MAX_YEAR_OF_ERA) {
+            int cycleNumber = (year - 1) / 30;
             int yearInCycle = (year - 1) % 30;
+            int yearStart = ADJUSTED_CYCLE_YEARS[cycleNumber * 30 + yearInCycle];
             if (yearInCycle == 29) {
-                return ADJUSTED_CYCLES[cycleNumber + 1].intValue()
-                        - ADJUSTED_CYCLES[cycleNumber].intValue()
-                        - cycleYears[yearInCycle].intValue();
+                return ADJUSTED_CYCLES[cycleNumber + 1]
+                        - ADJUSTED_CYCLES[cycleNumber]
+                        - yearStart;
             }
-            return cycleYears[yearInCycle + 1].intValue()
-                    - cycleYears[yearInCycle].intValue();
+            return ADJUSTED_CYCLE_YEARS[cycleNumber * 30 + yearInCycle + 1]
+                    - yearStart;
         } else {
             return isLeapYear(year) ? 355 : 354;
         }
@@ -1407,216 +1340,68 @@ public final class HijrahDate
                     "startYear == endYear && endMonth < startMonth");
         }
 
-        // Adjusting start year.
-        boolean isStartYLeap = isLeapYear(startYear);
-
-        // Adjusting the number of month.
-        Integer[] orgStartMonthNums = ADJUSTED_MONTH_DAYS.get(new Integer(
-                startYear));
-        if (orgStartMonthNums == null) {
-            if (isStartYLeap) {
-                orgStartMonthNums = new Integer[LEAP_NUM_DAYS.length];
-                for (int l = 0; l < LEAP_NUM_DAYS.length; l++) {
-                    orgStartMonthNums[l] = new Integer(LEAP_NUM_DAYS[l]);
-                }
-            } else {
-                orgStartMonthNums = new Integer[NUM_DAYS.length];
-                for (int l = 0; l < NUM_DAYS.length; l++) {
-                    orgStartMonthNums[l] = new Integer(NUM_DAYS[l]);
-                }
-            }
+        // Adjusting start year, copying the arrays as they may be shared.
+        int[] startMonthDays = ADJUSTED_MONTH_DAYS[startYear].clone();
+        for (int month = startMonth + 1; month < 12; month++) {
+            startMonthDays[month] -= offset;
         }
+        ADJUSTED_MONTH_DAYS[startYear] = startMonthDays;
 
-        Integer[] newStartMonthNums = new Integer[orgStartMonthNums.length];
-
-        for (int month = 0; month < 12; month++) {
-            if (month > startMonth) {
-                newStartMonthNums[month] = new Integer(orgStartMonthNums[month]
-                        .intValue()
-                        - offset);
-            } else {
-                newStartMonthNums[month] = new Integer(orgStartMonthNums[month]
-                        .intValue());
-            }
-        }
-
-        ADJUSTED_MONTH_DAYS.put(new Integer(startYear), newStartMonthNums);
-
-        // Adjusting the days of month.
-
-        Integer[] orgStartMonthLengths = ADJUSTED_MONTH_LENGTHS.get(new Integer(
-                startYear));
-        if (orgStartMonthLengths == null) {
-            if (isStartYLeap) {
-                orgStartMonthLengths = new Integer[LEAP_MONTH_LENGTH.length];
-                for (int l = 0; l < LEAP_MONTH_LENGTH.length; l++) {
-                    orgStartMonthLengths[l] = new Integer(LEAP_MONTH_LENGTH[l]);
-                }
-            } else {
-                orgStartMonthLengths = new Integer[MONTH_LENGTH.length];
-                for (int l = 0; l < MONTH_LENGTH.length; l++) {
-                    orgStartMonthLengths[l] = new Integer(MONTH_LENGTH[l]);
-                }
-            }
-        }
-
-        Integer[] newStartMonthLengths = new Integer[orgStartMonthLengths.length];
-
-        for (int month = 0; month < 12; month++) {
-            if (month == startMonth) {
-                newStartMonthLengths[month] = new Integer(
-                        orgStartMonthLengths[month].intValue() - offset);
-            } else {
-                newStartMonthLengths[month] = new Integer(
-                        orgStartMonthLengths[month].intValue());
-            }
-        }
-
-        ADJUSTED_MONTH_LENGTHS.put(new Integer(startYear), newStartMonthLengths);
+        int[] startMonthLengths = ADJUSTED_MONTH_LENGTHS[startYear].clone();
+        startMonthLengths[startMonth] -= offset;
+        ADJUSTED_MONTH_LENGTHS[startYear] = startMonthLengths;
 
         if (startYear != endYear) {
-            // System.out.println("over year");
             // Adjusting starting 30 year cycle.
             int sCycleNumber = (startYear - 1) / 30;
             int sYearInCycle = (startYear - 1) % 30; // 0-based.
-            Integer[] startCycles = ADJUSTED_CYCLE_YEARS.get(new Integer(
-                    sCycleNumber));
-            if (startCycles == null) {
-                startCycles = new Integer[CYCLEYEAR_START_DATE.length];
-                for (int j = 0; j < startCycles.length; j++) {
-                    startCycles[j] = new Integer(CYCLEYEAR_START_DATE[j]);
-                }
-            }
-
-            for (int j = sYearInCycle + 1; j < CYCLEYEAR_START_DATE.length; j++) {
-                startCycles[j] = new Integer(startCycles[j].intValue() - offset);
+            for (int j = sYearInCycle + 1; j < 30; j++) {
+                ADJUSTED_CYCLE_YEARS[sCycleNumber * 30 + j] -= offset;
             }
 
-            // System.out.println(sCycleNumber + ":" + sYearInCycle);
-            ADJUSTED_CYCLE_YEARS.put(new Integer(sCycleNumber), startCycles);
-
-            int sYearInMaxY = (startYear - 1) / 30;
-            int sEndInMaxY = (endYear - 1) / 30;
+            int eCycleNumber = (endYear - 1) / 30;
+            int sEndInCycle = (endYear - 1) % 30; // 0-based.
 
-            if (sYearInMaxY != sEndInMaxY) {
-                // System.out.println("over 30");
+            if (sCycleNumber != eCycleNumber) {
                 // Adjusting starting 30 * MAX_ADJUSTED_CYCLE year cycle.
-                // System.out.println(sYearInMaxY);
-
-                for (int j = sYearInMaxY + 1; j < ADJUSTED_CYCLES.length; j++) {
-                    ADJUSTED_CYCLES[j] = new Long(ADJUSTED_CYCLES[j].longValue()
-                            - offset);
+                for (int j = sCycleNumber + 1; j < ADJUSTED_CYCLES.length; j++) {
+                    ADJUSTED_CYCLES[j] -= offset;
                 }
 
                 // Adjusting ending 30 * MAX_ADJUSTED_CYCLE year cycles.
-                for (int j = sEndInMaxY + 1; j < ADJUSTED_CYCLES.length; j++) {
-                    ADJUSTED_CYCLES[j] = new Long(ADJUSTED_CYCLES[j].longValue()
-                            + offset);
+                for (int j = eCycleNumber + 1; j < ADJUSTED_CYCLES.length; j++) {
+                    ADJUSTED_CYCLES[j] += offset;
                 }
             }
 
             // Adjusting ending 30 year cycle.
-            int eCycleNumber = (endYear - 1) / 30;
-            int sEndInCycle = (endYear - 1) % 30; // 0-based.
-            Integer[] endCycles = ADJUSTED_CYCLE_YEARS.get(new Integer(
-                    eCycleNumber));
-            if (endCycles == null) {
-                endCycles = new Integer[CYCLEYEAR_START_DATE.length];
-                for (int j = 0; j < endCycles.length; j++) {
-                    endCycles[j] = new Integer(CYCLEYEAR_START_DATE[j]);
-                }
+            for (int j = sEndInCycle + 1; j < 30; j++) {
+                ADJUSTED_CYCLE_YEARS[eCycleNumber * 30 + j] += offset;
             }
-            for (int j = sEndInCycle + 1; j < CYCLEYEAR_START_DATE.length; j++) {
-                endCycles[j] = new Integer(endCycles[j].intValue() + offset);
-            }
-            ADJUSTED_CYCLE_YEARS.put(new Integer(eCycleNumber), endCycles);
         }
 
         // Adjusting ending year.
-        boolean isEndYLeap = isLeapYear(endYear);
-
-        Integer[] orgEndMonthDays = ADJUSTED_MONTH_DAYS.get(new Integer(endYear));
-
-        if (orgEndMonthDays == null) {
-            if (isEndYLeap) {
-                orgEndMonthDays = new Integer[LEAP_NUM_DAYS.length];
-                for (int l = 0; l < LEAP_NUM_DAYS.length; l++) {
-                    orgEndMonthDays[l] = new Integer(LEAP_NUM_DAYS[l]);
-                }
-            } else {
-                orgEndMonthDays = new Integer[NUM_DAYS.length];
-                for (int l = 0; l < NUM_DAYS.length; l++) {
-                    orgEndMonthDays[l] = new Integer(NUM_DAYS[l]);
-                }
-            }
-        }
-
-        Integer[] newEndMonthDays = new Integer[orgEndMonthDays.length];
-
-        for (int month = 0; month < 12; month++) {
-            if (month > endMonth) {
-                newEndMonthDays[month] = new Integer(orgEndMonthDays[month]
-                        .intValue()
-                        + offset);
-            } else {
-                newEndMonthDays[month] = new Integer(orgEndMonthDays[month]
-                        .intValue());
-            }
-        }
-
-        ADJUSTED_MONTH_DAYS.put(new Integer(endYear), newEndMonthDays);
-
-        // Adjusting the days of month.
-        Integer[] orgEndMonthLengths = ADJUSTED_MONTH_LENGTHS.get(new Integer(
-                endYear));
-
-        if (orgEndMonthLengths == null) {
-            if (isEndYLeap) {
-                orgEndMonthLengths = new Integer[LEAP_MONTH_LENGTH.length];
-                for (int l = 0; l < LEAP_MONTH_LENGTH.length; l++) {
-                    orgEndMonthLengths[l] = new Integer(LEAP_MONTH_LENGTH[l]);
-                }
-            } else {
-                orgEndMonthLengths = new Integer[MONTH_LENGTH.length];
-                for (int l = 0; l < MONTH_LENGTH.length; l++) {
-                    orgEndMonthLengths[l] = new Integer(MONTH_LENGTH[l]);
-                }
-            }
-        }
-
-        Integer[] newEndMonthLengths = new Integer[orgEndMonthLengths.length];
-
-        for (int month = 0; month < 12; month++) {
-            if (month == endMonth) {
-                newEndMonthLengths[month] = new Integer(
-                        orgEndMonthLengths[month].intValue() + offset);
-            } else {
-                newEndMonthLengths[month] = new Integer(
-                        orgEndMonthLengths[month].intValue());
-            }
+        int[] endMonthDays = ADJUSTED_MONTH_DAYS[endYear].clone();
+        for (int month = endMonth + 1; month < 12; month++) {
+            endMonthDays[month] += offset;
         }
+        ADJUSTED_MONTH_DAYS[endYear] = endMonthDays;
 
-        ADJUSTED_MONTH_LENGTHS.put(new Integer(endYear), newEndMonthLengths);
+        int[] endMonthLengths = ADJUSTED_MONTH_LENGTHS[endYear].clone();
+        endMonthLengths[endMonth] += offset;
+        ADJUSTED_MONTH_LENGTHS[endYear] = endMonthLengths;
 
-        Integer[] startMonthLengths = ADJUSTED_MONTH_LENGTHS.get(new Integer(
-                startYear));
-        Integer[] endMonthLengths = ADJUSTED_MONTH_LENGTHS.get(new Integer(
-                endYear));
-        Integer[] startMonthDays = ADJUSTED_MONTH_DAYS
-                .get(new Integer(startYear));
-        Integer[] endMonthDays = ADJUSTED_MONTH_DAYS.get(new Integer(endYear));
+        // Refetch the start year, as it is the same arrays if the years match.
+        startMonthDays = ADJUSTED_MONTH_DAYS[startYear];
+        startMonthLengths = ADJUSTED_MONTH_LENGTHS[startYear];
 
-        int startMonthLength = startMonthLengths[startMonth].intValue();
-        int endMonthLength = endMonthLengths[endMonth].intValue();
-        int startMonthDay = startMonthDays[11].intValue()
-                + startMonthLengths[11].intValue();
-        int endMonthDay = endMonthDays[11].intValue()
-                + endMonthLengths[11].intValue();
+        int startMonthLength = startMonthLengths[startMonth];
+        int endMonthLength = endMonthLengths[endMonth];
+        int startMonthDay = startMonthDays[11] + startMonthLengths[11];
+        int endMonthDay = endMonthDays[11] + endMonthLengths[11];
 
-        int maxMonthLength = ADJUSTED_MAX_VALUES[POSITION_DAY_OF_MONTH]
-                .intValue();
-        int leastMaxMonthLength = ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_MONTH]
-                .intValue();
+        int maxMonthLength = ADJUSTED_MAX_VALUES[POSITION_DAY_OF_MONTH];
+        int leastMaxMonthLength = ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_MONTH];
 
         if (maxMonthLength < startMonthLength) {
             maxMonthLength = startMonthLength;
@@ -1624,7 +1409,7 @@ public final class HijrahDate
         if (maxMonthLength < endMonthLength) {
             maxMonthLength = endMonthLength;
         }
-        ADJUSTED_MAX_VALUES[POSITION_DAY_OF_MONTH] = new Integer(maxMonthLength);
+        ADJUSTED_MAX_VALUES[POSITION_DAY_OF_MONTH] = maxMonthLength;
 
         if (leastMaxMonthLength > startMonthLength) {
             leastMaxMonthLength = startMonthLength;
@@ -1632,12 +1417,10 @@ public final class HijrahDate
         if (leastMaxMonthLength > endMonthLength) {
             leastMaxMonthLength = endMonthLength;
         }
-        ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_MONTH] = new Integer(
-                leastMaxMonthLength);
+        ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_MONTH] = leastMaxMonthLength;
 
-        int maxMonthDay = ADJUSTED_MAX_VALUES[POSITION_DAY_OF_YEAR].intValue();
-        int leastMaxMonthDay = ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_YEAR]
-                .intValue();
+        int maxMonthDay = ADJUSTED_MAX_VALUES[POSITION_DAY_OF_YEAR];
+        int leastMaxMonthDay = ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_YEAR];
 
         if (maxMonthDay < startMonthDay) {
             maxMonthDay = startMonthDay;
@@ -1646,7 +1429,7 @@ public final class HijrahDate
             maxMonthDay = endMonthDay;
         }
 
-        ADJUSTED_MAX_VALUES[POSITION_DAY_OF_YEAR] = new Integer(maxMonthDay);
+        ADJUSTED_MAX_VALUES[POSITION_DAY_OF_YEAR] = maxMonthDay;
 
         if (leastMaxMonthDay > startMonthDay) {
             leastMaxMonthDay = startMonthDay;
@@ -1654,8 +1437,7 @@ public final class HijrahDate
         if (leastMaxMonthDay > endMonthDay) {
             leastMaxMonthDay = endMonthDay;
         }
-        ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_YEAR] = new Integer(
-                leastMaxMonthDay);
+        ADJUSTED_LEAST_MAX_VALUES[POSITION_DAY_OF_YEAR] = leastMaxMonthDay;
     }
 
     /**
@@ -636,6 +636,35 @@ public class TestHijrahDate {
         assertEquals(b.hashCode(), b.hashCode());
     }
     
+    //-----------------------------------------------------------------------
+    // conversion to and from LocalDate
+    //-----------------------------------------------------------------------
+    @Test
+    public void testLocalDateRoundTrip() throws Exception {
+        LocalDate start = HijrahDate.of(1, 1, 1).toLocalDate();
+        LocalDate end = HijrahDate.of(HijrahDate.MAX_YEAR_OF_ERA, 12, 1).toLocalDate();
+        for (long epochDay = start.toEpochDay(); epochDay <= end.toEpochDay(); epochDay += 37) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            HijrahDate test = HijrahDate.of(date);
+            assertEquals(test.toLocalDate(), date);
+            assertEquals(HijrahDate.of(test.getYearOfEra(), test.getMonthOfYear(), test.getDayOfMonth()), test);
+        }
+    }
+
+    @Test
+    public void testYearLengthMatchesMonthLengths() throws Exception {
+        for (int year = 1; year < HijrahDate.MAX_YEAR_OF_ERA; year++) {
+            int total = 0;
+            for (int month = 0; month < 12; month++) {
+                total += HijrahDate.getMonthLength(month, year);
+            }
+            assertEquals(HijrahDate.getYearLength(year), total);
+            long thisYear = HijrahDate.of(year, 1, 1).toLocalDate().toEpochDay();
+            long nextYear = HijrahDate.of(year + 1, 1, 1).toLocalDate().toEpochDay();
+            assertEquals(nextYear - thisYear, total);
+        }
+    }
+
     //-----------------------------------------------------------------------
     // toString()
     //-----------------------------------------------------------------------
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark {@code Duration} arithmetic against the {@code BigInteger} algorithm.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DurationBenchmark {
+
+    /** Constant for nanos per second. */
+    private static final BigInteger BI_NANOS_PER_SECOND = BigInteger.valueOf(1000000000L);
+
+    /** The duration. */
+    private Duration duration;
+    /** The scalar. */
+    private long scalar;
+
+    /**
+     * Sets up the inputs.
+     */
+    @Setup
+    public void setUp() {
+        duration = Duration.ofSeconds(3723, 456789012);
+        scalar = 37;
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public Duration multipliedBy() {
+        return duration.multipliedBy(scalar);
+    }
+
+    @Benchmark
+    public Duration multipliedBy_bigInteger() {
+        BigInteger nanos = duration.toNanos().multiply(BigInteger.valueOf(scalar));
+        BigInteger[] divRem = nanos.divideAndRemainder(BI_NANOS_PER_SECOND);
+        return Duration.ofSeconds(divRem[0].longValue(), divRem[1].intValue());
+    }
+
+    @Benchmark
+    public Duration dividedBy() {
+        return duration.dividedBy(scalar);
+    }
+
+    @Benchmark
+    public Duration dividedBy_bigInteger() {
+        BigInteger nanos = duration.toNanos().divide(BigInteger.valueOf(scalar));
+        BigInteger[] divRem = nanos.divideAndRemainder(BI_NANOS_PER_SECOND);
+        return Duration.ofSeconds(divRem[0].longValue(), divRem[1].intValue());
+    }
+
+    @Benchmark
+    public Duration negated() {
+        return duration.negated();
+    }
+
+    @Benchmark
+    public Duration negated_bigInteger() {
+        BigInteger nanos = duration.toNanos().negate();
+        BigInteger[] divRem = nanos.divideAndRemainder(BI_NANOS_PER_SECOND);
+        return Duration.ofSeconds(divRem[0].longValue(), divRem[1].intValue());
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark conversions between the UTC-SLS and TAI time-scales.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UTCRulesBenchmark {
+
+    /** The number of seconds to convert. */
+    private static final int SIZE = 1000;
+
+    /** The rules. */
+    private UTCRules rules;
+    /** The recent epoch-seconds. */
+    private long[] epochSeconds;
+    /** The recent TAI seconds. */
+    private long[] taiSeconds;
+    /** The output. */
+    private long[] output;
+
+    /**
+     * Sets up the inputs.
+     */
+    @Setup
+    public void setUp() {
+        rules = UTCRules.system();
+        epochSeconds = new long[SIZE];
+        taiSeconds = new long[SIZE];
+        output = new long[SIZE];
+        long start = 1300000000L;
+        for (int i = 0; i < SIZE; i++) {
+            epochSeconds[i] = start + i * 7919L;
+        }
+        rules.convertEpochSecondsToTAI(epochSeconds, 0, taiSeconds, 0, SIZE);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public long[] toTAI_objects() {
+        for (int i = 0; i < SIZE; i++) {
+            output[i] = TAIInstant.of(Instant.ofEpochSecond(epochSeconds[i])).getTAISeconds();
+        }
+        return output;
+    }
+
+    @Benchmark
+    public long[] toTAI_bulk() {
+        rules.convertEpochSecondsToTAI(epochSeconds, 0, output, 0, SIZE);
+        return output;
+    }
+
+    @Benchmark
+    public long[] toEpochSeconds_objects() {
+        for (int i = 0; i < SIZE; i++) {
+            output[i] = TAIInstant.ofTAISeconds(taiSeconds[i], 0).toInstant().getEpochSecond();
+        }
+        return output;
+    }
+
+    @Benchmark
+    public long[] toEpochSeconds_bulk() {
+        rules.convertTAIToEpochSeconds(taiSeconds, 0, output, 0, SIZE);
+        return output;
+    }
+
+}
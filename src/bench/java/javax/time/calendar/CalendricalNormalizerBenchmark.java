@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static javax.time.calendar.ISODateTimeRule.DAY_OF_MONTH;
+import static javax.time.calendar.ISODateTimeRule.HOUR_OF_DAY;
+import static javax.time.calendar.ISODateTimeRule.MINUTE_OF_HOUR;
+import static javax.time.calendar.ISODateTimeRule.MONTH_OF_YEAR;
+import static javax.time.calendar.ISODateTimeRule.YEAR;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark merging and deriving via {@code CalendricalNormalizer}.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendricalNormalizerBenchmark {
+
+    /** The date. */
+    private LocalDate date = LocalDate.of(2008, 6, 30);
+    /** The time. */
+    private LocalTime time = LocalTime.of(12, 30, 40);
+    /** The offset. */
+    private ZoneOffset offset = ZoneOffset.ofHours(2);
+    /** The date-time. */
+    private LocalDateTime dateTime = LocalDateTime.of(2008, 6, 30, 12, 30, 40);
+    /** The year field. */
+    private DateTimeField yearField = YEAR.field(2008);
+    /** The month field. */
+    private DateTimeField monthField = MONTH_OF_YEAR.field(6);
+    /** The day field. */
+    private DateTimeField dayField = DAY_OF_MONTH.field(30);
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public OffsetDateTime merge_dateTimeOffset() {
+        return CalendricalNormalizer.merge(date, time, offset).deriveChecked(OffsetDateTime.rule());
+    }
+
+    @Benchmark
+    public LocalDateTime merge_dateTime() {
+        return CalendricalNormalizer.merge(date, time).deriveChecked(LocalDateTime.rule());
+    }
+
+    @Benchmark
+    public LocalDate merge_fields() {
+        return CalendricalNormalizer.merge(yearField, monthField, dayField).deriveChecked(LocalDate.rule());
+    }
+
+    @Benchmark
+    public OffsetDateTime direct_dateTimeOffset() {
+        return OffsetDateTime.of(date, time, offset);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public long derive_fields() {
+        long total = 0;
+        total += dateTime.get(YEAR).getValue();
+        total += dateTime.get(MONTH_OF_YEAR).getValue();
+        total += dateTime.get(DAY_OF_MONTH).getValue();
+        total += dateTime.get(HOUR_OF_DAY).getValue();
+        total += dateTime.get(MINUTE_OF_HOUR).getValue();
+        return total;
+    }
+
+    @Benchmark
+    public long direct_fields() {
+        long total = 0;
+        total += dateTime.getYear();
+        total += dateTime.getMonthOfYear().getValue();
+        total += dateTime.getDayOfMonth();
+        total += dateTime.getHourOfDay();
+        total += dateTime.getMinuteOfHour();
+        return total;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.time.TimeSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark querying the current date and time from a {@code Clock}.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClockBenchmark {
+
+    /** The clock. */
+    private Clock clock;
+    /** The caching clock. */
+    private Clock cachingClock;
+
+    /**
+     * Sets up the clocks.
+     */
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        clock = Clock.system(zone);
+        cachingClock = Clock.cachingClock(TimeSource.system(), zone);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate today() {
+        return clock.today();
+    }
+
+    @Benchmark
+    public LocalDate today_caching() {
+        return cachingClock.today();
+    }
+
+    @Benchmark
+    public LocalDateTime dateTimeToSecond() {
+        return clock.dateTimeToSecond();
+    }
+
+    @Benchmark
+    public LocalDateTime dateTimeToSecond_caching() {
+        return cachingClock.dateTimeToSecond();
+    }
+
+    @Benchmark
+    public LocalDateTime dateTime() {
+        return clock.dateTime();
+    }
+
+    @Benchmark
+    public LocalDateTime dateTime_caching() {
+        return cachingClock.dateTime();
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTime() {
+        return clock.zonedDateTime();
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTime_caching() {
+        return cachingClock.zonedDateTime();
+    }
+
+}
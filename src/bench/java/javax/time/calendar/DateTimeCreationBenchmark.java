@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import javax.time.Instant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the creation of the main date-time classes.
+ * <p>
+ * The inputs are held in non-final fields so that the JIT cannot fold the
+ * construction away as a constant.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeCreationBenchmark {
+
+    /** The year. */
+    private int year = 2008;
+    /** The month. */
+    private int month = 6;
+    /** The day. */
+    private int day = 30;
+    /** The hour. */
+    private int hour = 12;
+    /** The minute. */
+    private int minute = 30;
+    /** The second. */
+    private int second = 40;
+    /** The epoch-day. */
+    private long epochDay = 14000;
+    /** The instant. */
+    private Instant instant = Instant.ofEpochSecond(1214825440L);
+    /** The zone ID. */
+    private String zoneID = "Europe/London";
+    /** The zone. */
+    private ZoneId zone;
+    /** The JDK zone. */
+    private TimeZone jdkZone;
+
+    /**
+     * Loads the zone outside of the measured code.
+     */
+    @Setup
+    public void setUp() {
+        zone = ZoneId.of("Europe/London");
+        jdkZone = TimeZone.getTimeZone("Europe/London");
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate localDate_of() {
+        return LocalDate.of(year, month, day);
+    }
+
+    @Benchmark
+    public LocalDate localDate_ofEpochDay() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    @Benchmark
+    public LocalTime localTime_of() {
+        return LocalTime.of(hour, minute, second);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_of() {
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    @Benchmark
+    public OffsetDateTime offsetDateTime_ofInstant() {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTime_of() {
+        return ZonedDateTime.of(year, month, day, hour, minute, second, 0, zone, ZoneResolvers.postTransition());
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTime_ofInstant() {
+        return ZonedDateTime.ofInstant(instant, zone);
+    }
+
+    @Benchmark
+    public ZoneId zoneId_of() {
+        return ZoneId.of(zoneID);
+    }
+
+    @Benchmark
+    public TimeZone jdk_timeZone_getTimeZone() {
+        return TimeZone.getTimeZone(zoneID);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public GregorianCalendar jdk_gregorianCalendar_set() {
+        GregorianCalendar cal = new GregorianCalendar(jdkZone);
+        cal.set(year, month - 1, day, hour, minute, second);
+        cal.getTimeInMillis();
+        return cal;
+    }
+
+}
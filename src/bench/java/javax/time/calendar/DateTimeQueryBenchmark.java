@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static javax.time.calendar.ISODateTimeRule.DAY_OF_MONTH;
+import static javax.time.calendar.ISODateTimeRule.HOUR_OF_DAY;
+import static javax.time.calendar.ISODateTimeRule.MINUTE_OF_HOUR;
+import static javax.time.calendar.ISODateTimeRule.MONTH_OF_YEAR;
+import static javax.time.calendar.ISODateTimeRule.YEAR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.time.Instant;
+import javax.time.InstantArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark querying and sorting lists of date-times.
+ * <p>
+ * Each benchmark processes the whole list, thus the reported time is per list.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeQueryBenchmark {
+
+    /** Size. */
+    private static final int SIZE = 100000;
+
+    /** The local date-times. */
+    private List<LocalDateTime> localDateTimes;
+    /** The zoned date-times. */
+    private List<ZonedDateTime> zonedDateTimes;
+    /** The instants. */
+    private List<Instant> instants;
+    /** The zoned date-times as packed local date-times. */
+    private long[] packedDateTimes;
+    /** The zoned date-times as a column. */
+    private ZonedDateTimeColumn zonedDateTimeColumn;
+    /** The instants as a column. */
+    private InstantArray instantArray;
+
+    /**
+     * Creates the randomized, but repeatable, data.
+     */
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        Random random = new Random(47658758756875687L);
+        localDateTimes = new ArrayList<LocalDateTime>(SIZE);
+        zonedDateTimes = new ArrayList<ZonedDateTime>(SIZE);
+        instants = new ArrayList<Instant>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            localDateTimes.add(LocalDateTime.of(
+                    random.nextInt(10000), random.nextInt(12) + 1, random.nextInt(28) + 1,
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60)));
+            zonedDateTimes.add(ZonedDateTime.of(
+                    2008, random.nextInt(12) + 1, random.nextInt(28) + 1,
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), 0,
+                    zone, ZoneResolvers.postTransition()));
+            instants.add(Instant.ofEpochMilli(random.nextLong()));
+        }
+        packedDateTimes = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            packedDateTimes[i] = PackedDateTimes.packDateTime(zonedDateTimes.get(i).toLocalDateTime());
+        }
+        zonedDateTimeColumn = new ZonedDateTimeColumn(SIZE);
+        zonedDateTimeColumn.addAll(zonedDateTimes);
+        instantArray = new InstantArray(SIZE);
+        instantArray.addAll(instants);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public long localDateTime_query() {
+        long total = 0;
+        for (LocalDateTime dt : localDateTimes) {
+            total += dt.getYear();
+            total += dt.getMonthOfYear().getValue();
+            total += dt.getDayOfMonth();
+            total += dt.getHourOfDay();
+            total += dt.getMinuteOfHour();
+            total += dt.getSecondOfMinute();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long localDateTime_derive() {
+        long total = 0;
+        for (LocalDateTime dt : localDateTimes) {
+            total += dt.get(YEAR).getValue();
+            total += dt.get(MONTH_OF_YEAR).getValue();
+            total += dt.get(DAY_OF_MONTH).getValue();
+            total += dt.get(HOUR_OF_DAY).getValue();
+            total += dt.get(MINUTE_OF_HOUR).getValue();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long zonedDateTime_query() {
+        long total = 0;
+        for (ZonedDateTime dt : zonedDateTimes) {
+            total += dt.getYear();
+            total += dt.getMonthOfYear().getValue();
+            total += dt.getDayOfMonth();
+            total += dt.getHourOfDay();
+            total += dt.getMinuteOfHour();
+            total += dt.getSecondOfMinute();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long packedDateTime_query() {
+        long total = 0;
+        for (long packed : packedDateTimes) {
+            int date = PackedDateTimes.getDate(packed);
+            long time = PackedDateTimes.getTime(packed);
+            total += PackedDateTimes.getYear(date);
+            total += PackedDateTimes.getMonthOfYear(date);
+            total += PackedDateTimes.getDayOfMonth(date);
+            total += PackedDateTimes.getHourOfDay(time);
+            total += PackedDateTimes.getMinuteOfHour(time);
+            total += PackedDateTimes.getSecondOfMinute(time);
+        }
+        return total;
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public List<LocalDateTime> localDateTime_sort() {
+        List<LocalDateTime> list = new ArrayList<LocalDateTime>(localDateTimes);
+        Collections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<ZonedDateTime> zonedDateTime_sort() {
+        List<ZonedDateTime> list = new ArrayList<ZonedDateTime>(zonedDateTimes);
+        Collections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public long[] packedDateTime_sort() {
+        long[] array = packedDateTimes.clone();
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public ZonedDateTimeColumn zonedDateTimeColumn_sort() {
+        ZonedDateTimeColumn column = zonedDateTimeColumn.subColumn(0, SIZE);
+        column.sort();
+        return column;
+    }
+
+    @Benchmark
+    public List<Instant> instant_sort() {
+        List<Instant> list = new ArrayList<Instant>(instants);
+        Collections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public InstantArray instantArray_sort() {
+        InstantArray array = instantArray.subArray(0, SIZE);
+        array.sort();
+        return array;
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.time.calendar.zone.ZoneRules;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark bulk epoch conversions against converting one object at a time.
+ * <p>
+ * Each benchmark processes the whole column, thus the reported time is per column.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochConversionsBenchmark {
+
+    /** Size. */
+    private static final int SIZE = 100000;
+
+    /** The epoch-seconds, spread over 2000 to 2020. */
+    private long[] epochSeconds;
+    /** The epoch-days. */
+    private long[] epochDays;
+    /** The zone rules. */
+    private ZoneRules rules;
+    /** The long results. */
+    private long[] longResults;
+    /** The int results. */
+    private int[] intResults;
+    /** The second int results. */
+    private int[] intResults2;
+
+    /**
+     * Creates the randomized, but repeatable, data.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(47658758756875687L);
+        epochSeconds = new long[SIZE];
+        epochDays = new long[SIZE];
+        long start = LocalDate.of(2000, 1, 1).toEpochDay() * 86400L;
+        for (int i = 0; i < SIZE; i++) {
+            epochSeconds[i] = start + (random.nextLong() & Long.MAX_VALUE) % (20 * 365 * 86400L);
+            epochDays[i] = epochSeconds[i] / 86400L;
+        }
+        rules = ZoneId.of("Europe/London").getRules();
+        longResults = new long[SIZE];
+        intResults = new int[SIZE];
+        intResults2 = new int[SIZE];
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public int[] packedDates_bulk() {
+        EpochConversions.epochDaysToPackedDates(epochDays, 0, intResults, 0, SIZE);
+        return intResults;
+    }
+
+    @Benchmark
+    public int[] packedDates_perObject() {
+        for (int i = 0; i < SIZE; i++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+            intResults[i] = date.getYear() * 10000 + date.getMonthOfYear().getValue() * 100 + date.getDayOfMonth();
+        }
+        return intResults;
+    }
+
+    @Benchmark
+    public long[] localDate_decompose() {
+        for (int i = 0; i < SIZE; i++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+            longResults[i] = date.getDayOfYear() + date.getDayOfWeek().getValue() + date.plusDays(1).toEpochDay();
+        }
+        return longResults;
+    }
+
+    @Benchmark
+    public int[] dayOfWeek_bulk() {
+        EpochConversions.epochDaysToDayOfWeek(epochDays, 0, intResults, 0, SIZE);
+        return intResults;
+    }
+
+    @Benchmark
+    public int[] dayOfWeek_perObject() {
+        for (int i = 0; i < SIZE; i++) {
+            intResults[i] = LocalDate.ofEpochDay(epochDays[i]).getDayOfWeek().getValue();
+        }
+        return intResults;
+    }
+
+    @Benchmark
+    public int[] isoWeeks_bulk() {
+        EpochConversions.epochDaysToISOWeeks(epochDays, 0, intResults, intResults2, 0, SIZE);
+        return intResults2;
+    }
+
+    @Benchmark
+    public int[] isoWeeks_perObject() {
+        for (int i = 0; i < SIZE; i++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+            intResults[i] = date.get(ISODateTimeRule.WEEK_BASED_YEAR).getValidIntValue();
+            intResults2[i] = date.get(ISODateTimeRule.WEEK_OF_WEEK_BASED_YEAR).getValidIntValue();
+        }
+        return intResults2;
+    }
+
+    @Benchmark
+    public long[] localEpochSeconds_bulk() {
+        EpochConversions.epochSecondsToLocalEpochSeconds(epochSeconds, 0, rules, longResults, 0, SIZE);
+        return longResults;
+    }
+
+    @Benchmark
+    public long[] localEpochSeconds_perObject() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        for (int i = 0; i < SIZE; i++) {
+            OffsetDateTime odt = OffsetDateTime.ofEpochSecond(epochSeconds[i], ZoneOffset.UTC);
+            longResults[i] = odt.atZoneSameInstant(zone).toLocalDateTime().atOffset(ZoneOffset.UTC).toEpochSecond();
+        }
+        return longResults;
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import java.nio.CharBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.time.calendar.CalendricalNormalizer;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
+import javax.time.calendar.ZonedDateTime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark printing and parsing with {@code DateTimeFormatter}.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeFormatterBenchmark {
+
+    /** The local date-time. */
+    private LocalDateTime localDateTime;
+    /** The offset date-time. */
+    private OffsetDateTime offsetDateTime;
+    /** The zoned date-time. */
+    private ZonedDateTime zonedDateTime;
+    /** The ISO local date-time formatter. */
+    private DateTimeFormatter isoLocalDateTime;
+    /** The ISO offset date-time formatter. */
+    private DateTimeFormatter isoOffsetDateTime;
+    /** The ISO zoned date-time formatter. */
+    private DateTimeFormatter isoZonedDateTime;
+    /** The text pattern formatter. */
+    private DateTimeFormatter textPattern;
+    /** The full text pattern formatter. */
+    private DateTimeFormatter fullTextPattern;
+    /** The formatter with optional sections. */
+    private DateTimeFormatter optionalPattern;
+    /** The ISO local date-time text. */
+    private String localDateTimeText;
+    /** The ISO offset date-time text. */
+    private String offsetDateTimeText;
+    /** The ISO zoned date-time text. */
+    private String zonedDateTimeText;
+    /** The text pattern text. */
+    private String textPatternText;
+    /** The full text pattern text. */
+    private String fullTextPatternText;
+    /** The text for the formatter with optional sections. */
+    private String optionalPatternText;
+    /** The buffer to print to. */
+    private StringBuilder buf = new StringBuilder(64);
+    /** The array to print to. */
+    private char[] array = new char[64];
+    /** The char buffer to print to. */
+    private CharBuffer charBuffer = CharBuffer.allocate(64);
+    /** The target to parse into. */
+    private DateTimeParseTarget target = new DateTimeParseTarget();
+    /** The JDK formatter. */
+    private SimpleDateFormat jdkFormat;
+    /** The JDK date. */
+    private Date jdkDate;
+
+    /**
+     * Sets up the formatters and inputs.
+     */
+    @Setup
+    public void setUp() {
+        localDateTime = LocalDateTime.of(2008, 6, 30, 12, 30, 40, 987654321);
+        offsetDateTime = OffsetDateTime.of(localDateTime, ZoneOffset.ofHours(2));
+        zonedDateTime = ZonedDateTime.of(localDateTime, ZoneId.of("Europe/Paris"));
+        isoLocalDateTime = DateTimeFormatters.isoLocalDateTime();
+        isoOffsetDateTime = DateTimeFormatters.isoOffsetDateTime();
+        isoZonedDateTime = DateTimeFormatters.isoZonedDateTime();
+        textPattern = DateTimeFormatters.pattern("dd/MMM/yyyy:HH:mm:ss", Locale.ENGLISH);
+        localDateTimeText = isoLocalDateTime.print(localDateTime);
+        offsetDateTimeText = isoOffsetDateTime.print(offsetDateTime);
+        zonedDateTimeText = isoZonedDateTime.print(zonedDateTime);
+        textPatternText = textPattern.print(localDateTime);
+        fullTextPattern = DateTimeFormatters.pattern("EEEE, d MMMM yyyy", Locale.FRENCH);
+        fullTextPatternText = fullTextPattern.print(localDateTime);
+        optionalPattern = DateTimeFormatters.pattern("yyyy-MM-dd['T'HH:mm[:ss][.SSS]][ZZZ]");
+        optionalPatternText = "2008-06-30T12:30";
+        jdkFormat = new SimpleDateFormat("dd/MMM/yyyy:HH:mm:ss", Locale.ENGLISH);
+        jdkDate = new Date(offsetDateTime.toInstant().toEpochMilli());
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public String print_isoLocalDateTime() {
+        return isoLocalDateTime.print(localDateTime);
+    }
+
+    @Benchmark
+    public String print_isoOffsetDateTime() {
+        return isoOffsetDateTime.print(offsetDateTime);
+    }
+
+    @Benchmark
+    public String print_isoZonedDateTime() {
+        return isoZonedDateTime.print(zonedDateTime);
+    }
+
+    @Benchmark
+    public String print_textPattern() {
+        return textPattern.print(localDateTime);
+    }
+
+    @Benchmark
+    public String print_fullTextPattern() {
+        return fullTextPattern.print(localDateTime);
+    }
+
+    @Benchmark
+    public StringBuilder print_appendable() {
+        buf.setLength(0);
+        isoLocalDateTime.print(localDateTime, buf);
+        return buf;
+    }
+
+    @Benchmark
+    public int print_charArray() {
+        return isoOffsetDateTime.print(offsetDateTime, array, 0);
+    }
+
+    @Benchmark
+    public CharBuffer print_charBuffer() {
+        charBuffer.clear();
+        isoOffsetDateTime.print(offsetDateTime, charBuffer);
+        return charBuffer;
+    }
+
+    @Benchmark
+    public String jdk_print_textPattern() {
+        return jdkFormat.format(jdkDate);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDateTime parse_isoLocalDateTime() {
+        return isoLocalDateTime.parse(localDateTimeText, LocalDateTime.rule());
+    }
+
+    @Benchmark
+    public OffsetDateTime parse_isoOffsetDateTime() {
+        return isoOffsetDateTime.parse(offsetDateTimeText, OffsetDateTime.rule());
+    }
+
+    @Benchmark
+    public ZonedDateTime parse_isoZonedDateTime() {
+        return isoZonedDateTime.parse(zonedDateTimeText, ZonedDateTime.rule());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ZonedDateTime parse_isoZonedDateTime_threads() {
+        return isoZonedDateTime.parse(zonedDateTimeText, ZonedDateTime.rule());
+    }
+
+    @Benchmark
+    public LocalDate parse_textPattern() {
+        return textPattern.parse(textPatternText, LocalDate.rule());
+    }
+
+    @Benchmark
+    public LocalDate parse_fullTextPattern() {
+        return fullTextPattern.parse(fullTextPatternText, LocalDate.rule());
+    }
+
+    @Benchmark
+    public CalendricalNormalizer parse_optionalPattern() {
+        return optionalPattern.parse(optionalPatternText);
+    }
+
+    @Benchmark
+    public DateTimeParseTarget parse_target() {
+        isoOffsetDateTime.parse(offsetDateTimeText, target);
+        return target;
+    }
+
+    @Benchmark
+    public long parse_target_epochSecond() {
+        isoOffsetDateTime.parse(offsetDateTimeText, target);
+        return target.toInstant().getEpochSecond();
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public DateTimeFormatter pattern_cached() {
+        return DateTimeFormatters.pattern("dd/MMM/yyyy:HH:mm:ss", Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public DateTimeFormatter pattern_builder() {
+        return new DateTimeFormatterBuilder().appendPattern("dd/MMM/yyyy:HH:mm:ss").toFormatter(Locale.ENGLISH);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String pattern_cached_print_threads() {
+        return DateTimeFormatters.pattern("dd/MMM/yyyy:HH:mm:ss", Locale.ENGLISH).print(offsetDateTime);
+    }
+
+}
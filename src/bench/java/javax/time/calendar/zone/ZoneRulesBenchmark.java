@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import javax.time.Instant;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the offset lookups of {@code ZoneRules}.
+ * <p>
+ * The year parameter selects between the historic transitions (1980)
+ * and the recurring last rules (2030).
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneRulesBenchmark {
+
+    /** The year to test. */
+    @Param({"1980", "2030"})
+    private int year;
+    /** The zone. */
+    private ZoneId zone;
+    /** The rules. */
+    private ZoneRules rules;
+    /** The rules, precomputed from 1970 to 2100. */
+    private ZoneRules precomputed;
+    /** The date-time. */
+    private LocalDateTime dateTime;
+    /** The instant. */
+    private Instant instant;
+    /** The epoch-second. */
+    private long epochSecond;
+    /** The JDK zone. */
+    private TimeZone jdkZone;
+    /** The JDK epoch millis. */
+    private long epochMilli;
+
+    /**
+     * Sets up the zone and inputs.
+     */
+    @Setup
+    public void setUp() {
+        zone = ZoneId.of("Europe/London");
+        rules = zone.getRules();
+        precomputed = rules.withPrecomputedTransitions(1970, 2100);
+        dateTime = LocalDateTime.of(year, 6, 1, 12, 0);
+        instant = OffsetDateTime.of(year, 6, 1, 12, 0, ZoneOffset.ofHours(1)).toInstant();
+        epochSecond = instant.getEpochSecond();
+        jdkZone = TimeZone.getTimeZone("Europe/London");
+        epochMilli = instant.toEpochMilli();
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZoneOffset getOffset_instant() {
+        return rules.getOffset(instant);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffset_epochSecond() {
+        return rules.getOffset(epochSecond);
+    }
+
+    @Benchmark
+    public ZoneOffsetInfo getOffsetInfo_localDateTime() {
+        return rules.getOffsetInfo(dateTime);
+    }
+
+    @Benchmark
+    public ZoneOffset precomputed_getOffset_epochSecond() {
+        return precomputed.getOffset(epochSecond);
+    }
+
+    @Benchmark
+    public ZoneOffsetInfo precomputed_getOffsetInfo_localDateTime() {
+        return precomputed.getOffsetInfo(dateTime);
+    }
+
+    @Benchmark
+    public ZoneRules zoneId_getRules() {
+        return zone.getRules();
+    }
+
+    @Benchmark
+    public ZoneOffset zoneId_getRules_getOffset() {
+        return zone.getRules().getOffset(instant);
+    }
+
+    @Benchmark
+    public int jdk_getOffset_millis() {
+        return jdkZone.getOffset(epochMilli);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the loading of the {@code ZoneRules.dat} file formats.
+ * <p>
+ * The TZDB data on the classpath is rewritten in the selected format.
+ * The size of the file is output during setup.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneRulesDataBenchmark {
+
+    /** The file format. */
+    @Param({"1", "2"})
+    private int format;
+    /** The file bytes. */
+    private byte[] bytes;
+
+    /**
+     * Sets up the file in the selected format.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("javax/time/calendar/zone/ZoneRules.dat");
+        ResourceZoneRulesDataProvider provider = new ResourceZoneRulesDataProvider(in);
+        in.close();
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        Set<String> allRegionIds = new TreeSet<String>();
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
+        for (ZoneRulesVersion version : provider.getVersions()) {
+            SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
+            for (String regionId : version.getRegionIDs()) {
+                builtZones.put(regionId, version.getZoneRules(regionId));
+            }
+            allBuiltZones.put(version.getVersionID(), builtZones);
+            allRegionIds.addAll(builtZones.keySet());
+            allRules.addAll(builtZones.values());
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        TZDBZoneRulesCompiler.outputTZData(out, allBuiltZones, allRegionIds, allRules, format);
+        out.close();
+        bytes = baos.toByteArray();
+        System.out.println("Format " + format + ": " + bytes.length + " bytes");
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ResourceZoneRulesDataProvider load() throws Exception {
+        return new ResourceZoneRulesDataProvider(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public ResourceZoneRulesDataProvider loadAllRules() throws Exception {
+        ResourceZoneRulesDataProvider provider = new ResourceZoneRulesDataProvider(new ByteArrayInputStream(bytes));
+        for (ZoneRulesVersion version : provider.getVersions()) {
+            for (String regionId : version.getRegionIDs()) {
+                version.getZoneRules(regionId);
+            }
+        }
+        return provider;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.i18n;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.time.calendar.LocalDate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark conversions between the Hijrah and ISO calendar systems.
+ *
+ * @author Stephen Colebourne
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HijrahDateBenchmark {
+
+    /** The number of dates to convert. */
+    private static final int SIZE = 1000;
+
+    /** The ISO dates. */
+    private LocalDate[] isoDates;
+    /** The Hijrah years. */
+    private int[] years;
+    /** The Hijrah months. */
+    private int[] months;
+    /** The Hijrah days. */
+    private int[] days;
+
+    /**
+     * Sets up the inputs.
+     */
+    @Setup
+    public void setUp() {
+        isoDates = new LocalDate[SIZE];
+        years = new int[SIZE];
+        months = new int[SIZE];
+        days = new int[SIZE];
+        LocalDate start = LocalDate.of(1900, 1, 1);
+        for (int i = 0; i < SIZE; i++) {
+            isoDates[i] = start.plusDays(i * 43L);
+            HijrahDate date = HijrahDate.of(isoDates[i]);
+            years[i] = date.getYearOfEra();
+            months[i] = date.getMonthOfYear();
+            days[i] = date.getDayOfMonth();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public long isoToHijrah() {
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += HijrahDate.of(isoDates[i]).getDayOfYear();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long hijrahToIso() {
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += HijrahDate.of(years[i], months[i], days[i]).toLocalDate().toEpochDay();
+        }
+        return total;
+    }
+
+}
@@ -85,6 +85,11 @@ public final class Duration implements Comparable<Duration>, Serializable {
      * Constant for nanos per second.
      */
     private static final int NANOS_PER_SECOND = 1000000000;
+    /**
+     * The largest magnitude of seconds or multiplicand that can be combined
+     * with nanoseconds in a {@code long} without overflow.
+     */
+    private static final long MAX_LONG_SECONDS = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
     /**
      * Constant for nanos per microsecond.
      */
@@ -880,6 +885,17 @@ public final class Duration implements Comparable<Duration>, Serializable {
         if (multiplicand == 1) {
             return this;
         }
+        if (multiplicand >= -MAX_LONG_SECONDS && multiplicand <= MAX_LONG_SECONDS) {
+            long secs = seconds * multiplicand;
+            if (seconds == 0 || secs / seconds == multiplicand) {
+                long nanosProduct = nanos * multiplicand;
+                long nanosSecs = MathUtils.floorDiv(nanosProduct, NANOS_PER_SECOND);
+                long total = secs + nanosSecs;
+                if (((secs ^ total) & (nanosSecs ^ total)) >= 0) {
+                    return create(total, MathUtils.floorMod(nanosProduct, NANOS_PER_SECOND));
+                }
+            }
+        }
         BigInteger nanos = toNanos();
         nanos = nanos.multiply(BigInteger.valueOf(multiplicand));
         BigInteger[] divRem = nanos.divideAndRemainder(BI_NANOS_PER_SECOND);
@@ -907,9 +923,16 @@ public final class Duration implements Comparable<Duration>, Serializable {
         if (divisor == 1) {
             return this;
         }
+        if (seconds >= -MAX_LONG_SECONDS && seconds <= MAX_LONG_SECONDS) {
+            long nanosQuotient = (seconds * NANOS_PER_SECOND + nanos) / divisor;
+            return create(MathUtils.floorDiv(nanosQuotient, NANOS_PER_SECOND), MathUtils.floorMod(nanosQuotient, NANOS_PER_SECOND));
+        }
         BigInteger nanos = toNanos();
         nanos = nanos.divide(BigInteger.valueOf(divisor));
         BigInteger[] divRem = nanos.divideAndRemainder(BI_NANOS_PER_SECOND);
+        if (divRem[0].bitLength() > 63) {
+            throw new ArithmeticException("Division result exceeds capacity of Duration: " + this + " / " + divisor);
+        }
         return ofSeconds(divRem[0].longValue(), divRem[1].intValue());
      }
 
@@ -926,7 +949,13 @@ public final class Duration implements Comparable<Duration>, Serializable {
      * @throws ArithmeticException if the seconds part of the length is {@code Long.MIN_VALUE}
      */
     public Duration negated() {
-        return multipliedBy(-1);
+        if (nanos > 0) {
+            return create(-1 - seconds, NANOS_PER_SECOND - nanos);
+        }
+        if (seconds == Long.MIN_VALUE) {
+            return multipliedBy(-1);  // throws
+        }
+        return create(-seconds, 0);
     }
 
     /**
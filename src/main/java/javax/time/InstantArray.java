@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import java.util.Arrays;
+
+/**
+ * A growable column of instants held in primitive arrays.
+ * <p>
+ * Large collections of {@code Instant} objects are expensive to hold and to sort,
+ * as each element is a separate object and each comparison follows two references.
+ * This class stores the epoch-seconds and nanosecond-of-second of each instant
+ * in parallel primitive arrays, creating an {@code Instant} only when
+ * {@link #get(int)} is called.
+ * <p>
+ * The column may be sorted using a linear time radix sort, searched using a binary
+ * search and sliced into ranges, all without creating objects.
+ * <p>
+ * InstantArray is mutable and not thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+public final class InstantArray {
+
+    /**
+     * Constant for nanos per second.
+     */
+    private static final int NANOS_PER_SECOND = 1000000000;
+    /**
+     * The number of bits sorted in each radix pass.
+     */
+    private static final int RADIX_BITS = 11;
+    /**
+     * The mask for each radix pass.
+     */
+    private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+    /**
+     * The epoch-seconds.
+     */
+    private long[] seconds;
+    /**
+     * The nanosecond-of-second.
+     */
+    private int[] nanos;
+    /**
+     * The number of instants.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty array.
+     */
+    public InstantArray() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty array with the specified initial capacity.
+     *
+     * @param initialCapacity  the initial capacity, zero or greater
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public InstantArray(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        seconds = new long[initialCapacity];
+        nanos = new int[initialCapacity];
+    }
+
+    /**
+     * Constructs an array wrapping the specified primitive arrays.
+     *
+     * @param seconds  the epoch-seconds, not null
+     * @param nanos  the nanosecond-of-second, not null
+     * @param size  the number of instants
+     */
+    private InstantArray(long[] seconds, int[] nanos, int size) {
+        this.seconds = seconds;
+        this.nanos = nanos;
+        this.size = size;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of instants in the array.
+     *
+     * @return the number of instants, zero or greater
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an instant to the end of the array.
+     *
+     * @param instantProvider  the instant to add, not null
+     */
+    public void add(InstantProvider instantProvider) {
+        Instant instant = Instant.of(instantProvider);
+        add(instant.getEpochSecond(), instant.getNanoOfSecond());
+    }
+
+    /**
+     * Adds an instant, specified as epoch-seconds and nanosecond-of-second, to the end of the array.
+     *
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond  the nanosecond-of-second, from 0 to 999,999,999
+     * @throws IllegalArgumentException if the nanosecond-of-second is invalid
+     */
+    public void add(long epochSecond, int nanoOfSecond) {
+        if (nanoOfSecond < 0 || nanoOfSecond >= NANOS_PER_SECOND) {
+            throw new IllegalArgumentException("NanoOfSecond must be from 0 to 999,999,999");
+        }
+        if (size == seconds.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            seconds = Arrays.copyOf(seconds, capacity);
+            nanos = Arrays.copyOf(nanos, capacity);
+        }
+        seconds[size] = epochSecond;
+        nanos[size] = nanoOfSecond;
+        size++;
+    }
+
+    /**
+     * Adds all the instants to the end of the array.
+     *
+     * @param instantProviders  the instants to add, no nulls, not null
+     */
+    public void addAll(Iterable<? extends InstantProvider> instantProviders) {
+        Instant.checkNotNull(instantProviders, "Iterable must not be null");
+        for (InstantProvider instantProvider : instantProviders) {
+            add(instantProvider);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the epoch-second of the instant at the specified index.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getEpochSecond(int index) {
+        checkIndex(index);
+        return seconds[index];
+    }
+
+    /**
+     * Gets the nanosecond-of-second of the instant at the specified index.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the nanosecond-of-second, from 0 to 999,999,999
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getNanoOfSecond(int index) {
+        checkIndex(index);
+        return nanos[index];
+    }
+
+    /**
+     * Gets the instant at the specified index.
+     * <p>
+     * The instant is created by this method and is not retained by the array.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the instant, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public Instant get(int index) {
+        checkIndex(index);
+        return Instant.ofEpochSecond(seconds[index], nanos[index]);
+    }
+
+    /**
+     * Compares the instants at the specified indices.
+     *
+     * @param index1  the first index, from 0 to {@code size() - 1}
+     * @param index2  the second index, from 0 to {@code size() - 1}
+     * @return the comparator value, negative if less, positive if greater
+     * @throws IndexOutOfBoundsException if either index is invalid
+     */
+    public int compare(int index1, int index2) {
+        checkIndex(index1);
+        checkIndex(index2);
+        return compare(index1, seconds[index2], nanos[index2]);
+    }
+
+    /**
+     * Compares the instant at the specified index to an instant.
+     *
+     * @param index  the valid index
+     * @param epochSecond  the epoch-second to compare to
+     * @param nanoOfSecond  the nanosecond-of-second to compare to
+     * @return the comparator value, negative if less, positive if greater
+     */
+    private int compare(int index, long epochSecond, int nanoOfSecond) {
+        int cmp = MathUtils.safeCompare(seconds[index], epochSecond);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return MathUtils.safeCompare(nanos[index], nanoOfSecond);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Sorts the instants into ascending order.
+     * <p>
+     * This uses a radix sort, taking time proportional to the size of the array.
+     */
+    public void sort() {
+        int[] order = sortIndex();
+        long[] sortedSeconds = new long[seconds.length];
+        int[] sortedNanos = new int[nanos.length];
+        for (int i = 0; i < size; i++) {
+            sortedSeconds[i] = seconds[order[i]];
+            sortedNanos[i] = nanos[order[i]];
+        }
+        seconds = sortedSeconds;
+        nanos = sortedNanos;
+    }
+
+    /**
+     * Calculates the indices of the instants in ascending order without changing the array.
+     * <p>
+     * The result holds the index of the earliest instant in element zero, the index
+     * of the next instant in element one, and so on.
+     * The sort is stable, thus equal instants retain their relative order.
+     * This uses a radix sort, taking time proportional to the size of the array.
+     *
+     * @return the indices in ascending order of instant, not null
+     */
+    public int[] sortIndex() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[size];
+        int[] counts = new int[RADIX_MASK + 2];
+        for (int shift = 0; shift < 30; shift += RADIX_BITS) {
+            for (int i = 0; i < size; i++) {
+                counts[((nanos[i] >>> shift) & RADIX_MASK) + 1]++;
+            }
+            if (radixOffsets(counts)) {
+                for (int i = 0; i < size; i++) {
+                    int index = order[i];
+                    buffer[counts[(nanos[index] >>> shift) & RADIX_MASK]++] = index;
+                }
+                int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+            Arrays.fill(counts, 0);
+        }
+        for (int shift = 0; shift < 64; shift += RADIX_BITS) {
+            for (int i = 0; i < size; i++) {
+                counts[radixDigit(seconds[i], shift) + 1]++;
+            }
+            if (radixOffsets(counts)) {
+                for (int i = 0; i < size; i++) {
+                    int index = order[i];
+                    buffer[counts[radixDigit(seconds[index], shift)]++] = index;
+                }
+                int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+            Arrays.fill(counts, 0);
+        }
+        return order;
+    }
+
+    /**
+     * Extracts a radix digit from the epoch-second, treating the sign bit as
+     * a normal bit inverted such that negative values sort first.
+     *
+     * @param epochSecond  the epoch-second
+     * @param shift  the shift of the digit
+     * @return the digit
+     */
+    private static int radixDigit(long epochSecond, int shift) {
+        return (int) (((epochSecond ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK);
+    }
+
+    /**
+     * Converts the digit counts to starting offsets, determining if the pass is needed.
+     * <p>
+     * The counts are held one element above the digit they count.
+     * On exit, the element for each digit holds its starting offset.
+     *
+     * @param counts  the digit counts, updated to offsets, not null
+     * @return true if the pass must be performed, false if every value has the same digit
+     */
+    private boolean radixOffsets(int[] counts) {
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] == size) {
+                return false;
+            }
+            counts[i] += counts[i - 1];
+        }
+        return true;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Searches the sorted array for an instant.
+     * <p>
+     * The array must be sorted before calling this method.
+     * If the array contains the instant more than once, the index of the first is returned.
+     *
+     * @param instantProvider  the instant to search for, not null
+     * @return the index of the instant if found, otherwise {@code (-(insertion point) - 1)}
+     */
+    public int binarySearch(InstantProvider instantProvider) {
+        Instant instant = Instant.of(instantProvider);
+        return binarySearch(instant.getEpochSecond(), instant.getNanoOfSecond());
+    }
+
+    /**
+     * Searches the sorted array for an instant, specified as epoch-seconds and nanosecond-of-second.
+     * <p>
+     * The array must be sorted before calling this method.
+     * If the array contains the instant more than once, the index of the first is returned.
+     *
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond  the nanosecond-of-second, from 0 to 999,999,999
+     * @return the index of the instant if found, otherwise {@code (-(insertion point) - 1)}
+     */
+    public int binarySearch(long epochSecond, int nanoOfSecond) {
+        int index = lowerBound(epochSecond, nanoOfSecond);
+        if (index < size && seconds[index] == epochSecond && nanos[index] == nanoOfSecond) {
+            return index;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * Finds the index of the first instant equal to or after the specified instant.
+     *
+     * @param epochSecond  the epoch-second
+     * @param nanoOfSecond  the nanosecond-of-second
+     * @return the index, from 0 to {@code size}
+     */
+    private int lowerBound(long epochSecond, int nanoOfSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, epochSecond, nanoOfSecond) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a copy of the instants between the specified indices.
+     *
+     * @param fromIndex  the start index, inclusive
+     * @param toIndex  the end index, exclusive
+     * @return the new array, not null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public InstantArray subArray(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range: " + fromIndex + " to " + toIndex + ", size " + size);
+        }
+        return new InstantArray(
+                Arrays.copyOfRange(seconds, fromIndex, toIndex), Arrays.copyOfRange(nanos, fromIndex, toIndex), toIndex - fromIndex);
+    }
+
+    /**
+     * Returns a copy of the instants in the sorted array from the start instant
+     * inclusive to the end instant exclusive.
+     * <p>
+     * The array must be sorted before calling this method.
+     *
+     * @param startInclusive  the start instant, inclusive, not null
+     * @param endExclusive  the end instant, exclusive, not null
+     * @return the new array, not null
+     */
+    public InstantArray subArray(InstantProvider startInclusive, InstantProvider endExclusive) {
+        Instant start = Instant.of(startInclusive);
+        Instant end = Instant.of(endExclusive);
+        int fromIndex = lowerBound(start.getEpochSecond(), start.getNanoOfSecond());
+        int toIndex = lowerBound(end.getEpochSecond(), end.getNanoOfSecond());
+        return subArray(fromIndex, Math.max(fromIndex, toIndex));
+    }
+
+    /**
+     * Returns a copy of the instants at the specified indices.
+     * <p>
+     * This may be used with {@link #sortIndex()} to reorder related data in step with this array.
+     *
+     * @param indices  the indices to select, each from 0 to {@code size() - 1}, not null
+     * @return the new array, not null
+     * @throws IndexOutOfBoundsException if any index is invalid
+     */
+    public InstantArray select(int[] indices) {
+        Instant.checkNotNull(indices, "Indices must not be null");
+        long[] selectedSeconds = new long[indices.length];
+        int[] selectedNanos = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            checkIndex(index);
+            selectedSeconds[i] = seconds[index];
+            selectedNanos[i] = nanos[index];
+        }
+        return new InstantArray(selectedSeconds, selectedNanos, indices.length);
+    }
+
+    /**
+     * Checks the index is valid.
+     *
+     * @param index  the index to check
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the array as a {@code String}.
+     *
+     * @return a string representation of the instants, not null
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(size * 32 + 2).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(get(i));
+        }
+        return buf.append(']').toString();
+    }
+
+}
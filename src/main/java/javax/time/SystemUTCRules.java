@@ -75,6 +75,9 @@ final class SystemUTCRules extends UTCRules implements Serializable {
             this.dates = dates;
             this.offsets = offsets;
             this.taiSeconds = taiSeconds;
+            this.newestDate = dates[dates.length - 1];
+            this.newestOffset = offsets[offsets.length - 1];
+            this.newestTAISeconds = taiSeconds[taiSeconds.length - 1];
         }
         /** The table of leap second date when the leap second occurs. */
         final long[] dates;
@@ -82,12 +85,35 @@ final class SystemUTCRules extends UTCRules implements Serializable {
         final int[] offsets;
         /** The table of TAI second when the new offset starts. */
         final long[] taiSeconds;
+        /** The date of the newest leap second, after which no further leap seconds are known. */
+        final long newestDate;
+        /** The TAI offset after the newest leap second. */
+        final int newestOffset;
+        /** The TAI second when the newest offset starts. */
+        final long newestTAISeconds;
         
         /**
          * @return The modified Julian Date of the newest leap second 
          */
         public long getNewestDate() {
-            return dates[dates.length - 1];
+            return newestDate;
+        }
+        
+        /**
+         * Finds the index of the offset applicable at the TAI second.
+         * <p>
+         * Seconds after the newest leap second, typically the present, are found
+         * without searching.
+         * 
+         * @param taiSecs  the TAI second
+         * @return the index of the offset, -1 if before the first
+         */
+        int indexOfTAISeconds(long taiSecs) {
+            if (taiSecs >= newestTAISeconds) {
+                return taiSeconds.length - 1;
+            }
+            int pos = Arrays.binarySearch(taiSeconds, taiSecs);
+            return (pos >= 0 ? pos : ~pos - 1);
         }
     }
 
@@ -153,6 +179,9 @@ final class SystemUTCRules extends UTCRules implements Serializable {
     @Override
     public int getLeapSecondAdjustment(long mjDay) {
         Data data = dataRef.get();
+        if (mjDay > data.newestDate) {
+            return 0;
+        }
         int pos = Arrays.binarySearch(data.dates, mjDay);
         return pos > 0 ? data.offsets[pos] - data.offsets[pos - 1] : 0;
     }
@@ -160,6 +189,9 @@ final class SystemUTCRules extends UTCRules implements Serializable {
     @Override
     public int getTAIOffset(long mjDay) {
         Data data = dataRef.get();
+        if (mjDay > data.newestDate) {
+            return data.newestOffset;
+        }
         int pos = Arrays.binarySearch(data.dates, mjDay);
         pos = (pos < 0 ? ~pos : pos);
         return pos > 0 ? data.offsets[pos - 1] : 10;
@@ -176,9 +208,7 @@ final class SystemUTCRules extends UTCRules implements Serializable {
     protected UTCInstant convertToUTC(TAIInstant taiInstant) {
         Data data = dataRef.get();
         long[] mjds = data.dates;
-        long[] tais = data.taiSeconds;
-        int pos = Arrays.binarySearch(tais, taiInstant.getTAISeconds());
-        pos = (pos >= 0 ? pos : ~pos - 1);
+        int pos = data.indexOfTAISeconds(taiInstant.getTAISeconds());
         int taiOffset = (pos >= 0 ? data.offsets[pos] : 10);
         long adjustedTaiSecs = taiInstant.getTAISeconds() - taiOffset;
         long mjd = MathUtils.floorDiv(adjustedTaiSecs, SECS_PER_DAY) + OFFSET_MJD_TAI;
@@ -191,6 +221,34 @@ final class SystemUTCRules extends UTCRules implements Serializable {
         return UTCInstant.ofModifiedJulianDay(mjd, nod, this);
     }
 
+    @Override
+    public void convertTAIToEpochSeconds(long[] taiSeconds, int srcPos, long[] epochSeconds, int destPos, int length) {
+        checkRange(taiSeconds, srcPos, epochSeconds, destPos, length);
+        Data data = dataRef.get();
+        long[] mjds = data.dates;
+        for (int i = 0; i < length; i++) {
+            // inline convertToUTC(TAIInstant) and convertToInstant(UTCInstant)
+            int pos = data.indexOfTAISeconds(taiSeconds[srcPos + i]);
+            int taiOffset = (pos >= 0 ? data.offsets[pos] : 10);
+            long adjustedTaiSecs = taiSeconds[srcPos + i] - taiOffset;
+            long mjd = MathUtils.floorDiv(adjustedTaiSecs, SECS_PER_DAY) + OFFSET_MJD_TAI;
+            long nod = MathUtils.floorMod(adjustedTaiSecs, SECS_PER_DAY) * NANOS_PER_SECOND;
+            long mjdNextRegionStart = (pos + 1 < mjds.length ? mjds[pos + 1] + 1 : Long.MAX_VALUE);
+            if (mjd == mjdNextRegionStart) {  // in leap second
+                mjd--;
+                nod += SECS_PER_DAY * NANOS_PER_SECOND;
+            }
+            int leapAdj = (pos + 1 < mjds.length && mjd == mjds[pos + 1] ? data.offsets[pos + 1] - (pos >= 0 ? data.offsets[pos] : 10) : 0);
+            long startSlsNanos = (SECS_PER_DAY + leapAdj - 1000) * NANOS_PER_SECOND;
+            long slsNanos = nod;
+            if (leapAdj != 0 && nod >= startSlsNanos) {
+                slsNanos = nod - leapAdj * (nod - startSlsNanos) / 1000;  // apply UTC-SLS mapping
+            }
+            long epochSec = MathUtils.safeMultiply(mjd - OFFSET_MJD_EPOCH, SECS_PER_DAY);
+            epochSeconds[destPos + i] = epochSec + slsNanos / NANOS_PER_SECOND;
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Loads the rules from files in the class loader, often jar files.
@@ -100,6 +100,15 @@ import java.io.Serializable;
  */
 public abstract class TimeSource {
 
+    /**
+     * Constant for nanos per second.
+     */
+    private static final int NANOS_PER_SECOND = 1000000000;
+    /**
+     * Constant for nanos per millisecond.
+     */
+    private static final int NANOS_PER_MILLI = 1000000;
+
     /**
      * Gets a time-source that obtains the current instant using
      * the system millisecond clock.
@@ -115,6 +124,31 @@ public abstract class TimeSource {
         return SystemTimeSource.INSTANCE;
     }
 
+    /**
+     * Gets a time-source that obtains the current instant using
+     * the system nanosecond timer anchored to the system millisecond clock.
+     * <p>
+     * The time-source measures elapsed time using {@link System#nanoTime()} from an
+     * anchor taken from {@link System#currentTimeMillis()}, thus it has the resolution
+     * of the nanosecond timer. The anchor is checked against the millisecond clock
+     * at least once a second, and is reset if the two have drifted apart by more
+     * than a millisecond, such as when the system clock is adjusted.
+     * <p>
+     * Successive instants never decrease, unless the system clock is set back
+     * by more than one second. Instead, when the anchor is reset to an earlier time,
+     * the instant stays at the same reading until the reset anchor catches up,
+     * which may take up to one second.
+     * <p>
+     * The {@link #nanos()} method of the time-source does not create any objects.
+     * <p>
+     * The returned implementation is {@code Serializable}
+     *
+     * @return a {@code TimeSource} that uses the system nanosecond timer, not null
+     */
+    public static TimeSource nanoSystem() {
+        return NanoSystemTimeSource.INSTANCE;
+    }
+
     /**
      * Gets a time-source that always returns the same {@code Instant}.
      * <p>
@@ -247,6 +281,32 @@ public abstract class TimeSource {
         return instant().toEpochMilli();
     }
 
+    /**
+     * Gets the current nanosecond instant.
+     * <p>
+     * The instant returned by this method will vary according to the implementation.
+     * For example, the time-source returned by {@link #nanoSystem()} will return
+     * an instant based on {@link System#nanoTime()} without creating any objects.
+     * <p>
+     * A {@code long} of nanoseconds covers the years 1677 to 2262.
+     * <p>
+     * The default implementation of this method converts the value from {@code instant()}.
+     * <p>
+     * Normally, this method will not throw an exception.
+     * However, one possible implementation would be to obtain the time from a
+     * central time server across the network. Obviously, in this case the lookup
+     * could fail, and so the method is permitted to throw an exception.
+     *
+     * @return the current nanosecond instant from this time-source, measured from
+     *  the Java epoch of 1970-01-01T00:00 UTC
+     * @throws ArithmeticException if the instant exceeds the capacity of a {@code long}
+     * @throws CalendricalException if the instant cannot be obtained, not thrown by most implementations
+     */
+    public long nanos() {
+        Instant instant = instant();
+        return MathUtils.safeAdd(MathUtils.safeMultiply(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNanoOfSecond());
+    }
+
     // TODO: implement InstantProvider?
     // TODO: add caching of instants ("get to second precision")
 
@@ -280,11 +340,126 @@ public abstract class TimeSource {
         }
         /** {@inheritDoc} */
         @Override
+        public long nanos() {
+            return System.currentTimeMillis() * NANOS_PER_MILLI;
+        }
+        /** {@inheritDoc} */
+        @Override
         public String toString() {
             return "SystemTimeSource";
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Implementation of a time-source that returns the latest time from
+     * {@link System#nanoTime()} anchored to {@link System#currentTimeMillis()}.
+     * <p>
+     * The time does not go backwards when the anchor is corrected to the millisecond clock,
+     * instead it is held until the corrected time catches up.
+     * It will go backwards if the millisecond clock is set back by more than a second.
+     */
+    static final class NanoSystemTimeSource extends TimeSource implements Serializable {
+        /** Singleton instance. */
+        static final NanoSystemTimeSource INSTANCE = new NanoSystemTimeSource();
+        /** A serialization identifier for this class. */
+        private static final long serialVersionUID = 1L;
+        /** The nanoseconds of the timer after which the anchor is checked. */
+        private static final long CHECK_NANOS = NANOS_PER_SECOND;
+
+        /** The anchor, immutable and volatile, so no synchronization needed. */
+        private transient volatile Anchor anchor;
+
+        /** Restricted constructor. */
+        private NanoSystemTimeSource() {
+            // wait for the millisecond clock to tick, so the anchor is at the start of a millisecond
+            // this spins for up to the resolution of the clock, around 15ms on some platforms,
+            // but only once as this is a singleton and it avoids an error of up to the resolution
+            long millis = System.currentTimeMillis();
+            long tick = System.currentTimeMillis();
+            while (tick == millis) {
+                tick = System.currentTimeMillis();
+            }
+            anchor = new Anchor(System.nanoTime(), tick * NANOS_PER_MILLI, Long.MIN_VALUE);
+        }
+        /** Resolve singletons. */
+        private Object readResolve() {
+            return INSTANCE;
+        }
+        /** {@inheritDoc} */
+        @Override
+        public Instant instant() {
+            long nanos = nanos();
+            return Instant.ofEpochSecond(MathUtils.floorDiv(nanos, NANOS_PER_SECOND), MathUtils.floorMod(nanos, NANOS_PER_SECOND));
+        }
+        /** {@inheritDoc} */
+        @Override
+        public long millis() {
+            return MathUtils.floorDiv(nanos(), NANOS_PER_MILLI);
+        }
+        /** {@inheritDoc} */
+        @Override
+        public long nanos() {
+            Anchor current = anchor;
+            long nanoTime = System.nanoTime();
+            long elapsed = nanoTime - current.nanoTime;
+            if (elapsed >= 0 && elapsed < CHECK_NANOS) {
+                long epochNanos = current.epochNanos + elapsed;
+                return (epochNanos < current.floor ? current.floor : epochNanos);
+            }
+            return reanchor(Math.max(current.epochNanos + elapsed, current.floor), nanoTime);
+        }
+        /**
+         * Checks the estimated time against the millisecond clock, storing a new anchor.
+         * <p>
+         * The estimate is retained if it lies within the millisecond reported by the clock,
+         * thus the instant does not jitter by the resolution of the clock.
+         * If the estimate is ahead of the clock, the anchor moves to the clock,
+         * but the time is held at the estimate until the anchor catches up.
+         * Thus the time never goes backwards, unless the clock is more than a second behind.
+         *
+         * @param estimate  the estimated epoch nanoseconds, at least the last value returned
+         * @param nanoTime  the timer value of the estimate
+         * @return the epoch nanoseconds to return, at least the estimate
+         */
+        private long reanchor(long estimate, long nanoTime) {
+            long clock = System.currentTimeMillis() * NANOS_PER_MILLI;
+            if (estimate >= clock && estimate < clock + NANOS_PER_MILLI) {
+                anchor = new Anchor(nanoTime, estimate, Long.MIN_VALUE);
+                return estimate;
+            }
+            if (estimate > clock && estimate - clock <= CHECK_NANOS) {
+                anchor = new Anchor(nanoTime, clock, estimate);
+                return estimate;
+            }
+            anchor = new Anchor(nanoTime, clock, Long.MIN_VALUE);
+            return clock;
+        }
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "NanoSystemTimeSource";
+        }
+
+        /**
+         * The value of the timer at a known epoch nanosecond instant.
+         */
+        private static final class Anchor {
+            /** The value of the nanosecond timer. */
+            final long nanoTime;
+            /** The epoch nanoseconds at that value of the timer. */
+            final long epochNanos;
+            /** The minimum epoch nanoseconds to return, so the time does not go backwards. */
+            final long floor;
+            /** Constructor. */
+            Anchor(long nanoTime, long epochNanos, long floor) {
+                this.nanoTime = nanoTime;
+                this.epochNanos = epochNanos;
+                this.floor = floor;
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Implementation of a time-source that always returns the same instant.
@@ -261,6 +261,95 @@ public abstract class UTCRules {
         return UTCInstant.ofModifiedJulianDay(mjd, utcNanos, this);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Converts an array of epoch-seconds on the UTC-SLS time-scale to TAI seconds.
+     * <p>
+     * Each element is the number of seconds from the epoch of 1970-01-01 as used by
+     * {@code Instant}, and is converted to the number of seconds from the TAI epoch
+     * of 1958-01-01 as used by {@code TAIInstant}.
+     * During the last 1000 seconds of a day with a leap second the UTC-SLS
+     * time-scale is smoothed, and the TAI second is rounded down.
+     * <p>
+     * The arguments are specified in the style of {@link System#arraycopy}.
+     * The source and destination may be the same array.
+     * No {@code UTCInstant} or {@code TAIInstant} objects are created.
+     *
+     * @param epochSeconds  the epoch-seconds to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param taiSeconds  the array to store the TAI seconds in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of elements to convert
+     * @throws IndexOutOfBoundsException if the positions or length are invalid
+     * @throws ArithmeticException if the capacity is exceeded
+     */
+    public void convertEpochSecondsToTAI(long[] epochSeconds, int srcPos, long[] taiSeconds, int destPos, int length) {
+        checkRange(epochSeconds, srcPos, taiSeconds, destPos, length);
+        for (int i = 0; i < length; i++) {
+            long epochSec = epochSeconds[srcPos + i];
+            long mjd = MathUtils.floorDiv(epochSec, SECS_PER_DAY) + OFFSET_MJD_EPOCH;
+            long sod = MathUtils.floorMod(epochSec, SECS_PER_DAY);
+            int leapAdj = getLeapSecondAdjustment(mjd);
+            long startSls = SECS_PER_DAY + leapAdj - 1000;
+            if (leapAdj != 0 && sod >= startSls) {
+                long startSlsNanos = startSls * NANOS_PER_SECOND;
+                long utcNanos = startSlsNanos + ((sod * NANOS_PER_SECOND - startSlsNanos) * 1000) / (1000 - leapAdj);  // apply UTC-SLS mapping
+                sod = utcNanos / NANOS_PER_SECOND;
+            }
+            long taiUtcDaySeconds = MathUtils.safeMultiply(mjd - OFFSET_MJD_TAI, SECS_PER_DAY);
+            taiSeconds[destPos + i] = MathUtils.safeAdd(taiUtcDaySeconds, sod + getTAIOffset(mjd));
+        }
+    }
+
+    /**
+     * Converts an array of TAI seconds to epoch-seconds on the UTC-SLS time-scale.
+     * <p>
+     * Each element is the number of seconds from the TAI epoch of 1958-01-01 as used
+     * by {@code TAIInstant}, and is converted to the number of seconds from the epoch
+     * of 1970-01-01 as used by {@code Instant}.
+     * During the last 1000 seconds of a day with a leap second the UTC-SLS
+     * time-scale is smoothed, and the epoch-second is rounded down.
+     * <p>
+     * The arguments are specified in the style of {@link System#arraycopy}.
+     * The source and destination may be the same array.
+     * <p>
+     * The standard implementation converts each element via {@code convertToUTC(TAIInstant)}.
+     * Implementations are encouraged to override this to avoid creating objects.
+     *
+     * @param taiSeconds  the TAI seconds to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param epochSeconds  the array to store the epoch-seconds in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of elements to convert
+     * @throws IndexOutOfBoundsException if the positions or length are invalid
+     * @throws ArithmeticException if the capacity is exceeded
+     */
+    public void convertTAIToEpochSeconds(long[] taiSeconds, int srcPos, long[] epochSeconds, int destPos, int length) {
+        checkRange(taiSeconds, srcPos, epochSeconds, destPos, length);
+        for (int i = 0; i < length; i++) {
+            UTCInstant utc = convertToUTC(TAIInstant.ofTAISeconds(taiSeconds[srcPos + i], 0));
+            epochSeconds[destPos + i] = convertToInstant(utc).getEpochSecond();
+        }
+    }
+
+    /**
+     * Validates the arguments of a bulk conversion.
+     *
+     * @param src  the source array, not null
+     * @param srcPos  the starting position in the source array
+     * @param dest  the destination array, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of elements to convert
+     * @throws IndexOutOfBoundsException if the positions or length are invalid
+     */
+    static void checkRange(long[] src, int srcPos, long[] dest, int destPos, int length) {
+        Instant.checkNotNull(src, "Source array must not be null");
+        Instant.checkNotNull(dest, "Destination array must not be null");
+        if (srcPos < 0 || destPos < 0 || length < 0 || srcPos > src.length - length || destPos > dest.length - length) {
+            throw new IndexOutOfBoundsException("Invalid range: srcPos=" + srcPos + ", destPos=" + destPos + ", length=" + length);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * A string representation of these rules.
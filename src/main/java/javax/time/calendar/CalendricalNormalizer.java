@@ -130,6 +130,69 @@ public final class CalendricalNormalizer {
      */
     public static CalendricalNormalizer merge(Calendrical... calendricals) {
         ISOChronology.checkNotNull(calendricals, "Calendricals must not be null");
+        CalendricalNormalizer target = mergeISO(calendricals);
+        if (target == null) {
+            target = mergeFull(calendricals);
+        }
+        // normalization is quiet, so need to check it was successful
+        if (target.getErrors().size() > 0) {
+            throw new CalendricalException("Unable to merge " + Arrays.toString(calendricals) + ": " + target.getErrors());
+        }
+        return target;
+    }
+
+    /**
+     * Merges the calendricals if they are all standard ISO date and time objects.
+     * <p>
+     * The ISO objects, such as {@code LocalDate} and {@code ZoneOffset}, have no fields
+     * and their rules do not alter the merge process. As such, the full merge reduces
+     * to combining the objects and checking for clashes, which is done here directly.
+     * 
+     * @param calendricals  the calendricals to merge, not null
+     * @return the merged normalizer, null if the full merge is required
+     */
+    private static CalendricalNormalizer mergeISO(Calendrical[] calendricals) {
+        CalendricalNormalizer target = new CalendricalNormalizer(calendricals);
+        for (Calendrical calendrical : calendricals) {
+            if (calendrical instanceof LocalDate) {
+                target.mergeISO((LocalDate) calendrical, null, null, null);
+            } else if (calendrical instanceof LocalTime) {
+                target.mergeISO(null, (LocalTime) calendrical, null, null);
+            } else if (calendrical instanceof LocalDateTime) {
+                LocalDateTime dt = (LocalDateTime) calendrical;
+                target.mergeISO(dt.toLocalDate(), dt.toLocalTime(), null, null);
+            } else if (calendrical instanceof OffsetDateTime) {
+                OffsetDateTime odt = (OffsetDateTime) calendrical;
+                target.mergeISO(odt.toLocalDate(), odt.toLocalTime(), odt.getOffset(), null);
+            } else if (calendrical instanceof ZonedDateTime) {
+                ZonedDateTime zdt = (ZonedDateTime) calendrical;
+                target.mergeISO(zdt.toLocalDate(), zdt.toLocalTime(), zdt.getOffset(), zdt.getZone());
+            } else if (calendrical instanceof OffsetDate) {
+                OffsetDate od = (OffsetDate) calendrical;
+                target.mergeISO(od.toLocalDate(), null, od.getOffset(), null);
+            } else if (calendrical instanceof OffsetTime) {
+                OffsetTime ot = (OffsetTime) calendrical;
+                target.mergeISO(null, ot.toLocalTime(), ot.getOffset(), null);
+            } else if (calendrical instanceof ZoneOffset) {
+                target.setOffset((ZoneOffset) calendrical, true);
+            } else if (calendrical instanceof ZoneId) {
+                target.setZone((ZoneId) calendrical, true);
+            } else if (calendrical instanceof ISOChronology) {
+                target.setChronology((ISOChronology) calendrical, true);
+            } else {
+                return null;  // fields, other chronologies and nulls need the full merge
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Merges the calendricals by semi-normalizing each one and then normalizing the result.
+     * 
+     * @param calendricals  the calendricals to merge, not null
+     * @return the merged normalizer, not null
+     */
+    private static CalendricalNormalizer mergeFull(Calendrical[] calendricals) {
         CalendricalNormalizer target;
         try {
             List<CalendricalNormalizer> semiNormalized = new ArrayList<CalendricalNormalizer>(calendricals.length);
@@ -154,10 +217,6 @@ public final class CalendricalNormalizer {
             // provide more useful error message
             throw new CalendricalException("Unable to merge " + Arrays.toString(calendricals) + ": " + ex.getMessage(), ex);
         }
-        // normalization is quiet, so need to check it was successful
-        if (target.getErrors().size() > 0) {
-            throw new CalendricalException("Unable to merge " + Arrays.toString(calendricals) + ": " + target.getErrors());
-        }
         return target;
     }
 
@@ -228,6 +287,16 @@ public final class CalendricalNormalizer {
     }
 
     //-----------------------------------------------------------------------
+    /**
+     * Creates an empty instance to merge into.
+     * 
+     * @param calendricals  the original calendricals prior to merging, not null
+     */
+    private CalendricalNormalizer(Calendrical[] calendricals) {
+        this.input = Collections.unmodifiableList(Arrays.asList(calendricals));
+        this.rule = null;
+    }
+
     /**
      * Creates an instance from a normalized list of mergers.
      * 
@@ -235,8 +304,7 @@ public final class CalendricalNormalizer {
      * @param mergers  the merged form of the calendricals, not null
      */
     private CalendricalNormalizer(Calendrical[] calendricals, List<CalendricalNormalizer> mergers) {
-        this.input = Collections.unmodifiableList(Arrays.asList(calendricals));
-        this.rule = null;
+        this(calendricals);
         for (CalendricalNormalizer merger : mergers) {
             if (merger.date != null) {
                 setDate(merger.date, true);
@@ -569,6 +637,30 @@ public final class CalendricalNormalizer {
         }
     }
 
+    /**
+     * Merges the state of an ISO object, as per its semi-normalized form.
+     * 
+     * @param date  the date to merge, may be null
+     * @param time  the time to merge, may be null
+     * @param offset  the offset to merge, may be null
+     * @param zone  the zone to merge, may be null
+     */
+    private void mergeISO(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone) {
+        if (date != null) {
+            setDate(date, true);
+        }
+        if (time != null) {
+            setTime(time, true);
+        }
+        if (offset != null) {
+            setOffset(offset, true);
+        }
+        if (zone != null) {
+            setZone(zone, true);
+        }
+        setChronology(ISOChronology.INSTANCE, true);
+    }
+
     private <T> T set(T curObj, T newObj, boolean storeErrorIfClash) {
         if (storeErrorIfClash) {
             if (curObj != null && curObj.equals(newObj) == false) {
@@ -36,6 +36,7 @@ import java.util.TimeZone;
 
 import javax.time.CalendricalException;
 import javax.time.Instant;
+import javax.time.MathUtils;
 import javax.time.TimeSource;
 
 /**
@@ -160,6 +161,32 @@ public abstract class Clock {
         return new TimeSourceClock(timeSource, timeZone);
     }
 
+    /**
+     * Gets a clock that obtains the current date and time using the specified
+     * time-source and time-zone, caching the date and time to the second.
+     * <p>
+     * The clock retains the date, offset and date-time of the current second.
+     * Methods such as {@code today()} and {@code dateTimeToSecond()} return the
+     * retained objects until the time-source moves to another second, at which point
+     * they are recalculated, including the offset from the time-zone rules.
+     * Methods of higher resolution combine the retained date-time with the nanosecond
+     * of the current instant.
+     * <p>
+     * The results are the same as a clock from {@link #clock(TimeSource, ZoneId)},
+     * except that a change to the time-zone rules is only observed on the next second.
+     * The returned clock is suitable where the current date or time is queried many
+     * times a second.
+     *
+     * @param timeSource  the time-source to use to obtain the current time, not null
+     * @param timeZone  the time-zone to use to convert to date-times, not null
+     * @return a clock that caches the date and time to the second, not null
+     */
+    public static Clock cachingClock(TimeSource timeSource, ZoneId timeZone) {
+        ISOChronology.checkNotNull(timeSource, "TimeSource must not be null");
+        ISOChronology.checkNotNull(timeZone, "ZoneId must not be null");
+        return new CachingClock(timeSource, timeZone);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Constructor accessible by subclasses.
@@ -638,4 +665,212 @@ public abstract class Clock {
             return "TimeSourceClock[" + timeSource + ", " + zone + ']';
         }
     }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Implementation of a clock based on a time-source that caches the current second.
+     */
+    private static final class CachingClock extends Clock implements Serializable {
+        /** A serialization identifier for this class. */
+        private static final long serialVersionUID = 1L;
+        /** The time-source being used. */
+        private final TimeSource timeSource;
+        /** The time-zone being used. */
+        private final ZoneId zone;
+        /** The cached second, immutable and volatile, so no synchronization needed. */
+        private transient volatile Second second;
+
+        /** Restricted constructor. */
+        private CachingClock(TimeSource timeSource, ZoneId zone) {
+            this.timeSource = timeSource;
+            this.zone = zone;
+        }
+
+        /**
+         * Gets the cached second, recalculating it if the second has changed.
+         *
+         * @param epochSecond  the current epoch-second
+         * @return the cached second, not null
+         */
+        private Second second(long epochSecond) {
+            Second cached = second;
+            if (cached == null || cached.epochSecond != epochSecond) {
+                cached = new Second(epochSecond, ZonedDateTime.ofEpochSecond(epochSecond, zone));
+                second = cached;
+            }
+            return cached;
+        }
+
+        /**
+         * Gets the cached second of the current time-source millisecond.
+         *
+         * @return the cached second, not null
+         */
+        private Second second() {
+            return second(MathUtils.floorDiv(timeSource.millis(), 1000));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TimeSource getSource() {
+            return timeSource;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Clock withSource(TimeSource timeSource) {
+            ISOChronology.checkNotNull(timeSource, "TimeSource must not be null");
+            if (timeSource.equals(this.timeSource)) {
+                return this;
+            }
+            return new CachingClock(timeSource, zone);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Clock withZone(ZoneId zone) {
+            ISOChronology.checkNotNull(zone, "ZoneId must not be null");
+            if (zone.equals(this.zone)) {
+                return this;
+            }
+            return new CachingClock(timeSource, zone);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LocalDate today() {
+            return second().date;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LocalTime time() {
+            return dateTime().toLocalTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LocalTime timeToSecond() {
+            return second().dateTime.toLocalTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LocalDateTime dateTime() {
+            Instant instant = instant();
+            return second(instant.getEpochSecond()).dateTime.withNanoOfSecond(instant.getNanoOfSecond());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LocalDateTime dateTimeToSecond() {
+            return second().dateTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public OffsetDate offsetDate() {
+            return second().zonedDateTime.toOffsetDate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public OffsetTime offsetTime() {
+            return offsetDateTime().toOffsetTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public OffsetTime offsetTimeToSecond() {
+            return second().zonedDateTime.toOffsetTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public OffsetDateTime offsetDateTime() {
+            Instant instant = instant();
+            return second(instant.getEpochSecond()).offsetDateTime.withNanoOfSecond(instant.getNanoOfSecond());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public OffsetDateTime offsetDateTimeToSecond() {
+            return second().offsetDateTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ZonedDateTime zonedDateTime() {
+            Instant instant = instant();
+            Second cached = second(instant.getEpochSecond());
+            if (instant.getNanoOfSecond() == 0) {
+                return cached.zonedDateTime;
+            }
+            return ZonedDateTime.ofInstant(cached.offsetDateTime.withNanoOfSecond(instant.getNanoOfSecond()), zone);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ZonedDateTime zonedDateTimeToSecond() {
+            return second().zonedDateTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof CachingClock) {
+                CachingClock other = (CachingClock) obj;
+                return timeSource.equals(other.timeSource) && zone.equals(other.zone);
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            int hash = 11;
+            hash = 41 * hash + timeSource.hashCode();
+            hash = 41 * hash + zone.hashCode();
+            return hash;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "CachingClock[" + timeSource + ", " + zone + ']';
+        }
+
+        /**
+         * The date and time of a single second.
+         */
+        private static final class Second {
+            /** The epoch-second. */
+            final long epochSecond;
+            /** The zoned date-time. */
+            final ZonedDateTime zonedDateTime;
+            /** The offset date-time. */
+            final OffsetDateTime offsetDateTime;
+            /** The local date-time. */
+            final LocalDateTime dateTime;
+            /** The local date. */
+            final LocalDate date;
+            /** Constructor. */
+            Second(long epochSecond, ZonedDateTime zonedDateTime) {
+                this.epochSecond = epochSecond;
+                this.zonedDateTime = zonedDateTime;
+                this.offsetDateTime = zonedDateTime.toOffsetDateTime();
+                this.dateTime = zonedDateTime.toLocalDateTime();
+                this.date = zonedDateTime.toLocalDate();
+            }
+        }
+    }
 }
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static javax.time.calendar.ISOChronology.DAYS_0000_TO_1970;
+import static javax.time.calendar.ISOChronology.DAYS_PER_CYCLE;
+import static javax.time.calendar.ISOChronology.SECONDS_PER_DAY;
+
+import javax.time.CalendricalException;
+import javax.time.calendar.zone.ZoneRules;
+
+/**
+ * Provides bulk conversions of epoch-days and epoch-seconds held in primitive arrays.
+ * <p>
+ * The methods in this class perform the same calculations as {@link LocalDate#ofEpochDay(long)}
+ * and the associated getters, but operate on a whole column of values at a time.
+ * No date-time objects are created, allowing large volumes of timestamps to be
+ * bucketed by date, day-of-week or week without allocation.
+ * <p>
+ * Each method takes a source array, a source position, a destination array,
+ * a destination position and a length, in the style of {@link System#arraycopy}.
+ * The source and destination ranges are checked before any element is converted.
+ * <p>
+ * Dates may be packed into a single {@code int} using {@link #packDate(int, int, int)}.
+ * The packed form stores the year in the upper 23 bits, the month-of-year in the
+ * next 4 bits and the day-of-month in the lower 5 bits.
+ * Packed dates compare in the same order as the dates they represent.
+ * The packed form supports years from {@code -4,194,304} to {@code 4,194,303}.
+ * <p>
+ * EpochConversions is a utility class.
+ * All methods are thread-safe, although the arrays must not be modified concurrently.
+ *
+ * @author Stephen Colebourne
+ */
+public final class EpochConversions {
+
+    /**
+     * The minimum year that can be packed.
+     */
+    private static final int MIN_PACKED_YEAR = -(1 << 22);
+    /**
+     * The maximum year that can be packed.
+     */
+    private static final int MAX_PACKED_YEAR = (1 << 22) - 1;
+    /**
+     * The minimum supported epoch-day.
+     */
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN_DATE.toEpochDay();
+    /**
+     * The maximum supported epoch-day.
+     */
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX_DATE.toEpochDay();
+
+    /**
+     * Private constructor since this is a utility class.
+     */
+    private EpochConversions() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Packs a date into an {@code int}.
+     *
+     * @param year  the year, from -4,194,304 to 4,194,303
+     * @param monthOfYear  the month-of-year, from 1 to 12
+     * @param dayOfMonth  the day-of-month, from 1 to 31
+     * @return the packed date
+     * @throws CalendricalException if the date is invalid or cannot be packed
+     */
+    public static int packDate(int year, int monthOfYear, int dayOfMonth) {
+        checkPackedYear(year);
+        LocalDate.of(year, monthOfYear, dayOfMonth);  // validate
+        return pack(year, monthOfYear, dayOfMonth);
+    }
+
+    /**
+     * Extracts the year from a packed date.
+     *
+     * @param packedDate  the packed date
+     * @return the year
+     */
+    public static int unpackYear(int packedDate) {
+        return packedDate >> 9;
+    }
+
+    /**
+     * Extracts the month-of-year from a packed date.
+     *
+     * @param packedDate  the packed date
+     * @return the month-of-year, from 1 to 12
+     */
+    public static int unpackMonthOfYear(int packedDate) {
+        return (packedDate >>> 5) & 0x0F;
+    }
+
+    /**
+     * Extracts the day-of-month from a packed date.
+     *
+     * @param packedDate  the packed date
+     * @return the day-of-month, from 1 to 31
+     */
+    public static int unpackDayOfMonth(int packedDate) {
+        return packedDate & 0x1F;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts epoch-seconds to epoch-days.
+     * <p>
+     * The epoch-day is the day containing the epoch-second, rounding towards negative infinity.
+     *
+     * @param epochSeconds  the epoch-seconds to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param epochDays  the array to store the epoch-days in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     */
+    public static void epochSecondsToEpochDays(long[] epochSeconds, int srcPos, long[] epochDays, int destPos, int length) {
+        checkRange(epochSeconds.length, srcPos, epochDays.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            long secs = epochSeconds[srcPos + i];
+            long days = secs / SECONDS_PER_DAY;
+            if (secs % SECONDS_PER_DAY < 0) {
+                days--;
+            }
+            epochDays[destPos + i] = days;
+        }
+    }
+
+    /**
+     * Converts epoch-seconds to second-of-day.
+     *
+     * @param epochSeconds  the epoch-seconds to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param secondsOfDay  the array to store the second-of-day in, from 0 to 86,399, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     */
+    public static void epochSecondsToSecondOfDay(long[] epochSeconds, int srcPos, int[] secondsOfDay, int destPos, int length) {
+        checkRange(epochSeconds.length, srcPos, secondsOfDay.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            int sod = (int) (epochSeconds[srcPos + i] % SECONDS_PER_DAY);
+            secondsOfDay[destPos + i] = (sod < 0 ? sod + SECONDS_PER_DAY : sod);
+        }
+    }
+
+    /**
+     * Converts epoch-seconds to packed dates.
+     * <p>
+     * This is equivalent to converting to epoch-days and then to packed dates.
+     *
+     * @param epochSeconds  the epoch-seconds to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param packedDates  the array to store the packed dates in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     * @throws CalendricalException if a date cannot be packed
+     */
+    public static void epochSecondsToPackedDates(long[] epochSeconds, int srcPos, int[] packedDates, int destPos, int length) {
+        checkRange(epochSeconds.length, srcPos, packedDates.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            long secs = epochSeconds[srcPos + i];
+            long days = secs / SECONDS_PER_DAY;
+            if (secs % SECONDS_PER_DAY < 0) {
+                days--;
+            }
+            packedDates[destPos + i] = toPackedDate(days);
+        }
+    }
+
+    /**
+     * Converts epoch-seconds in UTC to local epoch-seconds using the rules of a time-zone.
+     * <p>
+     * The local epoch-second is the epoch-second plus the offset in force at that instant.
+     * It counts seconds from 1970-01-01T00:00 on the local time-line, and so can be
+     * passed to the other methods in this class to obtain local dates.
+     * Fixed offset rules are applied without any lookup.
+     *
+     * @param epochSeconds  the epoch-seconds to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param rules  the time-zone rules to use, not null
+     * @param localEpochSeconds  the array to store the local epoch-seconds in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     */
+    public static void epochSecondsToLocalEpochSeconds(
+            long[] epochSeconds, int srcPos, ZoneRules rules, long[] localEpochSeconds, int destPos, int length) {
+        ISOChronology.checkNotNull(rules, "ZoneRules must not be null");
+        checkRange(epochSeconds.length, srcPos, localEpochSeconds.length, destPos, length);
+        if (length == 0) {
+            return;
+        }
+        if (rules.isFixedOffset()) {
+            int offsetSecs = rules.getOffset(epochSeconds[srcPos]).getAmountSeconds();
+            for (int i = 0; i < length; i++) {
+                localEpochSeconds[destPos + i] = epochSeconds[srcPos + i] + offsetSecs;
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                long secs = epochSeconds[srcPos + i];
+                localEpochSeconds[destPos + i] = secs + rules.getOffset(secs).getAmountSeconds();
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts epoch-days to packed dates.
+     *
+     * @param epochDays  the epoch-days to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param packedDates  the array to store the packed dates in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     * @throws CalendricalException if a date cannot be packed
+     */
+    public static void epochDaysToPackedDates(long[] epochDays, int srcPos, int[] packedDates, int destPos, int length) {
+        checkRange(epochDays.length, srcPos, packedDates.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            packedDates[destPos + i] = toPackedDate(epochDays[srcPos + i]);
+        }
+    }
+
+    /**
+     * Converts packed dates to epoch-days.
+     * <p>
+     * The packed dates are not validated, and must have been created by this class.
+     *
+     * @param packedDates  the packed dates to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param epochDays  the array to store the epoch-days in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     */
+    public static void packedDatesToEpochDays(int[] packedDates, int srcPos, long[] epochDays, int destPos, int length) {
+        checkRange(packedDates.length, srcPos, epochDays.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            int packed = packedDates[srcPos + i];
+            epochDays[destPos + i] = toEpochDay(packed >> 9, (packed >>> 5) & 0x0F, packed & 0x1F);
+        }
+    }
+
+    /**
+     * Converts epoch-days to day-of-week values.
+     * <p>
+     * The values follow {@link DayOfWeek#getValue()}, from 1 (Monday) to 7 (Sunday).
+     *
+     * @param epochDays  the epoch-days to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param daysOfWeek  the array to store the day-of-week values in, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     * @throws CalendricalException if an epoch-day is outside the supported date range
+     */
+    public static void epochDaysToDayOfWeek(long[] epochDays, int srcPos, int[] daysOfWeek, int destPos, int length) {
+        checkRange(epochDays.length, srcPos, daysOfWeek.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            daysOfWeek[destPos + i] = dayOfWeek(checkEpochDay(epochDays[srcPos + i]));
+        }
+    }
+
+    /**
+     * Converts epoch-days to day-of-year values.
+     *
+     * @param epochDays  the epoch-days to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param daysOfYear  the array to store the day-of-year values in, from 1 to 366, not null
+     * @param destPos  the starting position in the destination array
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if either range is outside its array
+     * @throws CalendricalException if an epoch-day is outside the supported date range
+     */
+    public static void epochDaysToDayOfYear(long[] epochDays, int srcPos, int[] daysOfYear, int destPos, int length) {
+        checkRange(epochDays.length, srcPos, daysOfYear.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            long epochDay = checkEpochDay(epochDays[srcPos + i]);
+            int year = (int) yearOfEpochDay(epochDay);
+            daysOfYear[destPos + i] = (int) (epochDay - toEpochDay(year, 1, 1)) + 1;
+        }
+    }
+
+    /**
+     * Converts epoch-days to ISO-8601 week-based-year and week-of-week-based-year values.
+     * <p>
+     * The week-based-year and week are those defined by {@link ISODateTimeRule#WEEK_BASED_YEAR}
+     * and {@link ISODateTimeRule#WEEK_OF_WEEK_BASED_YEAR}.
+     *
+     * @param epochDays  the epoch-days to convert, not null
+     * @param srcPos  the starting position in the source array
+     * @param weekBasedYears  the array to store the week-based-year values in, not null
+     * @param weeks  the array to store the week-of-week-based-year values in, from 1 to 53, not null
+     * @param destPos  the starting position in both destination arrays
+     * @param length  the number of values to convert
+     * @throws IndexOutOfBoundsException if any range is outside its array
+     * @throws CalendricalException if an epoch-day is outside the supported date range
+     */
+    public static void epochDaysToISOWeeks(long[] epochDays, int srcPos, int[] weekBasedYears, int[] weeks, int destPos, int length) {
+        checkRange(epochDays.length, srcPos, weekBasedYears.length, destPos, length);
+        checkRange(epochDays.length, srcPos, weeks.length, destPos, length);
+        for (int i = 0; i < length; i++) {
+            long epochDay = checkEpochDay(epochDays[srcPos + i]);
+            // the week belongs to the year containing its Thursday
+            long thursday = epochDay - dayOfWeek(epochDay) + 4;
+            int wby = (int) yearOfEpochDay(thursday);
+            weekBasedYears[destPos + i] = wby;
+            weeks[destPos + i] = (int) ((thursday - toEpochDay(wby, 1, 1)) / 7) + 1;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Validates the array ranges.
+     *
+     * @param srcLength  the source array length
+     * @param srcPos  the source position
+     * @param destLength  the destination array length
+     * @param destPos  the destination position
+     * @param length  the number of elements
+     */
+    private static void checkRange(int srcLength, int srcPos, int destLength, int destPos, int length) {
+        if (srcPos < 0 || destPos < 0 || length < 0 || srcPos > srcLength - length || destPos > destLength - length) {
+            throw new IndexOutOfBoundsException("Invalid range: srcPos=" + srcPos + ", destPos=" + destPos + ", length=" + length);
+        }
+    }
+
+    /**
+     * Validates that the epoch-day is within the supported date range.
+     *
+     * @param epochDay  the epoch-day to check
+     * @return the epoch-day
+     */
+    private static long checkEpochDay(long epochDay) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new CalendricalException("Epoch-day " + epochDay + " is outside the supported date range");
+        }
+        return epochDay;
+    }
+
+    /**
+     * Validates that the year can be packed.
+     *
+     * @param year  the year to check
+     */
+    private static void checkPackedYear(long year) {
+        if (year < MIN_PACKED_YEAR || year > MAX_PACKED_YEAR) {
+            throw new CalendricalException("Year " + year + " cannot be packed into an int");
+        }
+    }
+
+    /**
+     * Packs a valid date.
+     */
+    private static int pack(int year, int month, int dom) {
+        return (year << 9) | (month << 5) | dom;
+    }
+
+    /**
+     * Calculates the day-of-week from the epoch-day, from 1 to 7.
+     */
+    private static int dayOfWeek(long epochDay) {
+        int dow0 = (int) ((epochDay + 3) % 7);  // 1970-01-01 is a Thursday
+        return (dow0 < 0 ? dow0 + 7 : dow0) + 1;
+    }
+
+    /**
+     * Calculates the year containing the epoch-day.
+     */
+    private static long yearOfEpochDay(long epochDay) {
+        long yearDoy = toMarchYearAndDay(epochDay);
+        int marchDoy0 = (int) (yearDoy & 511);
+        return (yearDoy >> 9) + (marchDoy0 >= 306 ? 1 : 0);  // January is 306 days after March
+    }
+
+    /**
+     * Calculates the packed date from an epoch-day, matching {@link LocalDate#ofEpochDay(long)}.
+     */
+    static int toPackedDate(long epochDay) {
+        long dayIndex = epochDay + DAYS_0000_TO_1970 - ISOChronology.DAYS_0000_TO_TABLE_START;
+        if (dayIndex >= 0 && dayIndex < ISOChronology.TABLE_DAYS) {
+            return ISOChronology.getTablePackedDate((int) dayIndex);
+        }
+        long yearDoy = toMarchYearAndDay(checkEpochDay(epochDay));
+        int marchDoy0 = (int) (yearDoy & 511);
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        long year = (yearDoy >> 9) + marchMonth0 / 10;
+        checkPackedYear(year);
+        return pack((int) year, month, dom);
+    }
+
+    /**
+     * Calculates the march-based year and zero-based day-of-year from an epoch-day.
+     * <p>
+     * The march-based year starts on 0000-03-01 so that the leap day is at the end.
+     * The result holds the year multiplied by 512 plus the day-of-year.
+     */
+    private static long toMarchYearAndDay(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        return ((yearEst + adjust) << 9) + doyEst;
+    }
+
+    /**
+     * Calculates the epoch-day of a date, matching {@link LocalDate#toEpochDay()}.
+     */
+    private static long toEpochDay(long year, int month, int dom) {
+        if (year >= ISOChronology.TABLE_MIN_YEAR && year <= ISOChronology.TABLE_MAX_YEAR) {
+            return ISOChronology.DAYS_0000_TO_TABLE_START + ISOChronology.getTableDayIndex((int) year, month, dom) - DAYS_0000_TO_1970;
+        }
+        long total = 365 * year;
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+        total += ((367 * month - 362) / 12);
+        total += dom - 1;
+        if (month > 2) {
+            total--;
+            if (ISOChronology.isLeapYear(year) == false) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+}
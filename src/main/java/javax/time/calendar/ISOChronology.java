@@ -78,6 +78,58 @@ public final class ISOChronology extends Chronology implements Serializable {
      * The number of days from year zero to the Modified Julian Day epoch of 1858-11-17.
      */
     static final long DAYS_0000_TO_MJD_EPOCH = 678941;
+    /**
+     * The first year in the date lookup tables.
+     */
+    static final int TABLE_MIN_YEAR = 1900;
+    /**
+     * The last year in the date lookup tables.
+     */
+    static final int TABLE_MAX_YEAR = 2200;
+    /**
+     * The number of days from year zero to the start of the lookup tables, 1900-01-01.
+     * There are 17 leap years from 1900 to 1970.
+     */
+    static final long DAYS_0000_TO_TABLE_START = DAYS_0000_TO_1970 - (70L * 365L + 17L);
+    /**
+     * The table of day indices, counted from 1900-01-01, of the first day of each year.
+     * There is an additional element holding the day index of the first day after the table.
+     */
+    private static final int[] YEAR_START_DAYS;
+    /**
+     * The number of days covered by the lookup tables.
+     */
+    static final int TABLE_DAYS;
+    /**
+     * The table of zero-based day-of-year of the first day of each month,
+     * standard years then leap years.
+     */
+    private static final int[] MONTH_START_DAYS = {
+        0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365,
+        0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366,
+    };
+    /**
+     * The table of month and day-of-month, packed as {@code (month << 5) | dayOfMonth},
+     * indexed by zero-based day-of-year, standard years then leap years.
+     */
+    private static final short[] DAY_OF_YEAR_MONTH_DAYS = new short[366 * 2];
+    static {
+        int[] yearStarts = new int[TABLE_MAX_YEAR - TABLE_MIN_YEAR + 2];
+        for (int i = 1; i < yearStarts.length; i++) {
+            yearStarts[i] = yearStarts[i - 1] + (isLeapYear(TABLE_MIN_YEAR + i - 1) ? 366 : 365);
+        }
+        YEAR_START_DAYS = yearStarts;
+        TABLE_DAYS = yearStarts[yearStarts.length - 1];
+        for (int leap = 0; leap < 2; leap++) {
+            for (int month = 1; month <= 12; month++) {
+                int start = MONTH_START_DAYS[leap * 13 + month - 1];
+                int end = MONTH_START_DAYS[leap * 13 + month];
+                for (int doy0 = start; doy0 < end; doy0++) {
+                    DAY_OF_YEAR_MONTH_DAYS[leap * 366 + doy0] = (short) ((month << 5) | (doy0 - start + 1));
+                }
+            }
+        }
+    }
 
     //-----------------------------------------------------------------------
     /**
@@ -124,6 +176,11 @@ public final class ISOChronology extends Chronology implements Serializable {
      * @return the day-of-week
      */
     static DayOfWeek getDayOfWeekFromDate(LocalDate date) {
+        int year = date.getYear();
+        if (year >= TABLE_MIN_YEAR && year <= TABLE_MAX_YEAR) {
+            int dayIndex = getTableDayIndex(year, date.getMonthOfYear().getValue(), date.getDayOfMonth());
+            return DayOfWeek.of(dayIndex % 7 + 1);  // 1900-01-01 was a Monday
+        }
         long mjd = date.toModifiedJulianDay();
         if (mjd < 0) {
             long weeks = mjd / 7;
@@ -141,7 +198,49 @@ public final class ISOChronology extends Chronology implements Serializable {
      * @return the day-of-year
      */
     static int getDayOfYearFromDate(LocalDate date) {
-        return date.getMonthOfYear().getMonthStartDayOfYear(date.isLeapYear()) + date.getDayOfMonth() - 1;
+        int leapIndex = (date.isLeapYear() ? 13 : 0);
+        return MONTH_START_DAYS[leapIndex + date.getMonthOfYear().getValue() - 1] + date.getDayOfMonth();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Calculates the day index within the lookup tables from a date.
+     * <p>
+     * The day index is a simple incrementing count of days where day 0 is 1900-01-01.
+     *
+     * @param year  the year, from {@code TABLE_MIN_YEAR} to {@code TABLE_MAX_YEAR}
+     * @param month  the month-of-year, from 1 to 12
+     * @param dayOfMonth  the day-of-month, valid for the year and month
+     * @return the day index
+     */
+    static int getTableDayIndex(int year, int month, int dayOfMonth) {
+        int yearIndex = year - TABLE_MIN_YEAR;
+        int yearStart = YEAR_START_DAYS[yearIndex];
+        int leapIndex = (YEAR_START_DAYS[yearIndex + 1] - yearStart == 366 ? 13 : 0);
+        return yearStart + MONTH_START_DAYS[leapIndex + month - 1] + dayOfMonth - 1;
+    }
+
+    /**
+     * Calculates the date from a day index within the lookup tables.
+     * <p>
+     * The year is estimated by multiplying by the reciprocal of the average year length,
+     * which is never more than one year out within the tables, and then corrected.
+     *
+     * @param dayIndex  the day index, from 0 to {@code TABLE_DAYS - 1}
+     * @return the date packed as {@code (year << 9) | (month << 5) | dayOfMonth}
+     */
+    static int getTablePackedDate(int dayIndex) {
+        int yearIndex = (int) ((dayIndex * 2870L) >>> 20);  // 2^20 / 365.35
+        int yearStart = YEAR_START_DAYS[yearIndex];
+        if (dayIndex < yearStart) {
+            yearIndex--;
+            yearStart = YEAR_START_DAYS[yearIndex];
+        } else if (dayIndex >= YEAR_START_DAYS[yearIndex + 1]) {
+            yearIndex++;
+            yearStart = YEAR_START_DAYS[yearIndex];
+        }
+        int leapIndex = (YEAR_START_DAYS[yearIndex + 1] - yearStart == 366 ? 366 : 0);
+        return ((yearIndex + TABLE_MIN_YEAR) << 9) | DAY_OF_YEAR_MONTH_DAYS[leapIndex + dayIndex - yearStart];
     }
 
     /**
@@ -246,6 +246,12 @@ public final class LocalDate
      * @throws IllegalCalendarFieldValueException if the epoch days exceeds the supported date range
      */
     static LocalDate ofYearZeroDay(long zeroDay) {
+        long dayIndex = zeroDay - ISOChronology.DAYS_0000_TO_TABLE_START;
+        if (dayIndex >= 0 && dayIndex < ISOChronology.TABLE_DAYS) {
+            int packed = ISOChronology.getTablePackedDate((int) dayIndex);
+            return new LocalDate(packed >>> 9, MonthOfYear.of((packed >>> 5) & 15), packed & 31);
+        }
+        
         // find the march-based year
         zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
         long adjust = 0;
@@ -1328,6 +1334,9 @@ public final class LocalDate
      * @return the year zero days count equal to this date
      */
     long toYearZeroDay() {
+        if (year >= ISOChronology.TABLE_MIN_YEAR && year <= ISOChronology.TABLE_MAX_YEAR) {
+            return ISOChronology.DAYS_0000_TO_TABLE_START + ISOChronology.getTableDayIndex(year, month.getValue(), day);
+        }
 //        int a = (14 - month) / 12;
 //        long y = year + 4800 - a;
 //        long m = month + 12 * a - 3;
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import javax.time.CalendricalException;
+import javax.time.Instant;
+import javax.time.MathUtils;
+
+/**
+ * Provides compact primitive encodings of local and offset date-times.
+ * <p>
+ * Large collections of date-times are expensive to hold as objects, as each
+ * {@code LocalDateTime} consists of three objects. The methods in this class
+ * encode date-times as primitives, allowing them to be stored in primitive arrays.
+ * Each encoding compares in the same order as the objects it represents,
+ * thus packed values may be sorted and searched without being decoded.
+ * The fields may be extracted from the packed form without creating objects.
+ * <p>
+ * The encodings are:
+ * <ul>
+ * <li>{@code LocalDate} - an {@code int} holding the year in the upper 23 bits, the month-of-year
+ *  in the next 4 bits and the day-of-month in the lower 5 bits, as per {@link EpochConversions}.
+ *  Years from {@code -4,194,304} to {@code 4,194,303} are supported.</li>
+ * <li>{@code LocalTime} - a {@code long} holding the nano-of-day.</li>
+ * <li>{@code LocalDateTime} - a {@code long} holding the nanoseconds from 1970-01-01T00:00
+ *  on the local time-line. Date-times from 1677-09-21 to 2262-04-11 are supported.
+ *  For dates outside this range, pack the date and time separately.</li>
+ * <li>{@code OffsetDateTime} - a {@code long} holding the nanoseconds from the epoch of
+ *  1970-01-01T00:00Z, together with an {@code int} holding the offset in seconds.
+ *  Comparing the nanoseconds, and then the offset, matches {@link OffsetDateTime#compareTo}.
+ *  Instants from 1677-09-21 to 2262-04-11 are supported.</li>
+ * </ul>
+ * <p>
+ * PackedDateTimes is a utility class.
+ * All methods are thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+public final class PackedDateTimes {
+
+    /**
+     * Nanos per second.
+     */
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    /**
+     * Nanos per minute.
+     */
+    private static final long NANOS_PER_MINUTE = NANOS_PER_SECOND * 60;
+    /**
+     * Nanos per hour.
+     */
+    private static final long NANOS_PER_HOUR = NANOS_PER_MINUTE * 60;
+    /**
+     * Nanos per day.
+     */
+    private static final long NANOS_PER_DAY = NANOS_PER_HOUR * 24;
+
+    /**
+     * Private constructor since this is a utility class.
+     */
+    private PackedDateTimes() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Packs a date into an {@code int}.
+     *
+     * @param date  the date to pack, not null
+     * @return the packed date
+     * @throws CalendricalException if the year cannot be packed
+     */
+    public static int packDate(LocalDate date) {
+        ISOChronology.checkNotNull(date, "LocalDate must not be null");
+        return EpochConversions.packDate(date.getYear(), date.getMonthOfYear().getValue(), date.getDayOfMonth());
+    }
+
+    /**
+     * Unpacks a date from an {@code int}.
+     *
+     * @param packedDate  the packed date
+     * @return the date, not null
+     * @throws CalendricalException if the packed value is not a valid date
+     */
+    public static LocalDate unpackDate(int packedDate) {
+        return LocalDate.of(getYear(packedDate), getMonthOfYear(packedDate), getDayOfMonth(packedDate));
+    }
+
+    /**
+     * Gets the year from a packed date.
+     *
+     * @param packedDate  the packed date
+     * @return the year
+     */
+    public static int getYear(int packedDate) {
+        return EpochConversions.unpackYear(packedDate);
+    }
+
+    /**
+     * Gets the month-of-year from a packed date.
+     *
+     * @param packedDate  the packed date
+     * @return the month-of-year, from 1 to 12
+     */
+    public static int getMonthOfYear(int packedDate) {
+        return EpochConversions.unpackMonthOfYear(packedDate);
+    }
+
+    /**
+     * Gets the day-of-month from a packed date.
+     *
+     * @param packedDate  the packed date
+     * @return the day-of-month, from 1 to 31
+     */
+    public static int getDayOfMonth(int packedDate) {
+        return EpochConversions.unpackDayOfMonth(packedDate);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Packs a time into a {@code long}.
+     *
+     * @param time  the time to pack, not null
+     * @return the packed time, being the nano-of-day
+     */
+    public static long packTime(LocalTime time) {
+        ISOChronology.checkNotNull(time, "LocalTime must not be null");
+        return time.toNanoOfDay();
+    }
+
+    /**
+     * Unpacks a time from a {@code long}.
+     *
+     * @param packedTime  the packed time
+     * @return the time, not null
+     * @throws CalendricalException if the packed value is not a valid time
+     */
+    public static LocalTime unpackTime(long packedTime) {
+        return LocalTime.ofNanoOfDay(packedTime);
+    }
+
+    /**
+     * Gets the hour-of-day from a packed time.
+     *
+     * @param packedTime  the packed time
+     * @return the hour-of-day, from 0 to 23
+     */
+    public static int getHourOfDay(long packedTime) {
+        return (int) (packedTime / NANOS_PER_HOUR);
+    }
+
+    /**
+     * Gets the minute-of-hour from a packed time.
+     *
+     * @param packedTime  the packed time
+     * @return the minute-of-hour, from 0 to 59
+     */
+    public static int getMinuteOfHour(long packedTime) {
+        return (int) ((packedTime / NANOS_PER_MINUTE) % 60);
+    }
+
+    /**
+     * Gets the second-of-minute from a packed time.
+     *
+     * @param packedTime  the packed time
+     * @return the second-of-minute, from 0 to 59
+     */
+    public static int getSecondOfMinute(long packedTime) {
+        return (int) ((packedTime / NANOS_PER_SECOND) % 60);
+    }
+
+    /**
+     * Gets the nano-of-second from a packed time.
+     *
+     * @param packedTime  the packed time
+     * @return the nano-of-second, from 0 to 999,999,999
+     */
+    public static int getNanoOfSecond(long packedTime) {
+        return (int) (packedTime % NANOS_PER_SECOND);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Packs a date-time into a {@code long}.
+     *
+     * @param dateTime  the date-time to pack, not null
+     * @return the packed date-time
+     * @throws ArithmeticException if the date-time is outside the supported range
+     */
+    public static long packDateTime(LocalDateTime dateTime) {
+        ISOChronology.checkNotNull(dateTime, "LocalDateTime must not be null");
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        long nanoOfDay = dateTime.toLocalTime().toNanoOfDay();
+        if (epochDay < 0) {
+            // avoid overflow of the intermediate result on the earliest day
+            epochDay++;
+            nanoOfDay -= NANOS_PER_DAY;
+        }
+        return MathUtils.safeAdd(MathUtils.safeMultiply(epochDay, NANOS_PER_DAY), nanoOfDay);
+    }
+
+    /**
+     * Unpacks a date-time from a {@code long}.
+     *
+     * @param packedDateTime  the packed date-time
+     * @return the date-time, not null
+     */
+    public static LocalDateTime unpackDateTime(long packedDateTime) {
+        LocalDate date = LocalDate.ofEpochDay(MathUtils.floorDiv(packedDateTime, NANOS_PER_DAY));
+        LocalTime time = LocalTime.ofNanoOfDay(MathUtils.floorMod(packedDateTime, NANOS_PER_DAY));
+        return LocalDateTime.of(date, time);
+    }
+
+    /**
+     * Gets the packed date from a packed date-time.
+     * <p>
+     * The fields of the date may then be obtained using {@link #getYear(int)},
+     * {@link #getMonthOfYear(int)} and {@link #getDayOfMonth(int)}.
+     *
+     * @param packedDateTime  the packed date-time
+     * @return the packed date
+     */
+    public static int getDate(long packedDateTime) {
+        return EpochConversions.toPackedDate(MathUtils.floorDiv(packedDateTime, NANOS_PER_DAY));
+    }
+
+    /**
+     * Gets the packed time from a packed date-time.
+     * <p>
+     * The fields of the time may then be obtained using {@link #getHourOfDay(long)},
+     * {@link #getMinuteOfHour(long)}, {@link #getSecondOfMinute(long)} and
+     * {@link #getNanoOfSecond(long)}.
+     *
+     * @param packedDateTime  the packed date-time
+     * @return the packed time, being the nano-of-day
+     */
+    public static long getTime(long packedDateTime) {
+        return MathUtils.floorMod(packedDateTime, NANOS_PER_DAY);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Packs the instant of an offset date-time into a {@code long}.
+     * <p>
+     * The offset is not included and must be stored separately, typically
+     * using {@link ZoneOffset#getAmountSeconds()}.
+     *
+     * @param dateTime  the date-time to pack, not null
+     * @return the packed instant, being the nanoseconds from 1970-01-01T00:00Z
+     * @throws ArithmeticException if the instant is outside the supported range
+     */
+    public static long packOffsetDateTime(OffsetDateTime dateTime) {
+        ISOChronology.checkNotNull(dateTime, "OffsetDateTime must not be null");
+        long epochSecond = dateTime.toEpochSecond();
+        long nanoOfSecond = dateTime.getNanoOfSecond();
+        if (epochSecond < 0) {
+            // avoid overflow of the intermediate result on the earliest second
+            epochSecond++;
+            nanoOfSecond -= NANOS_PER_SECOND;
+        }
+        return MathUtils.safeAdd(MathUtils.safeMultiply(epochSecond, NANOS_PER_SECOND), nanoOfSecond);
+    }
+
+    /**
+     * Unpacks an offset date-time from a packed instant and offset.
+     *
+     * @param packedInstant  the packed instant, being the nanoseconds from 1970-01-01T00:00Z
+     * @param offsetSeconds  the offset in seconds
+     * @return the offset date-time, not null
+     * @throws IllegalArgumentException if the offset is invalid
+     */
+    public static OffsetDateTime unpackOffsetDateTime(long packedInstant, int offsetSeconds) {
+        Instant instant = Instant.ofEpochSecond(
+                MathUtils.floorDiv(packedInstant, NANOS_PER_SECOND), MathUtils.floorMod(packedInstant, NANOS_PER_SECOND));
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(offsetSeconds));
+    }
+
+    /**
+     * Gets the packed local date-time from a packed instant and offset.
+     * <p>
+     * The fields may then be obtained from the result using {@link #getDate(long)}
+     * and {@link #getTime(long)}.
+     *
+     * @param packedInstant  the packed instant, being the nanoseconds from 1970-01-01T00:00Z
+     * @param offsetSeconds  the offset in seconds
+     * @return the packed local date-time
+     * @throws ArithmeticException if the local date-time is outside the supported range
+     */
+    public static long getLocalDateTime(long packedInstant, int offsetSeconds) {
+        return MathUtils.safeAdd(packedInstant, offsetSeconds * NANOS_PER_SECOND);
+    }
+
+}
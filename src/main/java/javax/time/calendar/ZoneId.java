@@ -40,6 +40,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -118,6 +120,17 @@ public abstract class ZoneId implements Calendrical, Serializable {
      * The group:region#version ID pattern.
      */
     private static final Pattern PATTERN = Pattern.compile("(([A-Za-z0-9._-]+)[:])?([A-Za-z0-9%@~/+._-]+)([#]([A-Za-z0-9._-]+))?");
+    /**
+     * The maximum number of parsed IDs to cache.
+     */
+    private static final int CACHE_MAX_SIZE = 1000;
+    /**
+     * The cache of checked time-zones keyed by the identifier they were parsed from.
+     * Entries are never invalidated as rules cannot be deregistered.
+     * The cache is cleared when full, so recently used identifiers are always cached.
+     */
+    private static final ConcurrentMap<String, ZoneId> CACHE =
+            new ConcurrentHashMap<String, ZoneId>(64, 0.75f, 4);
     /**
      * A serialization identifier for this class.
      */
@@ -313,13 +326,26 @@ public abstract class ZoneId implements Calendrical, Serializable {
      * <p>
      * Note that it is intended that fixed offset time-zones are rarely used. Applications should use
      * {@link ZoneOffset} and {@link OffsetDateTime} in preference.
+     * <p>
+     * Successfully parsed identifiers are cached, thus calling this method again with
+     * an equal identifier will typically return the same instance.
      *
      * @param zoneID  the time-zone identifier, not null
      * @return the time-zone, not null
      * @throws CalendricalException if the time-zone cannot be found
      */
     public static ZoneId of(String zoneID) {
-        return ofID(zoneID, true);
+        ISOChronology.checkNotNull(zoneID, "Time zone ID must not be null");
+        ZoneId zone = CACHE.get(zoneID);
+        if (zone != null) {
+            return zone;
+        }
+        zone = ofID(zoneID, true);
+        if (CACHE.size() >= CACHE_MAX_SIZE) {
+            CACHE.clear();
+        }
+        ZoneId existing = CACHE.putIfAbsent(zoneID, zone);
+        return (existing != null ? existing : zone);
     }
 
     /**
@@ -367,6 +393,12 @@ public abstract class ZoneId implements Calendrical, Serializable {
             }
         }
         
+        // plain TZDB region, avoiding the regex and substrings
+        if (checkAvailable && zoneID.indexOf(':') < 0 && zoneID.indexOf('#') < 0 &&
+                ZoneRulesGroup.isValidGroupID("TZDB") && ZoneRulesGroup.getGroup("TZDB").isValidRegionID(zoneID)) {
+            return new ID("TZDB", zoneID, "");
+        }
+        
         // normal non-fixed IDs
         Matcher matcher = PATTERN.matcher(zoneID);
         if (matcher.matches() == false) {
@@ -814,6 +846,8 @@ public abstract class ZoneId implements Calendrical, Serializable {
         private final String regionID;
         /** The time-zone version ID, not null. */
         private final String versionID;
+        /** The cached rules, null until first resolved. */
+        private transient volatile CachedRules cachedRules;
 
         /**
          * Constructor.
@@ -928,11 +962,21 @@ public abstract class ZoneId implements Calendrical, Serializable {
 
         @Override
         public ZoneRules getRules() {
+            int generation = ZoneRulesGroup.getGeneration();
+            CachedRules cached = cachedRules;
+            if (cached != null && cached.generation == generation) {
+                return cached.rules;
+            }
+            // generation read before resolving, so a concurrent registration forces a re-resolve
             ZoneRulesGroup group = getGroup();
+            ZoneRules rules;
             if (isFloatingVersion()) {
-                return group.getRules(regionID, group.getLatestVersionID(regionID));
+                rules = group.getRules(regionID, group.getLatestVersionID(regionID));
+            } else {
+                rules = group.getRules(regionID, versionID);
             }
-            return group.getRules(regionID, versionID);
+            cachedRules = new CachedRules(generation, rules);
+            return rules;
         }
 
         @Override
@@ -951,6 +995,11 @@ public abstract class ZoneId implements Calendrical, Serializable {
         @Override
         public ZoneRules getRulesValidFor(OffsetDateTime dateTime) {
             ISOChronology.checkNotNull(dateTime, "OffsetDateTime must not be null");
+            CachedRules cached = cachedRules;
+            if (cached != null && cached.generation == ZoneRulesGroup.getGeneration() &&
+                    cached.rules.isValidDateTime(dateTime)) {
+                return cached.rules;  // latest rules for the region are valid, or version is fixed
+            }
             ZoneRulesGroup group = getGroup();
             if (isFloatingVersion()) {
                 return group.getRules(regionID, group.getLatestVersionIDValidFor(regionID, dateTime));
@@ -959,6 +1008,27 @@ public abstract class ZoneId implements Calendrical, Serializable {
         }
     }
 
+    /**
+     * Rules resolved for a zone, valid while the generation is unchanged.
+     */
+    static final class CachedRules {
+        /** The generation of the registered rules that was resolved against. */
+        final int generation;
+        /** The resolved rules, not null. */
+        final ZoneRules rules;
+
+        /**
+         * Constructor.
+         *
+         * @param generation  the generation of the registered rules
+         * @param rules  the resolved rules, not null
+         */
+        CachedRules(int generation, ZoneRules rules) {
+            this.generation = generation;
+            this.rules = rules;
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fixed time-zone.
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.time.Instant;
+import javax.time.InstantArray;
+import javax.time.InstantProvider;
+
+/**
+ * A growable column of zoned date-times held in primitive arrays.
+ * <p>
+ * Large collections of {@code ZonedDateTime} objects are expensive to hold and to sort,
+ * as each element consists of several objects and each comparison converts to an instant.
+ * This class stores the instant in an {@link InstantArray}, the offset in seconds
+ * in an {@code int} array, and the time-zone as an index into a dictionary of zones.
+ * A {@code ZonedDateTime} is created only when {@link #get(int)} is called.
+ * <p>
+ * The column may be sorted using a linear time radix sort, searched using a binary
+ * search and sliced into ranges, all without creating date-time objects.
+ * The sort order matches {@link ZonedDateTime#compareTo(ZonedDateTime)}.
+ * <p>
+ * ZonedDateTimeColumn is mutable and not thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+public final class ZonedDateTimeColumn {
+
+    /**
+     * The instants.
+     */
+    private InstantArray instants;
+    /**
+     * The offsets in seconds.
+     */
+    private int[] offsets;
+    /**
+     * The index of each zone in the dictionary.
+     */
+    private int[] zoneIndices;
+    /**
+     * The dictionary of zones.
+     */
+    private final List<ZoneId> zones;
+    /**
+     * The lookup from zone to dictionary index.
+     */
+    private final Map<ZoneId, Integer> zoneLookup;
+
+    /**
+     * Constructs an empty column.
+     */
+    public ZonedDateTimeColumn() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty column with the specified initial capacity.
+     *
+     * @param initialCapacity  the initial capacity, zero or greater
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ZonedDateTimeColumn(int initialCapacity) {
+        this(new InstantArray(initialCapacity), new int[initialCapacity], new int[initialCapacity],
+                new ArrayList<ZoneId>(), new HashMap<ZoneId, Integer>());
+    }
+
+    /**
+     * Constructs a column from its parts.
+     *
+     * @param instants  the instants, not null
+     * @param offsets  the offsets in seconds, not null
+     * @param zoneIndices  the zone indices, not null
+     * @param zones  the dictionary of zones, not null
+     * @param zoneLookup  the lookup from zone to dictionary index, not null
+     */
+    private ZonedDateTimeColumn(InstantArray instants, int[] offsets, int[] zoneIndices,
+            List<ZoneId> zones, Map<ZoneId, Integer> zoneLookup) {
+        this.instants = instants;
+        this.offsets = offsets;
+        this.zoneIndices = zoneIndices;
+        this.zones = zones;
+        this.zoneLookup = zoneLookup;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of date-times in the column.
+     *
+     * @return the number of date-times, zero or greater
+     */
+    public int size() {
+        return instants.size();
+    }
+
+    /**
+     * Adds a date-time to the end of the column.
+     *
+     * @param dateTime  the date-time to add, not null
+     */
+    public void add(ZonedDateTime dateTime) {
+        ISOChronology.checkNotNull(dateTime, "ZonedDateTime must not be null");
+        int size = size();
+        if (size == offsets.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            offsets = Arrays.copyOf(offsets, capacity);
+            zoneIndices = Arrays.copyOf(zoneIndices, capacity);
+        }
+        ZoneId zone = dateTime.getZone();
+        Integer zoneIndex = zoneLookup.get(zone);
+        if (zoneIndex == null) {
+            zoneIndex = zones.size();
+            zones.add(zone);
+            zoneLookup.put(zone, zoneIndex);
+        }
+        offsets[size] = dateTime.getOffset().getAmountSeconds();
+        zoneIndices[size] = zoneIndex;
+        instants.add(dateTime.toEpochSecond(), dateTime.getNanoOfSecond());
+    }
+
+    /**
+     * Adds all the date-times to the end of the column.
+     *
+     * @param dateTimes  the date-times to add, no nulls, not null
+     */
+    public void addAll(Iterable<ZonedDateTime> dateTimes) {
+        ISOChronology.checkNotNull(dateTimes, "Iterable must not be null");
+        for (ZonedDateTime dateTime : dateTimes) {
+            add(dateTime);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the epoch-second of the date-time at the specified index.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getEpochSecond(int index) {
+        return instants.getEpochSecond(index);
+    }
+
+    /**
+     * Gets the nanosecond-of-second of the date-time at the specified index.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the nanosecond-of-second, from 0 to 999,999,999
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getNanoOfSecond(int index) {
+        return instants.getNanoOfSecond(index);
+    }
+
+    /**
+     * Gets the offset, in seconds, of the date-time at the specified index.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the offset in seconds
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getOffsetSeconds(int index) {
+        instants.getEpochSecond(index);  // validate
+        return offsets[index];
+    }
+
+    /**
+     * Gets the dictionary index of the time-zone of the date-time at the specified index.
+     * <p>
+     * This may be used to group date-times by zone without creating objects.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the index of the zone in {@link #getZones()}
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getZoneIndex(int index) {
+        instants.getEpochSecond(index);  // validate
+        return zoneIndices[index];
+    }
+
+    /**
+     * Gets the dictionary of time-zones used by the column.
+     *
+     * @return the unmodifiable list of zones, in the order first added, not null
+     */
+    public List<ZoneId> getZones() {
+        return Collections.unmodifiableList(zones);
+    }
+
+    /**
+     * Gets the instant of the date-time at the specified index.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the instant, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public Instant getInstant(int index) {
+        return instants.get(index);
+    }
+
+    /**
+     * Gets the date-time at the specified index.
+     * <p>
+     * The date-time is created by this method and is not retained by the column.
+     *
+     * @param index  the index, from 0 to {@code size() - 1}
+     * @return the date-time, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public ZonedDateTime get(int index) {
+        Instant instant = instants.get(index);
+        OffsetDateTime odt = OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(offsets[index]));
+        return ZonedDateTime.ofInstant(odt, zones.get(zoneIndices[index]));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Sorts the date-times into ascending order.
+     * <p>
+     * The order matches {@link ZonedDateTime#compareTo(ZonedDateTime)}, comparing
+     * the instant, then the offset, then the zone ID.
+     * This uses a radix sort on the instant, taking time proportional to the size of the column.
+     */
+    public void sort() {
+        int[] order = instants.sortIndex();
+        int size = order.length;
+        for (int start = 0, end; start < size; start = end) {
+            end = start + 1;
+            while (end < size && instants.compare(order[start], order[end]) == 0) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortEqualInstants(order, start, end);
+            }
+        }
+        int[] sortedOffsets = new int[offsets.length];
+        int[] sortedZoneIndices = new int[zoneIndices.length];
+        for (int i = 0; i < size; i++) {
+            sortedOffsets[i] = offsets[order[i]];
+            sortedZoneIndices[i] = zoneIndices[order[i]];
+        }
+        instants = instants.select(order);
+        offsets = sortedOffsets;
+        zoneIndices = sortedZoneIndices;
+    }
+
+    /**
+     * Sorts a run of indices of date-times with equal instants by offset and zone ID.
+     * <p>
+     * Runs are expected to be short, thus an insertion sort is used.
+     *
+     * @param order  the indices being sorted, not null
+     * @param start  the start of the run, inclusive
+     * @param end  the end of the run, exclusive
+     */
+    private void sortEqualInstants(int[] order, int start, int end) {
+        for (int i = start + 1; i < end; i++) {
+            int index = order[i];
+            int j = i - 1;
+            while (j >= start && compareEqualInstants(order[j], index) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    /**
+     * Compares two date-times with equal instants.
+     *
+     * @param index1  the first index
+     * @param index2  the second index
+     * @return the comparator value, negative if less, positive if greater
+     */
+    private int compareEqualInstants(int index1, int index2) {
+        int offset1 = offsets[index1];
+        int offset2 = offsets[index2];
+        if (offset1 != offset2) {
+            return (offset1 < offset2 ? -1 : 1);  // larger offset has later local date-time
+        }
+        return zones.get(zoneIndices[index1]).getID().compareTo(zones.get(zoneIndices[index2]).getID());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Searches the sorted column for the first date-time at the specified instant.
+     * <p>
+     * The column must be sorted before calling this method.
+     *
+     * @param instantProvider  the instant to search for, not null
+     * @return the index of the first date-time at the instant if found,
+     *  otherwise {@code (-(insertion point) - 1)}
+     */
+    public int binarySearch(InstantProvider instantProvider) {
+        return instants.binarySearch(instantProvider);
+    }
+
+    /**
+     * Returns a copy of the date-times between the specified indices.
+     * <p>
+     * The copy has its own copy of the dictionary of zones, so adding to either
+     * column does not affect the other. The zone indices are unchanged.
+     *
+     * @param fromIndex  the start index, inclusive
+     * @param toIndex  the end index, exclusive
+     * @return the new column, not null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public ZonedDateTimeColumn subColumn(int fromIndex, int toIndex) {
+        InstantArray subInstants = instants.subArray(fromIndex, toIndex);
+        return new ZonedDateTimeColumn(subInstants,
+                Arrays.copyOfRange(offsets, fromIndex, toIndex), Arrays.copyOfRange(zoneIndices, fromIndex, toIndex),
+                new ArrayList<ZoneId>(zones), new HashMap<ZoneId, Integer>(zoneLookup));
+    }
+
+    /**
+     * Returns a copy of the date-times in the sorted column from the start instant
+     * inclusive to the end instant exclusive.
+     * <p>
+     * The column must be sorted before calling this method.
+     *
+     * @param startInclusive  the start instant, inclusive, not null
+     * @param endExclusive  the end instant, exclusive, not null
+     * @return the new column, not null
+     */
+    public ZonedDateTimeColumn subColumn(InstantProvider startInclusive, InstantProvider endExclusive) {
+        int fromIndex = insertionPoint(instants.binarySearch(startInclusive));
+        int toIndex = insertionPoint(instants.binarySearch(endExclusive));
+        return subColumn(fromIndex, Math.max(fromIndex, toIndex));
+    }
+
+    /**
+     * Converts a binary search result to the index of the first element equal to or after the key.
+     *
+     * @param searchResult  the result of the binary search
+     * @return the index
+     */
+    private static int insertionPoint(int searchResult) {
+        return (searchResult >= 0 ? searchResult : -searchResult - 1);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the column as a {@code String}.
+     *
+     * @return a string representation of the date-times, not null
+     */
+    @Override
+    public String toString() {
+        int size = size();
+        StringBuilder buf = new StringBuilder(size * 48 + 2).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(get(i));
+        }
+        return buf.append(']').toString();
+    }
+
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.time.calendar.DateTimeRule;
+import javax.time.calendar.ISODateTimeRule;
+import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
+
+/**
+ * Parser compiled from a chain of parsers for fixed-field ISO layouts.
+ * <p>
+ * The standard parsers store each parsed value as a {@code DateTimeField} in the
+ * parse context, which is then merged by a {@code CalendricalNormalizer}.
+ * Where every parser in the chain is a literal, a fixed width or ISO year field,
+ * a fraction of the nano-of-second or an offset, and each field occurs once,
+ * the chain can be compiled once into a list of steps. Each step parses its
+ * primitive value directly into a {@link DateTimeParseTarget}, without creating
+ * any objects.
+ * <p>
+ * The compiled parser only supports the standard ASCII symbols and strict parsing.
+ * If the text cannot be parsed then {@link #UNSUPPORTED} is returned, and the
+ * caller must use the standard parsers, which will produce the same result or
+ * throw the appropriate exception.
+ * <p>
+ * CompiledParser is immutable and thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+final class CompiledParser {
+
+    /**
+     * Result indicating that the text definitely does not match the step.
+     */
+    static final int FAIL = -1;
+    /**
+     * Result indicating that the standard parsers must be used.
+     */
+    static final int UNSUPPORTED = -2;
+
+    /**
+     * The steps to parse.
+     */
+    private final Step[] steps;
+
+    /**
+     * Compiles the parser, returning null if the parser cannot be compiled.
+     *
+     * @param printerParser  the parser to compile, not null
+     * @param symbols  the symbols to parse using, not null
+     * @return the compiled parser, null if not possible
+     */
+    static CompiledParser compile(CompositePrinterParser printerParser, DateTimeFormatSymbols symbols) {
+        if (symbols.getZeroDigit() != '0' || symbols.getPositiveSign() != '+' ||
+                symbols.getNegativeSign() != '-' || symbols.getDecimalSeparator() != '.') {
+            return null;
+        }
+        List<Step> steps = new ArrayList<Step>();
+        boolean[] caseSensitive = new boolean[] {true};
+        if (compileSteps(printerParser, steps, caseSensitive, new boolean[DateTimeParseTarget.OFFSET + 1], false) == false) {
+            return null;
+        }
+        return new CompiledParser(steps.toArray(new Step[steps.size()]));
+    }
+
+    /**
+     * Compiles the parsers in a composite, returning false if not possible.
+     *
+     * @param printerParser  the parser to compile, not null
+     * @param steps  the list to add to, not null
+     * @param caseSensitive  the single element array holding the case sensitivity, not null
+     * @param seen  the fields already parsed, not null
+     * @param inOptional  whether the composite is within an optional section
+     * @return true if compiled
+     */
+    private static boolean compileSteps(CompositePrinterParser printerParser, List<Step> steps,
+            boolean[] caseSensitive, boolean[] seen, boolean inOptional) {
+        if (printerParser.isParseSupported() == false) {
+            return false;
+        }
+        for (DateTimeParser parser : printerParser.parsers) {
+            if (parser instanceof CompositePrinterParser) {
+                CompositePrinterParser cpp = (CompositePrinterParser) parser;
+                if (cpp.optional) {
+                    List<Step> nested = new ArrayList<Step>();
+                    if (compileSteps(cpp, nested, caseSensitive, seen, true) == false) {
+                        return false;
+                    }
+                    steps.add(new OptionalStep(nested.toArray(new Step[nested.size()])));
+                } else if (compileSteps(cpp, steps, caseSensitive, seen, inOptional) == false) {
+                    return false;
+                }
+            } else if (parser instanceof CaseSensitivePrinterParser) {
+                if (inOptional) {
+                    return false;  // setting would leak out of a failed section
+                }
+                caseSensitive[0] = (parser == CaseSensitivePrinterParser.SENSITIVE);
+            } else if (parser instanceof StrictLenientPrinterParser) {
+                if (parser != StrictLenientPrinterParser.STRICT) {
+                    return false;
+                }
+            } else if (parser instanceof CharLiteralPrinterParser) {
+                steps.add(new CharLiteralStep(((CharLiteralPrinterParser) parser).literal, caseSensitive[0]));
+            } else if (parser instanceof StringLiteralPrinterParser) {
+                steps.add(new LiteralStep(((StringLiteralPrinterParser) parser).literal, caseSensitive[0]));
+            } else if (parser.getClass() == NumberPrinterParser.class) {
+                NumberPrinterParser pp = (NumberPrinterParser) parser;
+                int index = ValueStep.index(pp.rule);
+                if (index < 0 || seen[index]) {
+                    return false;
+                }
+                if (pp.signStyle == SignStyle.NOT_NEGATIVE && pp.minWidth == pp.maxWidth) {
+                    steps.add(new ValueStep(index, pp.minWidth, pp.maxWidth, false));
+                } else if (pp.signStyle == SignStyle.EXCEEDS_PAD && pp.subsequentWidth == 0) {
+                    steps.add(new ValueStep(index, pp.minWidth, pp.maxWidth, true));
+                } else {
+                    return false;
+                }
+                seen[index] = true;
+            } else if (parser instanceof FractionPrinterParser) {
+                FractionPrinterParser pp = (FractionPrinterParser) parser;
+                if (pp.rule.equals(ISODateTimeRule.NANO_OF_SECOND) == false || seen[DateTimeParseTarget.NANO]) {
+                    return false;
+                }
+                steps.add(new FractionStep(pp.minWidth, pp.maxWidth));
+                seen[DateTimeParseTarget.NANO] = true;
+            } else if (parser instanceof ZoneOffsetPrinterParser) {
+                ZoneOffsetPrinterParser pp = (ZoneOffsetPrinterParser) parser;
+                if (seen[DateTimeParseTarget.OFFSET]) {
+                    return false;
+                }
+                steps.add(new OffsetStep(pp.noOffsetText, pp.type, caseSensitive[0]));
+                seen[DateTimeParseTarget.OFFSET] = true;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param steps  the steps to parse, not null
+     */
+    private CompiledParser(Step[] steps) {
+        this.steps = steps;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses the whole of the text into the target.
+     * <p>
+     * The target is cleared before parsing.
+     *
+     * @param text  the text to parse, not null
+     * @param target  the target to parse into, not null
+     * @return true if parsed, false if the standard parsers must be used
+     */
+    boolean parse(CharSequence text, DateTimeParseTarget target) {
+        target.clear();
+        int pos = parseSteps(steps, text, 0, target);
+        if (pos != text.length()) {
+            target.clear();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the steps.
+     */
+    private static int parseSteps(Step[] steps, CharSequence text, int pos, DateTimeParseTarget target) {
+        for (Step step : steps) {
+            pos = step.parse(text, pos, target);
+            if (pos < 0) {
+                return pos;
+            }
+        }
+        return pos;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A single step in the compiled parser.
+     */
+    abstract static class Step {
+        /**
+         * Parses the step.
+         *
+         * @return the new position, or {@link #FAIL} or {@link #UNSUPPORTED}
+         */
+        abstract int parse(CharSequence text, int pos, DateTimeParseTarget target);
+    }
+
+    /**
+     * Parses an optional section, ignoring it if the text does not match.
+     */
+    static final class OptionalStep extends Step {
+        /** The steps in the section. */
+        private final Step[] steps;
+        /** Constructor. */
+        OptionalStep(Step[] steps) {
+            this.steps = steps;
+        }
+        @Override
+        int parse(CharSequence text, int pos, DateTimeParseTarget target) {
+            int mask = target.getParsedMask();
+            int result = parseSteps(steps, text, pos, target);
+            if (result == FAIL) {
+                target.resetParsedMask(mask);
+                return pos;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Parses a character literal, matching {@link CharLiteralPrinterParser}.
+     */
+    static final class CharLiteralStep extends Step {
+        /** The literal. */
+        private final char literal;
+        /** Whether the parse is case sensitive. */
+        private final boolean caseSensitive;
+        /** Constructor. */
+        CharLiteralStep(char literal, boolean caseSensitive) {
+            this.literal = literal;
+            this.caseSensitive = caseSensitive;
+        }
+        @Override
+        int parse(CharSequence text, int pos, DateTimeParseTarget target) {
+            if (pos == text.length()) {
+                return FAIL;
+            }
+            char ch = text.charAt(pos);
+            if (ch != literal) {
+                if (caseSensitive ||
+                        (Character.toUpperCase(ch) != Character.toUpperCase(literal) &&
+                         Character.toLowerCase(ch) != Character.toLowerCase(literal))) {
+                    return FAIL;
+                }
+            }
+            return pos + 1;
+        }
+    }
+
+    /**
+     * Parses a string literal, matching {@link StringLiteralPrinterParser}.
+     */
+    static final class LiteralStep extends Step {
+        /** The literal. */
+        private final String literal;
+        /** Whether the parse is case sensitive. */
+        private final boolean caseSensitive;
+        /** Constructor. */
+        LiteralStep(String literal, boolean caseSensitive) {
+            this.literal = literal;
+            this.caseSensitive = caseSensitive;
+        }
+        @Override
+        int parse(CharSequence text, int pos, DateTimeParseTarget target) {
+            if (FormatUtils.regionMatches(!caseSensitive, text, pos, literal, 0, literal.length()) == false) {
+                return FAIL;
+            }
+            return pos + literal.length();
+        }
+    }
+
+    /**
+     * Parses a field value, matching {@link NumberPrinterParser} in strict mode.
+     */
+    static final class ValueStep extends Step {
+        /** The rules, in the index order of the target. */
+        private static final DateTimeRule[] RULES = {
+            ISODateTimeRule.YEAR, ISODateTimeRule.MONTH_OF_YEAR, ISODateTimeRule.DAY_OF_MONTH,
+            ISODateTimeRule.HOUR_OF_DAY, ISODateTimeRule.MINUTE_OF_HOUR, ISODateTimeRule.SECOND_OF_MINUTE,
+            ISODateTimeRule.NANO_OF_SECOND,
+        };
+        /** The target index. */
+        private final int index;
+        /** The minimum width. */
+        private final int minWidth;
+        /** The maximum width. */
+        private final int maxWidth;
+        /** Whether the sign style is exceeds pad, otherwise fixed width not negative. */
+        private final boolean exceedsPad;
+        /** Constructor. */
+        ValueStep(int index, int minWidth, int maxWidth, boolean exceedsPad) {
+            this.index = index;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.exceedsPad = exceedsPad;
+        }
+        /** Gets the target index of the rule, negative if not supported. */
+        static int index(DateTimeRule rule) {
+            for (int i = 0; i < RULES.length; i++) {
+                if (RULES[i].equals(rule)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        @Override
+        int parse(CharSequence text, int pos, DateTimeParseTarget target) {
+            int length = text.length();
+            if (pos == length) {
+                return FAIL;
+            }
+            char sign = text.charAt(pos);
+            boolean negative = false;
+            boolean positive = false;
+            if (sign == '+' || sign == '-') {
+                if (exceedsPad == false) {
+                    return FAIL;
+                }
+                negative = (sign == '-');
+                positive = !negative;
+                pos++;
+            }
+            int start = pos;
+            int maxEndPos = Math.min(pos + maxWidth, length);
+            long total = 0;
+            while (pos < maxEndPos) {
+                char ch = text.charAt(pos);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                total = total * 10 + (ch - '0');
+                if (total > Integer.MAX_VALUE + 1L) {
+                    return UNSUPPORTED;  // beyond int range, left to the standard parser
+                }
+                pos++;
+            }
+            int parseLen = pos - start;
+            if (parseLen < minWidth) {
+                return FAIL;
+            }
+            if (negative) {
+                if (total == 0) {
+                    return FAIL;  // minus zero not allowed
+                }
+                total = -total;
+            } else if (exceedsPad) {
+                if (positive ? parseLen <= minWidth : parseLen > minWidth) {
+                    return FAIL;  // '+' only and always parsed if minWidth exceeded
+                }
+            }
+            if (total > Integer.MAX_VALUE || total < Integer.MIN_VALUE) {
+                return UNSUPPORTED;
+            }
+            target.set(index, (int) total);
+            return pos;
+        }
+    }
+
+    /**
+     * Parses the fraction of the nano-of-second, matching {@link FractionPrinterParser}.
+     */
+    static final class FractionStep extends Step {
+        /** The minimum width. */
+        private final int minWidth;
+        /** The maximum width. */
+        private final int maxWidth;
+        /** Constructor. */
+        FractionStep(int minWidth, int maxWidth) {
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+        }
+        @Override
+        int parse(CharSequence text, int pos, DateTimeParseTarget target) {
+            int length = text.length();
+            if (pos == length || text.charAt(pos) != '.') {
+                return (minWidth > 0 ? FAIL : pos);
+            }
+            pos++;
+            int start = pos;
+            int maxEndPos = Math.min(pos + maxWidth, length);
+            int total = 0;
+            while (pos < maxEndPos) {
+                char ch = text.charAt(pos);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                total = total * 10 + (ch - '0');
+                pos++;
+            }
+            int parseLen = pos - start;
+            if (parseLen < minWidth) {
+                // the standard parser accepts one digit less when followed by a non-digit
+                return (parseLen == minWidth - 1 && pos < length ? UNSUPPORTED : FAIL);
+            }
+            for (int i = parseLen; i < 9; i++) {
+                total *= 10;
+            }
+            target.set(DateTimeParseTarget.NANO, total);
+            return pos;
+        }
+    }
+
+    /**
+     * Parses the offset, matching {@link ZoneOffsetPrinterParser}.
+     */
+    static final class OffsetStep extends Step {
+        /** The text to use when the offset is zero. */
+        private final String noOffsetText;
+        /** The pattern type. */
+        private final int type;
+        /** Whether the parse is case sensitive. */
+        private final boolean caseSensitive;
+        /** Constructor. */
+        OffsetStep(String noOffsetText, int type, boolean caseSensitive) {
+            this.noOffsetText = noOffsetText;
+            this.type = type;
+            this.caseSensitive = caseSensitive;
+        }
+        @Override
+        int parse(CharSequence text, int pos, DateTimeParseTarget target) {
+            int length = text.length();
+            int utcLen = noOffsetText.length();
+            if (utcLen == 0) {
+                if (pos == length) {
+                    target.set(DateTimeParseTarget.OFFSET, 0);
+                    return pos;
+                }
+            } else {
+                if (pos == length) {
+                    return FAIL;
+                }
+                if (FormatUtils.regionMatches(!caseSensitive, text, pos, noOffsetText, 0, utcLen)) {
+                    target.set(DateTimeParseTarget.OFFSET, 0);
+                    return pos + utcLen;
+                }
+            }
+            char sign = text.charAt(pos);
+            if (sign != '+' && sign != '-') {
+                if (utcLen == 0) {
+                    target.set(DateTimeParseTarget.OFFSET, 0);
+                    return pos;
+                }
+                return FAIL;
+            }
+            int end = pos + 1;
+            int hours = parseTwoDigits(text, end, false);
+            if (hours < 0) {
+                return FAIL;
+            }
+            end += 2;
+            int minutes = 0;
+            int seconds = 0;
+            if (type >= 1) {
+                boolean colon = (type % 2) == 0;
+                minutes = parseTwoDigits(text, end, colon);
+                if (minutes < 0) {
+                    return FAIL;
+                }
+                end += (colon ? 3 : 2);
+                if (type >= 3) {
+                    seconds = parseTwoDigits(text, end, colon);
+                    if (seconds < 0) {
+                        seconds = 0;  // seconds are optional
+                    } else {
+                        end += (colon ? 3 : 2);
+                    }
+                }
+            }
+            int total = hours * 60 * 60 + minutes * 60 + seconds;
+            if (total > 18 * 60 * 60) {  // max +18:00:00
+                return FAIL;
+            }
+            target.set(DateTimeParseTarget.OFFSET, sign == '-' ? -total : total);
+            return end;
+        }
+        /** Parses two digits from 00 to 59, optionally preceded by a colon, returning -1 if invalid. */
+        private static int parseTwoDigits(CharSequence text, int pos, boolean colon) {
+            if (colon) {
+                if (pos + 1 > text.length() || text.charAt(pos) != ':') {
+                    return -1;
+                }
+                pos++;
+            }
+            if (pos + 2 > text.length()) {
+                return -1;
+            }
+            char ch1 = text.charAt(pos);
+            char ch2 = text.charAt(pos + 1);
+            if (ch1 < '0' || ch1 > '9' || ch2 < '0' || ch2 > '9') {
+                return -1;
+            }
+            int value = (ch1 - '0') * 10 + (ch2 - '0');
+            return (value > 59 ? -1 : value);
+        }
+    }
+
+}
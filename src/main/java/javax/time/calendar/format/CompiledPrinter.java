@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.time.calendar.Calendrical;
+import javax.time.calendar.DateTimeRule;
+import javax.time.calendar.ISODateTimeRule;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.LocalTime;
+import javax.time.calendar.OffsetDate;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.OffsetTime;
+import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
+import javax.time.calendar.ZonedDateTime;
+import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
+
+/**
+ * Printer compiled from a chain of printers for direct use with the ISO calendrical types.
+ * <p>
+ * The standard printers query each value from the calendrical using its rule,
+ * creating objects as they go. Where every printer in the chain is a literal,
+ * a simple ISO field, a fraction of the nano-of-second, an offset or a zone ID,
+ * the chain can be compiled once into a list of steps. Each step extracts its
+ * primitive value directly from the ISO type being printed and writes the
+ * characters straight to the output, without creating any objects.
+ * <p>
+ * The compiled printer only supports the standard ASCII symbols, and only the
+ * {@code LocalDate}, {@code LocalTime}, {@code LocalDateTime}, {@code OffsetDate},
+ * {@code OffsetTime}, {@code OffsetDateTime} and {@code ZonedDateTime} classes.
+ * If a value cannot be printed then {@link #UNSUPPORTED} is returned, and the
+ * caller must use the standard printers, which will produce the same output or
+ * throw the appropriate exception.
+ * <p>
+ * CompiledPrinter is immutable and thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+final class CompiledPrinter {
+
+    /**
+     * Result indicating that the standard printers must be used.
+     */
+    static final int UNSUPPORTED = -1;
+    /**
+     * Result indicating that the output array is too small.
+     */
+    static final int OVERFLOW = -2;
+
+    /**
+     * The steps to print.
+     */
+    private final Step[] steps;
+
+    /**
+     * Compiles the printer, returning null if the printer cannot be compiled.
+     *
+     * @param printerParser  the printer to compile, not null
+     * @param symbols  the symbols to print using, not null
+     * @return the compiled printer, null if not possible
+     */
+    static CompiledPrinter compile(CompositePrinterParser printerParser, DateTimeFormatSymbols symbols) {
+        if (symbols.getZeroDigit() != '0' || symbols.getPositiveSign() != '+' ||
+                symbols.getNegativeSign() != '-' || symbols.getDecimalSeparator() != '.') {
+            return null;
+        }
+        Step[] steps = compileSteps(printerParser);
+        return (steps != null ? new CompiledPrinter(steps) : null);
+    }
+
+    /**
+     * Compiles the printers in a composite, returning null if not possible.
+     *
+     * @param printerParser  the printer to compile, not null
+     * @return the steps, null if not possible
+     */
+    private static Step[] compileSteps(CompositePrinterParser printerParser) {
+        if (printerParser.isPrintSupported() == false) {
+            return null;
+        }
+        List<Step> steps = new ArrayList<Step>();
+        for (DateTimePrinter printer : printerParser.printers) {
+            if (printer instanceof CompositePrinterParser) {
+                CompositePrinterParser cpp = (CompositePrinterParser) printer;
+                Step[] nested = compileSteps(cpp);
+                if (nested == null) {
+                    return null;
+                }
+                if (cpp.optional) {
+                    steps.add(new OptionalStep(nested));
+                } else {
+                    for (Step step : nested) {
+                        steps.add(step);
+                    }
+                }
+            } else if (printer instanceof CharLiteralPrinterParser) {
+                steps.add(new LiteralStep(String.valueOf(((CharLiteralPrinterParser) printer).literal)));
+            } else if (printer instanceof StringLiteralPrinterParser) {
+                steps.add(new LiteralStep(((StringLiteralPrinterParser) printer).literal));
+            } else if (printer instanceof StrictLenientPrinterParser || printer instanceof CaseSensitivePrinterParser) {
+                // no output
+            } else if (printer.getClass() == NumberPrinterParser.class) {
+                NumberPrinterParser pp = (NumberPrinterParser) printer;
+                int field = ValueStep.field(pp.rule);
+                if (field < 0 || (pp.signStyle == SignStyle.EXCEEDS_PAD && pp.minWidth >= NumberPrinterParser.EXCEED_POINTS.length)) {
+                    return null;
+                }
+                steps.add(new ValueStep(field, pp.minWidth, pp.maxWidth, pp.signStyle));
+            } else if (printer instanceof FractionPrinterParser) {
+                FractionPrinterParser pp = (FractionPrinterParser) printer;
+                if (pp.rule.equals(ISODateTimeRule.NANO_OF_SECOND) == false) {
+                    return null;
+                }
+                steps.add(new FractionStep(pp.minWidth, pp.maxWidth));
+            } else if (printer instanceof ZoneOffsetPrinterParser) {
+                ZoneOffsetPrinterParser pp = (ZoneOffsetPrinterParser) printer;
+                steps.add(new OffsetStep(pp.noOffsetText, pp.type));
+            } else if (printer instanceof ZoneIdPrinterParser && ((ZoneIdPrinterParser) printer).textStyle == null) {
+                steps.add(new ZoneIdStep());
+            } else {
+                return null;
+            }
+        }
+        return steps.toArray(new Step[steps.size()]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param steps  the steps to print, not null
+     */
+    private CompiledPrinter(Step[] steps) {
+        this.steps = steps;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Prints the calendrical to the buffer.
+     * <p>
+     * If the calendrical cannot be printed, the buffer is left unaltered.
+     *
+     * @param calendrical  the calendrical to print, not null
+     * @param buf  the buffer to append to, not null
+     * @return true if printed, false if the standard printers must be used
+     */
+    boolean print(Calendrical calendrical, StringBuilder buf) {
+        int start = buf.length();
+        if (print(calendrical, null, start, Integer.MAX_VALUE, buf) < 0) {
+            buf.setLength(start);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Prints the calendrical to the array.
+     * <p>
+     * If the calendrical cannot be printed, the array may have been partly written.
+     *
+     * @param calendrical  the calendrical to print, not null
+     * @param array  the array to write to, not null
+     * @param pos  the position to start writing at
+     * @param end  the position to stop writing before
+     * @return the position after the last character written, or {@link #UNSUPPORTED} or {@link #OVERFLOW}
+     */
+    int print(Calendrical calendrical, char[] array, int pos, int end) {
+        return print(calendrical, array, pos, end, null);
+    }
+
+    /**
+     * Prints the calendrical, extracting the date, time, offset and zone.
+     */
+    private int print(Calendrical calendrical, char[] array, int pos, int end, StringBuilder buf) {
+        LocalDate date = null;
+        LocalTime time = null;
+        ZoneOffset offset = null;
+        ZoneId zone = null;
+        if (calendrical instanceof LocalDateTime) {
+            LocalDateTime dt = (LocalDateTime) calendrical;
+            date = dt.toLocalDate();
+            time = dt.toLocalTime();
+        } else if (calendrical instanceof OffsetDateTime) {
+            OffsetDateTime dt = (OffsetDateTime) calendrical;
+            date = dt.toLocalDate();
+            time = dt.toLocalTime();
+            offset = dt.getOffset();
+        } else if (calendrical instanceof ZonedDateTime) {
+            ZonedDateTime dt = (ZonedDateTime) calendrical;
+            date = dt.toLocalDate();
+            time = dt.toLocalTime();
+            offset = dt.getOffset();
+            zone = dt.getZone();
+        } else if (calendrical instanceof LocalDate) {
+            date = (LocalDate) calendrical;
+        } else if (calendrical instanceof LocalTime) {
+            time = (LocalTime) calendrical;
+        } else if (calendrical instanceof OffsetDate) {
+            OffsetDate od = (OffsetDate) calendrical;
+            date = od.toLocalDate();
+            offset = od.getOffset();
+        } else if (calendrical instanceof OffsetTime) {
+            OffsetTime ot = (OffsetTime) calendrical;
+            time = ot.toLocalTime();
+            offset = ot.getOffset();
+        } else {
+            return UNSUPPORTED;
+        }
+        int result = printSteps(steps, date, time, offset, zone, array, pos, end, buf);
+        if (result == OVERFLOW && printSteps(steps, date, time, offset, zone, null, pos, end, null) == UNSUPPORTED) {
+            return UNSUPPORTED;  // standard printers will throw the correct exception
+        }
+        return result;
+    }
+
+    /**
+     * Prints the steps.
+     */
+    private static int printSteps(Step[] steps, LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+            char[] array, int pos, int end, StringBuilder buf) {
+        for (Step step : steps) {
+            pos = step.print(date, time, offset, zone, array, pos, end, buf);
+            if (pos < 0) {
+                return pos;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Appends the text to either the array or the buffer, or just measures if both are null.
+     */
+    private static int append(String text, char[] array, int pos, int end, StringBuilder buf) {
+        int len = text.length();
+        if (array == null) {
+            if (buf != null) {
+                buf.append(text);
+            }
+        } else {
+            if (len > end - pos) {
+                return OVERFLOW;
+            }
+            text.getChars(0, len, array, pos);
+        }
+        return pos + len;
+    }
+
+    /**
+     * Appends a non-negative value padded with zeroes to either the array or the buffer, or just measures.
+     */
+    private static int appendDigits(int value, int width, char[] array, int pos, int end, StringBuilder buf) {
+        if (array != null && width > end - pos) {
+            return OVERFLOW;
+        }
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        for ( ; divisor > 0; divisor /= 10) {
+            char ch = (char) ('0' + (value / divisor) % 10);
+            if (array != null) {
+                array[pos] = ch;
+            } else if (buf != null) {
+                buf.append(ch);
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Appends the character to either the array or the buffer, or just measures.
+     */
+    private static int append(char ch, char[] array, int pos, int end, StringBuilder buf) {
+        if (array == null) {
+            if (buf != null) {
+                buf.append(ch);
+            }
+        } else {
+            if (pos >= end) {
+                return OVERFLOW;
+            }
+            array[pos] = ch;
+        }
+        return pos + 1;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A single step in the compiled printer.
+     */
+    abstract static class Step {
+        /**
+         * Prints the step.
+         *
+         * @return the new position, or {@link #UNSUPPORTED} or {@link #OVERFLOW}
+         */
+        abstract int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf);
+    }
+
+    /**
+     * Prints an optional section, omitting it if any value cannot be printed.
+     */
+    static final class OptionalStep extends Step {
+        /** The steps in the section. */
+        private final Step[] steps;
+        /** Constructor. */
+        OptionalStep(Step[] steps) {
+            this.steps = steps;
+        }
+        @Override
+        int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf) {
+            int result = printSteps(steps, date, time, offset, zone, array, pos, end, buf);
+            if (result == OVERFLOW && printSteps(steps, date, time, offset, zone, null, pos, end, null) == UNSUPPORTED) {
+                result = UNSUPPORTED;  // section would be omitted, so did not really overflow
+            }
+            if (result == UNSUPPORTED) {
+                if (buf != null) {
+                    buf.setLength(pos);  // reset buffer
+                }
+                return pos;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Prints a literal.
+     */
+    static final class LiteralStep extends Step {
+        /** The literal. */
+        private final String literal;
+        /** Constructor. */
+        LiteralStep(String literal) {
+            this.literal = literal;
+        }
+        @Override
+        int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf) {
+            return append(literal, array, pos, end, buf);
+        }
+    }
+
+    /**
+     * Prints a field value, matching {@link NumberPrinterParser}.
+     */
+    static final class ValueStep extends Step {
+        /** The fields. */
+        private static final DateTimeRule[] FIELDS = {
+            ISODateTimeRule.YEAR, ISODateTimeRule.MONTH_OF_YEAR, ISODateTimeRule.DAY_OF_MONTH, ISODateTimeRule.DAY_OF_YEAR,
+            ISODateTimeRule.HOUR_OF_DAY, ISODateTimeRule.MINUTE_OF_HOUR, ISODateTimeRule.SECOND_OF_MINUTE, ISODateTimeRule.NANO_OF_SECOND,
+        };
+        /** The field index. */
+        private final int field;
+        /** The minimum width. */
+        private final int minWidth;
+        /** The maximum width. */
+        private final int maxWidth;
+        /** The sign style. */
+        private final SignStyle signStyle;
+        /** Constructor. */
+        ValueStep(int field, int minWidth, int maxWidth, SignStyle signStyle) {
+            this.field = field;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.signStyle = signStyle;
+        }
+        /** Gets the field index of the rule, negative if not supported. */
+        static int field(DateTimeRule rule) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (FIELDS[i].equals(rule)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        @Override
+        int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf) {
+            int value;
+            if (field < 4) {
+                if (date == null) {
+                    return UNSUPPORTED;
+                }
+                switch (field) {
+                    case 0: value = date.getYear(); break;
+                    case 1: value = date.getMonthOfYear().getValue(); break;
+                    case 2: value = date.getDayOfMonth(); break;
+                    default: value = date.getDayOfYear(); break;
+                }
+            } else {
+                if (time == null) {
+                    return UNSUPPORTED;
+                }
+                switch (field) {
+                    case 4: value = time.getHourOfDay(); break;
+                    case 5: value = time.getMinuteOfHour(); break;
+                    case 6: value = time.getSecondOfMinute(); break;
+                    default: value = time.getNanoOfSecond(); break;
+                }
+            }
+            int absValue = Math.abs(value);  // values are never Integer.MIN_VALUE
+            int digits = 1;
+            while (digits < NumberPrinterParser.EXCEED_POINTS.length && absValue >= NumberPrinterParser.EXCEED_POINTS[digits]) {
+                digits++;
+            }
+            if (digits > maxWidth) {
+                return UNSUPPORTED;
+            }
+            if (value >= 0) {
+                if (signStyle == SignStyle.ALWAYS ||
+                        (signStyle == SignStyle.EXCEEDS_PAD && value >= NumberPrinterParser.EXCEED_POINTS[minWidth])) {
+                    pos = append('+', array, pos, end, buf);
+                }
+            } else {
+                if (signStyle == SignStyle.NOT_NEGATIVE) {
+                    return UNSUPPORTED;
+                }
+                if (signStyle != SignStyle.NEVER) {
+                    pos = append('-', array, pos, end, buf);
+                }
+            }
+            if (pos < 0) {
+                return pos;
+            }
+            return appendDigits(absValue, Math.max(digits, minWidth), array, pos, end, buf);
+        }
+    }
+
+    /**
+     * Prints the fraction of the nano-of-second, matching {@link FractionPrinterParser}.
+     */
+    static final class FractionStep extends Step {
+        /** The minimum width. */
+        private final int minWidth;
+        /** The maximum width. */
+        private final int maxWidth;
+        /** Constructor. */
+        FractionStep(int minWidth, int maxWidth) {
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+        }
+        @Override
+        int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf) {
+            if (time == null) {
+                return UNSUPPORTED;
+            }
+            int nanos = time.getNanoOfSecond();
+            int scale = 9;
+            if (nanos == 0) {
+                scale = 0;
+            } else {
+                while (nanos % 10 == 0) {
+                    nanos /= 10;
+                    scale--;
+                }
+            }
+            int outputScale = Math.min(Math.max(scale, minWidth), maxWidth);
+            if (outputScale == 0) {
+                return pos;
+            }
+            int value = time.getNanoOfSecond();
+            for (int i = outputScale; i < 9; i++) {
+                value /= 10;
+            }
+            pos = append('.', array, pos, end, buf);
+            if (pos < 0) {
+                return pos;
+            }
+            return appendDigits(value, outputScale, array, pos, end, buf);
+        }
+    }
+
+    /**
+     * Prints the offset, matching {@link ZoneOffsetPrinterParser}.
+     */
+    static final class OffsetStep extends Step {
+        /** The text to use when the offset is zero. */
+        private final String noOffsetText;
+        /** The pattern type. */
+        private final int type;
+        /** Constructor. */
+        OffsetStep(String noOffsetText, int type) {
+            this.noOffsetText = noOffsetText;
+            this.type = type;
+        }
+        @Override
+        int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf) {
+            if (offset == null) {
+                return UNSUPPORTED;
+            }
+            int totalSecs = offset.getAmountSeconds();
+            if (totalSecs == 0) {
+                return append(noOffsetText, array, pos, end, buf);
+            }
+            if (type == 4 || (type == 2 && offset.getSecondsField() == 0)) {
+                return append(offset.getID(), array, pos, end, buf);
+            }
+            int absHours = Math.abs(offset.getHoursField());
+            int absMinutes = Math.abs(offset.getMinutesField());
+            int absSeconds = Math.abs(offset.getSecondsField());
+            pos = append(totalSecs < 0 ? '-' : '+', array, pos, end, buf);
+            if (pos >= 0) {
+                pos = appendDigits(absHours, 2, array, pos, end, buf);
+            }
+            if (type >= 1) {
+                if (pos >= 0 && (type % 2) == 0) {
+                    pos = append(':', array, pos, end, buf);
+                }
+                if (pos >= 0) {
+                    pos = appendDigits(absMinutes, 2, array, pos, end, buf);
+                }
+                if (type >= 5 || (type >= 3 && absSeconds > 0)) {
+                    if (pos >= 0 && (type % 2) == 0) {
+                        pos = append(':', array, pos, end, buf);
+                    }
+                    if (pos >= 0) {
+                        pos = appendDigits(absSeconds, 2, array, pos, end, buf);
+                    }
+                }
+            }
+            return pos;
+        }
+    }
+
+    /**
+     * Prints the zone ID, matching {@link ZoneIdPrinterParser}.
+     */
+    static final class ZoneIdStep extends Step {
+        @Override
+        int print(LocalDate date, LocalTime time, ZoneOffset offset, ZoneId zone,
+                char[] array, int pos, int end, StringBuilder buf) {
+            if (zone == null) {
+                return UNSUPPORTED;
+            }
+            return append(zone.getID(), array, pos, end, buf);
+        }
+    }
+
+}
@@ -48,15 +48,15 @@ final class CompositePrinterParser implements DateTimePrinter, DateTimeParser {
     /**
      * The list of printers that will be used, treated as immutable.
      */
-    private final DateTimePrinter[] printers;
+    final DateTimePrinter[] printers;
     /**
      * The list of parsers that will be used, treated as immutable.
      */
-    private final DateTimeParser[] parsers;
+    final DateTimeParser[] parsers;
     /**
      * Whether the print and parse are optional.
      */
-    private final boolean optional;
+    final boolean optional;
 
     /**
      * Constructor.
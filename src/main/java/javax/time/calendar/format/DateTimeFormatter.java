@@ -32,6 +32,8 @@
 package javax.time.calendar.format;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
@@ -42,6 +44,9 @@ import javax.time.CalendricalException;
 import javax.time.calendar.Calendrical;
 import javax.time.calendar.CalendricalNormalizer;
 import javax.time.calendar.CalendricalRule;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalTime;
+import javax.time.calendar.ZoneOffset;
 
 /**
  * Formatter for printing and parsing calendricals.
@@ -75,6 +80,14 @@ public final class DateTimeFormatter {
      * The printer and/or parser to use, not null.
      */
     private final CompositePrinterParser printerParser;
+    /**
+     * The printer compiled for the ISO types, null if the printer cannot be compiled.
+     */
+    private final CompiledPrinter compiledPrinter;
+    /**
+     * The parser compiled for fixed-field ISO layouts, null if the parser cannot be compiled.
+     */
+    private final CompiledParser compiledParser;
 
     //-----------------------------------------------------------------------
     /**
@@ -87,6 +100,8 @@ public final class DateTimeFormatter {
         // validated by caller
         this.symbols = DateTimeFormatSymbols.of(locale);
         this.printerParser = printerParser;
+        this.compiledPrinter = CompiledPrinter.compile(printerParser, symbols);
+        this.compiledParser = CompiledParser.compile(printerParser, symbols);
     }
 
     /**
@@ -101,6 +116,8 @@ public final class DateTimeFormatter {
             CompositePrinterParser printerParser) {
         this.symbols = symbols;
         this.printerParser = printerParser;
+        this.compiledPrinter = CompiledPrinter.compile(printerParser, symbols);
+        this.compiledParser = CompiledParser.compile(printerParser, symbols);
     }
 
     //-----------------------------------------------------------------------
@@ -198,13 +215,12 @@ public final class DateTimeFormatter {
         DateTimeFormatter.checkNotNull(calendrical, "Calendrical must not be null");
         DateTimeFormatter.checkNotNull(appendable, "Appendable must not be null");
         try {
-            DateTimePrintContext context = new DateTimePrintContext(calendrical, symbols);
             if (appendable instanceof StringBuilder) {
-                printerParser.print(context, (StringBuilder) appendable);
+                print0(calendrical, (StringBuilder) appendable);
             } else {
                 // buffer output to avoid writing to appendable in case of error
                 StringBuilder buf = new StringBuilder(32);
-                printerParser.print(context, buf);
+                print0(calendrical, buf);
                 appendable.append(buf);
             }
         } catch (IOException ex) {
@@ -212,6 +228,99 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Prints the calendrical to a buffer, using the compiled printer if possible.
+     *
+     * @param calendrical  the calendrical to print, not null
+     * @param buf  the buffer to append to, not null
+     */
+    private void print0(Calendrical calendrical, StringBuilder buf) {
+        if (compiledPrinter == null || compiledPrinter.print(calendrical, buf) == false) {
+            DateTimePrintContext context = new DateTimePrintContext(calendrical, symbols);
+            printerParser.print(context, buf);
+        }
+    }
+
+    /**
+     * Prints the calendrical to a character array using this formatter.
+     * <p>
+     * This method prints the calendrical into the array starting at the specified offset.
+     * When printing the ISO calendrical types, such as {@code LocalDateTime} or
+     * {@code OffsetDateTime}, using a formatter of numeric fields and literals,
+     * such as the ISO formatters, the characters are written directly into the
+     * array without creating any intermediate objects.
+     * <p>
+     * If the array is too small an exception is thrown, and the contents of the
+     * array from the offset onwards are undefined.
+     *
+     * @param calendrical  the calendrical to print, not null
+     * @param array  the array to print to, not null
+     * @param offset  the offset in the array to start printing at
+     * @return the offset in the array after the last character printed
+     * @throws UnsupportedOperationException if this formatter cannot print
+     * @throws CalendricalException if an error occurs during printing
+     * @throws IndexOutOfBoundsException if the offset is invalid or the array is too small
+     */
+    public int print(Calendrical calendrical, char[] array, int offset) {
+        DateTimeFormatter.checkNotNull(calendrical, "Calendrical must not be null");
+        DateTimeFormatter.checkNotNull(array, "Array must not be null");
+        if (offset < 0 || offset > array.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        if (compiledPrinter != null) {
+            int pos = compiledPrinter.print(calendrical, array, offset, array.length);
+            if (pos == CompiledPrinter.OVERFLOW) {
+                throw new IndexOutOfBoundsException("Array too small to print calendrical");
+            }
+            if (pos >= 0) {
+                return pos;
+            }
+        }
+        String str = print(calendrical);
+        if (str.length() > array.length - offset) {
+            throw new IndexOutOfBoundsException("Array too small to print calendrical");
+        }
+        str.getChars(0, str.length(), array, offset);
+        return offset + str.length();
+    }
+
+    /**
+     * Prints the calendrical to a character buffer using this formatter.
+     * <p>
+     * This method prints the calendrical into the buffer at its current position,
+     * advancing the position past the characters printed.
+     * When printing the ISO calendrical types to a buffer backed by an array,
+     * using a formatter of numeric fields and literals, such as the ISO formatters,
+     * the characters are written directly into the array without creating any
+     * intermediate objects.
+     * <p>
+     * If the buffer is too small an exception is thrown and the position is unaltered,
+     * however the contents of the buffer after the position are undefined.
+     *
+     * @param calendrical  the calendrical to print, not null
+     * @param buffer  the buffer to print to, not null
+     * @throws UnsupportedOperationException if this formatter cannot print
+     * @throws CalendricalException if an error occurs during printing
+     * @throws BufferOverflowException if the buffer is too small
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     */
+    public void print(Calendrical calendrical, CharBuffer buffer) {
+        DateTimeFormatter.checkNotNull(calendrical, "Calendrical must not be null");
+        DateTimeFormatter.checkNotNull(buffer, "CharBuffer must not be null");
+        if (compiledPrinter != null && buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            int pos = compiledPrinter.print(calendrical, buffer.array(), start, buffer.arrayOffset() + buffer.limit());
+            if (pos == CompiledPrinter.OVERFLOW) {
+                throw new BufferOverflowException();
+            }
+            if (pos >= 0) {
+                buffer.position(buffer.position() + pos - start);
+                return;
+            }
+        }
+        buffer.put(print(calendrical));
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks whether this formatter can parse.
@@ -261,6 +370,55 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Fully parses the text into a reusable target of primitive values.
+     * <p>
+     * This parses the entire text storing the ISO date, time and offset in the target.
+     * The target is owned by the caller and may be reused for many parses.
+     * For example:
+     * <pre>
+     * DateTimeParseTarget target = new DateTimeParseTarget();
+     * for (String str : lines) {
+     *   parser.parse(str, target);
+     *   Instant instant = target.toInstant();
+     * }
+     * </pre>
+     * If the formatter is a fixed-field ISO layout, such as the ISO local or offset
+     * formatters, the values are parsed directly into the target without creating
+     * any intermediate objects. Any other formatter parses and merges in the standard
+     * way, storing the resulting date, time and offset in the target.
+     * <p>
+     * If the parse completes without reading the entire length of the text,
+     * or a problem occurs during parsing, then an exception is thrown.
+     * The values are not validated until the target is converted.
+     *
+     * @param text  the text to parse, not null
+     * @param target  the target to parse into, cleared before parsing, not null
+     * @throws UnsupportedOperationException if this formatter cannot parse
+     * @throws CalendricalParseException if the parse fails
+     */
+    public void parse(CharSequence text, DateTimeParseTarget target) {
+        DateTimeFormatter.checkNotNull(text, "Text must not be null");
+        DateTimeFormatter.checkNotNull(target, "DateTimeParseTarget must not be null");
+        if (compiledParser != null && compiledParser.parse(text, target)) {
+            return;
+        }
+        target.clear();
+        CalendricalNormalizer normalizer = parse(text);
+        LocalDate date = normalizer.derive(LocalDate.rule());
+        if (date != null) {
+            target.setDate(date);
+        }
+        LocalTime time = normalizer.derive(LocalTime.rule());
+        if (time != null) {
+            target.setTime(time);
+        }
+        ZoneOffset offset = normalizer.derive(ZoneOffset.rule());
+        if (offset != null) {
+            target.set(DateTimeParseTarget.OFFSET, offset.getAmountSeconds());
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fully parses the text returning a merger that can be used to manage the
@@ -283,23 +441,27 @@ public final class DateTimeFormatter {
      */
     public CalendricalNormalizer parse(CharSequence text) {
         DateTimeFormatter.checkNotNull(text, "Text must not be null");
-        String str = text.toString();
-        ParsePosition pos = new ParsePosition(0);
-        DateTimeParseContext result = parse(str, pos);
-        if (pos.getErrorIndex() >= 0 || pos.getIndex() < str.length()) {
-            String abbr = str;
-            if (abbr.length() > 64) {
-                abbr = abbr.substring(0, 64) + "...";
-            }
-            if (pos.getErrorIndex() >= 0) {
-                throw new CalendricalParseException("Text '" + abbr + "' could not be parsed at index " +
-                        pos.getErrorIndex(), str, pos.getErrorIndex());
-            } else {
-                throw new CalendricalParseException("Text '" + abbr + "' could not be parsed, unparsed text found at index " +
-                        pos.getIndex(), str, pos.getIndex());
+        DateTimeParseContext context = DateTimeParseContext.acquire(symbols);
+        try {
+            int pos = printerParser.parse(context, text, 0);
+            if (pos < 0 || pos < text.length()) {
+                String str = text.toString();
+                String abbr = str;
+                if (abbr.length() > 64) {
+                    abbr = abbr.substring(0, 64) + "...";
+                }
+                if (pos < 0) {
+                    throw new CalendricalParseException("Text '" + abbr + "' could not be parsed at index " +
+                            ~pos, str, ~pos);
+                } else {
+                    throw new CalendricalParseException("Text '" + abbr + "' could not be parsed, unparsed text found at index " +
+                            pos, str, pos);
+                }
             }
+            return context.toCalendricalMerger();
+        } finally {
+            context.release();
         }
-        return result.toCalendricalMerger();
     }
 
     /**
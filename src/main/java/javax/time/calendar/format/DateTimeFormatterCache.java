@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded cache of formatters created from patterns.
+ * <p>
+ * Creating a formatter from a pattern involves parsing the pattern letters and
+ * building the tree of printer-parsers. This cache holds the formatters created by
+ * {@link DateTimeFormatters#pattern(String, Locale)} keyed by pattern and locale,
+ * so that a repeated pattern costs a single lookup.
+ * <p>
+ * The cache holds at most {@link #getMaximumSize()} formatters.
+ * When the cache is full the least recently used formatter is evicted.
+ * Recency is measured in misses, thus formatters used since the same miss are
+ * treated as equally recent. This allows a hit to avoid writing to shared state.
+ * Lookups do not lock, and concurrent misses may briefly exceed the bound.
+ * The number of hits, misses and evictions are recorded for monitoring.
+ * <p>
+ * DateTimeFormatterCache is thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+public final class DateTimeFormatterCache {
+
+    /**
+     * The maximum number of formatters.
+     */
+    private final int maximumSize;
+    /**
+     * The cached formatters.
+     */
+    private final ConcurrentMap<Entry<String, Locale>, Node> cache;
+    /**
+     * The number of hits, striped to avoid contention between threads.
+     */
+    private final StripedCounter hits = new StripedCounter();
+    /**
+     * The number of misses, also used to derive the clock for recording access.
+     */
+    private final AtomicLong misses = new AtomicLong();
+    /**
+     * The number of evictions.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize  the maximum number of formatters, one or greater
+     */
+    DateTimeFormatterCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be one or greater");
+        }
+        this.maximumSize = maximumSize;
+        this.cache = new ConcurrentHashMap<Entry<String, Locale>, Node>(16, 0.75f, 4);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatter for the pattern and locale, creating it if necessary.
+     *
+     * @param pattern  the pattern to use, not null
+     * @param locale  the locale to use, not null
+     * @return the formatter based on the pattern, not null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    DateTimeFormatter get(String pattern, Locale locale) {
+        DateTimeFormatter.checkNotNull(pattern, "Pattern must not be null");
+        DateTimeFormatter.checkNotNull(locale, "Locale must not be null");
+        Entry<String, Locale> key = new SimpleImmutableEntry<String, Locale>(pattern, locale);
+        Node node = cache.get(key);
+        if (node != null) {
+            hits.increment();
+            long tick = misses.get() * 2 + 1;  // later than the formatter created by the last miss
+            if (node.lastAccess != tick) {
+                node.lastAccess = tick;
+            }
+            return node.formatter;
+        }
+        long tick = misses.incrementAndGet() * 2;
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+        node = cache.putIfAbsent(key, new Node(formatter, tick));
+        if (node != null) {
+            return node.formatter;  // another thread created it first
+        }
+        if (cache.size() > maximumSize) {
+            evict();
+        }
+        return formatter;
+    }
+
+    /**
+     * Evicts the least recently used formatters until the cache is within its bound.
+     * <p>
+     * This scans the cache, which is small, and only occurs on a miss.
+     */
+    private void evict() {
+        while (cache.size() > maximumSize) {
+            Entry<String, Locale> oldestKey = null;
+            Node oldest = null;
+            for (Entry<Entry<String, Locale>, Node> entry : cache.entrySet()) {
+                Node node = entry.getValue();
+                if (oldest == null || node.lastAccess < oldest.lastAccess) {
+                    oldestKey = entry.getKey();
+                    oldest = node;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            if (cache.remove(oldestKey, oldest)) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes all the formatters from the cache.
+     * <p>
+     * The statistics are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the maximum number of formatters held.
+     *
+     * @return the maximum size, one or greater
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the number of formatters currently held.
+     *
+     * @return the size, zero or greater
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the number of requests that found a cached formatter.
+     *
+     * @return the hit count, zero or greater
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests that created a formatter.
+     * <p>
+     * This includes requests for invalid patterns.
+     *
+     * @return the miss count, zero or greater
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of formatters evicted to keep the cache within its bound.
+     *
+     * @return the eviction count, zero or greater
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the statistics of the cache as a {@code String}.
+     *
+     * @return a description of the cache, not null
+     */
+    @Override
+    public String toString() {
+        return "DateTimeFormatterCache[size=" + size() + ",maximumSize=" + maximumSize +
+                ",hits=" + getHitCount() + ",misses=" + getMissCount() + ",evictions=" + getEvictionCount() + "]";
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A cached formatter and the time it was last used.
+     */
+    private static final class Node {
+        /** The formatter. */
+        private final DateTimeFormatter formatter;
+        /** The clock when last used, derived from the miss count, racy updates are acceptable. */
+        private volatile long lastAccess;
+
+        private Node(DateTimeFormatter formatter, long lastAccess) {
+            this.formatter = formatter;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A counter striped by thread, so that threads incrementing it
+     * concurrently rarely write to the same cache line.
+     */
+    private static final class StripedCounter {
+        /** The spacing between stripes, keeping each on its own cache line. */
+        private static final int SPACING = 8;
+        /** The mask to select a stripe. */
+        private final int mask;
+        /** The stripes, each at a multiple of the spacing. */
+        private final AtomicLongArray stripes;
+
+        private StripedCounter() {
+            int count = Integer.highestOneBit(Math.min(Math.max(Runtime.getRuntime().availableProcessors(), 1), 64) * 2 - 1);
+            this.mask = count - 1;
+            this.stripes = new AtomicLongArray(count * SPACING);
+        }
+
+        /**
+         * Increments the stripe of the current thread.
+         */
+        void increment() {
+            stripes.incrementAndGet(((int) Thread.currentThread().getId() & mask) * SPACING);
+        }
+
+        /**
+         * Sums the stripes, which is not atomic with respect to concurrent increments.
+         *
+         * @return the sum
+         */
+        long sum() {
+            long sum = 0;
+            for (int i = 0; i < stripes.length(); i += SPACING) {
+                sum += stripes.get(i);
+            }
+            return sum;
+        }
+    }
+
+}
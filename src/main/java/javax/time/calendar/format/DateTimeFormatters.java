@@ -61,6 +61,11 @@ import javax.time.calendar.format.DateTimeFormatterBuilder.TextStyle;
  */
 public final class DateTimeFormatters {
 
+    /**
+     * The cache of formatters created from patterns.
+     */
+    private static final DateTimeFormatterCache PATTERN_CACHE = new DateTimeFormatterCache(256);
+
     /**
      * Private constructor since this is a utility class.
      */
@@ -186,6 +191,8 @@ public final class DateTimeFormatters {
      * Despite this, it is recommended to use single quotes around all characters that you want to
      * output directly to ensure that future changes do not break your application.
      * <p>
+     * Formatters are cached by pattern and locale, see {@link #patternCache()}.
+     * <p>
      * The pattern string is similar, but not identical, to {@link SimpleDateFormat}.
      * Pattern letters 'E' and 'u' are merged.
      * Pattern letters 'G' and 'W' are not available.
@@ -202,7 +209,7 @@ public final class DateTimeFormatters {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter pattern(String pattern) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter();
+        return PATTERN_CACHE.get(pattern, Locale.getDefault());
     }
 
     /**
@@ -223,7 +230,19 @@ public final class DateTimeFormatters {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter pattern(String pattern, Locale locale) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+        return PATTERN_CACHE.get(pattern, locale);
+    }
+
+    /**
+     * Gets the cache of formatters created by the {@code pattern} methods.
+     * <p>
+     * The cache holds the 256 most recently used formatters, keyed by pattern and locale.
+     * It may be used to monitor the hit rate, or cleared to release memory.
+     *
+     * @return the pattern cache, not null
+     */
+    public static DateTimeFormatterCache patternCache() {
+        return PATTERN_CACHE;
     }
 
     //-----------------------------------------------------------------------
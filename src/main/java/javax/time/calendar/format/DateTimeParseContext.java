@@ -31,7 +31,8 @@
  */
 package javax.time.calendar.format;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
@@ -50,9 +51,14 @@ import javax.time.calendar.DateTimeRule;
  * Once parsing is complete, the {@link #toCalendricalMerger()} is typically used
  * to obtain a merger that will merge the separate parsed fields into meaningful values.
  * <p>
+ * The parsed data is held in arrays, with fields stored as a rule and a primitive value.
+ * Optional segments are managed by marking the amount of parsed data at the start
+ * and discarding any data added since the mark if the segment fails.
+ * As such, parsing creates no objects other than those parsed.
+ * <p>
  * This class is mutable and thus not thread-safe.
  * Usage of the class is thread-safe within the Time Framework for Java as the
- * framework creates a new instance of the class for each parse.
+ * framework uses a separate instance of the class for each parse.
  *
  * @author Michael Nascimento Santos
  * @author Stephen Colebourne
@@ -60,7 +66,16 @@ import javax.time.calendar.DateTimeRule;
 public final class DateTimeParseContext {
 
     /**
-     * The date time format symbols, not null.
+     * The initial capacity of the parsed data.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * The context of each thread, reused by the formatter.
+     */
+    private static final ThreadLocal<DateTimeParseContext> THREAD_CONTEXT = new ThreadLocal<DateTimeParseContext>();
+
+    /**
+     * The date time format symbols, not null, other than in a released thread's context.
      */
     private DateTimeFormatSymbols symbols;
     /**
@@ -72,9 +87,37 @@ public final class DateTimeParseContext {
      */
     private boolean strict = true;
     /**
-     * The list of parsed data.
+     * The parsed calendricals, null where the parsed data is a field.
+     */
+    private Calendrical[] calendricals = new Calendrical[INITIAL_CAPACITY];
+    /**
+     * The rules of the parsed fields, null where the parsed data is a calendrical.
+     */
+    private DateTimeRule[] rules = new DateTimeRule[INITIAL_CAPACITY];
+    /**
+     * The values of the parsed fields.
+     */
+    private long[] values = new long[INITIAL_CAPACITY];
+    /**
+     * The amount of parsed data.
+     */
+    private int size;
+    /**
+     * The amount of parsed data at the start of each optional segment.
      */
-    private final ArrayList<Parsed> calendricals = new ArrayList<Parsed>();
+    private int[] marks = new int[INITIAL_CAPACITY];
+    /**
+     * The number of optional segments started and not ended.
+     */
+    private int markCount;
+    /**
+     * The parsed data before the first modification of data preceding each mark, null if not modified.
+     */
+    private Snapshot[] snapshots = new Snapshot[INITIAL_CAPACITY];
+    /**
+     * Whether the context is in use, only relevant for a thread's context.
+     */
+    private boolean inUse;
 
     /**
      * Constructor.
@@ -84,7 +127,48 @@ public final class DateTimeParseContext {
     public DateTimeParseContext(DateTimeFormatSymbols symbols) {
         super();
         setSymbols(symbols);
-        calendricals.add(new Parsed());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a context for the current thread, which must be released after parsing.
+     * <p>
+     * The context is reset to the initial state with the specified symbols.
+     * A new context is returned if the thread's context is in use by an enclosing parse.
+     *
+     * @param symbols  the symbols to use during parsing, not null
+     * @return the context, not null
+     */
+    static DateTimeParseContext acquire(DateTimeFormatSymbols symbols) {
+        DateTimeParseContext context = THREAD_CONTEXT.get();
+        if (context == null) {
+            context = new DateTimeParseContext(symbols);
+            THREAD_CONTEXT.set(context);
+        } else if (context.inUse) {
+            return new DateTimeParseContext(symbols);
+        } else {
+            context.setSymbols(symbols);
+            context.caseSensitive = true;
+            context.strict = true;
+            context.truncate(0);
+            context.clearMarks();
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Releases a context obtained from {@link #acquire}.
+     * <p>
+     * The parsed data and symbols are cleared, so the thread's context does not
+     * keep them reachable until the next parse.
+     * The context must not be used once released.
+     */
+    void release() {
+        truncate(0);
+        clearMarks();
+        symbols = null;
+        inUse = false;
     }
 
     //-----------------------------------------------------------------------
@@ -152,22 +236,42 @@ public final class DateTimeParseContext {
      * Starts the parsing of an optional segment of the input.
      */
     public void startOptional() {
-        calendricals.add(currentCalendrical().clone());
+        if (markCount == marks.length) {
+            marks = Arrays.copyOf(marks, markCount * 2);
+            snapshots = Arrays.copyOf(snapshots, markCount * 2);
+        }
+        snapshots[markCount] = null;
+        marks[markCount++] = size;
     }
 
     /**
      * Ends the parsing of an optional segment of the input.
+     * <p>
+     * If unsuccessful, the parsed data is restored to that at the start of the segment.
      *
      * @param successful  whether the optional segment was successfully parsed
      */
     public void endOptional(boolean successful) {
-        if (successful) {
-            calendricals.remove(calendricals.size() - 2);
-        } else {
-            calendricals.remove(calendricals.size() - 1);
+        int mark = marks[--markCount];
+        Snapshot snapshot = snapshots[markCount];
+        snapshots[markCount] = null;
+        if (successful == false) {
+            if (snapshot != null) {
+                restore(snapshot, mark);
+            } else {
+                truncate(mark);
+            }
         }
     }
 
+    /**
+     * Discards all optional segments.
+     */
+    private void clearMarks() {
+        Arrays.fill(snapshots, 0, markCount, null);
+        markCount = 0;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the locale to use for printing and parsing text.
@@ -178,15 +282,6 @@ public final class DateTimeParseContext {
         return symbols.getLocale();
     }
 
-    /**
-     * Gets the currently active calendrical.
-     *
-     * @return the current calendrical, not null
-     */
-    private Parsed currentCalendrical() {
-        return calendricals.get(calendricals.size() - 1);
-    }
-
     //-----------------------------------------------------------------------
     /**
      * Gets the first field matching the specified rule.
@@ -200,8 +295,16 @@ public final class DateTimeParseContext {
      * @return the value mapped to the specified rule, null if rule not in the map
      */
     public DateTimeField getParsed(DateTimeRule rule) {
-        for (Calendrical cal : currentCalendrical().calendricals) {
-            if (cal instanceof DateTimeField) {
+        if (rule == null) {
+            return null;
+        }
+        for (int i = 0; i < size; i++) {
+            Calendrical cal = calendricals[i];
+            if (cal == null) {
+                if (rules[i].equals(rule)) {
+                    return DateTimeField.of(rules[i], values[i]);
+                }
+            } else if (cal instanceof DateTimeField) {
                 DateTimeField field = (DateTimeField) cal;
                 if (field.getRule().equals(rule)) {
                     return field;
@@ -224,8 +327,17 @@ public final class DateTimeParseContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T getParsed(Class<T> clazz) {
-        for (Calendrical cal : currentCalendrical().calendricals) {
-            if (clazz.isInstance(cal)) {
+        if (clazz == null) {
+            return null;
+        }
+        boolean fields = clazz.isAssignableFrom(DateTimeField.class);
+        for (int i = 0; i < size; i++) {
+            Calendrical cal = calendricals[i];
+            if (cal == null) {
+                if (fields) {
+                    return (T) DateTimeField.of(rules[i], values[i]);
+                }
+            } else if (clazz.isInstance(cal)) {
                 return (T) cal;
             }
         }
@@ -235,7 +347,7 @@ public final class DateTimeParseContext {
     /**
      * Gets the list of parsed calendricals.
      * <p>
-     * The list is modifiable, but modification is discouraged.
+     * The list is a modifiable view of the parsed data, but modification is discouraged.
      * <p>
      * The calendricals are not validated, so a field may have an out of range value.
      * For example, the day-of-month might be set to 50, or the hour to 1000.
@@ -243,7 +355,7 @@ public final class DateTimeParseContext {
      * @return the list of previously parsed calendricals, not null, no nulls
      */
     public List<Calendrical> getParsed() {
-        return currentCalendrical().calendricals;
+        return new ParsedList();
     }
 
     /**
@@ -255,7 +367,7 @@ public final class DateTimeParseContext {
      */
     public <T> void setParsed(Calendrical calendrical) {
         DateTimeFormatter.checkNotNull(calendrical, "Calendrical must not be null");
-        currentCalendrical().calendricals.add(calendrical);
+        insert(size, calendrical, null, 0);
     }
 
     /**
@@ -267,8 +379,109 @@ public final class DateTimeParseContext {
      * @param value  the value to set in the rule-value map
      */
     public void setParsedField(DateTimeRule rule, long value) {
-        DateTimeField field = DateTimeField.of(rule, value);
-        currentCalendrical().calendricals.add(field);
+        DateTimeFormatter.checkNotNull(rule, "DateTimeRule must not be null");
+        insert(size, null, rule, value);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the parsed data at the specified index as a calendrical.
+     *
+     * @param index  the index, validated by the caller
+     * @return the calendrical, not null
+     */
+    private Calendrical get(int index) {
+        Calendrical cal = calendricals[index];
+        return (cal != null ? cal : DateTimeField.of(rules[index], values[index]));
+    }
+
+    /**
+     * Inserts parsed data at the specified index.
+     *
+     * @param index  the index, validated by the caller
+     * @param calendrical  the calendrical, null if a field
+     * @param rule  the rule of the field, null if a calendrical
+     * @param value  the value of the field
+     */
+    private void insert(int index, Calendrical calendrical, DateTimeRule rule, long value) {
+        if (size == calendricals.length) {
+            calendricals = Arrays.copyOf(calendricals, size * 2);
+            rules = Arrays.copyOf(rules, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        if (index < size) {
+            System.arraycopy(calendricals, index, calendricals, index + 1, size - index);
+            System.arraycopy(rules, index, rules, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        calendricals[index] = calendrical;
+        rules[index] = rule;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes the parsed data at the specified index.
+     *
+     * @param index  the index, validated by the caller
+     */
+    private void remove(int index) {
+        System.arraycopy(calendricals, index + 1, calendricals, index, size - index - 1);
+        System.arraycopy(rules, index + 1, rules, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        truncate(size - 1);
+    }
+
+    /**
+     * Discards the parsed data from the specified size.
+     *
+     * @param newSize  the size to truncate to
+     */
+    private void truncate(int newSize) {
+        for (int i = newSize; i < size; i++) {
+            calendricals[i] = null;
+            rules[i] = null;
+        }
+        size = Math.min(size, newSize);
+    }
+
+    /**
+     * Takes a snapshot of the parsed data for each optional segment that
+     * started after the specified index, so that it can be restored.
+     * <p>
+     * Data added by an optional segment is discarded by truncation,
+     * thus a snapshot is only needed when earlier data is modified.
+     *
+     * @param index  the index about to be modified
+     */
+    private void snapshotBefore(int index) {
+        Snapshot snapshot = null;
+        for (int i = 0; i < markCount; i++) {
+            if (index < marks[i] && snapshots[i] == null) {
+                // data preceding the mark is unchanged until the first snapshot
+                if (snapshot == null) {
+                    snapshot = new Snapshot(this);
+                }
+                snapshots[i] = snapshot;
+            }
+        }
+    }
+
+    /**
+     * Restores the parsed data from a snapshot.
+     * <p>
+     * The snapshot may have been taken after data was added following the mark,
+     * thus only the data preceding the mark is restored.
+     *
+     * @param snapshot  the snapshot to restore, not null
+     * @param mark  the amount of parsed data to restore, no more than the snapshot holds
+     */
+    private void restore(Snapshot snapshot, int mark) {
+        truncate(0);
+        System.arraycopy(snapshot.calendricals, 0, calendricals, 0, mark);
+        System.arraycopy(snapshot.rules, 0, rules, 0, mark);
+        System.arraycopy(snapshot.values, 0, values, 0, mark);
+        size = mark;
     }
 
     //-----------------------------------------------------------------------
@@ -285,8 +498,11 @@ public final class DateTimeParseContext {
      * @return a new independent merger with the parsed calendricals, not null
      */
     public CalendricalNormalizer toCalendricalMerger() {
-        List<Calendrical> cals = getParsed();
-        return CalendricalNormalizer.merge(cals.toArray(new Calendrical[cals.size()]));
+        Calendrical[] cals = new Calendrical[size];
+        for (int i = 0; i < size; i++) {
+            cals[i] = get(i);
+        }
+        return CalendricalNormalizer.merge(cals);
     }
 
     //-----------------------------------------------------------------------
@@ -297,25 +513,72 @@ public final class DateTimeParseContext {
      */
     @Override
     public String toString() {
-        return currentCalendrical().toString();
+        return getParsed().toString();
     }
 
     //-----------------------------------------------------------------------
     /**
-     * Temporary store of parsed data.
+     * Modifiable list view of the parsed data.
      */
-    static class Parsed {
-        final List<Calendrical> calendricals = new ArrayList<Calendrical>();
-        
+    private final class ParsedList extends AbstractList<Calendrical> {
+        @Override
+        public Calendrical get(int index) {
+            checkIndex(index, size - 1);
+            return DateTimeParseContext.this.get(index);
+        }
+        @Override
+        public int size() {
+            return size;
+        }
         @Override
-        protected Parsed clone() {
-            Parsed cloned = new Parsed();
-            cloned.calendricals.addAll(this.calendricals);
-            return cloned;
+        public Calendrical set(int index, Calendrical calendrical) {
+            DateTimeFormatter.checkNotNull(calendrical, "Calendrical must not be null");
+            Calendrical old = get(index);
+            snapshotBefore(index);
+            calendricals[index] = calendrical;
+            rules[index] = null;
+            return old;
         }
         @Override
-        public String toString() {
-            return calendricals.toString();
+        public void add(int index, Calendrical calendrical) {
+            DateTimeFormatter.checkNotNull(calendrical, "Calendrical must not be null");
+            checkIndex(index, size);
+            modCount++;
+            snapshotBefore(index);
+            insert(index, calendrical, null, 0);
+        }
+        @Override
+        public Calendrical remove(int index) {
+            Calendrical old = get(index);
+            modCount++;
+            snapshotBefore(index);
+            DateTimeParseContext.this.remove(index);
+            return old;
+        }
+        private void checkIndex(int index, int max) {
+            if (index < 0 || index > max) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Copy of the parsed data, taken when data preceding an optional segment is modified.
+     */
+    private static final class Snapshot {
+        /** The parsed calendricals. */
+        private final Calendrical[] calendricals;
+        /** The rules of the parsed fields. */
+        private final DateTimeRule[] rules;
+        /** The values of the parsed fields. */
+        private final long[] values;
+        /** Constructor. */
+        private Snapshot(DateTimeParseContext context) {
+            int size = context.size;
+            calendricals = Arrays.copyOf(context.calendricals, size);
+            rules = Arrays.copyOf(context.rules, size);
+            values = Arrays.copyOf(context.values, size);
         }
     }
 
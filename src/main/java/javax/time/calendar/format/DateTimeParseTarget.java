@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import static javax.time.calendar.ISODateTimeRule.HOUR_OF_DAY;
+import static javax.time.calendar.ISODateTimeRule.MINUTE_OF_HOUR;
+import static javax.time.calendar.ISODateTimeRule.NANO_OF_SECOND;
+import static javax.time.calendar.ISODateTimeRule.SECOND_OF_MINUTE;
+
+import javax.time.CalendricalException;
+import javax.time.Instant;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.LocalTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneOffset;
+
+/**
+ * Mutable target for parsing the ISO date, time and offset as primitive values.
+ * <p>
+ * This class allows text to be parsed without creating any objects.
+ * An instance is owned by the caller and is reused for each parse, see
+ * {@link DateTimeFormatter#parse(CharSequence, DateTimeParseTarget)}.
+ * Once parsed, the values can be queried directly or converted to the
+ * required date-time class.
+ * <p>
+ * The parsed values are not validated until converted, thus the month-of-year
+ * might be 13 or the day-of-month 50.
+ * <p>
+ * This class is mutable and not thread-safe.
+ * It must only be used from a single thread.
+ *
+ * @author Stephen Colebourne
+ */
+public final class DateTimeParseTarget {
+
+    /** Index of the year. */
+    static final int YEAR = 0;
+    /** Index of the month-of-year. */
+    static final int MONTH = 1;
+    /** Index of the day-of-month. */
+    static final int DAY = 2;
+    /** Index of the hour-of-day. */
+    static final int HOUR = 3;
+    /** Index of the minute-of-hour. */
+    static final int MINUTE = 4;
+    /** Index of the second-of-minute. */
+    static final int SECOND = 5;
+    /** Index of the nano-of-second. */
+    static final int NANO = 6;
+    /** Index of the offset in seconds. */
+    static final int OFFSET = 7;
+    /** Mask of the fields forming a date. */
+    private static final int DATE_MASK = (1 << YEAR) | (1 << MONTH) | (1 << DAY);
+    /** Mask of the fields forming a time. */
+    private static final int TIME_MASK = (1 << HOUR) | (1 << MINUTE);
+    /** Seconds per day. */
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /**
+     * The parsed values, indexed by the constants.
+     */
+    private final int[] values = new int[8];
+    /**
+     * The mask of parsed values, one bit for each index.
+     */
+    private int parsed;
+
+    /**
+     * Constructs an empty target.
+     */
+    public DateTimeParseTarget() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Clears the target, so that no values are parsed.
+     */
+    public void clear() {
+        parsed = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 0;
+        }
+    }
+
+    /**
+     * Gets the mask of parsed values.
+     *
+     * @return the mask
+     */
+    int getParsedMask() {
+        return parsed;
+    }
+
+    /**
+     * Resets the mask of parsed values, used when an optional section fails.
+     *
+     * @param mask  the mask to restore
+     */
+    void resetParsedMask(int mask) {
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & (1 << i)) == 0) {
+                values[i] = 0;
+            }
+        }
+        parsed = mask;
+    }
+
+    /**
+     * Checks if the value at the index has been parsed.
+     *
+     * @param index  the index to check
+     * @return true if parsed
+     */
+    boolean isParsed(int index) {
+        return (parsed & (1 << index)) != 0;
+    }
+
+    /**
+     * Sets the value at the index.
+     *
+     * @param index  the index to set
+     * @param value  the value to set
+     */
+    void set(int index, int value) {
+        values[index] = value;
+        parsed |= 1 << index;
+    }
+
+    /**
+     * Sets the date.
+     *
+     * @param date  the date to set, not null
+     */
+    void setDate(LocalDate date) {
+        set(YEAR, date.getYear());
+        set(MONTH, date.getMonthOfYear().getValue());
+        set(DAY, date.getDayOfMonth());
+    }
+
+    /**
+     * Sets the time.
+     *
+     * @param time  the time to set, not null
+     */
+    void setTime(LocalTime time) {
+        set(HOUR, time.getHourOfDay());
+        set(MINUTE, time.getMinuteOfHour());
+        set(SECOND, time.getSecondOfMinute());
+        set(NANO, time.getNanoOfSecond());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the year, month-of-year and day-of-month have been parsed.
+     *
+     * @return true if the date has been parsed
+     */
+    public boolean isDateParsed() {
+        return (parsed & DATE_MASK) == DATE_MASK;
+    }
+
+    /**
+     * Checks if the hour-of-day and minute-of-hour have been parsed.
+     * <p>
+     * The second-of-minute and nano-of-second are zero if not parsed.
+     *
+     * @return true if the time has been parsed
+     */
+    public boolean isTimeParsed() {
+        return (parsed & TIME_MASK) == TIME_MASK;
+    }
+
+    /**
+     * Checks if the offset has been parsed.
+     *
+     * @return true if the offset has been parsed
+     */
+    public boolean isOffsetParsed() {
+        return isParsed(OFFSET);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the parsed year, zero if not parsed.
+     *
+     * @return the year
+     */
+    public int getYear() {
+        return values[YEAR];
+    }
+
+    /**
+     * Gets the parsed month-of-year, zero if not parsed.
+     *
+     * @return the month-of-year
+     */
+    public int getMonthOfYear() {
+        return values[MONTH];
+    }
+
+    /**
+     * Gets the parsed day-of-month, zero if not parsed.
+     *
+     * @return the day-of-month
+     */
+    public int getDayOfMonth() {
+        return values[DAY];
+    }
+
+    /**
+     * Gets the parsed hour-of-day, zero if not parsed.
+     *
+     * @return the hour-of-day
+     */
+    public int getHourOfDay() {
+        return values[HOUR];
+    }
+
+    /**
+     * Gets the parsed minute-of-hour, zero if not parsed.
+     *
+     * @return the minute-of-hour
+     */
+    public int getMinuteOfHour() {
+        return values[MINUTE];
+    }
+
+    /**
+     * Gets the parsed second-of-minute, zero if not parsed.
+     *
+     * @return the second-of-minute
+     */
+    public int getSecondOfMinute() {
+        return values[SECOND];
+    }
+
+    /**
+     * Gets the parsed nano-of-second, zero if not parsed.
+     *
+     * @return the nano-of-second
+     */
+    public int getNanoOfSecond() {
+        return values[NANO];
+    }
+
+    /**
+     * Gets the parsed offset in seconds, zero if not parsed.
+     *
+     * @return the offset in seconds
+     */
+    public int getOffsetSeconds() {
+        return values[OFFSET];
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts the parsed date to a {@code LocalDate}.
+     *
+     * @return the local date, not null
+     * @throws CalendricalException if the date was not parsed or is invalid
+     */
+    public LocalDate toLocalDate() {
+        if (isDateParsed() == false) {
+            throw new CalendricalException("Unable to convert to LocalDate as the date was not parsed");
+        }
+        return LocalDate.of(values[YEAR], values[MONTH], values[DAY]);
+    }
+
+    /**
+     * Converts the parsed time to a {@code LocalTime}.
+     *
+     * @return the local time, not null
+     * @throws CalendricalException if the time was not parsed or is invalid
+     */
+    public LocalTime toLocalTime() {
+        if (isTimeParsed() == false) {
+            throw new CalendricalException("Unable to convert to LocalTime as the time was not parsed");
+        }
+        return LocalTime.of(values[HOUR], values[MINUTE], values[SECOND], values[NANO]);
+    }
+
+    /**
+     * Converts the parsed date and time to a {@code LocalDateTime}.
+     *
+     * @return the local date-time, not null
+     * @throws CalendricalException if the date or time was not parsed or is invalid
+     */
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.of(toLocalDate(), toLocalTime());
+    }
+
+    /**
+     * Converts the parsed date, time and offset to an {@code OffsetDateTime}.
+     *
+     * @return the offset date-time, not null
+     * @throws CalendricalException if the date, time or offset was not parsed or is invalid
+     */
+    public OffsetDateTime toOffsetDateTime() {
+        return OffsetDateTime.of(toLocalDateTime(), toOffset());
+    }
+
+    /**
+     * Converts the parsed date, time and offset to an {@code Instant}.
+     * <p>
+     * The instant is calculated directly from the parsed values.
+     *
+     * @return the instant, not null
+     * @throws CalendricalException if the date, time or offset was not parsed or is invalid
+     */
+    public Instant toInstant() {
+        if (isTimeParsed() == false) {
+            throw new CalendricalException("Unable to convert to Instant as the time was not parsed");
+        }
+        if (isOffsetParsed() == false) {
+            throw new CalendricalException("Unable to convert to Instant as the offset was not parsed");
+        }
+        long epochDay = toLocalDate().toEpochDay();
+        HOUR_OF_DAY.checkValidValue(values[HOUR]);
+        MINUTE_OF_HOUR.checkValidValue(values[MINUTE]);
+        SECOND_OF_MINUTE.checkValidValue(values[SECOND]);
+        NANO_OF_SECOND.checkValidValue(values[NANO]);
+        long secs = epochDay * SECONDS_PER_DAY + values[HOUR] * 3600 + values[MINUTE] * 60 + values[SECOND];
+        return Instant.ofEpochSecond(secs - values[OFFSET], values[NANO]);
+    }
+
+    /**
+     * Converts the parsed offset to a {@code ZoneOffset}.
+     *
+     * @return the offset, not null
+     * @throws CalendricalException if the offset was not parsed
+     */
+    private ZoneOffset toOffset() {
+        if (isOffsetParsed() == false) {
+            throw new CalendricalException("Unable to convert to ZoneOffset as the offset was not parsed");
+        }
+        return ZoneOffset.ofTotalSeconds(values[OFFSET]);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the parsed values as a {@code String}.
+     *
+     * @return the parsed values, not null
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(64);
+        String[] names = {"Year", "MonthOfYear", "DayOfMonth", "HourOfDay", "MinuteOfHour", "SecondOfMinute", "NanoOfSecond", "OffsetSeconds"};
+        buf.append('{');
+        for (int i = 0; i < values.length; i++) {
+            if (isParsed(i)) {
+                if (buf.length() > 1) {
+                    buf.append(", ");
+                }
+                buf.append(names[i]).append('=').append(values[i]);
+            }
+        }
+        return buf.append('}').toString();
+    }
+
+}
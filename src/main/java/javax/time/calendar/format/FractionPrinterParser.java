@@ -48,15 +48,15 @@ final class FractionPrinterParser implements DateTimePrinter, DateTimeParser {
     /**
      * The rule to output, not null.
      */
-    private final DateTimeRule rule;
+    final DateTimeRule rule;
     /**
      * The minimum width, from 0 to 9.
      */
-    private final int minWidth;
+    final int minWidth;
     /**
      * The maximum width, from 0 to 9.
      */
-    private final int maxWidth;
+    final int maxWidth;
 
     /**
      * Constructor.
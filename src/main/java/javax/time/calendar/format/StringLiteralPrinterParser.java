@@ -43,7 +43,7 @@ final class StringLiteralPrinterParser implements DateTimePrinter, DateTimeParse
     /**
      * The literal to print or parse.
      */
-    private final String literal;
+    final String literal;
 
     /**
      * Constructor.
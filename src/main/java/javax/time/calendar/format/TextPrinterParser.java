@@ -32,22 +32,36 @@
 package javax.time.calendar.format;
 
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.time.calendar.DateTimeField;
 import javax.time.calendar.DateTimeRule;
+import javax.time.calendar.DateTimeRuleRange;
 import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
 import javax.time.calendar.format.DateTimeFormatterBuilder.TextStyle;
 
 /**
  * Prints or parses field text.
  * <p>
+ * The text for each locale used is cached as an array for printing and,
+ * when first parsed, a prefix tree for parsing, thus parsing takes time
+ * proportional to the length of the matched text and neither operation creates objects.
+ * <p>
  * TextPrinterParser is immutable and thread-safe.
  *
  * @author Stephen Colebourne
  */
 final class TextPrinterParser implements DateTimePrinter, DateTimeParser {
 
+    /**
+     * The maximum number of values to hold in the print array.
+     */
+    private static final int MAX_PRINT_VALUES = 64;
+
     /**
      * The rule to output, not null.
      */
@@ -61,6 +75,10 @@ final class TextPrinterParser implements DateTimePrinter, DateTimeParser {
      * Immutable and volatile, so no synchronization needed.
      */
     private volatile NumberPrinterParser numberPrinterParser;
+    /**
+     * The cached text by locale.
+     */
+    private final ConcurrentMap<Locale, LocaleText> localeTexts = new ConcurrentHashMap<Locale, LocaleText>(4, 0.75f, 2);
 
     /**
      * Constructor.
@@ -78,7 +96,7 @@ final class TextPrinterParser implements DateTimePrinter, DateTimeParser {
     /** {@inheritDoc} */
     public void print(DateTimePrintContext context, StringBuilder buf) {
         DateTimeField field = context.getValueChecked(rule);
-        String text = new SimpleDateTimeTextProvider().getText(field, textStyle, context.getLocale());
+        String text = localeText(context.getLocale()).getText(field);
         if (text != null) {
             buf.append(text);
         } else {
@@ -92,50 +110,35 @@ final class TextPrinterParser implements DateTimePrinter, DateTimeParser {
         if (position < 0 || position > length) {
             throw new IndexOutOfBoundsException();
         }
-        TextStyle style = (context.isStrict() ? textStyle : null);
-        Iterator<Entry<String, DateTimeField>> it = new SimpleDateTimeTextProvider().getTextIterator(rule, style, context.getLocale());
-        if (it != null) {
-            while (it.hasNext()) {
-                Entry<String, DateTimeField> entry = it.next();
-                String text = entry.getKey();
-                if (FormatUtils.regionMatches(!context.isCaseSensitive(), text, 0, parseText, position, text.length())) {
-                    context.setParsed(entry.getValue());
-                    return position + text.length();
-                }
+        TextTree tree = localeText(context.getLocale()).getTree(context.isStrict(), context.isCaseSensitive());
+        if (tree != null) {
+            TextTree match = tree.match(parseText, position);
+            if (match != null) {
+                context.setParsed(match.field);
+                return position + match.depth;
             }
             if (context.isStrict()) {
                 return ~position;
             }
         }
-        
-//        if (context.isStrict()) {
-//            TextStore textStore = rule.getTextStore(context.getLocale(), textStyle);
-//            if (textStore != null) {
-//                long match = textStore.matchText(!context.isCaseSensitive(), parseText.substring(position));
-//                if (match == 0) {
-//                    return ~position;
-//                } else if (match > 0) {
-//                    position += (match >>> 32);
-//                    context.setParsedField(rule, (int) match);
-//                    return position;
-//                }
-//            }
-//        } else {
-//            for (TextStyle textStyle : TextStyle.values()) {
-//                TextStore textStore = rule.getTextStore(context.getLocale(), textStyle);
-//                if (textStore != null) {
-//                    long match = textStore.matchText(!context.isCaseSensitive(), parseText.substring(position));
-//                    if (match > 0) {
-//                        position += (match >>> 32);
-//                        context.setParsedField(rule, (int) match);
-//                        return position;
-//                    }
-//                }
-//            }
-//        }
         return numberPrinterParser().parse(context, parseText, position);
     }
 
+    /**
+     * Gets the cached text for the locale, creating it if necessary.
+     *
+     * @param locale  the locale, not null
+     * @return the text, not null
+     */
+    private LocaleText localeText(Locale locale) {
+        LocaleText text = localeTexts.get(locale);
+        if (text == null) {
+            localeTexts.putIfAbsent(locale, new LocaleText(rule, textStyle, locale));
+            text = localeTexts.get(locale);
+        }
+        return text;
+    }
+
     /**
      * Create and cache a number printer parser.
      * @return the number printer parser for this field, not null
@@ -156,4 +159,207 @@ final class TextPrinterParser implements DateTimePrinter, DateTimeParser {
         return "Text(" + rule.getName() + "," + textStyle + ")";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The text of the rule for one locale, extracted from the text provider.
+     * <p>
+     * The parse trees are only built when first used.
+     * <p>
+     * This class is thread-safe.
+     */
+    static final class LocaleText {
+        /** Placeholder for a tree that is not parsable. */
+        private static final TextTree NOT_PARSABLE = new TextTree(true, 0);
+        /** The locale, not null. */
+        final Locale locale;
+        /** The rule, not null. */
+        private final DateTimeRule rule;
+        /** The minimum value of the rule. */
+        private final long minValue;
+        /** The text to print indexed by value minus the minimum, null if too many values. */
+        private final String[] printText;
+        /** The style to print. */
+        private final TextStyle style;
+        /** The trees indexed by strict then case sensitive, null elements if not yet built. */
+        private final AtomicReferenceArray<TextTree> trees = new AtomicReferenceArray<TextTree>(4);
+
+        /**
+         * Constructor.
+         *
+         * @param rule  the rule, not null
+         * @param style  the style to print and parse strictly, not null
+         * @param locale  the locale, not null
+         */
+        LocaleText(DateTimeRule rule, TextStyle style, Locale locale) {
+            this.locale = locale;
+            this.rule = rule;
+            this.style = style;
+            DateTimeTextProvider provider = new SimpleDateTimeTextProvider();
+            DateTimeRuleRange range = rule.getValueRange();
+            minValue = range.getMinimum();
+            long count = range.getMaximum() - minValue + 1;
+            if (count > 0 && count <= MAX_PRINT_VALUES) {
+                printText = new String[(int) count];
+                for (int i = 0; i < printText.length; i++) {
+                    printText[i] = provider.getText(rule.field(minValue + i), style, locale);
+                }
+            } else {
+                printText = null;
+            }
+        }
+
+        /**
+         * Gets the text to print.
+         *
+         * @param field  the field to print, not null
+         * @return the text, null if none
+         */
+        String getText(DateTimeField field) {
+            if (printText != null) {
+                long index = field.getValue() - minValue;
+                return (index >= 0 && index < printText.length ? printText[(int) index] : null);
+            }
+            return new SimpleDateTimeTextProvider().getText(field, style, locale);
+        }
+
+        /**
+         * Gets the tree to parse with.
+         *
+         * @param strict  whether parsing is strict, using only the style
+         * @param caseSensitive  whether parsing is case sensitive
+         * @return the tree, null if not parsable
+         */
+        TextTree getTree(boolean strict, boolean caseSensitive) {
+            int index = (strict ? 0 : 2) + (caseSensitive ? 0 : 1);
+            TextTree tree = trees.get(index);
+            if (tree == null) {
+                tree = NOT_PARSABLE;
+                Iterator<Entry<String, DateTimeField>> it =
+                        new SimpleDateTimeTextProvider().getTextIterator(rule, (strict ? style : null), locale);
+                if (it != null) {
+                    tree = new TextTree(caseSensitive, 0);
+                    while (it.hasNext()) {
+                        Entry<String, DateTimeField> entry = it.next();
+                        tree.add(entry.getKey(), entry.getValue());
+                    }
+                }
+                trees.compareAndSet(index, null, tree);
+                tree = trees.get(index);
+            }
+            return (tree != NOT_PARSABLE ? tree : null);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A node in a prefix tree of text to field.
+     * <p>
+     * Case insensitive trees are keyed by the lower case of the upper case of each
+     * character, matching {@link FormatUtils#regionMatches}.
+     * The tree is only altered while being built by {@link LocaleText}, before it is published.
+     */
+    static final class TextTree {
+        /** Whether the tree is case sensitive. */
+        private final boolean caseSensitive;
+        /** The number of characters matched to reach this node. */
+        final int depth;
+        /** The field if the text to this node is complete, null if not. */
+        DateTimeField field;
+        /** The characters leading to the child nodes. */
+        private char[] chars = new char[0];
+        /** The child nodes. */
+        private TextTree[] children = new TextTree[0];
+
+        /**
+         * Constructor.
+         *
+         * @param caseSensitive  whether the tree is case sensitive
+         * @param depth  the depth of this node
+         */
+        TextTree(boolean caseSensitive, int depth) {
+            this.caseSensitive = caseSensitive;
+            this.depth = depth;
+        }
+
+        /**
+         * Adds text to the tree.
+         * <p>
+         * The first field added for any given text is retained.
+         *
+         * @param text  the text, not null
+         * @param field  the field, not null
+         */
+        void add(String text, DateTimeField field) {
+            TextTree node = this;
+            for (int i = 0; i < text.length(); i++) {
+                node = node.child(key(text.charAt(i)), true);
+            }
+            if (node.field == null) {
+                node.field = field;
+            }
+        }
+
+        /**
+         * Matches the longest text in the tree at the position.
+         *
+         * @param text  the text to match, not null
+         * @param position  the position to start matching from
+         * @return the node of the longest match, null if no match
+         */
+        TextTree match(CharSequence text, int position) {
+            TextTree node = this;
+            TextTree best = (field != null ? this : null);
+            int length = text.length();
+            for (int pos = position; pos < length; pos++) {
+                node = node.child(key(text.charAt(pos)), false);
+                if (node == null) {
+                    break;
+                }
+                if (node.field != null) {
+                    best = node;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Converts a character to the key used in the tree.
+         *
+         * @param ch  the character
+         * @return the key
+         */
+        private char key(char ch) {
+            return (caseSensitive ? ch : Character.toLowerCase(Character.toUpperCase(ch)));
+        }
+
+        /**
+         * Finds or creates the child for a key.
+         *
+         * @param key  the key to find
+         * @param create  whether to create a missing child
+         * @return the child, null if not found and not created
+         */
+        private TextTree child(char key, boolean create) {
+            char[] keys = chars;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            if (create == false) {
+                return null;
+            }
+            int size = keys.length;
+            char[] newChars = new char[size + 1];
+            TextTree[] newChildren = new TextTree[size + 1];
+            System.arraycopy(keys, 0, newChars, 0, size);
+            System.arraycopy(children, 0, newChildren, 0, size);
+            newChars[size] = key;
+            newChildren[size] = new TextTree(caseSensitive, depth + 1);
+            chars = newChars;
+            children = newChildren;
+            return newChildren[size];
+        }
+    }
+
 }
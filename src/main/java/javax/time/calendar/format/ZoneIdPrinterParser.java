@@ -32,12 +32,9 @@
 package javax.time.calendar.format;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import javax.time.calendar.ZoneId;
@@ -57,7 +54,7 @@ final class ZoneIdPrinterParser implements DateTimePrinter, DateTimeParser {
     /**
      * The text style to output, null means the id.
      */
-    private final TextStyle textStyle;
+    final TextStyle textStyle;
 
     /**
      * Constructor.
@@ -89,50 +86,40 @@ final class ZoneIdPrinterParser implements DateTimePrinter, DateTimeParser {
 
     //-----------------------------------------------------------------------
     /**
-     * The cached tree to speed up parsing.
+     * The parser for the offset of a fixed time-zone.
      */
-    private static SubstringTree preparedTree;
+    private static final ZoneOffsetPrinterParser UTC_OFFSET_PARSER = new ZoneOffsetPrinterParser("", "+HH:MM:ss");
     /**
-     * The cached IDs.
+     * The cached tree to speed up parsing.
+     * Immutable and volatile, so no synchronization needed.
      */
-    private static Set<String> preparedIDs;  // TODO: used inside and outside sync block
+    private static volatile ZoneIdTree preparedTree;
 
     /**
      * This implementation looks for the longest matching string.
      * For example, parsing Etc/GMT-2 will return Etc/GMC-2 rather than just
      * Etc/GMC although both are valid.
      * <p>
-     * This implementation uses a tree to search for valid time-zone names in
-     * the parseText. The top level node of the tree has a length equal to the
-     * length of the shortest time-zone as well as the beginning characters of
-     * all other time-zones.
+     * This implementation uses a tree of characters to search for valid time-zone
+     * names in the parseText. The tree is rebuilt when the registered time-zones change.
      */
     public int parse(DateTimeParseContext context, CharSequence parseText, int position) {
         int length = parseText.length();
-        if (position > length) {
+        if (position < 0 || position > length) {
             throw new IndexOutOfBoundsException();
         }
         
         // setup parse tree
-        Set<String> ids = ZoneRulesGroup.getParsableIDs();
-        if (ids.size() == 0) {
+        ZoneIdTree tree = prepareParser();
+        if (tree.isEmpty()) {
             return ~position;
         }
-        SubstringTree tree;
-        synchronized (ZoneIdPrinterParser.class) {
-            if (preparedTree == null || preparedIDs.size() < ids.size()) {
-                ids = new HashSet<String>(ids);
-                preparedTree = prepareParser(ids);
-                preparedIDs = ids;
-            }
-            tree = preparedTree;
-        }
         
         // handle fixed time-zone ids
-        if (parseText.subSequence(position, parseText.length()).toString().startsWith("UTC")) {
+        if (FormatUtils.regionMatches(false, parseText, position, "UTC", 0, 3)) {
             DateTimeParseContext newContext = new DateTimeParseContext(context.getSymbols());
             int startPos = position + 3;
-            int endPos = new ZoneOffsetPrinterParser("", "+HH:MM:ss").parse(newContext, parseText, startPos);
+            int endPos = UTC_OFFSET_PARSER.parse(newContext, parseText, startPos);
             if (endPos < 0) {
                 context.setParsed(ZoneId.UTC);
                 return startPos;
@@ -143,20 +130,11 @@ final class ZoneIdPrinterParser implements DateTimePrinter, DateTimeParser {
         }
         
         // parse
-        String parsedZoneId = null;
-        while (tree != null) {
-            int nodeLength = tree.length;
-            if (position + nodeLength > length) {
-                break;
-            }
-            parsedZoneId = parseText.subSequence(position, position + nodeLength).toString();
-            tree = tree.get(parsedZoneId);
-        }
-        
-        if (parsedZoneId != null && preparedIDs.contains(parsedZoneId)) {
+        ZoneIdTree match = tree.match(parseText, position);
+        if (match != null) {
             // handle zone version
-            ZoneId zone = ZoneId.of(parsedZoneId);
-            int pos = position + parsedZoneId.length();
+            ZoneId zone = match.zone;
+            int pos = position + match.depth;
             if (pos + 1 < length && parseText.charAt(pos) == '#') {
                 Set<String> versions = zone.getGroup().getAvailableVersionIDs();
                 for (String version : versions) {
@@ -174,95 +152,129 @@ final class ZoneIdPrinterParser implements DateTimePrinter, DateTimeParser {
         }
     }
 
+    /**
+     * Gets the parsing tree, building it if the registered time-zones have changed.
+     * <p>
+     * The tree is immutable, thus concurrent rebuilds are harmless and the
+     * last to complete is retained.
+     *
+     * @return the tree, not null
+     */
+    private static ZoneIdTree prepareParser() {
+        int generation = ZoneRulesGroup.getGeneration();
+        ZoneIdTree tree = preparedTree;
+        if (tree == null || tree.generation != generation) {
+            List<String> ids = new ArrayList<String>(ZoneRulesGroup.getParsableIDs());
+            Collections.sort(ids);
+            tree = new ZoneIdTree(generation, ids, 0, ids.size(), 0);
+            preparedTree = tree;
+        }
+        return tree;
+    }
+
     //-----------------------------------------------------------------------
     /**
-     * Model a tree of substrings to make the parsing easier. Due to the nature
-     * of time-zone names, it can be faster to parse based in unique substrings
-     * rather than just a character by character match.
+     * Models a tree of characters to make the parsing easier.
      * <p>
-     * For example, to parse America/Denver we can look at the first two
-     * character "Am". We then notice that the shortest time-zone that starts
-     * with Am is America/Nome which is 12 characters long. Checking the first
-     * 12 characters of America/Denver gives America/Denv which is a substring
-     * of only 1 time-zone: America/Denver. Thus, with just 3 comparisons that
-     * match can be found.
+     * Each node represents the characters of a time-zone ID up to its depth.
+     * The parser walks the tree one character at a time directly over the parseText,
+     * retaining the deepest node that completes a time-zone ID.
+     * Those nodes hold the matching zone, thus the parser creates no objects.
      * <p>
-     * This structure maps substrings to substrings of a longer length. Each
-     * node of the tree contains a length and a map of valid substrings to
-     * sub-nodes. The parser gets the length from the root node. It then
-     * extracts a substring of that length from the parseText. If the map
-     * contains the substring, it is set as the possible time-zone and the
-     * sub-node for that substring is retrieved. The process continues until the
-     * substring is no longer found, at which point the matched text is checked
-     * against the real time-zones.
+     * This class is immutable and thread-safe.
      */
-    private static final class SubstringTree {
+    private static final class ZoneIdTree {
+        /**
+         * The generation of the registered rules used to build the tree.
+         */
+        final int generation;
+        /**
+         * The number of characters matched to reach this node.
+         */
+        final int depth;
+        /**
+         * The zone of the characters to this node, null if not a complete ID.
+         */
+        final ZoneId zone;
         /**
-         * The length of the substring this node of the tree contains.
-         * Subtrees will have a longer length.
+         * The sorted characters leading to the child nodes.
          */
-        final int length;
+        private final char[] chars;
         /**
-         * Map of a substring to a set of substrings that contain the key.
+         * The child nodes, in the same order as the characters.
          */
-        private final Map<CharSequence, SubstringTree> substringMap = new HashMap<CharSequence, SubstringTree>();
+        private final ZoneIdTree[] children;
 
         /**
-         * Constructor.
+         * Constructor, building the node for a range of sorted IDs sharing a prefix.
          *
-         * @param length  the length of this tree
+         * @param generation  the generation of the registered rules
+         * @param ids  the sorted IDs, not null
+         * @param start  the first ID of the range, inclusive
+         * @param end  the last ID of the range, exclusive
+         * @param depth  the length of the shared prefix
          */
-        private SubstringTree(int length) {
-            this.length = length;
+        ZoneIdTree(int generation, List<String> ids, int start, int end, int depth) {
+            this.generation = generation;
+            this.depth = depth;
+            if (start < end && ids.get(start).length() == depth) {
+                zone = ZoneId.ofUnchecked(ids.get(start));  // registered ID, avoiding the cache of ZoneId.of
+                start++;
+            } else {
+                zone = null;
+            }
+            int count = 0;
+            for (int i = start; i < end; i++) {
+                if (i == start || ids.get(i).charAt(depth) != ids.get(i - 1).charAt(depth)) {
+                    count++;
+                }
+            }
+            chars = new char[count];
+            children = new ZoneIdTree[count];
+            int index = 0;
+            int childStart = start;
+            for (int i = start + 1; i <= end; i++) {
+                if (i == end || ids.get(i).charAt(depth) != ids.get(childStart).charAt(depth)) {
+                    chars[index] = ids.get(childStart).charAt(depth);
+                    children[index] = new ZoneIdTree(generation, ids, childStart, i, depth + 1);
+                    index++;
+                    childStart = i;
+                }
+            }
         }
 
-        private SubstringTree get(CharSequence substring2) {
-            return substringMap.get(substring2);
-
+        /**
+         * Checks if the tree contains no IDs.
+         *
+         * @return true if empty
+         */
+        boolean isEmpty() {
+            return zone == null && chars.length == 0;
         }
 
         /**
-         * Values must be added from shortest to longest.
+         * Matches the longest ID in the tree at the position.
          *
-         * @param newSubstring  the substring to add, not null
+         * @param text  the text to match, not null
+         * @param position  the position to start matching from
+         * @return the node of the longest match, null if no match
          */
-        private void add(String newSubstring) {
-            int idLen = newSubstring.length();
-            if (idLen == length) {
-                substringMap.put(newSubstring, null);
-            } else if (idLen > length) {
-                String substring = newSubstring.substring(0, length);
-                SubstringTree parserTree = substringMap.get(substring);
-                if (parserTree == null) {
-                    parserTree = new SubstringTree(idLen);
-                    substringMap.put(substring, parserTree);
+        ZoneIdTree match(CharSequence text, int position) {
+            ZoneIdTree node = this;
+            ZoneIdTree best = (zone != null ? this : null);
+            int length = text.length();
+            for (int pos = position; pos < length; pos++) {
+                int index = Arrays.binarySearch(node.chars, text.charAt(pos));
+                if (index < 0) {
+                    break;
+                }
+                node = node.children[index];
+                if (node.zone != null) {
+                    best = node;
                 }
-                parserTree.add(newSubstring);
-            }
-        }
-    }
-
-    /**
-     * Builds an optimized parsing tree.
-     *
-     * @param availableIDs  the available IDs, not null, not empty
-     * @return the tree, not null
-     */
-    private static SubstringTree prepareParser(Set<String> availableIDs) {
-        // sort by length
-        List<String> ids = new ArrayList<String>(availableIDs);
-        Collections.sort(ids, new Comparator<String>() {
-            public int compare(String str1, String str2) {
-                return str1.length() == str2.length() ? str1.compareTo(str2) : str1.length() - str2.length();
             }
-        });
-        
-        // build the tree
-        SubstringTree tree = new SubstringTree(ids.get(0).length());
-        for (String id : ids) {
-            tree.add(id);
+            return best;
         }
-        return tree;
     }
 
     //-----------------------------------------------------------------------
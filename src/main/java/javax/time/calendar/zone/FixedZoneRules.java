@@ -112,6 +112,12 @@ final class FixedZoneRules extends ZoneRules implements Serializable {
         return offset;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffset getOffset(long epochSecond) {
+        return offset;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ZoneOffsetInfo getOffsetInfo(LocalDateTime dateTime) {
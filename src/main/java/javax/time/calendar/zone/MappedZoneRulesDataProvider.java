@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.time.CalendricalException;
+
+/**
+ * Provides time-zone rules from a memory-mapped rules file.
+ * <p>
+ * The file must be in the same format as the {@code ZoneRules.dat} file held
+ * within the time-zone jar files, and is typically extracted from there.
+ * Both file formats 1 and 2 are supported.
+ * When loaded, only the header of the file is read, recording the offset of each
+ * set of rules within the mapped buffer. The rules for a region are then
+ * deserialized directly from the mapped buffer on first access.
+ * This keeps the startup and heap cost proportional to the rules actually used,
+ * and allows the operating system to share the file between applications.
+ * <p>
+ * To use the provider, register it with {@link ZoneRulesGroup#registerProvider}.
+ * The versions in the file must not already be registered for the group, thus
+ * the file is usually used in place of the time-zone jar file on the classpath.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+public final class MappedZoneRulesDataProvider implements ZoneRulesDataProvider {
+
+    /**
+     * The time-zone group ID.
+     */
+    private final String groupID;
+    /**
+     * All the versions in the provider.
+     */
+    private final Set<ZoneRulesVersion> versions;
+    /**
+     * All the regions in the provider.
+     */
+    private final Set<String> regions;
+    /**
+     * The mapped file, read-only, not to be altered.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The offset of each set of rules within the buffer.
+     */
+    private final int[] ruleOffsets;
+    /**
+     * The length of each set of rules within the buffer.
+     */
+    private final int[] ruleLengths;
+    /**
+     * The rules, loaded lazily.
+     */
+    private final AtomicReferenceArray<ZoneRules> rules;
+    /**
+     * The file header, used to decode the rules.
+     */
+    private final ZoneRulesFileHeader fileHeader;
+
+    /**
+     * Obtains a provider by memory-mapping the specified rules file.
+     * <p>
+     * The file is mapped read-only and must not be altered while in use.
+     *
+     * @param file  the rules file to map, not null
+     * @return the provider, not null
+     * @throws CalendricalException if the file cannot be read or is invalid
+     */
+    public static MappedZoneRulesDataProvider of(File file) {
+        ZoneRules.checkNotNull(file, "File must not be null");
+        try {
+            return new MappedZoneRulesDataProvider(map(file));
+        } catch (IOException ex) {
+            throw new CalendricalException("Unable to load time-zone rule data: " + file, ex);
+        }
+    }
+
+    /**
+     * Maps the file into memory.
+     *
+     * @param file  the file to map, not null
+     * @return the read-only buffer, not null
+     * @throws IOException if an error occurs
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        boolean throwing = false;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ex) {
+            throwing = true;
+            throw ex;
+        } finally {
+            if (raf != null) {
+                try {
+                    raf.close();  // mapping remains valid after close
+                } catch (IOException ex) {
+                    if (throwing == false) {
+                        throw ex;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the header of the mapped file, indexing the rules without loading them.
+     *
+     * @param buffer  the mapped file, not null
+     * @throws IOException if an error occurs
+     */
+    private MappedZoneRulesDataProvider(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        ByteBuffer header = buffer.duplicate();
+        DataInputStream dis = new DataInputStream(new ByteBufferInputStream(header));
+        fileHeader = new ZoneRulesFileHeader(dis);
+        this.groupID = fileHeader.groupID;
+        this.regions = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(fileHeader.regionArray)));
+        Set<ZoneRulesVersion> versionSet = new HashSet<ZoneRulesVersion>(fileHeader.versionArray.length);
+        for (int i = 0; i < fileHeader.versionArray.length; i++) {
+            versionSet.add(new MappedZoneRulesVersion(
+                    this, fileHeader.versionArray[i], fileHeader.versionRegionArrays[i], fileHeader.versionRulesArrays[i]));
+        }
+        this.versions = Collections.unmodifiableSet(versionSet);
+        // index the rules, skipping the bytes rather than copying them
+        int ruleCount = dis.readShort();
+        this.ruleOffsets = new int[ruleCount];
+        this.ruleLengths = new int[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            int length = dis.readUnsignedShort();
+            int offset = header.position();
+            if (length > header.remaining()) {
+                throw new StreamCorruptedException("File truncated");
+            }
+            ruleOffsets[i] = offset;
+            ruleLengths[i] = length;
+            header.position(offset + length);
+        }
+        this.rules = new AtomicReferenceArray<ZoneRules>(ruleCount);
+    }
+
+    //-----------------------------------------------------------------------
+    /** {@inheritDoc} */
+    public String getGroupID() {
+        return groupID;
+    }
+
+    /** {@inheritDoc} */
+    public Set<ZoneRulesVersion> getVersions() {
+        return versions;
+    }
+
+    /** {@inheritDoc} */
+    public Set<String> getRegionIDs() {
+        return regions;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Loads the rule, deserializing it from the mapped buffer on first access.
+     * <p>
+     * In file format 2, standard rules may be stored as a delta against
+     * an earlier rule, which is loaded first.
+     * 
+     * @param index  the index to retrieve
+     * @return the rules, should not be null
+     */
+    ZoneRules loadRule(short index) throws Exception {
+        ZoneRules obj = rules.get(index);
+        if (obj == null) {
+            ByteBuffer slice = buffer.duplicate();
+            slice.limit(ruleOffsets[index] + ruleLengths[index]);
+            slice.position(ruleOffsets[index]);
+            DataInputStream dis = new DataInputStream(new ByteBufferInputStream(slice));
+            obj = fileHeader.readRules(dis, index, new ZoneRulesFileHeader.RulesLoader() {
+                public ZoneRules loadRule(short baseIndex) throws Exception {
+                    return MappedZoneRulesDataProvider.this.loadRule(baseIndex);
+                }
+            });
+            if (rules.compareAndSet(index, null, obj) == false) {
+                obj = rules.get(index);  // another thread won, use its instance
+            }
+        }
+        return obj;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return groupID + ":#" + versions;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Input stream reading from a buffer, advancing its position.
+     * <p>
+     * ByteBufferInputStream is not thread-safe, each instance must have its own buffer.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        /** Buffer. */
+        private final ByteBuffer buffer;
+        /** Constructor. */
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int remaining = buffer.remaining();
+            if (remaining == 0) {
+                return -1;
+            }
+            len = Math.min(len, remaining);
+            buffer.get(bytes, off, len);
+            return len;
+        }
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Version of the rules.
+     * <p>
+     * MappedZoneRulesVersion is thread-safe and immutable.
+     */
+    static class MappedZoneRulesVersion implements ZoneRulesVersion {
+        /** Provider. */
+        private final MappedZoneRulesDataProvider provider;
+        /** Version ID. */
+        private final String versionID;
+        /** Region IDs. */
+        private final String[] regionArray;
+        /** Rule indices. */
+        private final short[] ruleIndices;
+        /** Constructor. */
+        MappedZoneRulesVersion(MappedZoneRulesDataProvider provider, String versionID, String[] regions, short[] ruleIndices) {
+            this.provider = provider;
+            this.versionID = versionID;
+            this.regionArray = regions;
+            this.ruleIndices = ruleIndices;
+        }
+        public String getVersionID() {
+            return versionID;
+        }
+        public boolean isRegionID(String regionID) {
+            return Arrays.binarySearch(regionArray, regionID) >= 0;
+        }
+        public Set<String> getRegionIDs() {
+            return Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(regionArray)));
+        }
+        public ZoneRules getZoneRules(String regionID) {
+            int index = Arrays.binarySearch(regionArray, regionID);
+            if (index < 0) {
+                return null;
+            }
+            try {
+                return provider.loadRule(ruleIndices[index]);
+            } catch (Exception ex) {
+                throw new CalendricalException("Unable to load rules: " + provider.groupID + ':' + regionID + '#' + versionID, ex);
+            }
+        }
+        @Override
+        public String toString() {
+            return versionID;
+        }
+    }
+
+}
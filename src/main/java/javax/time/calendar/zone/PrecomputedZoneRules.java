@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.time.Instant;
+import javax.time.InstantProvider;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.ZoneOffset;
+
+/**
+ * Zone rules with the transitions for a range of years expanded into flat arrays.
+ * <p>
+ * Within the range of years, both instant and local date-time queries are answered
+ * by a single binary search over primitive values, without evaluating the transition
+ * rules or accessing any cache. Outside the range, queries are passed to the
+ * underlying rules.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+final class PrecomputedZoneRules extends ZoneRules implements Serializable {
+
+    /**
+     * A serialization identifier for this class.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Seconds per day.
+     */
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /**
+     * The underlying rules.
+     */
+    private final ZoneRules rules;
+    /**
+     * The first year of the range.
+     */
+    private final int startYear;
+    /**
+     * The last year of the range, inclusive.
+     */
+    private final int endYear;
+    /**
+     * The start of the range in epoch seconds, also used as the start in local epoch seconds.
+     */
+    private final long rangeStart;
+    /**
+     * The end of the range in epoch seconds, exclusive, also used as the end in local epoch seconds.
+     */
+    private final long rangeEnd;
+    /**
+     * The transitions (epoch seconds), sorted.
+     */
+    private final long[] instantTransitions;
+    /**
+     * The transitions between local date-times (local epoch seconds), sorted.
+     * This is a paired array, where the first entry is the start of the transition
+     * and the second entry is the end of the transition.
+     */
+    private final long[] localTransitions;
+    /**
+     * The transitions.
+     */
+    private final ZoneOffsetTransition[] transitions;
+    /**
+     * The offsets, where the offset at index zero applies before the first transition.
+     */
+    private final ZoneOffset[] offsets;
+
+    /**
+     * Creates an instance.
+     *
+     * @param rules  the rules to precompute, not null
+     * @param startYear  the first year to precompute, validated
+     * @param endYear  the last year to precompute, inclusive, validated
+     */
+    PrecomputedZoneRules(ZoneRules rules, int startYear, int endYear) {
+        this.rules = rules;
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.rangeStart = LocalDate.of(startYear, 1, 1).toEpochDay() * SECONDS_PER_DAY;
+        this.rangeEnd = (LocalDate.of(endYear, 12, 31).toEpochDay() + 1) * SECONDS_PER_DAY;
+        
+        // a day either side of the range ensures that every transition that could
+        // affect a local date-time in the range is included
+        long expandedStart = rangeStart - SECONDS_PER_DAY;
+        long expandedEnd = rangeEnd + SECONDS_PER_DAY;
+        List<ZoneOffsetTransition> transitionList = new ArrayList<ZoneOffsetTransition>();
+        ZoneOffsetTransition trans = rules.nextTransition(Instant.ofEpochSecond(expandedStart - 1));
+        while (trans != null && trans.toEpochSecond() < expandedEnd) {
+            transitionList.add(trans);
+            trans = rules.nextTransition(trans.getInstant());
+        }
+        
+        // convert to arrays
+        int size = transitionList.size();
+        this.transitions = transitionList.toArray(new ZoneOffsetTransition[size]);
+        this.instantTransitions = new long[size];
+        this.localTransitions = new long[size * 2];
+        this.offsets = new ZoneOffset[size + 1];
+        this.offsets[0] = rules.getOffset(expandedStart - 1);
+        for (int i = 0; i < size; i++) {
+            ZoneOffsetTransition transition = transitions[i];
+            long epochSec = transition.toEpochSecond();
+            long localBefore = epochSec + transition.getOffsetBefore().getAmountSeconds();
+            long localAfter = epochSec + transition.getOffsetAfter().getAmountSeconds();
+            instantTransitions[i] = epochSec;
+            localTransitions[i * 2] = Math.min(localBefore, localAfter);
+            localTransitions[i * 2 + 1] = Math.max(localBefore, localAfter);
+            offsets[i + 1] = transition.getOffsetAfter();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Uses a serialization delegate.
+     *
+     * @return the replacing object, not null
+     */
+    private Object writeReplace() {
+        return new Ser(Ser.PZR, this);
+    }
+
+    /**
+     * Writes the state to the stream.
+     *
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    void writeExternal(DataOutput out) throws IOException {
+        out.writeInt(startYear);
+        out.writeInt(endYear);
+        Ser.write(rules, out);
+    }
+
+    /**
+     * Reads the state from the stream.
+     *
+     * @param in  the input stream, not null
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static PrecomputedZoneRules readExternal(DataInput in) throws IOException, ClassNotFoundException {
+        int startYear = in.readInt();
+        int endYear = in.readInt();
+        ZoneRules rules = (ZoneRules) Ser.read(in);
+        return new PrecomputedZoneRules(rules, startYear, endYear);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the first year that has been precomputed.
+     *
+     * @return the first year
+     */
+    int getStartYear() {
+        return startYear;
+    }
+
+    /**
+     * Gets the last year that has been precomputed.
+     *
+     * @return the last year, inclusive
+     */
+    int getEndYear() {
+        return endYear;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ZoneRules withPrecomputedTransitions(int startYear, int endYear) {
+        return rules.withPrecomputedTransitions(startYear, endYear);
+    }
+
+    //-----------------------------------------------------------------------
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffset getOffset(InstantProvider instantProvider) {
+        Instant instant = Instant.of(instantProvider);
+        return getOffset(instant.getEpochSecond());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffset getOffset(long epochSec) {
+        if (epochSec < rangeStart || epochSec >= rangeEnd) {
+            return rules.getOffset(epochSec);
+        }
+        int index  = Arrays.binarySearch(instantTransitions, epochSec);
+        if (index < 0) {
+            // switch negative insert position to start of matched range
+            index = -index - 2;
+        }
+        return offsets[index + 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffsetInfo getOffsetInfo(LocalDateTime dt) {
+        // transitions are on whole seconds, so nanos do not affect the search
+        long localSec = dt.toLocalDate().toEpochDay() * SECONDS_PER_DAY + dt.toLocalTime().toSecondOfDay();
+        if (localSec < rangeStart || localSec >= rangeEnd) {
+            return rules.getOffsetInfo(dt);
+        }
+        int index  = Arrays.binarySearch(localTransitions, localSec);
+        if (index < 0) {
+            // switch negative insert position to start of matched range
+            index = -index - 2;
+        } else {
+            // handle overlap immediately following gap
+            while (index < localTransitions.length - 1 && localTransitions[index + 1] == localSec) {
+                index++;
+            }
+        }
+        if (index == -1) {
+            // before first transition
+            return new ZoneOffsetInfo(dt, offsets[0], null);
+        }
+        if ((index & 1) == 0) {
+            // gap or overlap
+            return new ZoneOffsetInfo(dt, null, transitions[index / 2]);
+        }
+        // normal (neither gap or overlap)
+        return new ZoneOffsetInfo(dt, offsets[index / 2 + 1], null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffset getStandardOffset(InstantProvider instantProvider) {
+        return rules.getStandardOffset(instantProvider);
+    }
+
+    //-----------------------------------------------------------------------
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffsetTransition nextTransition(InstantProvider instantProvider) {
+        return rules.nextTransition(instantProvider);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffsetTransition previousTransition(InstantProvider instantProvider) {
+        return rules.previousTransition(instantProvider);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ZoneOffsetTransition> getTransitions() {
+        return rules.getTransitions();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ZoneOffsetTransitionRule> getTransitionRules() {
+        return rules.getTransitionRules();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if this object equals another, comparing the underlying rules and range.
+     * <p>
+     * The entire state of the object is compared.
+     *
+     * @param other  the other object to compare to, null returns false
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(Object otherRules) {
+        if (this == otherRules) {
+           return true;
+        }
+        if (otherRules instanceof PrecomputedZoneRules) {
+            PrecomputedZoneRules other = (PrecomputedZoneRules) otherRules;
+            return rules.equals(other.rules) && startYear == other.startYear && endYear == other.endYear;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a suitable hash code.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return rules.hashCode() ^ (startYear * 31 + endYear);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a string describing this object.
+     *
+     * @return a string for debugging, not null
+     */
+    @Override
+    public String toString() {
+        return "PrecomputedZoneRules[" + startYear + "-" + endYear + "," + rules + "]";
+    }
+
+}
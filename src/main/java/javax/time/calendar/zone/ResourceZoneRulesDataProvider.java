@@ -35,7 +35,6 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StreamCorruptedException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -73,6 +72,10 @@ final class ResourceZoneRulesDataProvider implements ZoneRulesDataProvider {
      * The rules.
      */
     private final AtomicReferenceArray<Object> rules;
+    /**
+     * The file header, used to decode the rules.
+     */
+    private final ZoneRulesFileHeader header;
 
     /**
      * Loads any time-zone rules data stored in files.
@@ -100,7 +103,7 @@ final class ResourceZoneRulesDataProvider implements ZoneRulesDataProvider {
             while (en.hasMoreElements()) {
                 url = en.nextElement();
                 if (loaded.add(url.toExternalForm())) {
-                    providers.add(new ResourceZoneRulesDataProvider(url));
+                    providers.add(load(url));
                 }
             }
         } catch (Exception ex) {
@@ -112,52 +115,16 @@ final class ResourceZoneRulesDataProvider implements ZoneRulesDataProvider {
     /**
      * Loads the rules from a URL, often in a jar file.
      *
-     * @param providers  the list to add to, not null
      * @param url  the jar file to load, not null 
+     * @return the provider, not null
      * @throws Exception if an error occurs
      */
-    private ResourceZoneRulesDataProvider(URL url) throws ClassNotFoundException, IOException {
+    private static ResourceZoneRulesDataProvider load(URL url) throws ClassNotFoundException, IOException {
         boolean throwing = false;
         InputStream in = null;
         try {
             in = url.openStream();
-            DataInputStream dis = new DataInputStream(in);
-            if (dis.readByte() != 1) {
-                throw new StreamCorruptedException("File format not recognised");
-            }
-            this.groupID = dis.readUTF();
-            int versionCount = dis.readShort();
-            String[] versionArray = new String[versionCount];
-            for (int i = 0; i < versionCount; i++) {
-                versionArray[i] = dis.readUTF();
-            }
-            int regionCount = dis.readShort();
-            String[] regionArray = new String[regionCount];
-            for (int i = 0; i < regionCount; i++) {
-                regionArray[i] = dis.readUTF();
-            }
-            this.regions = new HashSet<String>(Arrays.asList(regionArray));
-            // link version-region-rules
-            Set<ZoneRulesVersion> versionSet = new HashSet<ZoneRulesVersion>(versionCount);
-            for (int i = 0; i < versionCount; i++) {
-                int versionRegionCount = dis.readShort();
-                String[] versionRegionArray = new String[versionRegionCount];
-                short[] versionRulesArray = new short[versionRegionCount];
-                for (int j = 0; j < versionRegionCount; j++) {
-                    versionRegionArray[j] = regionArray[dis.readShort()];
-                    versionRulesArray[j] = dis.readShort();
-                }
-                versionSet.add(new ResourceZoneRulesVersion(this, versionArray[i], versionRegionArray, versionRulesArray));
-            }
-            this.versions = versionSet;
-            // rules
-            int ruleCount = dis.readShort();
-            this.rules = new AtomicReferenceArray<Object>(ruleCount);
-            for (int i = 0; i < ruleCount; i++) {
-                byte[] bytes = new byte[dis.readShort()];
-                dis.readFully(bytes);
-                rules.set(i, bytes);
-            }
+            return new ResourceZoneRulesDataProvider(in);
         } catch (IOException ex) {
             throwing = true;
             throw ex;
@@ -174,6 +141,36 @@ final class ResourceZoneRulesDataProvider implements ZoneRulesDataProvider {
         }
     }
 
+    /**
+     * Loads the rules from a stream.
+     * <p>
+     * Both file formats 1 and 2 are supported.
+     * The rules themselves are only decoded when first requested.
+     *
+     * @param in  the stream to read, not closed, not null 
+     * @throws Exception if an error occurs
+     */
+    ResourceZoneRulesDataProvider(InputStream in) throws ClassNotFoundException, IOException {
+        DataInputStream dis = new DataInputStream(in);
+        header = new ZoneRulesFileHeader(dis);
+        this.groupID = header.groupID;
+        this.regions = new HashSet<String>(Arrays.asList(header.regionArray));
+        Set<ZoneRulesVersion> versionSet = new HashSet<ZoneRulesVersion>(header.versionArray.length);
+        for (int i = 0; i < header.versionArray.length; i++) {
+            versionSet.add(new ResourceZoneRulesVersion(
+                    this, header.versionArray[i], header.versionRegionArrays[i], header.versionRulesArrays[i]));
+        }
+        this.versions = versionSet;
+        // rules
+        int ruleCount = dis.readShort();
+        this.rules = new AtomicReferenceArray<Object>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            byte[] bytes = new byte[dis.readShort()];
+            dis.readFully(bytes);
+            rules.set(i, bytes);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /** {@inheritDoc} */
     public String getGroupID() {
@@ -193,6 +190,9 @@ final class ResourceZoneRulesDataProvider implements ZoneRulesDataProvider {
     //-----------------------------------------------------------------------
     /**
      * Loads the rule.
+     * <p>
+     * In file format 2, standard rules may be stored as a delta against
+     * an earlier rule, which is loaded first.
      * 
      * @param index  the index to retrieve
      * @return the rules, should not be null
@@ -202,7 +202,11 @@ final class ResourceZoneRulesDataProvider implements ZoneRulesDataProvider {
         if (obj instanceof byte[]) {
             byte[] bytes = (byte[]) obj;
             DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-            obj = Ser.read(dis);
+            obj = header.readRules(dis, index, new ZoneRulesFileHeader.RulesLoader() {
+                public ZoneRules loadRule(short baseIndex) throws Exception {
+                    return ResourceZoneRulesDataProvider.this.loadRule(baseIndex);
+                }
+            });
             rules.set(index, obj);
         }
         return (ZoneRules) obj;
@@ -36,6 +36,7 @@ import java.io.DataOutput;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.StreamCorruptedException;
@@ -59,6 +60,8 @@ final class Ser implements Externalizable {
     static final byte ZOT = 2;
     /** Type for ZoneOffsetTransition. */
     static final byte ZOTRULE = 3;
+    /** Type for PrecomputedZoneRules. */
+    static final byte PZR = 4;
 
     /** The type being serialized. */
     private byte type;
@@ -95,6 +98,8 @@ final class Ser implements Externalizable {
     static void write(Object object, DataOutput out) throws IOException {
         if (object instanceof StandardZoneRules) {
             writeInternal(SZR, object, out);
+        } else if (object instanceof PrecomputedZoneRules) {
+            writeInternal(PZR, object, out);
         } else {
             writeInternal(FZR, object, out);
         }
@@ -115,6 +120,9 @@ final class Ser implements Externalizable {
             case ZOTRULE:
                 ((ZoneOffsetTransitionRule) object).writeExternal(out);
                 break;
+            case PZR:
+                ((PrecomputedZoneRules) object).writeExternal(out);
+                break;
             default:
                 throw new InvalidClassException("Unknown serialized type");
         }
@@ -136,7 +144,7 @@ final class Ser implements Externalizable {
         return readInternal(type, in);
     }
 
-    private static Object readInternal(byte type, DataInput in) throws IOException, ClassNotFoundException {
+    static Object readInternal(byte type, DataInput in) throws IOException, ClassNotFoundException {
         switch (type) {
             case FZR:
                 return FixedZoneRules.readExternal(in);
@@ -146,6 +154,8 @@ final class Ser implements Externalizable {
                 return ZoneOffsetTransition.readExternal(in);
             case ZOTRULE:
                 return ZoneOffsetTransitionRule.readExternal(in);
+            case PZR:
+                return PrecomputedZoneRules.readExternal(in);
             default:
                 throw new StreamCorruptedException("Unknown serialized type");
         }
@@ -228,4 +238,41 @@ final class Ser implements Externalizable {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Writes a small non-negative value, such as a count or dictionary index, to the stream.
+     * <p>
+     * Values below 128 are written as one byte, others up to 32767 as two bytes.
+     *
+     * @param value  the value, from 0 to 32767
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    static void writeIndex(int value, DataOutput out) throws IOException {
+        if (value < 0 || value > 32767) {
+            throw new InvalidObjectException("Index out of range: " + value);
+        }
+        if (value < 128) {
+            out.writeByte(value);
+        } else {
+            out.writeByte(128 | (value >>> 8));
+            out.writeByte(value & 255);
+        }
+    }
+
+    /**
+     * Reads a small non-negative value, such as a count or dictionary index, from the stream.
+     *
+     * @param in  the input stream, not null
+     * @return the value, from 0 to 32767
+     * @throws IOException if an error occurs
+     */
+    static int readIndex(DataInput in) throws IOException {
+        int hiByte = in.readByte() & 255;
+        if (hiByte < 128) {
+            return hiByte;
+        }
+        return ((hiByte & 127) << 8) + (in.readByte() & 255);
+    }
+
 }
@@ -35,14 +35,17 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.time.Instant;
 import javax.time.InstantProvider;
+import javax.time.MathUtils;
+import javax.time.calendar.ISODateTimeRule;
 import javax.time.calendar.LocalDateTime;
 import javax.time.calendar.OffsetDateTime;
 import javax.time.calendar.Year;
@@ -66,6 +69,18 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * The last year to have its transitions cached.
      */
     private static final int LAST_CACHED_YEAR = 2100;
+    /**
+     * Seconds per day.
+     */
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    /**
+     * The number of days in a 400 year cycle.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+    /**
+     * The number of days from year zero to year 1970.
+     */
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
 
     /**
      * The transitions between standard offsets (epoch seconds), sorted.
@@ -94,10 +109,13 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private final ZoneOffsetTransitionRule[] lastRules;
     /**
-     * The map of recent transitions.
+     * The first year held in the cache of recent transitions.
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private final int lastRulesCacheYear;
+    /**
+     * The cache of recent transitions, indexed by the year minus {@code lastRulesCacheYear}.
+     */
+    private final AtomicReferenceArray<ZoneOffsetTransition[]> lastRulesCache;
 
     /**
      * Creates an instance.
@@ -153,6 +171,8 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             throw new IllegalArgumentException("Too many transition rules");
         }
         this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.lastRulesCacheYear = findLastRulesCacheYear(savingsInstantTransitions, wallOffsets);
+        this.lastRulesCache = createLastRulesCache(this.lastRules, lastRulesCacheYear);
     }
 
     /**
@@ -194,6 +214,35 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             }
         }
         this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        this.lastRulesCacheYear = findLastRulesCacheYear(savingsInstantTransitions, wallOffsets);
+        this.lastRulesCache = createLastRulesCache(lastRules, lastRulesCacheYear);
+    }
+
+    /**
+     * Finds the first year that the last rules can apply to.
+     *
+     * @param savingsInstantTransitions  the savings transitions, not null
+     * @param wallOffsets  the wall offsets, not null
+     * @return the year of the last historic transition
+     */
+    private static int findLastRulesCacheYear(long[] savingsInstantTransitions, ZoneOffset[] wallOffsets) {
+        if (savingsInstantTransitions.length == 0) {
+            return LAST_CACHED_YEAR;
+        }
+        return findYear(savingsInstantTransitions[savingsInstantTransitions.length - 1], wallOffsets[wallOffsets.length - 1]);
+    }
+
+    /**
+     * Creates the cache of transitions derived from the last rules.
+     *
+     * @param lastRules  the last rules, not null
+     * @param firstYear  the first year to cache
+     * @return the cache, not null
+     */
+    private static AtomicReferenceArray<ZoneOffsetTransition[]> createLastRulesCache(
+            ZoneOffsetTransitionRule[] lastRules, int firstYear) {
+        int size = (lastRules.length > 0 ? Math.max(LAST_CACHED_YEAR - firstYear, 0) : 0);
+        return new AtomicReferenceArray<ZoneOffsetTransition[]>(size);
     }
 
     //-----------------------------------------------------------------------
@@ -267,22 +316,193 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Counts the offsets and last rules used by these rules.
+     * <p>
+     * This is used to build the shared dictionaries of the compressed file format.
+     *
+     * @param offsetCounts  the map of offset to usage count, updated, not null
+     * @param ruleCounts  the map of last rule to usage count, updated, not null
+     */
+    void countDictionaryEntries(Map<ZoneOffset, Integer> offsetCounts, Map<ZoneOffsetTransitionRule, Integer> ruleCounts) {
+        for (ZoneOffset offset : standardOffsets) {
+            increment(offsetCounts, offset);
+        }
+        for (ZoneOffset offset : wallOffsets) {
+            increment(offsetCounts, offset);
+        }
+        for (ZoneOffsetTransitionRule rule : lastRules) {
+            increment(ruleCounts, rule);
+        }
+    }
+
+    /**
+     * Increments the count of the key in the map.
+     */
+    private static <T> void increment(Map<T, Integer> counts, T key) {
+        Integer count = counts.get(key);
+        counts.put(key, count == null ? 1 : count + 1);
+    }
+
+    /**
+     * Writes the state to the stream in the compressed file format.
+     * <p>
+     * The transitions are written as a delta against the base rules, which are
+     * typically the previous version of the same region. Only the transitions
+     * between the common prefix and the common suffix are written.
+     * The offsets and last rules are written as indices into the shared dictionaries.
+     *
+     * @param out  the output stream, not null
+     * @param base  the rules to write the delta against, null to write in full
+     * @param offsetIndices  the dictionary of offsets, not null
+     * @param ruleIndices  the dictionary of last rules, not null
+     * @throws IOException if an error occurs
+     */
+    void writeExternal(DataOutput out, StandardZoneRules base,
+            Map<ZoneOffset, Integer> offsetIndices, Map<ZoneOffsetTransitionRule, Integer> ruleIndices) throws IOException {
+        writeDelta(standardTransitions, standardOffsets,
+                base != null ? base.standardTransitions : null, base != null ? base.standardOffsets : null, offsetIndices, out);
+        writeDelta(savingsInstantTransitions, wallOffsets,
+                base != null ? base.savingsInstantTransitions : null, base != null ? base.wallOffsets : null, offsetIndices, out);
+        Ser.writeIndex(lastRules.length, out);
+        for (ZoneOffsetTransitionRule rule : lastRules) {
+            Ser.writeIndex(ruleIndices.get(rule), out);
+        }
+    }
+
+    /**
+     * Reads the state from the stream in the compressed file format.
+     *
+     * @param in  the input stream, not null
+     * @param base  the rules the delta was written against, null if written in full
+     * @param offsets  the dictionary of offsets, not null
+     * @param rules  the dictionary of last rules, not null
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static StandardZoneRules readExternal(DataInput in, StandardZoneRules base,
+            ZoneOffset[] offsets, ZoneOffsetTransitionRule[] rules) throws IOException {
+        long[][] stdTrans = new long[1][];
+        ZoneOffset[][] stdOffsets = new ZoneOffset[1][];
+        readDelta(in, base != null ? base.standardTransitions : null, base != null ? base.standardOffsets : null,
+                offsets, stdTrans, stdOffsets);
+        long[][] savTrans = new long[1][];
+        ZoneOffset[][] savOffsets = new ZoneOffset[1][];
+        readDelta(in, base != null ? base.savingsInstantTransitions : null, base != null ? base.wallOffsets : null,
+                offsets, savTrans, savOffsets);
+        int ruleSize = Ser.readIndex(in);
+        ZoneOffsetTransitionRule[] lastRules = new ZoneOffsetTransitionRule[ruleSize];
+        for (int i = 0; i < ruleSize; i++) {
+            lastRules[i] = rules[Ser.readIndex(in)];
+        }
+        return new StandardZoneRules(stdTrans[0], stdOffsets[0], savTrans[0], savOffsets[0], lastRules);
+    }
+
+    /**
+     * Writes a pair of transition and offset arrays as a delta.
+     * <p>
+     * Entry zero of the pair is the first offset, and entry {@code n} is
+     * transition {@code n - 1} together with offset {@code n}.
+     * The lengths of the common prefix and suffix are written, followed by the
+     * transitions and then the offsets of the entries in between.
+     */
+    private static void writeDelta(long[] trans, ZoneOffset[] offsets, long[] baseTrans, ZoneOffset[] baseOffsets,
+            Map<ZoneOffset, Integer> offsetIndices, DataOutput out) throws IOException {
+        int size = offsets.length;
+        int prefix = 0;
+        int suffix = 0;
+        if (baseOffsets != null) {
+            int baseSize = baseOffsets.length;
+            while (prefix < size && prefix < baseSize && offsets[prefix].equals(baseOffsets[prefix]) &&
+                    (prefix == 0 || trans[prefix - 1] == baseTrans[prefix - 1])) {
+                prefix++;
+            }
+            while (suffix < size - prefix && suffix < baseSize - prefix &&
+                    size - suffix > 1 && baseSize - suffix > 1 &&
+                    offsets[size - suffix - 1].equals(baseOffsets[baseSize - suffix - 1]) &&
+                    trans[size - suffix - 2] == baseTrans[baseSize - suffix - 2]) {
+                suffix++;
+            }
+        }
+        Ser.writeIndex(prefix, out);
+        Ser.writeIndex(suffix, out);
+        Ser.writeIndex(size - prefix - suffix, out);
+        for (int i = Math.max(prefix, 1); i < size - suffix; i++) {
+            Ser.writeEpochSec(trans[i - 1], out);
+        }
+        for (int i = prefix; i < size - suffix; i++) {
+            Ser.writeIndex(offsetIndices.get(offsets[i]), out);
+        }
+    }
+
+    /**
+     * Reads a pair of transition and offset arrays written as a delta.
+     */
+    private static void readDelta(DataInput in, long[] baseTrans, ZoneOffset[] baseOffsets,
+            ZoneOffset[] offsetDictionary, long[][] transResult, ZoneOffset[][] offsetsResult) throws IOException {
+        int prefix = Ser.readIndex(in);
+        int suffix = Ser.readIndex(in);
+        int middle = Ser.readIndex(in);
+        int size = prefix + middle + suffix;
+        if (size == 0) {
+            throw new StreamCorruptedException("Invalid delta");
+        }
+        if (prefix > 0 || suffix > 0) {
+            if (baseOffsets == null || prefix > baseOffsets.length ||
+                    (suffix > 0 && (prefix + middle == 0 || suffix >= baseOffsets.length))) {
+                throw new StreamCorruptedException("Invalid delta");
+            }
+        }
+        long[] trans = new long[size - 1];
+        ZoneOffset[] offsets = new ZoneOffset[size];
+        if (prefix > 0) {
+            System.arraycopy(baseOffsets, 0, offsets, 0, prefix);
+            System.arraycopy(baseTrans, 0, trans, 0, prefix - 1);
+        }
+        for (int i = Math.max(prefix, 1); i < prefix + middle; i++) {
+            trans[i - 1] = Ser.readEpochSec(in);
+        }
+        for (int i = prefix; i < prefix + middle; i++) {
+            offsets[i] = offsetDictionary[Ser.readIndex(in)];
+        }
+        if (suffix > 0) {
+            int baseSize = baseOffsets.length;
+            System.arraycopy(baseOffsets, baseSize - suffix, offsets, size - suffix, suffix);
+            System.arraycopy(baseTrans, baseSize - suffix - 1, trans, size - suffix - 1, suffix);
+        }
+        transResult[0] = trans;
+        offsetsResult[0] = offsets;
+    }
+
+    //-----------------------------------------------------------------------
+    /** {@inheritDoc} */
+    @Override
+    public ZoneRules withPrecomputedTransitions(int startYear, int endYear) {
+        super.withPrecomputedTransitions(startYear, endYear);  // validate
+        return new PrecomputedZoneRules(this, startYear, endYear);
+    }
+
     //-----------------------------------------------------------------------
     /** {@inheritDoc} */
     @Override
     public ZoneOffset getOffset(InstantProvider instantProvider) {
         Instant instant = Instant.of(instantProvider);
-        long epochSec = instant.getEpochSecond();
-        
+        return getOffset(instant.getEpochSecond());  // transitions are on whole seconds so nanos are not needed
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ZoneOffset getOffset(long epochSec) {
         // check if using last rules
         if (lastRules.length > 0 &&
                 epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
-            OffsetDateTime dt = OffsetDateTime.ofInstant(instant, wallOffsets[wallOffsets.length - 1]);
-            ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
+            int year = findYear(epochSec, wallOffsets[wallOffsets.length - 1]);
+            ZoneOffsetTransition[] transArray = findTransitionArray(year);
             ZoneOffsetTransition trans = null;
             for (int i = 0; i < transArray.length; i++) {
                 trans = transArray[i];
-                if (instant.isBefore(trans.getInstant())) {
+                if (epochSec < trans.toEpochSecond()) {
                     return trans.getOffsetBefore();
                 }
             }
@@ -387,22 +607,60 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * @return the transition array, not null
      */
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
-        if (transArray != null) {
-            return transArray;
+        int index = year - lastRulesCacheYear;
+        boolean cacheable = (index >= 0 && index < lastRulesCache.length());
+        if (cacheable) {
+            ZoneOffsetTransition[] transArray = lastRulesCache.get(index);
+            if (transArray != null) {
+                return transArray;
+            }
         }
         ZoneOffsetTransitionRule[] ruleArray = lastRules;
-        transArray  = new ZoneOffsetTransition[ruleArray.length];
+        ZoneOffsetTransition[] transArray  = new ZoneOffsetTransition[ruleArray.length];
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
         }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
+        if (cacheable) {
+            lastRulesCache.compareAndSet(index, null, transArray);
         }
         return transArray;
     }
 
+    /**
+     * Finds the year of the local date at the specified epoch-second and offset.
+     * <p>
+     * This performs the same calculation as {@code LocalDate.ofEpochDay} without
+     * creating any objects.
+     *
+     * @param epochSec  the epoch-second to find the year of
+     * @param offset  the offset to apply, not null
+     * @return the year
+     */
+    private static int findYear(long epochSec, ZoneOffset offset) {
+        long localSecond = epochSec + offset.getAmountSeconds();  // overflow caught later
+        long zeroDay = MathUtils.floorDiv(localSecond, SECONDS_PER_DAY) + DAYS_0000_TO_1970;
+        // find the march-based year
+        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;  // reset any negative year
+        int marchMonth0 = ((int) doyEst * 5 + 2) / 153;
+        yearEst += marchMonth0 / 10;
+        return ISODateTimeRule.YEAR.checkValidIntValue(yearEst);
+    }
+
     //-----------------------------------------------------------------------
     /** {@inheritDoc} */
     @Override
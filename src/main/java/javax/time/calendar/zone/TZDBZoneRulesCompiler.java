@@ -37,15 +37,25 @@ import static javax.time.calendar.ISODateTimeRule.SECOND_OF_MINUTE;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.security.MessageDigest;
 import java.text.ParsePosition;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +63,14 @@ import java.util.SortedMap;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.zip.ZipEntry;
 
@@ -96,6 +114,15 @@ public final class TZDBZoneRulesCompiler {
      * Constant for MJD 1972-01-01.
      */
     private static final long MJD_1972_01_01 = 41317L;
+    /**
+     * The format of the output {@code ZoneRules.dat} file.
+     */
+    private static final int FILE_FORMAT = 2;
+    /**
+     * The version of the compiler, to be incremented whenever a change to the
+     * compiler alters its output, so that cached versions are recompiled.
+     */
+    private static final int COMPILER_VERSION = 1;
 
     /**
      * Reads a set of TZDB files and builds a single combined data file.
@@ -112,6 +139,7 @@ public final class TZDBZoneRulesCompiler {
         String version = null;
         File baseSrcDir = null;
         File dstDir = null;
+        boolean useCache = true;
         boolean verbose = false;
         
         // parse options
@@ -136,6 +164,11 @@ public final class TZDBZoneRulesCompiler {
                     version = args[i];
                     continue;
                 }
+            } else if ("-nocache".equals(arg)) {
+                if (useCache) {
+                    useCache = false;
+                    continue;
+                }
             } else if ("-verbose".equals(arg)) {
                 if (verbose == false) {
                     verbose = true;
@@ -199,7 +232,7 @@ public final class TZDBZoneRulesCompiler {
             System.out.println("Destination is not a directory: " + dstDir);
             return;
         }
-        process(srcDirs, srcFileNames, dstDir, verbose);
+        process(srcDirs, srcFileNames, dstDir, useCache, verbose);
         System.exit(0);
     }
 
@@ -212,6 +245,7 @@ public final class TZDBZoneRulesCompiler {
         System.out.println("   -srcdir <directory>   Where to find source directories (required)");
         System.out.println("   -dstdir <directory>   Where to output generated files (default srcdir)");
         System.out.println("   -version <version>    Specify the version, such as 2009a (optional)");
+        System.out.println("   -nocache              Compile every version, even if unchanged");
         System.out.println("   -help                 Print this usage message");
         System.out.println("   -verbose              Output verbose information during compilation");
         System.out.println(" There must be one directory for each version in srcdir");
@@ -220,22 +254,24 @@ public final class TZDBZoneRulesCompiler {
         System.out.println(" Directories must match the regex [12][0-9][0-9][0-9][A-Za-z0-9._-]+");
         System.out.println(" There will be one jar file for each version and one combined jar in dstdir");
         System.out.println(" If the version is specified, only that version is processed");
+        System.out.println(" A version is only compiled if its source files have changed since the last run");
+        System.out.println(" The cache is held in the .hash files in dstdir, which may be deleted to clear it");
     }
 
     /**
      * Process to create the jar files.
+     * <p>
+     * Each version is compiled in parallel, sharing a single map to deduplicate objects.
+     * A version is only compiled if its source files have changed since the last run,
+     * as determined by a hash of the source files stored alongside the version jar.
      */
-    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean verbose) {
+    private static void process(List<File> srcDirs, List<String> srcFileNames, final File dstDir, final boolean useCache, final boolean verbose) {
         // build actual jar files
-        Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
-        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
-        Set<String> allRegionIds = new TreeSet<String>();
-        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
-        SortedMap<LocalDate, Byte> bestLeapSeconds = null;
-        
+        final ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<Object, Object>(1024, 0.75f, Runtime.getRuntime().availableProcessors());
+        List<Callable<CompiledVersion>> tasks = new ArrayList<Callable<CompiledVersion>>();
         for (File srcDir : srcDirs) {
             // source files in this directory
-            List<File> srcFiles = new ArrayList<File>();
+            final List<File> srcFiles = new ArrayList<File>();
             for (String srcFileName : srcFileNames) {
                 File file = new File(srcDir, srcFileName);
                 if (file.exists()) {
@@ -250,42 +286,44 @@ public final class TZDBZoneRulesCompiler {
                 System.out.println("Version " + srcDir.getName() + " does not include leap seconds information.");
                 leapSecondsFile = null;
             }
-            
-            // compile
-            String loopVersion = srcDir.getName();
-            TZDBZoneRulesCompiler compiler = new TZDBZoneRulesCompiler(loopVersion, srcFiles, leapSecondsFile, verbose);
-            compiler.setDeduplicateMap(deduplicateMap);
-            try {
-                // compile
-                compiler.compile();
-                SortedMap<String, ZoneRules> builtZones = compiler.getZones();
-                SortedMap<LocalDate, Byte> parsedLeapSeconds = compiler.getLeapSeconds();
-                
-                // output version-specific file
-                File dstFile = new File(dstDir, "jsr-310-TZDB-" + loopVersion + ".jar");
-                if (verbose) {
-                    System.out.println("Outputting file: " + dstFile);
+            final File loopLeapSecondsFile = leapSecondsFile;
+            final String loopVersion = srcDir.getName();
+            tasks.add(new Callable<CompiledVersion>() {
+                public CompiledVersion call() throws Exception {
+                    return compileVersion(loopVersion, srcFiles, loopLeapSecondsFile, dstDir, deduplicateMap, useCache, verbose);
                 }
-                outputFile(dstFile, loopVersion, builtZones, parsedLeapSeconds);
-                
-                // create totals
-                allBuiltZones.put(loopVersion, builtZones);
-                allRegionIds.addAll(builtZones.keySet());
-                allRules.addAll(builtZones.values());
+            });
+        }
+        
+        // compile, then create totals in a stable order
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        Set<String> allRegionIds = new TreeSet<String>();
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
+        SortedMap<LocalDate, Byte> bestLeapSeconds = null;
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (Future<CompiledVersion> future : pool.invokeAll(tasks)) {
+                CompiledVersion compiled = future.get();
+                allBuiltZones.put(compiled.version, compiled.builtZones);
+                allRegionIds.addAll(compiled.builtZones.keySet());
+                allRules.addAll(compiled.builtZones.values());
                 
                 // track best possible leap seconds collection
-                if (compiler.getMostRecentLeapSecond() != null) {
+                if (compiled.leapSeconds.isEmpty() == false) {
                     // we've got a live one!
-                    if (bestLeapSeconds == null || compiler.getMostRecentLeapSecond().compareTo(bestLeapSeconds.lastKey()) > 0) {
+                    if (bestLeapSeconds == null || compiled.leapSeconds.lastKey().compareTo(bestLeapSeconds.lastKey()) > 0) {
                         // found the first one, or found a better one
-                        bestLeapSeconds = parsedLeapSeconds;
+                        bestLeapSeconds = compiled.leapSeconds;
                     }
                 }
-            } catch (Exception ex) {
-                System.out.println("Failed: " + ex.toString());
-                ex.printStackTrace();
-                System.exit(1);
             }
+        } catch (Exception ex) {
+            Throwable cause = (ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex);
+            System.out.println("Failed: " + cause.toString());
+            cause.printStackTrace();
+            System.exit(1);
+        } finally {
+            pool.shutdown();
         }
         
         // output merged file
@@ -296,6 +334,178 @@ public final class TZDBZoneRulesCompiler {
         outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
     }
 
+    /**
+     * Compiles a single version, outputting the version-specific file.
+     * <p>
+     * If the hash of the source files matches that stored from the previous
+     * compile, then the previously output file is read instead.
+     *
+     * @param version  the version, not null
+     * @param srcFiles  the source files, not null
+     * @param leapSecondsFile  the leap seconds file, may be null
+     * @param dstDir  the destination directory, not null
+     * @param deduplicateMap  the map to deduplicate items, not null
+     * @param useCache  whether to reuse the output of an unchanged version
+     * @param verbose  whether to output verbose messages
+     * @return the compiled version, not null
+     * @throws Exception if an error occurs
+     */
+    private static CompiledVersion compileVersion(
+            String version, List<File> srcFiles, File leapSecondsFile, File dstDir,
+            ConcurrentMap<Object, Object> deduplicateMap, boolean useCache, boolean verbose) throws Exception {
+        File dstFile = new File(dstDir, "jsr-310-TZDB-" + version + ".jar");
+        File hashFile = new File(dstDir, "jsr-310-TZDB-" + version + ".hash");
+        String hash = hashSourceFiles(srcFiles, leapSecondsFile);
+        if (useCache && dstFile.exists() && hash.equals(readHash(hashFile))) {
+            if (verbose) {
+                System.out.println("Version " + version + " unchanged, reading file: " + dstFile);
+            }
+            try {
+                return readFile(dstFile, version, deduplicateMap);
+            } catch (Exception ex) {
+                System.out.println("Unable to read file, recompiling: " + dstFile + ": " + ex);
+            }
+        }
+        
+        // compile
+        TZDBZoneRulesCompiler compiler = new TZDBZoneRulesCompiler(version, srcFiles, leapSecondsFile, verbose);
+        compiler.setDeduplicateMap(deduplicateMap);
+        compiler.compile();
+        SortedMap<String, ZoneRules> builtZones = compiler.getZones();
+        SortedMap<LocalDate, Byte> parsedLeapSeconds = compiler.getLeapSeconds();
+        
+        // output version-specific file, then record the hash of its source
+        if (verbose) {
+            System.out.println("Outputting file: " + dstFile);
+        }
+        outputFile(dstFile, version, builtZones, parsedLeapSeconds);
+        writeHash(hashFile, hash);
+        return new CompiledVersion(version, builtZones, parsedLeapSeconds);
+    }
+
+    /**
+     * Calculates a hash of the names and content of the source files.
+     * <p>
+     * The hash also covers the compiler version and file format, so that a change
+     * to either causes every version to be compiled again.
+     *
+     * @param srcFiles  the source files, not null
+     * @param leapSecondsFile  the leap seconds file, may be null
+     * @return the hash in hexadecimal, not null
+     * @throws Exception if an error occurs
+     */
+    private static String hashSourceFiles(List<File> srcFiles, File leapSecondsFile) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        digest.update((byte) COMPILER_VERSION);
+        digest.update((byte) FILE_FORMAT);
+        List<File> files = new ArrayList<File>(srcFiles);
+        if (leapSecondsFile != null) {
+            files.add(leapSecondsFile);
+        }
+        byte[] buf = new byte[8192];
+        for (File file : files) {
+            digest.update(file.getName().getBytes("UTF-8"));
+            digest.update((byte) 0);
+            InputStream in = new FileInputStream(file);
+            try {
+                for (int len = in.read(buf); len >= 0; len = in.read(buf)) {
+                    digest.update(buf, 0, len);
+                }
+            } finally {
+                in.close();
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Reads the hash stored from a previous compile.
+     *
+     * @param hashFile  the file holding the hash, not null
+     * @return the hash, null if not available
+     */
+    private static String readHash(File hashFile) {
+        if (hashFile.exists() == false) {
+            return null;
+        }
+        try {
+            BufferedReader in = new BufferedReader(new FileReader(hashFile));
+            try {
+                return in.readLine();
+            } finally {
+                in.close();
+            }
+        } catch (IOException ex) {
+            return null;  // recompile
+        }
+    }
+
+    /**
+     * Writes the hash of the source files.
+     *
+     * @param hashFile  the file to hold the hash, not null
+     * @param hash  the hash, not null
+     * @throws IOException if an error occurs
+     */
+    private static void writeHash(File hashFile, String hash) throws IOException {
+        FileWriter out = new FileWriter(hashFile);
+        try {
+            out.write(hash);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a version-specific file previously output by the compiler.
+     *
+     * @param srcFile  the jar file to read, not null
+     * @param version  the version, not null
+     * @param deduplicateMap  the map to deduplicate items, not null
+     * @return the compiled version, not null
+     * @throws Exception if an error occurs
+     */
+    private static CompiledVersion readFile(File srcFile, String version, ConcurrentMap<Object, Object> deduplicateMap) throws Exception {
+        JarFile jar = new JarFile(srcFile);
+        try {
+            SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
+            InputStream in = jar.getInputStream(jar.getEntry("javax/time/calendar/zone/ZoneRules.dat"));
+            ResourceZoneRulesDataProvider provider = new ResourceZoneRulesDataProvider(in);
+            for (ZoneRulesVersion providerVersion : provider.getVersions()) {
+                if (providerVersion.getVersionID().equals(version) == false) {
+                    throw new StreamCorruptedException("Version " + version + " not found in file: " + srcFile);
+                }
+                for (String regionId : providerVersion.getRegionIDs()) {
+                    ZoneRules rules = providerVersion.getZoneRules(regionId);
+                    builtZones.put(deduplicate(deduplicateMap, regionId), deduplicate(deduplicateMap, rules));
+                }
+            }
+            
+            // first line is fixed in UTC-TAI leap second system, as per outputLeapSecondEntry
+            SortedMap<LocalDate, Byte> leapSeconds = new TreeMap<LocalDate, Byte>();
+            DataInputStream dis = new DataInputStream(jar.getInputStream(jar.getEntry("javax/time/LeapSecondRules.dat")));
+            if (dis.readByte() != 1) {
+                throw new StreamCorruptedException("File format not recognised: " + srcFile);
+            }
+            int count = dis.readInt();
+            dis.readLong();
+            int offset = dis.readInt();
+            for (int i = 1; i < count; i++) {
+                LocalDate leapDate = LocalDate.ofModifiedJulianDay(dis.readLong());
+                int newOffset = dis.readInt();
+                leapSeconds.put(leapDate, (byte) (newOffset - offset));
+                offset = newOffset;
+            }
+            return new CompiledVersion(version, builtZones, leapSeconds);
+        } finally {
+            jar.close();
+        }
+    }
+
     /**
      * Outputs the file.
      */
@@ -330,59 +540,167 @@ public final class TZDBZoneRulesCompiler {
     private static void outputTZEntry(
             JarOutputStream jos, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules) {
-        // this format is not publicly specified
         try {
             jos.putNextEntry(new ZipEntry("javax/time/calendar/zone/ZoneRules.dat"));
             DataOutputStream out = new DataOutputStream(jos);
-            
-            // file version
-            out.writeByte(1);
-            // group
-            out.writeUTF("TZDB");
-            // all versions and regions
-            String[] versionArray = allBuiltZones.keySet().toArray(new String[allBuiltZones.size()]);
-            out.writeShort(versionArray.length);
-            for (String version : versionArray) {
-                out.writeUTF(version);
-            }
-            String[] regionArray = allRegionIds.toArray(new String[allRegionIds.size()]);
-            out.writeShort(regionArray.length);
+            outputTZData(out, allBuiltZones, allRegionIds, allRules, FILE_FORMAT);
+            out.flush();
+            jos.closeEntry();
+        } catch (Exception ex) {
+            System.out.println("Failed: " + ex.toString());
+            ex.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Outputs the timezone data in the specified file format.
+     * <p>
+     * Format 1 stores each distinct rules object in full.
+     * Format 2 stores the rules grouped by region in version order, with each
+     * written as a delta against the previous rules of the same region.
+     * The offsets and last rules are written once to shared dictionaries
+     * and referred to by index.
+     *
+     * @param out  the output stream, not null
+     * @param allBuiltZones  the rules by region by version, not null
+     * @param allRegionIds  the region IDs, not null
+     * @param allRules  the distinct rules, not null
+     * @param format  the file format, 1 or 2
+     * @throws IOException if an error occurs
+     */
+    static void outputTZData(
+            DataOutputStream out, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            Set<String> allRegionIds, Set<ZoneRules> allRules, int format) throws IOException {
+        // this format is not publicly specified
+        // file version
+        out.writeByte(format);
+        // group
+        out.writeUTF("TZDB");
+        // all versions and regions
+        String[] versionArray = allBuiltZones.keySet().toArray(new String[allBuiltZones.size()]);
+        out.writeShort(versionArray.length);
+        for (String version : versionArray) {
+            out.writeUTF(version);
+        }
+        String[] regionArray = allRegionIds.toArray(new String[allRegionIds.size()]);
+        out.writeShort(regionArray.length);
+        for (String regionId : regionArray) {
+            out.writeUTF(regionId);
+        }
+        // order the rules, in format 2 by region then version, noting the base of each delta
+        List<ZoneRules> rulesList = new ArrayList<ZoneRules>();
+        List<ZoneRules> baseList = new ArrayList<ZoneRules>();
+        if (format == 1) {
+            rulesList.addAll(allRules);
+        } else {
+            Set<ZoneRules> added = new HashSet<ZoneRules>();
             for (String regionId : regionArray) {
-                out.writeUTF(regionId);
+                ZoneRules previous = null;
+                for (SortedMap<String, ZoneRules> builtZones : allBuiltZones.values()) {
+                    ZoneRules rules = builtZones.get(regionId);
+                    if (rules != null) {
+                        if (added.add(rules)) {
+                            rulesList.add(rules);
+                            baseList.add(previous);
+                        }
+                        previous = rules;
+                    }
+                }
             }
-            // link version-region-rules
-            List<ZoneRules> rulesList = new ArrayList<ZoneRules>(allRules);
-            for (String version : allBuiltZones.keySet()) {
-                out.writeShort(allBuiltZones.get(version).size());
-                for (Map.Entry<String, ZoneRules> entry : allBuiltZones.get(version).entrySet()) {
+        }
+        Map<ZoneRules, Integer> rulesIndices = new HashMap<ZoneRules, Integer>();
+        for (int i = 0; i < rulesList.size(); i++) {
+            rulesIndices.put(rulesList.get(i), i);
+        }
+        // link version-region-rules, in format 2 as the changes from the previous version
+        SortedMap<String, ZoneRules> previousZones = new TreeMap<String, ZoneRules>();
+        for (SortedMap<String, ZoneRules> builtZones : allBuiltZones.values()) {
+            if (format == 1) {
+                out.writeShort(builtZones.size());
+                for (Map.Entry<String, ZoneRules> entry : builtZones.entrySet()) {
                      int regionIndex = Arrays.binarySearch(regionArray, entry.getKey());
-                     int rulesIndex = rulesList.indexOf(entry.getValue());
+                     int rulesIndex = rulesIndices.get(entry.getValue());
                      out.writeShort(regionIndex);
                      out.writeShort(rulesIndex);
                 }
+            } else {
+                Set<String> removed = new TreeSet<String>(previousZones.keySet());
+                removed.removeAll(builtZones.keySet());
+                out.writeShort(removed.size());
+                for (String regionId : removed) {
+                    out.writeShort(Arrays.binarySearch(regionArray, regionId));
+                }
+                SortedMap<String, ZoneRules> changed = new TreeMap<String, ZoneRules>(builtZones);
+                changed.entrySet().removeAll(previousZones.entrySet());
+                out.writeShort(changed.size());
+                for (Map.Entry<String, ZoneRules> entry : changed.entrySet()) {
+                     out.writeShort(Arrays.binarySearch(regionArray, entry.getKey()));
+                     out.writeShort(rulesIndices.get(entry.getValue()));
+                }
             }
-            // rules
-            out.writeShort(rulesList.size());
-            ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+            previousZones = builtZones;
+        }
+        // dictionaries, most frequently used first
+        Map<ZoneOffset, Integer> offsetIndices = new HashMap<ZoneOffset, Integer>();
+        Map<ZoneOffsetTransitionRule, Integer> ruleIndices = new HashMap<ZoneOffsetTransitionRule, Integer>();
+        if (format == 2) {
+            Map<ZoneOffset, Integer> offsetCounts = new TreeMap<ZoneOffset, Integer>();
+            Map<ZoneOffsetTransitionRule, Integer> ruleCounts = new LinkedHashMap<ZoneOffsetTransitionRule, Integer>();
             for (ZoneRules rules : rulesList) {
-                baos.reset();
-                DataOutputStream dataos = new DataOutputStream(baos);
+                if (rules instanceof StandardZoneRules) {
+                    ((StandardZoneRules) rules).countDictionaryEntries(offsetCounts, ruleCounts);
+                }
+            }
+            List<ZoneOffset> offsets = sortByCount(offsetCounts);
+            out.writeShort(offsets.size());
+            for (ZoneOffset offset : offsets) {
+                offsetIndices.put(offset, offsetIndices.size());
+                Ser.writeOffset(offset, out);
+            }
+            List<ZoneOffsetTransitionRule> lastRules = sortByCount(ruleCounts);
+            out.writeShort(lastRules.size());
+            for (ZoneOffsetTransitionRule rule : lastRules) {
+                ruleIndices.put(rule, ruleIndices.size());
+                rule.writeExternal(out);
+            }
+        }
+        // rules
+        out.writeShort(rulesList.size());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+        for (int i = 0; i < rulesList.size(); i++) {
+            ZoneRules rules = rulesList.get(i);
+            baos.reset();
+            DataOutputStream dataos = new DataOutputStream(baos);
+            if (format == 2 && rules instanceof StandardZoneRules) {
+                ZoneRules base = baseList.get(i);
+                StandardZoneRules standardBase = (base instanceof StandardZoneRules ? (StandardZoneRules) base : null);
+                dataos.writeByte(Ser.SZR);
+                dataos.writeShort(standardBase != null ? rulesIndices.get(standardBase) : -1);
+                ((StandardZoneRules) rules).writeExternal(dataos, standardBase, offsetIndices, ruleIndices);
+            } else {
                 Ser.write(rules, dataos);
-                dataos.close();
-                byte[] bytes = baos.toByteArray();
-                out.writeShort(bytes.length);
-                out.write(bytes);
             }
-            
-            out.flush();
-            jos.closeEntry();
-        } catch (Exception ex) {
-            System.out.println("Failed: " + ex.toString());
-            ex.printStackTrace();
-            System.exit(1);
+            dataos.close();
+            byte[] bytes = baos.toByteArray();
+            out.writeShort(bytes.length);
+            out.write(bytes);
         }
     }
 
+    /**
+     * Sorts the keys of a map by descending count, retaining the map order for equal counts.
+     */
+    private static <T> List<T> sortByCount(final Map<T, Integer> counts) {
+        List<T> list = new ArrayList<T>(counts.keySet());
+        Collections.sort(list, new Comparator<T>() {
+            public int compare(T obj1, T obj2) {
+                return counts.get(obj2).compareTo(counts.get(obj1));
+            }
+        });
+        return list;
+    }
+
     /**
      * Outputs the leap second entries in the JAR file.
      */
@@ -418,6 +736,25 @@ public final class TZDBZoneRulesCompiler {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The output of compiling a single version.
+     */
+    private static final class CompiledVersion {
+        /** The version. */
+        private final String version;
+        /** The built zones. */
+        private final SortedMap<String, ZoneRules> builtZones;
+        /** The leap seconds. */
+        private final SortedMap<LocalDate, Byte> leapSeconds;
+        /** Constructor. */
+        private CompiledVersion(String version, SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
+            this.version = version;
+            this.builtZones = builtZones;
+            this.leapSeconds = leapSeconds;
+        }
+    }
+
     //-----------------------------------------------------------------------
     /** The TZDB rules. */
     private final Map<String, List<TZDBRule>> rules = new HashMap<String, List<TZDBRule>>();
@@ -427,8 +764,8 @@ public final class TZDBZoneRulesCompiler {
     private final Map<String, String> links = new HashMap<String, String>();
     /** The built zones. */
     private final SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
-    /** A map to deduplicate object instances. */
-    private Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
+    /** A map to deduplicate object instances, which may be shared between threads. */
+    private ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<Object, Object>();
     /** Sorted collection of LeapSecondRules. */
     private final SortedMap<LocalDate, Byte> leapSeconds = new TreeMap<LocalDate, Byte>();
 
@@ -488,21 +825,12 @@ public final class TZDBZoneRulesCompiler {
         return leapSeconds;
     }
 
-    /**
-     * Gets the most recent leap second.
-     * 
-     * @return the most recent leap second, null if none
-     */
-    private LocalDate getMostRecentLeapSecond() {
-        return leapSeconds.isEmpty() ? null : leapSeconds.lastKey();
-    }
-
     /**
      * Sets the deduplication map.
      *
-     * @param deduplicateMap  the map to deduplicate items
+     * @param deduplicateMap  the map to deduplicate items, may be shared between threads
      */
-    void setDeduplicateMap(Map<Object, Object> deduplicateMap) {
+    void setDeduplicateMap(ConcurrentMap<Object, Object> deduplicateMap) {
         this.deduplicateMap = deduplicateMap;
     }
 
@@ -935,12 +1263,22 @@ public final class TZDBZoneRulesCompiler {
      * @param object  the object to deduplicate
      * @return the deduplicated object
      */
-    @SuppressWarnings("unchecked")
     <T> T deduplicate(T object) {
-        if (deduplicateMap.containsKey(object) == false) {
-            deduplicateMap.put(object, object);
-        }
-        return (T) deduplicateMap.get(object);
+        return deduplicate(deduplicateMap, object);
+    }
+
+    /**
+     * Deduplicates an object instance using the specified map.
+     *
+     * @param <T> the generic type
+     * @param deduplicateMap  the map to deduplicate items, not null
+     * @param object  the object to deduplicate, not null
+     * @return the deduplicated object
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T deduplicate(ConcurrentMap<Object, Object> deduplicateMap, T object) {
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (T) (existing != null ? existing : object);
     }
 
     //-----------------------------------------------------------------------
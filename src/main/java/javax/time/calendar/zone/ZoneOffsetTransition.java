@@ -158,6 +158,15 @@ public final class ZoneOffsetTransition implements Comparable<ZoneOffsetTransiti
         return transition.toInstant();
     }
 
+    /**
+     * Gets the transition instant as an epoch second.
+     *
+     * @return the transition epoch second
+     */
+    long toEpochSecond() {
+        return transition.toEpochSecond();
+    }
+
     /**
      * Gets the local date-time at the transition which is expressed relative to
      * the 'before' offset.
@@ -35,6 +35,8 @@ import java.util.List;
 
 import javax.time.Instant;
 import javax.time.InstantProvider;
+import javax.time.calendar.ISODateTimeRule;
+import javax.time.calendar.IllegalCalendarFieldValueException;
 import javax.time.calendar.LocalDateTime;
 import javax.time.calendar.OffsetDate;
 import javax.time.calendar.OffsetDateTime;
@@ -101,6 +103,38 @@ public abstract class ZoneRules {
         super();
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a copy of these rules with the transitions for a range of years precomputed.
+     * <p>
+     * Normally, transitions beyond those defined historically are derived from the
+     * {@link #getTransitionRules() transition rules} on demand and cached per year.
+     * This method expands all the transitions in the range into flat arrays instead,
+     * such that {@link #getOffset(long)} and {@link #getOffsetInfo(LocalDateTime)}
+     * are a single binary search within the range. Queries outside the range are
+     * handled by this instance.
+     * <p>
+     * The precomputed arrays are held in memory for the lifetime of the returned
+     * rules, thus the range should cover only the years that are heavily queried,
+     * such as 1970 to 2100.
+     * <p>
+     * The default implementation validates the years and returns {@code this}.
+     *
+     * @param startYear  the first year to precompute, from MIN_YEAR to MAX_YEAR
+     * @param endYear  the last year to precompute, inclusive, from MIN_YEAR to MAX_YEAR
+     * @return the rules with the range precomputed, not null
+     * @throws IllegalCalendarFieldValueException if either year is invalid
+     * @throws IllegalArgumentException if the end year is before the start year
+     */
+    public ZoneRules withPrecomputedTransitions(int startYear, int endYear) {
+        ISODateTimeRule.YEAR.checkValidValue(startYear);
+        ISODateTimeRule.YEAR.checkValidValue(endYear);
+        if (endYear < startYear) {
+            throw new IllegalArgumentException("End year must not be before start year");
+        }
+        return this;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks of the zone rules are fixed, such that the offset never varies.
@@ -131,6 +165,23 @@ public abstract class ZoneRules {
      */
     public abstract ZoneOffset getOffset(InstantProvider instant);
 
+    /**
+     * Gets the offset applicable at the specified epoch-second in this zone.
+     * <p>
+     * This is equivalent to {@link #getOffset(InstantProvider)} but is defined
+     * in terms of a primitive, avoiding the need to create an {@code Instant}.
+     * The supplied implementations do not allocate any objects once the
+     * transitions for the year have been cached.
+     * <p>
+     * The default implementation creates an {@code Instant} and delegates.
+     *
+     * @param epochSecond  the number of seconds from 1970-01-01T00:00:00Z
+     * @return the offset, not null
+     */
+    public ZoneOffset getOffset(long epochSecond) {
+        return getOffset(Instant.ofEpochSecond(epochSecond));
+    }
+
     /**
      * Gets the offset information for the specified instant in this zone.
      * <p>
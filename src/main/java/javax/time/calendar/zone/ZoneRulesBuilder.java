@@ -35,9 +35,9 @@ import static javax.time.calendar.ISODateTimeRule.YEAR;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.time.calendar.DateAdjusters;
 import javax.time.calendar.DayOfWeek;
@@ -88,7 +88,7 @@ public class ZoneRulesBuilder {
     /**
      * A map for deduplicating the output.
      */
-    private Map<Object, Object> deduplicateMap;
+    private ConcurrentMap<Object, Object> deduplicateMap;
 
     /**
      * Validates that the input value is not null.
@@ -322,7 +322,7 @@ public class ZoneRulesBuilder {
      * @throws IllegalStateException if there is only one rule defined as being forever for any given window
      */
     public ZoneRules toRules(String id) {
-        return toRules(id, new HashMap<Object, Object>());
+        return toRules(id, new ConcurrentHashMap<Object, Object>(16, 0.75f, 1));
     }
 
     /**
@@ -332,12 +332,12 @@ public class ZoneRulesBuilder {
      * Further rules should not be added to this builder once this method is called.
      *
      * @param id  the time-zone id, not null
-     * @param deduplicateMap  a map for deduplicating the values, not null
+     * @param deduplicateMap  a map for deduplicating the values, may be shared between threads, not null
      * @return the zone rules, not null
      * @throws IllegalStateException if no windows have been added
      * @throws IllegalStateException if there is only one rule defined as being forever for any given window
      */
-    ZoneRules toRules(String id, Map<Object, Object> deduplicateMap) {
+    ZoneRules toRules(String id, ConcurrentMap<Object, Object> deduplicateMap) {
         checkNotNull(id, "Time zone id must not be null");
         this.deduplicateMap = deduplicateMap;
         if (windowList.isEmpty()) {
@@ -436,10 +436,8 @@ public class ZoneRulesBuilder {
      */
     @SuppressWarnings("unchecked")
     <T> T deduplicate(T object) {
-        if (deduplicateMap.containsKey(object) == false) {
-            deduplicateMap.put(object, object);
-        }
-        return (T) deduplicateMap.get(object);
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (T) (existing != null ? existing : object);
     }
 
     //-----------------------------------------------------------------------
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2009-2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+import javax.time.calendar.ZoneOffset;
+
+/**
+ * The header of a {@code ZoneRules.dat} file, as output by {@link TZDBZoneRulesCompiler}.
+ * <p>
+ * The header holds the versions, regions and links between them, together with the
+ * dictionaries used to decode the rules in file format 2.
+ * The rules themselves follow the header and are read separately by the provider.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Stephen Colebourne
+ */
+final class ZoneRulesFileHeader {
+
+    /**
+     * The file format, 1 or 2.
+     */
+    final int format;
+    /**
+     * The time-zone group ID.
+     */
+    final String groupID;
+    /**
+     * The version IDs.
+     */
+    final String[] versionArray;
+    /**
+     * The region IDs, sorted.
+     */
+    final String[] regionArray;
+    /**
+     * The sorted region IDs of each version, indexed as per the version IDs.
+     */
+    final String[][] versionRegionArrays;
+    /**
+     * The rule indices of each version, indexed as per the version region IDs.
+     */
+    final short[][] versionRulesArrays;
+    /**
+     * The dictionary of offsets, empty for file format 1.
+     */
+    private final ZoneOffset[] offsetDictionary;
+    /**
+     * The dictionary of last rules, empty for file format 1.
+     */
+    private final ZoneOffsetTransitionRule[] ruleDictionary;
+
+    /**
+     * Reads the header, leaving the input at the count of rules.
+     *
+     * @param in  the input to read, not null
+     * @throws IOException if an error occurs
+     */
+    ZoneRulesFileHeader(DataInput in) throws IOException {
+        format = in.readByte();
+        if (format != 1 && format != 2) {
+            throw new StreamCorruptedException("File format not recognised");
+        }
+        groupID = in.readUTF();
+        int versionCount = in.readShort();
+        versionArray = new String[versionCount];
+        for (int i = 0; i < versionCount; i++) {
+            versionArray[i] = in.readUTF();
+        }
+        int regionCount = in.readShort();
+        regionArray = new String[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            regionArray[i] = in.readUTF();
+        }
+        // link version-region-rules, in format 2 as the changes from the previous version
+        versionRegionArrays = new String[versionCount][];
+        versionRulesArrays = new short[versionCount][];
+        short[] currentRules = new short[regionCount];
+        Arrays.fill(currentRules, (short) -1);
+        for (int i = 0; i < versionCount; i++) {
+            if (format == 1) {
+                int versionRegionCount = in.readShort();
+                versionRegionArrays[i] = new String[versionRegionCount];
+                versionRulesArrays[i] = new short[versionRegionCount];
+                for (int j = 0; j < versionRegionCount; j++) {
+                    versionRegionArrays[i][j] = regionArray[in.readShort()];
+                    versionRulesArrays[i][j] = in.readShort();
+                }
+            } else {
+                int removedCount = in.readShort();
+                for (int j = 0; j < removedCount; j++) {
+                    currentRules[in.readShort()] = -1;
+                }
+                int changedCount = in.readShort();
+                for (int j = 0; j < changedCount; j++) {
+                    int regionIndex = in.readShort();
+                    currentRules[regionIndex] = in.readShort();
+                }
+                int versionRegionCount = 0;
+                for (short rulesIndex : currentRules) {
+                    versionRegionCount += (rulesIndex >= 0 ? 1 : 0);
+                }
+                versionRegionArrays[i] = new String[versionRegionCount];
+                versionRulesArrays[i] = new short[versionRegionCount];
+                for (int j = 0, k = 0; j < regionCount; j++) {
+                    if (currentRules[j] >= 0) {
+                        versionRegionArrays[i][k] = regionArray[j];
+                        versionRulesArrays[i][k++] = currentRules[j];
+                    }
+                }
+            }
+        }
+        // dictionaries
+        if (format == 2) {
+            offsetDictionary = new ZoneOffset[in.readShort()];
+            for (int i = 0; i < offsetDictionary.length; i++) {
+                offsetDictionary[i] = Ser.readOffset(in);
+            }
+            ruleDictionary = new ZoneOffsetTransitionRule[in.readShort()];
+            for (int i = 0; i < ruleDictionary.length; i++) {
+                ruleDictionary[i] = ZoneOffsetTransitionRule.readExternal(in);
+            }
+        } else {
+            offsetDictionary = new ZoneOffset[0];
+            ruleDictionary = new ZoneOffsetTransitionRule[0];
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Reads a set of rules that follow the header.
+     * <p>
+     * In file format 2, standard rules may be stored as a delta against
+     * an earlier set of rules, which is obtained from the loader.
+     *
+     * @param in  the input positioned at the start of the rules, not null
+     * @param index  the index of the rules
+     * @param loader  the loader of earlier rules, not null
+     * @return the rules, not null
+     * @throws Exception if an error occurs
+     */
+    ZoneRules readRules(DataInput in, short index, RulesLoader loader) throws Exception {
+        byte type = in.readByte();
+        if (format == 2 && type == Ser.SZR) {
+            short baseIndex = in.readShort();
+            StandardZoneRules base = null;
+            if (baseIndex >= 0) {
+                if (baseIndex >= index) {
+                    throw new StreamCorruptedException("Invalid delta base");
+                }
+                base = (StandardZoneRules) loader.loadRule(baseIndex);
+            }
+            return StandardZoneRules.readExternal(in, base, offsetDictionary, ruleDictionary);
+        }
+        return (ZoneRules) Ser.readInternal(type, in);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Loads the rules at an index in the file.
+     */
+    interface RulesLoader {
+        /**
+         * Loads the rules.
+         *
+         * @param index  the index to retrieve
+         * @return the rules, not null
+         * @throws Exception if an error occurs
+         */
+        ZoneRules loadRule(short index) throws Exception;
+    }
+
+}
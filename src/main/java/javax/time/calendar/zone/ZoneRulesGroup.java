@@ -31,14 +31,16 @@
  */
 package javax.time.calendar.zone;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
@@ -68,9 +70,13 @@ import javax.time.calendar.OffsetDateTime;
  * Rules may be registered at any time during the life of the application.
  * No rules may be removed however, thus any rules obtained will remain valid.
  * <p>
- * The static methods of ZoneRulesGroup wrap a thread-safe map of groups.
+ * The static methods of ZoneRulesGroup wrap a thread-safe registry of groups.
  * New groups and providers may safely be added during the lifetime of the application.
  * To maintain data integrity, providers may not be removed during the lifetime of the application.
+ * <p>
+ * The registry is an immutable snapshot of the groups, versions and parsable IDs.
+ * Registering a provider builds a new snapshot and publishes it atomically,
+ * thus readers never block and never observe a partially registered provider.
  *
  * @author Stephen Colebourne
  */
@@ -85,16 +91,14 @@ public final class ZoneRulesGroup {
      */
     private static final Pattern PATTERN_VERSION = Pattern.compile("[A-Za-z0-9._-]+");
     /**
-     * The zone IDs.
-     * Should not be empty.
+     * The current registry snapshot.
+     * Should not be empty once the resource provider is loaded.
      */
-    private static final Map<String, Object> IDS = new ConcurrentHashMap<String, Object>(100, 0.75f, 4);
+    private static final AtomicReference<Registry> REGISTRY = new AtomicReference<Registry>(Registry.EMPTY);
     /**
-     * The zone rule groups.
-     * Should not be empty.
+     * The live view of the parsable IDs.
      */
-    private static final ConcurrentMap<String, ZoneRulesGroup> GROUPS =
-            new ConcurrentHashMap<String, ZoneRulesGroup>(16, 0.75f, 2);
+    private static final Set<String> PARSABLE_IDS = new ParsableIDs();
 
     static {
         ResourceZoneRulesDataProvider.load();
@@ -104,12 +108,6 @@ public final class ZoneRulesGroup {
      * The zone rules group ID, such as 'TZDB'.
      */
     private final String groupID;
-    /**
-     * The versions and rules.
-     */
-    private AtomicReference<TreeMap<String, ZoneRulesVersion>> versions =
-            new AtomicReference<TreeMap<String, ZoneRulesVersion>>(
-                    new TreeMap<String, ZoneRulesVersion>(Collections.reverseOrder()));
 
     //-----------------------------------------------------------------------
     /**
@@ -124,7 +122,7 @@ public final class ZoneRulesGroup {
         if (groupID == null) {
             return false;
         }
-        return GROUPS.containsKey(groupID);
+        return REGISTRY.get().groups.containsKey(groupID);
     }
 
     /**
@@ -142,9 +140,10 @@ public final class ZoneRulesGroup {
      */
     public static ZoneRulesGroup getGroup(String groupID) {
         ZoneRules.checkNotNull(groupID, "Group ID must not be null");
-        ZoneRulesGroup group = GROUPS.get(groupID);
+        Map<String, ZoneRulesGroup> groups = REGISTRY.get().groups;
+        ZoneRulesGroup group = groups.get(groupID);
         if (group == null) {
-            if (GROUPS.isEmpty()) {
+            if (groups.isEmpty()) {
                 throw new CalendricalException("Unknown time-zone group '" + groupID + "', no time-zone data files registered");
             }
             throw new CalendricalException("Unknown time-zone group '" + groupID + '\'');
@@ -164,7 +163,7 @@ public final class ZoneRulesGroup {
      * @return an unsorted, independent, modifiable list of available groups, not null
      */
     public static List<ZoneRulesGroup> getAvailableGroups() {
-        return new ArrayList<ZoneRulesGroup>(GROUPS.values());
+        return new ArrayList<ZoneRulesGroup>(REGISTRY.get().groups.values());
     }
 
     /**
@@ -182,7 +181,7 @@ public final class ZoneRulesGroup {
      * </ul>
      * <p>
      * The returned set is a view of underlying state that may be changed by another thread.
-     * The underlying set is thread-safe, thus the view is thread-safe.
+     * Each query on the view reads the current registry snapshot, thus the view is thread-safe.
      * However, check-then-act operations are potentially unsafe.
      * <p>
      * Since IDs are never deregistered, the set can only get larger.
@@ -192,7 +191,24 @@ public final class ZoneRulesGroup {
      * @return an unmodifiable set of parsable group:region IDs, not null
      */
     public static Set<String> getParsableIDs() {
-        return Collections.unmodifiableSet(IDS.keySet());
+        return PARSABLE_IDS;
+    }
+
+    /**
+     * Gets the generation of the registered rules.
+     * <p>
+     * The generation changes each time a provider is {@link #registerProvider registered}.
+     * Data derived from the registered rules, such as the rules for the floating version
+     * of a region, can be cached together with the generation and reused until it changes.
+     * Since providers are never deregistered, rules cached for a specific version never
+     * need to be invalidated.
+     * <p>
+     * The generation is read from the current registry snapshot, and so is cheap to query.
+     *
+     * @return the current generation of the registered rules
+     */
+    public static int getGeneration() {
+        return REGISTRY.get().generation;
     }
 
     //-----------------------------------------------------------------------
@@ -205,20 +221,27 @@ public final class ZoneRulesGroup {
      * <p>
      * To ensure the integrity of time-zones already created, there is no way
      * to deregister providers.
+     * <p>
+     * The provider is queried once, and a new registry snapshot is then built
+     * and published atomically. If the provider is invalid, nothing is registered.
      *
      * @param provider  the provider to register, not null
      * @return the rules group, not null
      * @throws CalendricalException if the group ID is invalid
      * @throws CalendricalException if the provider is already registered
      */
-    public static synchronized ZoneRulesGroup registerProvider(ZoneRulesDataProvider provider) {
-        ZoneRulesGroup group = GROUPS.get(provider.getGroupID());
-        if (group == null) {
-            group = new ZoneRulesGroup(provider.getGroupID());
-            GROUPS.put(provider.getGroupID(), group);
+    public static ZoneRulesGroup registerProvider(ZoneRulesDataProvider provider) {
+        String groupID = provider.getGroupID();
+        ZoneRulesGroup newGroup = new ZoneRulesGroup(groupID);  // validates
+        Set<ZoneRulesVersion> versions = provider.getVersions();
+        Set<String> regionIDs = provider.getRegionIDs();
+        while (true) {
+            Registry current = REGISTRY.get();
+            Registry updated = current.register(newGroup, versions, regionIDs);
+            if (REGISTRY.compareAndSet(current, updated)) {
+                return updated.groups.get(groupID);
+            }
         }
-        group.registerProvider0(provider);
-        return group;
     }
 
     //-----------------------------------------------------------------------
@@ -237,35 +260,12 @@ public final class ZoneRulesGroup {
     }
 
     /**
-     * Registers a zone rules provider with this group.
+     * Gets the versions of this group from the current registry snapshot.
      *
-     * @param provider  the provider to register, not null
+     * @return the versions, sorted from newest to oldest, not null
      */
-    @SuppressWarnings("unchecked")
-    private void registerProvider0(ZoneRulesDataProvider provider) {
-        // synchronized by caller
-        TreeMap<String, ZoneRulesVersion> newVersions = (TreeMap<String, ZoneRulesVersion>) versions.get().clone();
-        for (ZoneRulesVersion version : provider.getVersions()) {
-            String versionID = version.getVersionID();
-            ZoneRules.checkNotNull(versionID, "Version ID must not be null");
-            if (PATTERN_VERSION.matcher(versionID).matches() == false) {
-                throw new CalendricalException("Invalid version ID '" + versionID + "', must match regex [A-Za-z0-9._-]+");
-            }
-            if (newVersions.containsKey(versionID)) {
-                throw new CalendricalException("Cannot register provider for group '" +
-                        groupID + "' as version '" + versionID + "' is already registered");
-            }
-            newVersions.put(versionID, version);
-        }
-        versions.set(newVersions);
-        
-        Set<String> regionIDs = provider.getRegionIDs();
-        for (String regionID : regionIDs) {
-            IDS.put(groupID + ':' + regionID, "");
-            if (groupID.equals("TZDB")) {
-                IDS.put(regionID, "");
-            }
-        }
+    private TreeMap<String, ZoneRulesVersion> versions() {
+        return REGISTRY.get().versions.get(groupID);  // group only visible once registered
     }
 
     //-----------------------------------------------------------------------
@@ -290,7 +290,7 @@ public final class ZoneRulesGroup {
         if (regionID == null || versionID == null) {
             return false;
         }
-        ZoneRulesVersion version = versions.get().get(versionID);
+        ZoneRulesVersion version = versions().get(versionID);
         return version != null && version.isRegionID(regionID);
     }
 
@@ -305,7 +305,7 @@ public final class ZoneRulesGroup {
     public ZoneRules getRules(String regionID, String versionID) {
         ZoneRules.checkNotNull(regionID, "Region ID must not be null");
         ZoneRules.checkNotNull(versionID, "Version ID must not be null");
-        ZoneRulesVersion version = versions.get().get(versionID);
+        ZoneRulesVersion version = versions().get(versionID);
         if (version == null) {
             throw new CalendricalException("Unknown version for group: " + groupID + ':' + regionID + '#' + versionID);
         }
@@ -367,7 +367,7 @@ public final class ZoneRulesGroup {
         ZoneRules.checkNotNull(regionID, "Region ID must not be null");
         ZoneRules.checkNotNull(dateTime, "OffsetDateTime must not be null");
         boolean foundRegion = false;
-        for (ZoneRulesVersion version : versions.get().values()) {
+        for (ZoneRulesVersion version : versions().values()) {
             if (version.isRegionID(regionID)) {
                 foundRegion = true;
                 ZoneRules rules = version.getZoneRules(regionID);  // not null if registered properly
@@ -398,7 +398,7 @@ public final class ZoneRulesGroup {
      * @throws CalendricalException if the region ID is not found
      */
     public Set<String> getAvailableVersionIDs() {
-        return Collections.unmodifiableSet(versions.get().keySet());
+        return Collections.unmodifiableSet(versions().keySet());
     }
 
     /**
@@ -415,7 +415,7 @@ public final class ZoneRulesGroup {
      * @throws CalendricalException if the region ID is not found
      */
     public String getLatestVersionID() {
-        return versions.get().firstKey();
+        return versions().firstKey();
     }
 
     /**
@@ -434,7 +434,7 @@ public final class ZoneRulesGroup {
      */
     public String getLatestVersionID(String regionID) {
         ZoneRules.checkNotNull(regionID, "Region ID must not be null");
-        for (ZoneRulesVersion version : versions.get().values()) {
+        for (ZoneRulesVersion version : versions().values()) {
             if (version.isRegionID(regionID)) {
                 return version.getVersionID();
             }
@@ -455,7 +455,7 @@ public final class ZoneRulesGroup {
      */
     public boolean isValidRegionID(String regionID) {
         ZoneRules.checkNotNull(regionID, "Region ID must not be null");
-        for (ZoneRulesVersion version : versions.get().values()) {
+        for (ZoneRulesVersion version : versions().values()) {
             if (version.isRegionID(regionID)) {
                 return true;
             }
@@ -481,7 +481,7 @@ public final class ZoneRulesGroup {
      */
     public Set<String> getRegionIDs(String versionID) {
         ZoneRules.checkNotNull(versionID, "Version ID must not be null");
-        ZoneRulesVersion version = versions.get().get(versionID);
+        ZoneRulesVersion version = versions().get(versionID);
         if (version == null) {
             throw new CalendricalException("Unknown time-zone version: " + groupID + '#' + versionID);
         }
@@ -527,4 +527,110 @@ public final class ZoneRulesGroup {
         return groupID;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable snapshot of the registered groups, versions and parsable IDs.
+     */
+    static final class Registry {
+        /** The empty registry. */
+        static final Registry EMPTY = new Registry(
+                Collections.<String, ZoneRulesGroup>emptyMap(),
+                Collections.<String, TreeMap<String, ZoneRulesVersion>>emptyMap(),
+                Collections.<String>emptySet(), 0);
+        /** The groups keyed by ID. */
+        final Map<String, ZoneRulesGroup> groups;
+        /** The versions of each group keyed by group ID, each sorted from newest to oldest. */
+        final Map<String, TreeMap<String, ZoneRulesVersion>> versions;
+        /** The parsable group:region IDs. */
+        final Set<String> ids;
+        /** The generation, incremented each time a provider is registered. */
+        final int generation;
+
+        /**
+         * Constructor.
+         *
+         * @param groups  the groups, not null
+         * @param versions  the versions, not null
+         * @param ids  the parsable IDs, not null
+         * @param generation  the generation
+         */
+        private Registry(
+                Map<String, ZoneRulesGroup> groups, Map<String, TreeMap<String, ZoneRulesVersion>> versions,
+                Set<String> ids, int generation) {
+            this.groups = groups;
+            this.versions = versions;
+            this.ids = ids;
+            this.generation = generation;
+        }
+
+        /**
+         * Creates a new registry with the data of a provider added.
+         * <p>
+         * This registry is not altered.
+         *
+         * @param newGroup  the group to add if not already present, not null
+         * @param providedVersions  the versions from the provider, not null
+         * @param regionIDs  the region IDs from the provider, not null
+         * @return the new registry, not null
+         * @throws CalendricalException if a version is invalid or already registered
+         */
+        @SuppressWarnings("unchecked")
+        Registry register(ZoneRulesGroup newGroup, Set<ZoneRulesVersion> providedVersions, Set<String> regionIDs) {
+            String groupID = newGroup.groupID;
+            Map<String, ZoneRulesGroup> newGroups = groups;
+            TreeMap<String, ZoneRulesVersion> newVersions;
+            if (groups.containsKey(groupID)) {
+                newVersions = (TreeMap<String, ZoneRulesVersion>) versions.get(groupID).clone();
+            } else {
+                newGroups = new HashMap<String, ZoneRulesGroup>(groups);
+                newGroups.put(groupID, newGroup);
+                newGroups = Collections.unmodifiableMap(newGroups);
+                newVersions = new TreeMap<String, ZoneRulesVersion>(Collections.reverseOrder());
+            }
+            for (ZoneRulesVersion version : providedVersions) {
+                String versionID = version.getVersionID();
+                ZoneRules.checkNotNull(versionID, "Version ID must not be null");
+                if (PATTERN_VERSION.matcher(versionID).matches() == false) {
+                    throw new CalendricalException("Invalid version ID '" + versionID + "', must match regex [A-Za-z0-9._-]+");
+                }
+                if (newVersions.containsKey(versionID)) {
+                    throw new CalendricalException("Cannot register provider for group '" +
+                            groupID + "' as version '" + versionID + "' is already registered");
+                }
+                newVersions.put(versionID, version);
+            }
+            Map<String, TreeMap<String, ZoneRulesVersion>> newVersionsByGroup =
+                    new HashMap<String, TreeMap<String, ZoneRulesVersion>>(versions);
+            newVersionsByGroup.put(groupID, newVersions);
+            Set<String> newIDs = new HashSet<String>(ids);
+            for (String regionID : regionIDs) {
+                newIDs.add(groupID + ':' + regionID);
+                if (groupID.equals("TZDB")) {
+                    newIDs.add(regionID);
+                }
+            }
+            return new Registry(newGroups, Collections.unmodifiableMap(newVersionsByGroup),
+                    Collections.unmodifiableSet(newIDs), generation + 1);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A read-only view of the parsable IDs in the current registry.
+     */
+    static final class ParsableIDs extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object obj) {
+            return REGISTRY.get().ids.contains(obj);
+        }
+        @Override
+        public Iterator<String> iterator() {
+            return REGISTRY.get().ids.iterator();
+        }
+        @Override
+        public int size() {
+            return REGISTRY.get().ids.size();
+        }
+    }
+
 }
@@ -2102,6 +2102,66 @@ public class TestDuration {
         assertEquals(test.dividedBy(Long.MAX_VALUE), Duration.ofSeconds(1));
     }
 
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void dividedBy_tooBig() {
+        Duration.ofSeconds(Long.MIN_VALUE).dividedBy(-1);
+    }
+
+    //-----------------------------------------------------------------------
+    private static final long[] ARITHMETIC_SECONDS = {
+        0, 1, -1, 2, -2, 999, -1000, 86400, -86400, Integer.MAX_VALUE, Integer.MIN_VALUE,
+        9223372034L, -9223372034L, 9223372035L, -9223372035L, 9223372036L, -9223372037L,
+        Long.MAX_VALUE / 2, Long.MIN_VALUE / 2, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1, Long.MAX_VALUE, Long.MIN_VALUE,
+    };
+    private static final int[] ARITHMETIC_NANOS = {0, 1, 500000000, 999999999};
+    private static final long[] ARITHMETIC_SCALARS = {
+        -1, 2, -2, 3, 7, -7, 1000, -1000000000, Integer.MAX_VALUE, Integer.MIN_VALUE,
+        9223372034L, -9223372034L, 9223372035L, -9223372035L, 9223372036L, -9223372037L,
+        Long.MAX_VALUE, Long.MIN_VALUE,
+    };
+
+    public void multipliedBy_matchesBigInteger() {
+        for (long secs : ARITHMETIC_SECONDS) {
+            for (int nanos : ARITHMETIC_NANOS) {
+                Duration test = Duration.ofSeconds(secs, nanos);
+                for (long multiplicand : ARITHMETIC_SCALARS) {
+                    Duration expected = null;
+                    try {
+                        expected = Duration.ofNanos(test.toNanos().multiply(BigInteger.valueOf(multiplicand)));
+                    } catch (ArithmeticException ex) {
+                        // expected null
+                    }
+                    try {
+                        assertEquals(test.multipliedBy(multiplicand), expected, test + " * " + multiplicand);
+                    } catch (ArithmeticException ex) {
+                        assertEquals(null, expected, test + " * " + multiplicand);
+                    }
+                }
+            }
+        }
+    }
+
+    public void dividedBy_matchesBigInteger() {
+        for (long secs : ARITHMETIC_SECONDS) {
+            for (int nanos : ARITHMETIC_NANOS) {
+                Duration test = Duration.ofSeconds(secs, nanos);
+                for (long divisor : ARITHMETIC_SCALARS) {
+                    Duration expected = null;
+                    try {
+                        expected = Duration.ofNanos(test.toNanos().divide(BigInteger.valueOf(divisor)));
+                    } catch (ArithmeticException ex) {
+                        // expected null
+                    }
+                    try {
+                        assertEquals(test.dividedBy(divisor), expected, test + " / " + divisor);
+                    } catch (ArithmeticException ex) {
+                        assertEquals(null, expected, test + " / " + divisor);
+                    }
+                }
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     // negated()
     //-----------------------------------------------------------------------
@@ -2116,6 +2176,17 @@ public class TestDuration {
         assertEquals(Duration.ofSeconds(Long.MAX_VALUE).negated(), Duration.ofSeconds(-Long.MAX_VALUE));
     }
 
+    public void test_negated_matchesBigInteger() {
+        for (long secs : ARITHMETIC_SECONDS) {
+            for (int nanos : ARITHMETIC_NANOS) {
+                Duration test = Duration.ofSeconds(secs, nanos);
+                if (secs != Long.MIN_VALUE || nanos != 0) {
+                    assertEquals(test.negated(), Duration.ofNanos(test.toNanos().negate()), test.toString());
+                }
+            }
+        }
+    }
+
     @Test(expectedExceptions=ArithmeticException.class)
     public void test_negated_overflow() {
         Duration.ofSeconds(Long.MIN_VALUE).negated();
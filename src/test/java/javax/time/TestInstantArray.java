@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test InstantArray.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestInstantArray {
+
+    private static List<Instant> randomInstants(int size) {
+        Random random = new Random(47658758756875687L);
+        List<Instant> list = new ArrayList<Instant>();
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0:
+                    list.add(Instant.ofEpochSecond(random.nextLong(), random.nextInt(1000000000)));
+                    break;
+                case 1:
+                    list.add(Instant.ofEpochSecond(random.nextInt(2000) - 1000, random.nextInt(1000000000)));
+                    break;
+                case 2:
+                    list.add(Instant.ofEpochSecond(1200000000L + random.nextInt(100), random.nextInt(3) * 500000000));
+                    break;
+                default:
+                    list.add(list.get(random.nextInt(i)));
+                    break;
+            }
+        }
+        list.add(Instant.ofEpochSecond(Long.MIN_VALUE, 0));
+        list.add(Instant.ofEpochSecond(Long.MAX_VALUE, 999999999));
+        return list;
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_add_get() {
+        InstantArray test = new InstantArray(0);
+        assertEquals(test.size(), 0);
+        test.add(Instant.ofEpochSecond(5, 6));
+        test.add(-7, 8);
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(0), Instant.ofEpochSecond(5, 6));
+        assertEquals(test.get(1), Instant.ofEpochSecond(-7, 8));
+        assertEquals(test.getEpochSecond(1), -7);
+        assertEquals(test.getNanoOfSecond(1), 8);
+        assertEquals(test.toString(), "[" + Instant.ofEpochSecond(5, 6) + ", " + Instant.ofEpochSecond(-7, 8) + "]");
+    }
+
+    public void test_addAll_grows() {
+        List<Instant> list = randomInstants(1000);
+        InstantArray test = new InstantArray();
+        test.addAll(list);
+        assertEquals(test.size(), list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(test.get(i), list.get(i));
+        }
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_add_invalidNanos() {
+        new InstantArray().add(0, 1000000000);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_constructor_negativeCapacity() {
+        new InstantArray(-1);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_get_beyondSize() {
+        InstantArray test = new InstantArray();
+        test.add(1, 0);
+        test.get(1);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_add_null() {
+        new InstantArray().add(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_sort_matchesCollections() {
+        List<Instant> list = randomInstants(5000);
+        InstantArray test = new InstantArray();
+        test.addAll(list);
+        test.sort();
+        Collections.sort(list);
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(test.get(i), list.get(i));
+        }
+    }
+
+    public void test_sortIndex_stable() {
+        InstantArray test = new InstantArray();
+        test.add(3, 0);
+        test.add(1, 5);
+        test.add(3, 0);
+        test.add(-2, 999999999);
+        test.add(1, 5);
+        int[] order = test.sortIndex();
+        assertEquals(Arrays.equals(order, new int[] {3, 1, 4, 0, 2}), true);
+        assertEquals(test.get(0), Instant.ofEpochSecond(3, 0));  // unchanged
+    }
+
+    public void test_sort_empty() {
+        InstantArray test = new InstantArray();
+        test.sort();
+        assertEquals(test.size(), 0);
+        assertEquals(test.sortIndex().length, 0);
+    }
+
+    public void test_compare() {
+        InstantArray test = new InstantArray();
+        test.add(3, 0);
+        test.add(3, 1);
+        test.add(-3, 0);
+        assertTrue(test.compare(0, 1) < 0);
+        assertTrue(test.compare(1, 0) > 0);
+        assertTrue(test.compare(0, 2) > 0);
+        assertEquals(test.compare(1, 1), 0);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_binarySearch() {
+        List<Instant> list = randomInstants(2000);
+        InstantArray test = new InstantArray();
+        test.addAll(list);
+        test.sort();
+        Collections.sort(list);
+        for (Instant instant : list) {
+            int index = test.binarySearch(instant);
+            assertEquals(index, list.indexOf(instant));
+        }
+        Instant missing = Instant.ofEpochSecond(1200000000L, 1);
+        int index = test.binarySearch(missing);
+        assertTrue(index < 0);
+        int insertion = -index - 1;
+        assertTrue(insertion == 0 || list.get(insertion - 1).isBefore(missing));
+        assertTrue(insertion == list.size() || list.get(insertion).isAfter(missing));
+    }
+
+    public void test_subArray_indices() {
+        InstantArray test = new InstantArray();
+        for (int i = 0; i < 10; i++) {
+            test.add(i, 0);
+        }
+        InstantArray sub = test.subArray(2, 5);
+        assertEquals(sub.size(), 3);
+        assertEquals(sub.get(0), Instant.ofEpochSecond(2));
+        assertEquals(sub.get(2), Instant.ofEpochSecond(4));
+        sub.add(100, 0);
+        assertEquals(test.get(5), Instant.ofEpochSecond(5));
+        assertEquals(test.subArray(3, 3).size(), 0);
+    }
+
+    public void test_subArray_instants() {
+        List<Instant> list = randomInstants(2000);
+        InstantArray test = new InstantArray();
+        test.addAll(list);
+        test.sort();
+        Instant start = Instant.ofEpochSecond(-500);
+        Instant end = Instant.ofEpochSecond(1200000050L, 500000000);
+        InstantArray sub = test.subArray(start, end);
+        List<Instant> expected = new ArrayList<Instant>();
+        for (Instant instant : list) {
+            if (instant.isBefore(start) == false && instant.isBefore(end)) {
+                expected.add(instant);
+            }
+        }
+        Collections.sort(expected);
+        assertEquals(sub.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(sub.get(i), expected.get(i));
+        }
+        assertEquals(test.subArray(end, start).size(), 0);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_subArray_invalid() {
+        InstantArray test = new InstantArray();
+        test.add(1, 0);
+        test.subArray(0, 2);
+    }
+
+    public void test_select() {
+        InstantArray test = new InstantArray();
+        test.add(1, 0);
+        test.add(2, 0);
+        test.add(3, 0);
+        InstantArray selected = test.select(new int[] {2, 0, 2});
+        assertEquals(selected.toString(), "[" + Instant.ofEpochSecond(3) + ", " + Instant.ofEpochSecond(1) + ", " + Instant.ofEpochSecond(3) + "]");
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_select_invalid() {
+        InstantArray test = new InstantArray();
+        test.add(1, 0);
+        test.select(new int[] {1});
+    }
+
+}
@@ -96,6 +96,22 @@ public class TestTimeSource_Fixed {
         assertEquals(fixed.millis(), INSTANT.toEpochMilli());
     }
 
+    //-----------------------------------------------------------------------
+    public void test_fixed_nanos() {
+        TimeSource fixed = TimeSource.fixed(INSTANT);
+        assertEquals(fixed.nanos(), INSTANT.getEpochSecond() * 1000000000L + 500);
+    }
+
+    public void test_fixed_nanos_beforeEpoch() {
+        TimeSource fixed = TimeSource.fixed(Instant.ofEpochSecond(-2, 1));
+        assertEquals(fixed.nanos(), -1999999999L);
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_fixed_nanos_tooBig() {
+        TimeSource.fixed(Instant.ofEpochSecond(Long.MAX_VALUE / 1000000000L + 1)).nanos();
+    }
+
     //-----------------------------------------------------------------------
     public void test_fixed_equals() {
         TimeSource fixed = TimeSource.fixed(INSTANT);
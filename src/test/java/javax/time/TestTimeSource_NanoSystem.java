@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test TimeSource.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestTimeSource_NanoSystem {
+
+    //-----------------------------------------------------------------------
+    public void test_nanoSystem_isSerializable() throws IOException, ClassNotFoundException {
+        TimeSource system = TimeSource.nanoSystem();
+        assertTrue(system instanceof Serializable);
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(system);
+        oos.close();
+        
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        assertSame(ois.readObject(), system);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_nanoSystem_instant() {
+        TimeSource system = TimeSource.nanoSystem();
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            Instant instant = system.instant();
+            long systemMillis = System.currentTimeMillis();
+            if (Math.abs(systemMillis - instant.toEpochMilli()) < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_nanoSystem_millis() {
+        TimeSource system = TimeSource.nanoSystem();
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            long instant = system.millis();
+            long systemMillis = System.currentTimeMillis();
+            if (Math.abs(systemMillis - instant) < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_nanoSystem_nanos() {
+        TimeSource system = TimeSource.nanoSystem();
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            long instant = system.nanos();
+            long systemMillis = System.currentTimeMillis();
+            if (Math.abs(systemMillis - instant / 1000000L) < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    public void test_nanoSystem_nanos_notBackwards() {
+        TimeSource system = TimeSource.nanoSystem();
+        long start = System.nanoTime();
+        long last = system.nanos();
+        while (System.nanoTime() - start < 1200000000L) {  // long enough to check the millisecond clock
+            long nanos = system.nanos();
+            assertTrue(nanos >= last);
+            last = nanos;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_nanoSystem_consistent() {
+        TimeSource system = TimeSource.nanoSystem();
+        for (int i = 0; i < 1000; i++) {
+            long before = system.nanos();
+            Instant instant = system.instant();
+            UTCInstant utc = system.utcInstant();
+            long after = system.nanos();
+            if (before <= after) {
+                long nanos = instant.getEpochSecond() * 1000000000L + instant.getNanoOfSecond();
+                assertTrue(nanos >= before && nanos <= after);
+                long utcNanos = utc.toInstant().getEpochSecond() * 1000000000L + utc.toInstant().getNanoOfSecond();
+                assertTrue(utcNanos >= before && utcNanos <= after);
+            }
+        }
+    }
+
+    public void test_nanoSystem_subMillisecond() {
+        TimeSource system = TimeSource.nanoSystem();
+        for (int i = 0; i < 10000; i++) {
+            if (system.nanos() % 1000000L != 0) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_nanoSystem_equals() {
+        TimeSource system = TimeSource.nanoSystem();
+        assertTrue(system.equals(system));
+        assertTrue(system.equals(TimeSource.nanoSystem()));
+        
+        assertFalse(system.equals(null));
+        assertFalse(system.equals(new Object()));
+        assertFalse(system.equals(TimeSource.system()));
+    }
+
+    public void test_nanoSystem_hashCode() {
+        TimeSource system = TimeSource.nanoSystem();
+        assertEquals(system.hashCode(), system.hashCode());
+        assertEquals(system.hashCode(), TimeSource.nanoSystem().hashCode());
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_nanoSystem_toString() {
+        TimeSource system = TimeSource.nanoSystem();
+        assertEquals(system.toString(), "NanoSystemTimeSource");
+    }
+
+}
@@ -97,6 +97,19 @@ public class TestTimeSource_System {
         fail();
     }
 
+    public void test_system_nanos() {
+        TimeSource system = TimeSource.system();
+        for (int i = 0; i < 10000; i++) {
+            // assume can eventually get these within 10 milliseconds
+            long instant = system.nanos();
+            long systemMillis = System.currentTimeMillis();
+            if (systemMillis - instant / 1000000L < 10) {
+                return;  // success
+            }
+        }
+        fail();
+    }
+
     //-----------------------------------------------------------------------
     public void test_system_equals() {
         TimeSource system = TimeSource.system();
@@ -526,6 +526,147 @@ public class TestUTCRules {
         rules.registerLeapSecond(MJD_2100, 3);
     }
 
+    //-----------------------------------------------------------------------
+    // fast path for dates after the newest leap second
+    //-----------------------------------------------------------------------
+    public void test_afterNewestLeap_registerLeapSecond() {
+        long[] dates = rules.getLeapSecondDates();
+        long mjd = dates[dates.length - 1] + 1000;
+        int offset = rules.getTAIOffset(mjd);
+        assertEquals(rules.getLeapSecondAdjustment(mjd), 0);
+        rules.registerLeapSecond(mjd, 1);
+        assertEquals(rules.getLeapSecondAdjustment(mjd), 1);
+        assertEquals(rules.getTAIOffset(mjd), offset);
+        assertEquals(rules.getTAIOffset(mjd + 1), offset + 1);
+        assertEquals(rules.getLeapSecondAdjustment(mjd + 1), 0);
+        UTCInstant utc = UTCInstant.ofModifiedJulianDay(mjd, SECS_PER_DAY * NANOS_PER_SEC, rules);
+        assertEquals(rules.convertToUTC(rules.convertToTAI(utc)), utc);
+    }
+
+    //-----------------------------------------------------------------------
+    // convertEpochSecondsToTAI() / convertTAIToEpochSeconds()
+    //-----------------------------------------------------------------------
+    @DataProvider(name="bulkLeapDates")
+    Object[][] data_bulkLeapDates() {
+        long[] dates = rules.getLeapSecondDates();
+        return new Object[][] {
+            {dates[0]},
+            {dates[dates.length / 2]},
+            {dates[dates.length - 2]},
+            {dates[dates.length - 1]},
+            {MJD_2100},
+        };
+    }
+
+    @Test(dataProvider="bulkLeapDates")
+    public void test_convertEpochSecondsToTAI_matchesObjects(long mjd) {
+        long start = (mjd - 40587) * SECS_PER_DAY - 1200;
+        long[] epochSecs = new long[2500];
+        for (int i = 0; i < epochSecs.length; i++) {
+            epochSecs[i] = start + i;
+        }
+        long[] taiSecs = new long[epochSecs.length + 2];
+        rules.convertEpochSecondsToTAI(epochSecs, 0, taiSecs, 1, epochSecs.length);
+        for (int i = 0; i < epochSecs.length; i++) {
+            UTCInstant utc = rules.convertToUTC(Instant.ofEpochSecond(epochSecs[i]));
+            assertEquals(taiSecs[i + 1], rules.convertToTAI(utc).getTAISeconds(), "Failed at " + epochSecs[i]);
+        }
+        assertEquals(taiSecs[0], 0);
+        assertEquals(taiSecs[taiSecs.length - 1], 0);
+    }
+
+    @Test(dataProvider="bulkLeapDates")
+    public void test_convertTAIToEpochSeconds_matchesObjects(long mjd) {
+        long start = (mjd - 36204) * SECS_PER_DAY - 1200;
+        long[] taiSecs = new long[2500];
+        for (int i = 0; i < taiSecs.length; i++) {
+            taiSecs[i] = start + i;
+        }
+        long[] epochSecs = new long[taiSecs.length];
+        rules.convertTAIToEpochSeconds(taiSecs, 0, epochSecs, 0, taiSecs.length);
+        for (int i = 0; i < taiSecs.length; i++) {
+            UTCInstant utc = rules.convertToUTC(TAIInstant.ofTAISeconds(taiSecs[i], 0));
+            assertEquals(epochSecs[i], rules.convertToInstant(utc).getEpochSecond(), "Failed at " + taiSecs[i]);
+        }
+    }
+
+    public void test_convertTAIToEpochSeconds_negativeLeap() {
+        rules.registerLeapSecond(MJD_2100 - 1, -1);
+        long[] taiSecs = new long[2000];
+        for (int i = 0; i < taiSecs.length; i++) {
+            taiSecs[i] = TAI_SECS_UTC2100_EXTRA_NEGATIVE_LEAP - 1500 + i;
+        }
+        long[] epochSecs = new long[taiSecs.length];
+        rules.convertTAIToEpochSeconds(taiSecs, 0, epochSecs, 0, taiSecs.length);
+        long[] roundTrip = new long[taiSecs.length];
+        rules.convertEpochSecondsToTAI(epochSecs, 0, roundTrip, 0, taiSecs.length);
+        for (int i = 0; i < taiSecs.length; i++) {
+            UTCInstant utc = rules.convertToUTC(TAIInstant.ofTAISeconds(taiSecs[i], 0));
+            assertEquals(epochSecs[i], rules.convertToInstant(utc).getEpochSecond(), "Failed at " + taiSecs[i]);
+            UTCInstant back = rules.convertToUTC(Instant.ofEpochSecond(epochSecs[i]));
+            assertEquals(roundTrip[i], rules.convertToTAI(back).getTAISeconds(), "Failed at " + taiSecs[i]);
+        }
+    }
+
+    public void test_convertEpochSecondsToTAI_sameArray() {
+        long[] array = {0L, 1000000000L, 1230768000L};
+        long[] expected = new long[array.length];
+        rules.convertEpochSecondsToTAI(array, 0, expected, 0, array.length);
+        rules.convertEpochSecondsToTAI(array, 0, array, 0, array.length);
+        assertEquals(Arrays.equals(array, expected), true);
+    }
+
+    public void test_convertTAIToEpochSeconds_defaultImplementation() {
+        UTCRules delegating = new UTCRules() {
+            @Override
+            public String getName() {
+                return "Delegating";
+            }
+            @Override
+            public int getLeapSecondAdjustment(long mjDay) {
+                return rules.getLeapSecondAdjustment(mjDay);
+            }
+            @Override
+            public int getTAIOffset(long mjDay) {
+                return rules.getTAIOffset(mjDay);
+            }
+            @Override
+            public long[] getLeapSecondDates() {
+                return rules.getLeapSecondDates();
+            }
+            @Override
+            protected UTCInstant convertToUTC(TAIInstant taiInstant) {
+                UTCInstant utc = rules.convertToUTC(taiInstant);
+                return UTCInstant.ofModifiedJulianDay(utc.getModifiedJulianDay(), utc.getNanoOfDay(), this);
+            }
+        };
+        long[] taiSecs = new long[2500];
+        long start = (rules.getLeapSecondDates()[10] - 36204) * SECS_PER_DAY - 1200;
+        for (int i = 0; i < taiSecs.length; i++) {
+            taiSecs[i] = start + i;
+        }
+        long[] expected = new long[taiSecs.length];
+        long[] actual = new long[taiSecs.length];
+        rules.convertTAIToEpochSeconds(taiSecs, 0, expected, 0, taiSecs.length);
+        delegating.convertTAIToEpochSeconds(taiSecs, 0, actual, 0, taiSecs.length);
+        assertEquals(Arrays.equals(actual, expected), true);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_convertEpochSecondsToTAI_badLength() {
+        rules.convertEpochSecondsToTAI(new long[4], 1, new long[4], 0, 4);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_convertTAIToEpochSeconds_negativePos() {
+        rules.convertTAIToEpochSeconds(new long[4], 0, new long[4], -1, 2);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_convertEpochSecondsToTAI_null() {
+        rules.convertEpochSecondsToTAI(null, 0, new long[4], 0, 0);
+    }
+
     //-----------------------------------------------------------------------
     // toString()
     //-----------------------------------------------------------------------
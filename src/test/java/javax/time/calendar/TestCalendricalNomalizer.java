@@ -424,6 +424,46 @@ public class TestCalendricalNomalizer {
         }
     }
 
+    //-----------------------------------------------------------------------
+    public void test_merge_iso_dateTimeOffset() {
+        CalendricalNormalizer m = CalendricalNormalizer.merge(DATE_2011_06_30, TIME_11_30, OFFSET);
+        assertEquals(m.getInput(), cals(DATE_2011_06_30, TIME_11_30, OFFSET));
+        assertEquals(m.getRule(), null);
+        assertEquals(m.getChronology(false), ISOChronology.INSTANCE);
+        assertEquals(m.deriveChecked(OffsetDateTime.rule()), OFFSET_DATE_TIME_2011_06_30_11_30);
+    }
+
+    public void test_merge_iso_zone() {
+        ZonedDateTime zdt = ZonedDateTime.of(DATE_TIME_2011_06_30_11_30, ZoneId.of("Europe/Paris"));
+        CalendricalNormalizer m = CalendricalNormalizer.merge(zdt, DATE_2011_06_30, zdt.getZone());
+        assertEquals(m.getOffset(false), zdt.getOffset());
+        assertEquals(m.deriveChecked(ZonedDateTime.rule()), zdt);
+    }
+
+    public void test_merge_iso_matchesFull() {
+        CalendricalNormalizer iso = CalendricalNormalizer.merge(DATE_TIME_2011_06_30_11_30, OFFSET);
+        CalendricalNormalizer full = CalendricalNormalizer.merge(DATE_TIME_2011_06_30_11_30, OFFSET, FIELD_YEAR_2011);
+        assertEquals(iso.getDate(false), full.getDate(false));
+        assertEquals(iso.getTime(false), full.getTime(false));
+        assertEquals(iso.getOffset(false), full.getOffset(false));
+        assertEquals(iso.getChronology(false), full.getChronology(false));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_merge_iso_clash() {
+        CalendricalNormalizer.merge(OFFSET_DATE_TIME_2011_06_30_11_30, DATE_2011_06_30.plusDays(1));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_merge_iso_clashOffset() {
+        CalendricalNormalizer.merge(OFFSET_DATE_TIME_2011_06_30_11_30, ZoneOffset.UTC);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_merge_nullElement() {
+        CalendricalNormalizer.merge(DATE_2011_06_30, null);
+    }
+
     private List<Calendrical> cals(Calendrical... cals) {
         return Arrays.asList(cals);
     }
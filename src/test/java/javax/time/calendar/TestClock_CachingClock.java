@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import javax.time.Instant;
+import javax.time.TimeSource;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test CachingClock.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestClock_CachingClock {
+
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(2);
+    private static final OffsetDateTime DATE_TIME = OffsetDateTime.of(2008, 6, 30, 11, 30, 10, 500, OFFSET);
+    private static final TimeSource TIME_SOURCE = TimeSource.fixed(DATE_TIME);
+    private static final ZoneId ZONE = ZoneId.of("Europe/Paris");
+
+    //-----------------------------------------------------------------------
+    public void test_isSerializable() throws IOException, ClassNotFoundException {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        test.today();
+        assertTrue(test instanceof Serializable);
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(test);
+        oos.close();
+        
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        Clock deserialized = (Clock) ois.readObject();
+        assertEquals(deserialized, test);
+        assertEquals(deserialized.today(), test.today());
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_factory_nullTimeSource() {
+        Clock.cachingClock(null, ZONE);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_factory_nullZone() {
+        Clock.cachingClock(TIME_SOURCE, null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_get() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        assertEquals(test.getSource(), TIME_SOURCE);
+        assertEquals(test.getZone(), ZONE);
+    }
+
+    public void test_withSource() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        Clock changed = test.withSource(TimeSource.system());
+        assertEquals(test.getSource(), TIME_SOURCE);
+        assertEquals(test.getZone(), ZONE);
+        assertEquals(changed.getSource(), TimeSource.system());
+        assertEquals(changed.getZone(), ZONE);
+        assertEquals(changed, Clock.cachingClock(TimeSource.system(), ZONE));
+    }
+
+    public void test_withSource_same() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        Clock changed = test.withSource(TIME_SOURCE);
+        assertSame(test, changed);
+    }
+
+    public void test_withZone() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        ZoneId london = ZoneId.of("Europe/London");
+        Clock changed = test.withZone(london);
+        assertEquals(test.getSource(), TIME_SOURCE);
+        assertEquals(test.getZone(), ZONE);
+        assertEquals(changed.getSource(), TIME_SOURCE);
+        assertEquals(changed.getZone(), london);
+        assertEquals(changed, Clock.cachingClock(TIME_SOURCE, london));
+    }
+
+    public void test_withZone_same() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        Clock changed = test.withZone(ZONE);
+        assertSame(test, changed);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_sameSecond_cached() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        assertSame(test.today(), test.today());
+        assertSame(test.dateTimeToSecond(), test.dateTimeToSecond());
+        assertSame(test.offsetDateTimeToSecond(), test.offsetDateTimeToSecond());
+        assertSame(test.zonedDateTimeToSecond(), test.zonedDateTimeToSecond());
+    }
+
+    public void test_nextSecond_recalculated() {
+        MockTimeSource source = new MockTimeSource(DATE_TIME.toInstant());
+        Clock test = Clock.cachingClock(source, ZONE);
+        assertEquals(test.dateTimeToSecond(), LocalDateTime.of(2008, 6, 30, 11, 30, 10));
+        source.instant = source.instant.plusNanos(999999000);
+        assertEquals(test.dateTimeToSecond(), LocalDateTime.of(2008, 6, 30, 11, 30, 10));
+        source.instant = source.instant.plusNanos(1000);
+        assertEquals(test.dateTimeToSecond(), LocalDateTime.of(2008, 6, 30, 11, 30, 11));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="instants")
+    Object[][] data_instants() {
+        return new Object[][] {
+            {OffsetDateTime.of(2008, 6, 30, 11, 30, 10, 500, OFFSET).toInstant()},
+            {OffsetDateTime.of(2008, 12, 31, 23, 59, 59, 999999999, ZoneOffset.ofHours(1)).toInstant()},
+            // gap, 2008-03-30T01:00Z
+            {OffsetDateTime.of(2008, 3, 30, 1, 59, 58, 500000000, ZoneOffset.ofHours(1)).toInstant()},
+            // overlap, 2008-10-26T01:00Z
+            {OffsetDateTime.of(2008, 10, 26, 2, 59, 58, 500000000, ZoneOffset.ofHours(2)).toInstant()},
+            {OffsetDateTime.of(1969, 12, 31, 23, 59, 58, 750000000, ZoneOffset.UTC).toInstant()},
+        };
+    }
+
+    @Test(dataProvider="instants")
+    public void test_matchesTimeSourceClock(Instant start) {
+        MockTimeSource source = new MockTimeSource(start);
+        Clock test = Clock.cachingClock(source, ZONE);
+        Clock expected = Clock.clock(source, ZONE);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(test.today(), expected.today());
+            assertEquals(test.yearMonth(), expected.yearMonth());
+            assertEquals(test.time(), expected.time());
+            assertEquals(test.timeToSecond(), expected.timeToSecond());
+            assertEquals(test.timeToMinute(), expected.timeToMinute());
+            assertEquals(test.dateTime(), expected.dateTime());
+            assertEquals(test.dateTimeToSecond(), expected.dateTimeToSecond());
+            assertEquals(test.dateTimeToMinute(), expected.dateTimeToMinute());
+            assertEquals(test.offsetDate(), expected.offsetDate());
+            assertEquals(test.offsetTime(), expected.offsetTime());
+            assertEquals(test.offsetTimeToSecond(), expected.offsetTimeToSecond());
+            assertEquals(test.offsetDateTime(), expected.offsetDateTime());
+            assertEquals(test.offsetDateTimeToSecond(), expected.offsetDateTimeToSecond());
+            assertEquals(test.zonedDateTime(), expected.zonedDateTime());
+            assertEquals(test.zonedDateTimeToSecond(), expected.zonedDateTimeToSecond());
+            source.instant = source.instant.plusNanos(250000000);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        assertTrue(test.equals(test));
+        assertTrue(test.equals(Clock.cachingClock(TIME_SOURCE, ZONE)));
+        
+        assertFalse(test.equals(null));
+        assertFalse(test.equals(new Object()));
+        assertFalse(test.equals(Clock.clock(TIME_SOURCE, ZONE)));
+        assertFalse(test.equals(Clock.cachingClock(TIME_SOURCE, ZoneId.of(ZoneOffset.ofHours(1)))));
+    }
+
+    public void test_hashCode() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        assertEquals(test.hashCode(), test.hashCode());
+        assertEquals(test.hashCode(), Clock.cachingClock(TIME_SOURCE, ZONE).hashCode());
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        Clock test = Clock.cachingClock(TIME_SOURCE, ZONE);
+        assertEquals(test.toString(), "CachingClock[" + TIME_SOURCE + ", " + ZONE + ']');
+    }
+
+    //-----------------------------------------------------------------------
+    static class MockTimeSource extends TimeSource {
+        Instant instant;
+        MockTimeSource(Instant instant) {
+            this.instant = instant;
+        }
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static javax.time.calendar.ISODateTimeRule.WEEK_BASED_YEAR;
+import static javax.time.calendar.ISODateTimeRule.WEEK_OF_WEEK_BASED_YEAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import javax.time.CalendricalException;
+import javax.time.calendar.zone.ZoneRules;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test EpochConversions.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestEpochConversions {
+
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN_DATE.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX_DATE.toEpochDay();
+
+    private static long[] epochDays() {
+        long[] days = new long[6 * 800 + 8];
+        int i = 0;
+        for (long day = -800; day < 800; day++) {
+            days[i++] = day;
+        }
+        for (long day = -800; day < 800; day++) {
+            days[i++] = day * 373 + 11;  // spread over several 400 year cycles
+        }
+        for (long day = 0; day < 800; day++) {
+            days[i++] = LocalDate.of(-4000, 1, 1).toEpochDay() + day * 1777;
+        }
+        for (long day = 0; day < 800; day++) {
+            days[i++] = LocalDate.of(1999, 12, 20).toEpochDay() + day;
+        }
+        days[i++] = LocalDate.of(-(1 << 22), 1, 1).toEpochDay();
+        days[i++] = LocalDate.of((1 << 22) - 1, 12, 31).toEpochDay();
+        days[i++] = LocalDate.of(-1, 12, 31).toEpochDay();
+        days[i++] = LocalDate.of(0, 1, 1).toEpochDay();
+        days[i++] = LocalDate.of(0, 2, 29).toEpochDay();
+        days[i++] = LocalDate.of(0, 3, 1).toEpochDay();
+        days[i++] = LocalDate.of(-400, 2, 29).toEpochDay();
+        days[i++] = LocalDate.of(-401, 3, 1).toEpochDay();
+        return days;
+    }
+
+    //-----------------------------------------------------------------------
+    @SuppressWarnings("rawtypes")
+    public void test_constructor() throws Exception {
+        for (Constructor constructor : EpochConversions.class.getDeclaredConstructors()) {
+            assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // packDate()
+    //-----------------------------------------------------------------------
+    public void test_packDate() {
+        int packed = EpochConversions.packDate(2008, 6, 30);
+        assertEquals(EpochConversions.unpackYear(packed), 2008);
+        assertEquals(EpochConversions.unpackMonthOfYear(packed), 6);
+        assertEquals(EpochConversions.unpackDayOfMonth(packed), 30);
+    }
+
+    public void test_packDate_negative() {
+        int packed = EpochConversions.packDate(-(1 << 22), 12, 31);
+        assertEquals(EpochConversions.unpackYear(packed), -(1 << 22));
+        assertEquals(EpochConversions.unpackMonthOfYear(packed), 12);
+        assertEquals(EpochConversions.unpackDayOfMonth(packed), 31);
+    }
+
+    public void test_packDate_ordering() {
+        assertTrue(EpochConversions.packDate(-1, 12, 31) < EpochConversions.packDate(0, 1, 1));
+        assertTrue(EpochConversions.packDate(2008, 6, 30) < EpochConversions.packDate(2008, 7, 1));
+        assertTrue(EpochConversions.packDate(2008, 12, 31) < EpochConversions.packDate(2009, 1, 1));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_packDate_invalidDate() {
+        EpochConversions.packDate(2007, 2, 29);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_packDate_yearTooLarge() {
+        EpochConversions.packDate(1 << 22, 1, 1);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_packDate_yearTooSmall() {
+        EpochConversions.packDate(-(1 << 22) - 1, 12, 31);
+    }
+
+    //-----------------------------------------------------------------------
+    // epoch-seconds
+    //-----------------------------------------------------------------------
+    public void test_epochSecondsToEpochDays() {
+        long[] secs = {0, 1, 86399, 86400, -1, -86400, -86401, Long.MAX_VALUE, Long.MIN_VALUE};
+        long[] days = new long[secs.length + 1];
+        EpochConversions.epochSecondsToEpochDays(secs, 0, days, 1, secs.length);
+        for (int i = 0; i < secs.length; i++) {
+            assertEquals(days[i + 1], (long) Math.floor(secs[i] / 86400d), "" + secs[i]);
+        }
+        assertEquals(days[0], 0);
+    }
+
+    public void test_epochSecondsToSecondOfDay() {
+        long[] secs = {0, 1, 86399, 86400, -1, -86400, -86401};
+        int[] sod = new int[secs.length];
+        EpochConversions.epochSecondsToSecondOfDay(secs, 0, sod, 0, secs.length);
+        assertTrue(Arrays.equals(sod, new int[] {0, 1, 86399, 0, 86399, 0, 86399}));
+    }
+
+    public void test_epochSecondsToPackedDates() {
+        long[] days = epochDays();
+        long[] secs = new long[days.length * 2];
+        for (int i = 0; i < days.length; i++) {
+            secs[i * 2] = days[i] * 86400;
+            secs[i * 2 + 1] = days[i] * 86400 + 86399;
+        }
+        int[] packed = new int[secs.length];
+        EpochConversions.epochSecondsToPackedDates(secs, 0, packed, 0, secs.length);
+        for (int i = 0; i < secs.length; i++) {
+            LocalDate expected = LocalDate.ofEpochDay(days[i / 2]);
+            assertEquals(packed[i], EpochConversions.packDate(expected.getYear(), expected.getMonthOfYear().getValue(), expected.getDayOfMonth()));
+        }
+    }
+
+    public void test_epochSecondsToLocalEpochSeconds_fixed() {
+        long[] secs = {0, 86400, -7200};
+        long[] local = new long[3];
+        EpochConversions.epochSecondsToLocalEpochSeconds(secs, 0, ZoneRules.ofFixed(ZoneOffset.ofHours(-2)), local, 0, 3);
+        assertTrue(Arrays.equals(local, new long[] {-7200, 79200, -14400}));
+    }
+
+    public void test_epochSecondsToLocalEpochSeconds_zone() {
+        ZoneRules rules = ZoneId.of("Europe/Paris").getRules();
+        long[] secs = new long[2000];
+        long start = OffsetDateTime.of(2008, 1, 1, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        for (int i = 0; i < secs.length; i++) {
+            secs[i] = start + i * 15937L;
+        }
+        long[] local = new long[secs.length];
+        EpochConversions.epochSecondsToLocalEpochSeconds(secs, 0, rules, local, 0, secs.length);
+        for (int i = 0; i < secs.length; i++) {
+            LocalDateTime ldt = OffsetDateTime.ofEpochSecond(secs[i], ZoneOffset.UTC).atZoneSameInstant(ZoneId.of("Europe/Paris")).toLocalDateTime();
+            assertEquals(local[i], OffsetDateTime.of(ldt, ZoneOffset.UTC).toEpochSecond());
+        }
+    }
+
+    public void test_epochSecondsToLocalEpochSeconds_empty() {
+        EpochConversions.epochSecondsToLocalEpochSeconds(new long[0], 0, ZoneRules.ofFixed(ZoneOffset.UTC), new long[0], 0, 0);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_epochSecondsToLocalEpochSeconds_nullRules() {
+        EpochConversions.epochSecondsToLocalEpochSeconds(new long[1], 0, null, new long[1], 0, 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // epoch-days
+    //-----------------------------------------------------------------------
+    public void test_epochDaysToPackedDates() {
+        long[] days = epochDays();
+        int[] packed = new int[days.length];
+        EpochConversions.epochDaysToPackedDates(days, 0, packed, 0, days.length);
+        for (int i = 0; i < days.length; i++) {
+            LocalDate expected = LocalDate.ofEpochDay(days[i]);
+            assertEquals(EpochConversions.unpackYear(packed[i]), expected.getYear());
+            assertEquals(EpochConversions.unpackMonthOfYear(packed[i]), expected.getMonthOfYear().getValue());
+            assertEquals(EpochConversions.unpackDayOfMonth(packed[i]), expected.getDayOfMonth());
+        }
+        long[] roundTrip = new long[days.length];
+        EpochConversions.packedDatesToEpochDays(packed, 0, roundTrip, 0, days.length);
+        assertTrue(Arrays.equals(roundTrip, days));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_epochDaysToPackedDates_yearTooLarge() {
+        long[] days = {LocalDate.of(1 << 22, 1, 1).toEpochDay()};
+        EpochConversions.epochDaysToPackedDates(days, 0, new int[1], 0, 1);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_epochDaysToPackedDates_outOfRange() {
+        EpochConversions.epochDaysToPackedDates(new long[] {Long.MIN_VALUE}, 0, new int[1], 0, 1);
+    }
+
+    public void test_epochDaysToDayOfWeek() {
+        long[] days = epochDays();
+        int[] dow = new int[days.length];
+        EpochConversions.epochDaysToDayOfWeek(days, 0, dow, 0, days.length);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(dow[i], LocalDate.ofEpochDay(days[i]).getDayOfWeek().getValue());
+        }
+    }
+
+    public void test_epochDaysToDayOfYear() {
+        long[] days = epochDays();
+        int[] doy = new int[days.length];
+        EpochConversions.epochDaysToDayOfYear(days, 0, doy, 0, days.length);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(doy[i], LocalDate.ofEpochDay(days[i]).getDayOfYear());
+        }
+    }
+
+    public void test_epochDaysToISOWeeks() {
+        long[] days = epochDays();
+        int[] wby = new int[days.length];
+        int[] week = new int[days.length];
+        EpochConversions.epochDaysToISOWeeks(days, 0, wby, week, 0, days.length);
+        for (int i = 0; i < days.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(days[i]);
+            assertEquals(wby[i], date.get(WEEK_BASED_YEAR).getValue(), date.toString());
+            assertEquals(week[i], date.get(WEEK_OF_WEEK_BASED_YEAR).getValue(), date.toString());
+        }
+    }
+
+    public void test_epochDays_limits() {
+        long[] days = {MIN_EPOCH_DAY, MAX_EPOCH_DAY};
+        int[] dow = new int[2];
+        int[] doy = new int[2];
+        EpochConversions.epochDaysToDayOfWeek(days, 0, dow, 0, 2);
+        EpochConversions.epochDaysToDayOfYear(days, 0, doy, 0, 2);
+        assertEquals(dow[0], LocalDate.MIN_DATE.getDayOfWeek().getValue());
+        assertEquals(dow[1], LocalDate.MAX_DATE.getDayOfWeek().getValue());
+        assertTrue(Arrays.equals(doy, new int[] {1, 365}));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_epochDaysToDayOfWeek_tooSmall() {
+        EpochConversions.epochDaysToDayOfWeek(new long[] {MIN_EPOCH_DAY - 1}, 0, new int[1], 0, 1);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_epochDaysToDayOfYear_tooLarge() {
+        EpochConversions.epochDaysToDayOfYear(new long[] {MAX_EPOCH_DAY + 1}, 0, new int[1], 0, 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // ranges
+    //-----------------------------------------------------------------------
+    public void test_range_partial() {
+        long[] days = {0, 1, 2, 3};
+        int[] dow = new int[6];
+        EpochConversions.epochDaysToDayOfWeek(days, 1, dow, 3, 2);
+        assertTrue(Arrays.equals(dow, new int[] {0, 0, 0, 5, 6, 0}));
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_range_srcTooShort() {
+        EpochConversions.epochDaysToDayOfWeek(new long[2], 1, new int[4], 0, 2);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_range_destTooShort() {
+        EpochConversions.epochDaysToDayOfWeek(new long[4], 0, new int[4], 3, 2);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_range_negativeLength() {
+        EpochConversions.epochDaysToDayOfWeek(new long[4], 0, new int[4], 0, -1);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_range_weeksTooShort() {
+        EpochConversions.epochDaysToISOWeeks(new long[4], 0, new int[4], new int[3], 0, 4);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_nullSource() {
+        EpochConversions.epochDaysToDayOfWeek(null, 0, new int[4], 0, 0);
+    }
+
+}
@@ -506,6 +506,49 @@ public class TestISOChronology {
         assertEquals(test, list);
     }
 
+    //-----------------------------------------------------------------------
+    // lookup tables
+    //-----------------------------------------------------------------------
+    public void test_lookupTables_matchesWalk() {
+        int year = ISOChronology.TABLE_MIN_YEAR - 2;
+        MonthOfYear month = MonthOfYear.JANUARY;
+        int dom = 1;
+        int doy = 1;
+        long epochDay = -(72L * 365L + 17L);  // 1898-01-01
+        DayOfWeek dow = DayOfWeek.SATURDAY;
+        while (year <= ISOChronology.TABLE_MAX_YEAR + 2) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            assertEquals(date.getYear(), year);
+            assertSame(date.getMonthOfYear(), month);
+            assertEquals(date.getDayOfMonth(), dom);
+            assertEquals(date.getDayOfYear(), doy);
+            assertSame(date.getDayOfWeek(), dow);
+            assertEquals(LocalDate.of(year, month, dom).toEpochDay(), epochDay);
+            
+            epochDay++;
+            doy++;
+            dow = dow.next();
+            dom++;
+            if (dom > month.lengthInDays(ISOChronology.isLeapYear(year))) {
+                dom = 1;
+                month = month.next();
+                if (month == MonthOfYear.JANUARY) {
+                    year++;
+                    doy = 1;
+                }
+            }
+        }
+    }
+
+    public void test_lookupTables_boundaries() {
+        assertEquals(LocalDate.of(ISOChronology.TABLE_MIN_YEAR, 1, 1).toYearZeroDay(), ISOChronology.DAYS_0000_TO_TABLE_START);
+        assertEquals(LocalDate.of(1970, 1, 1).toYearZeroDay(), ISOChronology.DAYS_0000_TO_1970);
+        long end = ISOChronology.DAYS_0000_TO_TABLE_START + ISOChronology.TABLE_DAYS;
+        assertEquals(LocalDate.ofYearZeroDay(end - 1), LocalDate.of(ISOChronology.TABLE_MAX_YEAR, 12, 31));
+        assertEquals(LocalDate.ofYearZeroDay(end), LocalDate.of(ISOChronology.TABLE_MAX_YEAR + 1, 1, 1));
+        assertEquals(LocalDate.ofYearZeroDay(ISOChronology.DAYS_0000_TO_TABLE_START - 1), LocalDate.of(ISOChronology.TABLE_MIN_YEAR - 1, 12, 31));
+    }
+
     //-----------------------------------------------------------------------
     public void test_toString() throws Exception {
         assertEquals(ISOChronology.INSTANCE.toString(), "ISO");
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.time.CalendricalException;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test PackedDateTimes.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestPackedDateTimes {
+
+    private static final LocalDateTime MIN_PACKED = LocalDateTime.of(1677, 9, 21, 0, 12, 43, 145224192);
+    private static final LocalDateTime MAX_PACKED = LocalDateTime.of(2262, 4, 11, 23, 47, 16, 854775807);
+
+    @SuppressWarnings("rawtypes")
+    public void test_constructor() throws Exception {
+        for (Constructor constructor : PackedDateTimes.class.getDeclaredConstructors()) {
+            assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // dates
+    //-----------------------------------------------------------------------
+    public void test_packDate() {
+        LocalDate date = LocalDate.of(2008, 6, 30);
+        int packed = PackedDateTimes.packDate(date);
+        assertEquals(PackedDateTimes.getYear(packed), 2008);
+        assertEquals(PackedDateTimes.getMonthOfYear(packed), 6);
+        assertEquals(PackedDateTimes.getDayOfMonth(packed), 30);
+        assertEquals(PackedDateTimes.unpackDate(packed), date);
+        assertEquals(packed, EpochConversions.packDate(2008, 6, 30));
+    }
+
+    public void test_packDate_ordering() {
+        LocalDate date = LocalDate.of(-3, 1, 1);
+        int previous = PackedDateTimes.packDate(date.minusDays(1));
+        for (int i = 0; i < 2000; i++) {
+            int packed = PackedDateTimes.packDate(date);
+            assertTrue(packed > previous);
+            assertEquals(PackedDateTimes.unpackDate(packed), date);
+            previous = packed;
+            date = date.plusDays(1);
+        }
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_packDate_tooBig() {
+        PackedDateTimes.packDate(LocalDate.of(1 << 22, 1, 1));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_unpackDate_invalid() {
+        PackedDateTimes.unpackDate(EpochConversions.packDate(2007, 2, 28) + 1);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_packDate_null() {
+        PackedDateTimes.packDate(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // times
+    //-----------------------------------------------------------------------
+    public void test_packTime() {
+        LocalTime time = LocalTime.of(23, 59, 58, 123456789);
+        long packed = PackedDateTimes.packTime(time);
+        assertEquals(PackedDateTimes.getHourOfDay(packed), 23);
+        assertEquals(PackedDateTimes.getMinuteOfHour(packed), 59);
+        assertEquals(PackedDateTimes.getSecondOfMinute(packed), 58);
+        assertEquals(PackedDateTimes.getNanoOfSecond(packed), 123456789);
+        assertEquals(PackedDateTimes.unpackTime(packed), time);
+        assertEquals(PackedDateTimes.packTime(LocalTime.MIDNIGHT), 0);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_unpackTime_invalid() {
+        PackedDateTimes.unpackTime(-1);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_packTime_null() {
+        PackedDateTimes.packTime(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // date-times
+    //-----------------------------------------------------------------------
+    public void test_packDateTime_random() {
+        Random random = new Random(47658758756875687L);
+        List<LocalDateTime> dateTimes = new ArrayList<LocalDateTime>();
+        List<Long> packedList = new ArrayList<Long>();
+        for (int i = 0; i < 5000; i++) {
+            LocalDateTime dt = LocalDateTime.of(
+                    random.nextInt(580) + 1678, random.nextInt(12) + 1, random.nextInt(28) + 1,
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000000000));
+            long packed = PackedDateTimes.packDateTime(dt);
+            assertEquals(PackedDateTimes.unpackDateTime(packed), dt);
+            int packedDate = PackedDateTimes.getDate(packed);
+            assertEquals(PackedDateTimes.getYear(packedDate), dt.getYear());
+            assertEquals(PackedDateTimes.getMonthOfYear(packedDate), dt.getMonthOfYear().getValue());
+            assertEquals(PackedDateTimes.getDayOfMonth(packedDate), dt.getDayOfMonth());
+            long packedTime = PackedDateTimes.getTime(packed);
+            assertEquals(PackedDateTimes.getHourOfDay(packedTime), dt.getHourOfDay());
+            assertEquals(PackedDateTimes.getMinuteOfHour(packedTime), dt.getMinuteOfHour());
+            assertEquals(PackedDateTimes.getSecondOfMinute(packedTime), dt.getSecondOfMinute());
+            assertEquals(PackedDateTimes.getNanoOfSecond(packedTime), dt.getNanoOfSecond());
+            dateTimes.add(dt);
+            packedList.add(packed);
+        }
+        Collections.sort(dateTimes);
+        Collections.sort(packedList);
+        for (int i = 0; i < dateTimes.size(); i++) {
+            assertEquals(PackedDateTimes.unpackDateTime(packedList.get(i)), dateTimes.get(i));
+        }
+    }
+
+    public void test_packDateTime_limits() {
+        assertEquals(PackedDateTimes.packDateTime(MIN_PACKED), Long.MIN_VALUE);
+        assertEquals(PackedDateTimes.packDateTime(MAX_PACKED), Long.MAX_VALUE);
+        assertEquals(PackedDateTimes.unpackDateTime(Long.MIN_VALUE), MIN_PACKED);
+        assertEquals(PackedDateTimes.unpackDateTime(Long.MAX_VALUE), MAX_PACKED);
+        assertEquals(PackedDateTimes.packDateTime(LocalDateTime.of(1970, 1, 1, 0, 0)), 0);
+        assertEquals(PackedDateTimes.getDate(-1), EpochConversions.packDate(1969, 12, 31));
+        assertEquals(PackedDateTimes.getTime(-1), 86400L * 1000000000L - 1);
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_packDateTime_tooEarly() {
+        PackedDateTimes.packDateTime(MIN_PACKED.minusNanos(1));
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_packDateTime_tooLate() {
+        PackedDateTimes.packDateTime(MAX_PACKED.plusNanos(1));
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_packDateTime_null() {
+        PackedDateTimes.packDateTime(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // offset date-times
+    //-----------------------------------------------------------------------
+    public void test_packOffsetDateTime() {
+        OffsetDateTime odt = OffsetDateTime.of(2008, 6, 30, 11, 30, 59, 500, ZoneOffset.ofHours(2));
+        long packed = PackedDateTimes.packOffsetDateTime(odt);
+        int offset = odt.getOffset().getAmountSeconds();
+        assertEquals(packed, odt.toEpochSecond() * 1000000000L + 500);
+        assertEquals(PackedDateTimes.unpackOffsetDateTime(packed, offset), odt);
+        long local = PackedDateTimes.getLocalDateTime(packed, offset);
+        assertEquals(local, PackedDateTimes.packDateTime(odt.toLocalDateTime()));
+    }
+
+    public void test_packOffsetDateTime_ordering() {
+        OffsetDateTime[] odts = {
+            OffsetDateTime.of(2008, 6, 30, 11, 0, ZoneOffset.ofHours(2)),
+            OffsetDateTime.of(2008, 6, 30, 10, 0, ZoneOffset.ofHours(0)),
+            OffsetDateTime.of(2008, 6, 30, 11, 0, ZoneOffset.ofHours(1)),
+            OffsetDateTime.of(2008, 6, 30, 12, 0, ZoneOffset.ofHours(2)),
+            OffsetDateTime.of(1900, 1, 1, 0, 0, ZoneOffset.ofHours(-5)),
+        };
+        for (OffsetDateTime a : odts) {
+            for (OffsetDateTime b : odts) {
+                long packedA = PackedDateTimes.packOffsetDateTime(a);
+                long packedB = PackedDateTimes.packOffsetDateTime(b);
+                int cmp = (packedA < packedB ? -1 : (packedA > packedB ? 1 :
+                    Integer.signum(a.getOffset().getAmountSeconds() - b.getOffset().getAmountSeconds())));
+                assertEquals(cmp, Integer.signum(a.compareTo(b)), a + " " + b);
+            }
+        }
+    }
+
+    public void test_packOffsetDateTime_limits() {
+        OffsetDateTime min = PackedDateTimes.unpackOffsetDateTime(Long.MIN_VALUE, 3600);
+        OffsetDateTime max = PackedDateTimes.unpackOffsetDateTime(Long.MAX_VALUE, -3600);
+        assertEquals(min, MIN_PACKED.plusHours(1).atOffset(ZoneOffset.ofHours(1)));
+        assertEquals(max, MAX_PACKED.minusHours(1).atOffset(ZoneOffset.ofHours(-1)));
+        assertEquals(PackedDateTimes.packOffsetDateTime(min), Long.MIN_VALUE);
+        assertEquals(PackedDateTimes.packOffsetDateTime(max), Long.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions=ArithmeticException.class)
+    public void test_packOffsetDateTime_tooEarly() {
+        PackedDateTimes.packOffsetDateTime(MIN_PACKED.minusNanos(1).atOffset(ZoneOffset.UTC));
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_unpackOffsetDateTime_invalidOffset() {
+        PackedDateTimes.unpackOffsetDateTime(0, 19 * 3600);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_packOffsetDateTime_null() {
+        PackedDateTimes.packOffsetDateTime(null);
+    }
+
+}
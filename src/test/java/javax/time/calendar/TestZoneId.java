@@ -48,15 +48,22 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import javax.time.CalendricalException;
 import javax.time.Instant;
 import javax.time.calendar.format.DateTimeFormatterBuilder.TextStyle;
 import javax.time.calendar.zone.ZoneOffsetInfo;
 import javax.time.calendar.zone.ZoneOffsetTransition;
+import javax.time.calendar.zone.ZoneRules;
+import javax.time.calendar.zone.ZoneRulesDataProvider;
+import javax.time.calendar.zone.ZoneRulesGroup;
+import javax.time.calendar.zone.ZoneRulesVersion;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -514,6 +521,54 @@ public class TestZoneId {
         assertEquals(test.getVersionID(), "");
     }
 
+    //-------------------------------------------------------------------------
+    @DataProvider(name="String_cached")
+    Object[][] data_of_string_cached() {
+        return new Object[][] {
+            {"Europe/London", "TZDB", "Europe/London", ""},
+            {"TZDB:Europe/London", "TZDB", "Europe/London", ""},
+            {"Europe/London#2008i", "TZDB", "Europe/London", "2008i"},
+            {"TZDB:Europe/London#2008i", "TZDB", "Europe/London", "2008i"},
+            {"UTC+01:00", "", "UTC+01:00", ""},
+        };
+    }
+
+    @Test(dataProvider="String_cached")
+    public void test_of_string_cached(String id, String groupID, String regionID, String versionID) {
+        ZoneId test = ZoneId.of(id);
+        assertEquals(test.getGroupID(), groupID);
+        assertEquals(test.getRegionID(), regionID);
+        assertEquals(test.getVersionID(), versionID);
+        assertSame(ZoneId.of(id), test);
+        assertSame(ZoneId.of(new String(id)), test);
+    }
+
+    public void test_of_string_cached_afterManyIDs() {
+        for (int i = 1; i <= 1100; i++) {
+            ZoneId.of("UTC" + ZoneOffset.ofTotalSeconds(i));
+        }
+        assertSame(ZoneId.of("Europe/Paris"), ZoneId.of("Europe/Paris"));
+    }
+
+    public void test_of_string_cached_alias() {
+        assertSame(ZoneId.of("PST", ZoneId.OLD_IDS_POST_2005), ZoneId.of("America/Los_Angeles"));
+    }
+
+    public void test_ofUnchecked_string_notCached() {
+        ZoneId test = ZoneId.ofUnchecked("Europe/London");
+        assertEquals(test, ZoneId.of("Europe/London"));
+        assertEquals(test == ZoneId.ofUnchecked("Europe/London"), false);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_of_string_invalidNotCached() {
+        try {
+            ZoneId.of("Europe/Unknown");
+        } catch (CalendricalException ex) {
+            ZoneId.of("Europe/Unknown");
+        }
+    }
+
     //-----------------------------------------------------------------------
     // from()
     //-----------------------------------------------------------------------
@@ -1284,6 +1339,63 @@ public class TestZoneId {
 //        assertTrue(offset2.compareTo(offset2) == 0);
 //    }
 
+    //-----------------------------------------------------------------------
+    // getRules() caching
+    //-----------------------------------------------------------------------
+    public void test_getRules_cached() {
+        ZoneId test = ZoneId.of("Europe/London");
+        assertSame(test.getRules(), test.getRules());
+        assertSame(test.getRulesValidFor(OffsetDateTime.ofMidnight(2008, 6, 30, ZoneOffset.ofHours(1))), test.getRules());
+    }
+
+    public void test_getRules_newVersionRegistered() {
+        ZoneRulesGroup.registerProvider(new MockCacheProvider("v1", ZoneOffset.ofHours(1)));
+        ZoneId floating = ZoneId.of("CACHEMOCK:Place");
+        ZoneId fixed = ZoneId.of("CACHEMOCK:Place#v1");
+        assertEquals(floating.getRules(), ZoneRules.ofFixed(ZoneOffset.ofHours(1)));
+        assertEquals(fixed.getRules(), ZoneRules.ofFixed(ZoneOffset.ofHours(1)));
+        
+        int generation = ZoneRulesGroup.getGeneration();
+        ZoneRulesGroup.registerProvider(new MockCacheProvider("v2", ZoneOffset.ofHours(2)));
+        assertTrue(ZoneRulesGroup.getGeneration() != generation);
+        assertEquals(floating.getRules(), ZoneRules.ofFixed(ZoneOffset.ofHours(2)));
+        assertEquals(floating.getRulesValidFor(OffsetDateTime.ofMidnight(2008, 6, 30, ZoneOffset.ofHours(2))),
+                ZoneRules.ofFixed(ZoneOffset.ofHours(2)));
+        assertEquals(fixed.getRules(), ZoneRules.ofFixed(ZoneOffset.ofHours(1)));
+    }
+
+    static class MockCacheProvider implements ZoneRulesDataProvider {
+        private final String versionID;
+        private final ZoneOffset offset;
+        MockCacheProvider(String versionID, ZoneOffset offset) {
+            this.versionID = versionID;
+            this.offset = offset;
+        }
+        public String getGroupID() {
+            return "CACHEMOCK";
+        }
+        public Set<ZoneRulesVersion> getVersions() {
+            ZoneRulesVersion version = new ZoneRulesVersion() {
+                public String getVersionID() {
+                    return versionID;
+                }
+                public boolean isRegionID(String regionID) {
+                    return regionID.equals("Place");
+                }
+                public Set<String> getRegionIDs() {
+                    return new HashSet<String>(Arrays.asList("Place"));
+                }
+                public ZoneRules getZoneRules(String regionID) {
+                    return ZoneRules.ofFixed(offset);
+                }
+            };
+            return new HashSet<ZoneRulesVersion>(Arrays.asList(version));
+        }
+        public Set<String> getRegionIDs() {
+            return new HashSet<String>(Arrays.asList("Place"));
+        }
+    }
+
     //-----------------------------------------------------------------------
     // equals() / hashCode()
     //-----------------------------------------------------------------------
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.time.Instant;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test ZonedDateTimeColumn.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestZonedDateTimeColumn {
+
+    private static final ZoneId ZONE_PARIS = ZoneId.of("Europe/Paris");
+    private static final ZoneId ZONE_LONDON = ZoneId.of("Europe/London");
+    private static final ZoneId ZONE_PLUS1 = ZoneId.of(ZoneOffset.ofHours(1));
+
+    private static List<ZonedDateTime> randomDateTimes(int size) {
+        ZoneId[] zones = {ZONE_PARIS, ZONE_LONDON, ZONE_PLUS1, ZoneId.of("America/New_York")};
+        Random random = new Random(47658758756875687L);
+        List<ZonedDateTime> list = new ArrayList<ZonedDateTime>();
+        for (int i = 0; i < size; i++) {
+            long epochSecond = 1200000000L + random.nextInt(100000000);
+            if (i % 3 == 0) {
+                epochSecond = 1200000000L + random.nextInt(20);  // force equal instants
+            }
+            Instant instant = Instant.ofEpochSecond(epochSecond, random.nextInt(2) * 500000000);
+            list.add(ZonedDateTime.ofInstant(instant, zones[random.nextInt(zones.length)]));
+        }
+        return list;
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_add_get() {
+        ZonedDateTime dt1 = ZonedDateTime.of(2008, 6, 30, 11, 30, 59, 500, ZONE_PARIS, ZoneResolvers.strict());
+        ZonedDateTime dt2 = ZonedDateTime.of(2008, 10, 26, 1, 30, 0, 0, ZONE_LONDON, ZoneResolvers.postTransition());
+        ZonedDateTimeColumn test = new ZonedDateTimeColumn(0);
+        test.add(dt1);
+        test.add(dt2);
+        test.add(dt1);
+        assertEquals(test.size(), 3);
+        assertEquals(test.get(0), dt1);
+        assertEquals(test.get(1), dt2);
+        assertEquals(test.get(2), dt1);
+        assertEquals(test.getEpochSecond(0), dt1.toEpochSecond());
+        assertEquals(test.getNanoOfSecond(0), 500);
+        assertEquals(test.getOffsetSeconds(1), dt2.getOffset().getAmountSeconds());
+        assertEquals(test.getInstant(1), dt2.toInstant());
+        assertEquals(test.getZoneIndex(0), 0);
+        assertEquals(test.getZoneIndex(1), 1);
+        assertEquals(test.getZoneIndex(2), 0);
+        assertEquals(test.getZones().size(), 2);
+        assertEquals(test.getZones().get(1), ZONE_LONDON);
+    }
+
+    public void test_get_overlapRetainsOffset() {
+        LocalDateTime overlap = LocalDateTime.of(2008, 10, 26, 1, 30);
+        ZonedDateTime earlier = ZonedDateTime.of(overlap, ZONE_LONDON, ZoneResolvers.preTransition());
+        ZonedDateTime later = ZonedDateTime.of(overlap, ZONE_LONDON, ZoneResolvers.postTransition());
+        ZonedDateTimeColumn test = new ZonedDateTimeColumn();
+        test.add(later);
+        test.add(earlier);
+        assertEquals(test.get(0), later);
+        assertEquals(test.get(1), earlier);
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_getZones_unmodifiable() {
+        new ZonedDateTimeColumn().getZones().add(ZONE_PARIS);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_getOffsetSeconds_invalid() {
+        new ZonedDateTimeColumn().getOffsetSeconds(0);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_add_null() {
+        new ZonedDateTimeColumn().add(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_sort_matchesCompareTo() {
+        List<ZonedDateTime> list = randomDateTimes(3000);
+        ZonedDateTimeColumn test = new ZonedDateTimeColumn();
+        test.addAll(list);
+        test.sort();
+        Collections.sort(list);
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(test.get(i), list.get(i));
+        }
+    }
+
+    public void test_binarySearch_subColumn() {
+        List<ZonedDateTime> list = randomDateTimes(1000);
+        ZonedDateTimeColumn test = new ZonedDateTimeColumn();
+        test.addAll(list);
+        test.sort();
+        Collections.sort(list);
+        Instant start = Instant.ofEpochSecond(1200000010L);
+        int index = test.binarySearch(start);
+        assertTrue(index >= 0);
+        assertEquals(test.getInstant(index), start);
+        assertTrue(index == 0 || test.getInstant(index - 1).isBefore(start));
+        
+        Instant end = Instant.ofEpochSecond(1250000000L);
+        ZonedDateTimeColumn sub = test.subColumn(start, end);
+        List<ZonedDateTime> expected = new ArrayList<ZonedDateTime>();
+        for (ZonedDateTime dt : list) {
+            if (dt.toInstant().isBefore(start) == false && dt.toInstant().isBefore(end)) {
+                expected.add(dt);
+            }
+        }
+        assertEquals(sub.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(sub.get(i), expected.get(i));
+        }
+        sub.add(ZonedDateTime.ofInstant(start, ZoneId.of("Asia/Tokyo")));
+        assertEquals(test.getZones().size(), 4);
+        assertEquals(sub.getZones().size(), 5);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_subColumn_invalid() {
+        new ZonedDateTimeColumn().subColumn(0, 1);
+    }
+
+}
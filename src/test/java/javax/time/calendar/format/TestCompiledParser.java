@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import static javax.time.calendar.ISODateTimeRule.DAY_OF_MONTH;
+import static javax.time.calendar.ISODateTimeRule.HOUR_OF_DAY;
+import static javax.time.calendar.ISODateTimeRule.MINUTE_OF_HOUR;
+import static javax.time.calendar.ISODateTimeRule.MONTH_OF_YEAR;
+import static javax.time.calendar.ISODateTimeRule.NANO_OF_SECOND;
+import static javax.time.calendar.ISODateTimeRule.SECOND_OF_MINUTE;
+import static javax.time.calendar.ISODateTimeRule.YEAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.time.calendar.Calendrical;
+import javax.time.calendar.DateTimeField;
+import javax.time.calendar.DateTimeRule;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.LocalTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneOffset;
+import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test CompiledParser.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestCompiledParser {
+
+    private static final DateTimeFormatSymbols SYMBOLS = DateTimeFormatSymbols.DEFAULT;
+    private static final DateTimeRule[] RULES = {
+        YEAR, MONTH_OF_YEAR, DAY_OF_MONTH, HOUR_OF_DAY, MINUTE_OF_HOUR, SECOND_OF_MINUTE, NANO_OF_SECOND,
+    };
+
+    private static CompiledParser compile(DateTimeFormatter formatter) {
+        return CompiledParser.compile(formatter.toPrinterParser(false), SYMBOLS);
+    }
+
+    //-----------------------------------------------------------------------
+    // compile()
+    //-----------------------------------------------------------------------
+    @DataProvider(name="compiled")
+    Object[][] data_compiled() {
+        return new Object[][] {
+            {DateTimeFormatters.isoLocalDate(), true},
+            {DateTimeFormatters.isoOffsetDate(), true},
+            {DateTimeFormatters.isoLocalTime(), true},
+            {DateTimeFormatters.isoOffsetTime(), true},
+            {DateTimeFormatters.isoLocalDateTime(), true},
+            {DateTimeFormatters.isoOffsetDateTime(), true},
+            {DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss"), true},
+            {DateTimeFormatters.pattern("yyyyMMddHHmmss"), false},
+            {DateTimeFormatters.isoDate(), false},
+            {DateTimeFormatters.isoZonedDateTime(), false},
+            {DateTimeFormatters.isoOrdinalDate(), false},
+            {DateTimeFormatters.isoWeekDate(), false},
+            {DateTimeFormatters.rfc1123(), false},
+            {DateTimeFormatters.pattern("dd MMM yyyy", Locale.ENGLISH), false},
+            {DateTimeFormatters.pattern("d/M/yyyy"), false},
+            {new DateTimeFormatterBuilder().parseLenient().append(DateTimeFormatters.isoLocalDate()).toFormatter(), false},
+            {new DateTimeFormatterBuilder().appendValue(YEAR, 4).appendLiteral('-').appendValue(YEAR, 4).toFormatter(), false},
+            {new DateTimeFormatterBuilder().appendValue(HOUR_OF_DAY, 2)
+                    .optionalStart().parseCaseSensitive().appendLiteral('T').toFormatter(), false},
+        };
+    }
+
+    @Test(dataProvider="compiled")
+    public void test_compile(DateTimeFormatter formatter, boolean compiled) {
+        CompiledParser test = compile(formatter);
+        if (compiled) {
+            assertNotNull(test);
+        } else {
+            assertNull(test);
+        }
+    }
+
+    public void test_compile_nonStandardSymbols() {
+        CompositePrinterParser pp = DateTimeFormatters.isoLocalDate().toPrinterParser(false);
+        assertNull(CompiledParser.compile(pp, SYMBOLS.withZeroDigit('A')));
+        assertNull(CompiledParser.compile(pp, SYMBOLS.withDecimalSeparator(',')));
+    }
+
+    //-----------------------------------------------------------------------
+    // parse() matches the standard parsers
+    //-----------------------------------------------------------------------
+    private static List<DateTimeFormatter> formatters() {
+        List<DateTimeFormatter> list = new ArrayList<DateTimeFormatter>();
+        list.add(DateTimeFormatters.isoLocalDate());
+        list.add(DateTimeFormatters.isoOffsetDate());
+        list.add(DateTimeFormatters.isoLocalTime());
+        list.add(DateTimeFormatters.isoOffsetTime());
+        list.add(DateTimeFormatters.isoLocalDateTime());
+        list.add(DateTimeFormatters.isoOffsetDateTime());
+        list.add(DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss"));
+        list.add(DateTimeFormatters.pattern("yyyy-MM-dd'T'HH:mm:ssZZZ"));
+        for (String pattern : ZoneOffsetPrinterParser.PATTERNS) {
+            list.add(new DateTimeFormatterBuilder().appendOffset("Z", pattern).toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendValue(HOUR_OF_DAY, 2).appendOffset("", pattern).toFormatter());
+            list.add(new DateTimeFormatterBuilder().parseCaseInsensitive().appendOffset("UTC", pattern).toFormatter());
+        }
+        list.add(new DateTimeFormatterBuilder().appendValue(YEAR, 1, 10, SignStyle.EXCEEDS_PAD).toFormatter());
+        list.add(new DateTimeFormatterBuilder().appendValue(YEAR, 2, 4, SignStyle.EXCEEDS_PAD).appendLiteral('|').toFormatter());
+        list.add(new DateTimeFormatterBuilder().appendValue(HOUR_OF_DAY, 2).appendValue(MINUTE_OF_HOUR, 2).toFormatter());
+        for (int min = 0; min <= 4; min++) {
+            list.add(new DateTimeFormatterBuilder().appendValue(SECOND_OF_MINUTE, 2)
+                    .appendFraction(NANO_OF_SECOND, min, 4).toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendValue(SECOND_OF_MINUTE, 2)
+                    .appendFraction(NANO_OF_SECOND, min, 9).appendLiteral('Z').toFormatter());
+        }
+        list.add(new DateTimeFormatterBuilder().appendValue(NANO_OF_SECOND, 9).toFormatter());
+        list.add(new DateTimeFormatterBuilder().appendValue(DAY_OF_MONTH, 2)
+                .optionalStart().appendLiteral("-x").appendValue(MONTH_OF_YEAR, 2)
+                .optionalStart().appendLiteral('-').appendValue(YEAR, 4, 10, SignStyle.EXCEEDS_PAD).toFormatter());
+        return list;
+    }
+
+    private static Set<String> texts(DateTimeFormatter formatter) {
+        List<Calendrical> samples = new ArrayList<Calendrical>();
+        samples.add(OffsetDateTime.of(LocalDateTime.of(2008, 6, 30, 11, 30, 59, 123000000), ZoneOffset.ofHours(2)));
+        samples.add(OffsetDateTime.of(LocalDateTime.of(-12, 1, 2, 0, 0), ZoneOffset.UTC));
+        samples.add(OffsetDateTime.of(LocalDateTime.of(12345, 12, 31, 23, 5, 6, 7), ZoneOffset.ofHoursMinutesSeconds(-5, -30, -15)));
+        samples.add(OffsetDateTime.of(LocalDateTime.of(0, 3, 4, 9, 8, 0, 500000000), ZoneOffset.ofHoursMinutes(10, 30)));
+        Set<String> texts = new LinkedHashSet<String>();
+        for (Calendrical sample : samples) {
+            String text;
+            try {
+                text = formatter.print(sample);
+            } catch (CalendricalPrintException ex) {
+                continue;
+            }
+            texts.add(text);
+            texts.add(text + "0");
+            texts.add(text + ".");
+            for (int i = 0; i < text.length(); i++) {
+                texts.add(text.substring(0, i));
+                String before = text.substring(0, i);
+                String after = text.substring(i + 1);
+                for (char ch : new char[] {'x', '+', '-', '0', '9', ' ', '.', ':', 't', 'z', 'X'}) {
+                    texts.add(before + ch + after);
+                    texts.add(before + ch + text.substring(i));
+                }
+                texts.add(before + after);
+            }
+        }
+        texts.add("");
+        texts.add("utc");
+        texts.add("+18:00");
+        texts.add("+18:00:01");
+        texts.add("-0000");
+        texts.add("+00000");
+        texts.add("12.123X");
+        texts.add("12.12Z");
+        texts.add("12.");
+        texts.add("12.Z");
+        texts.add("99999999999");
+        texts.add("+9999999999");
+        return texts;
+    }
+
+    public void test_parse_matchesStandard() {
+        int compiledCount = 0;
+        for (DateTimeFormatter formatter : formatters()) {
+            CompositePrinterParser pp = formatter.toPrinterParser(false);
+            CompiledParser test = CompiledParser.compile(pp, SYMBOLS);
+            assertNotNull(test, formatter.toString());
+            DateTimeParseTarget target = new DateTimeParseTarget();
+            for (String text : texts(formatter)) {
+                String message = formatter + " '" + text + "'";
+                DateTimeParseContext context = new DateTimeParseContext(SYMBOLS);
+                int pos = pp.parse(context, text, 0);
+                boolean expected = (pos == text.length());
+                boolean parsed = test.parse(text, target);
+                if (parsed) {
+                    compiledCount++;
+                    assertEquals(expected, true, message);
+                    for (int i = 0; i < RULES.length; i++) {
+                        DateTimeField field = context.getParsed(RULES[i]);
+                        assertEquals(target.isParsed(i), field != null, message + " " + RULES[i]);
+                        if (field != null) {
+                            assertEquals((long) (i == DateTimeParseTarget.YEAR ? target.getYear() :
+                                i == DateTimeParseTarget.MONTH ? target.getMonthOfYear() :
+                                i == DateTimeParseTarget.DAY ? target.getDayOfMonth() :
+                                i == DateTimeParseTarget.HOUR ? target.getHourOfDay() :
+                                i == DateTimeParseTarget.MINUTE ? target.getMinuteOfHour() :
+                                i == DateTimeParseTarget.SECOND ? target.getSecondOfMinute() :
+                                target.getNanoOfSecond()), field.getValue(), message + " " + RULES[i]);
+                        }
+                    }
+                    ZoneOffset offset = context.getParsed(ZoneOffset.class);
+                    assertEquals(target.isOffsetParsed(), offset != null, message);
+                    if (offset != null) {
+                        assertEquals(target.getOffsetSeconds(), offset.getAmountSeconds(), message);
+                    }
+                } else {
+                    assertEquals(target.getParsedMask(), 0, message);
+                }
+            }
+        }
+        assertEquals(compiledCount > 1000, true);
+    }
+
+    public void test_parse_supportedWhereStandardSucceeds() {
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        assertEquals(compile(DateTimeFormatters.isoOffsetDateTime()).parse("2008-06-30T11:30:59.123+02:00", target), true);
+        assertEquals(target.toOffsetDateTime(), OffsetDateTime.of(LocalDateTime.of(2008, 6, 30, 11, 30, 59, 123000000), ZoneOffset.ofHours(2)));
+        assertEquals(compile(DateTimeFormatters.isoLocalDateTime()).parse("2008-06-30t11:30", target), true);
+        assertEquals(target.toLocalDateTime(), LocalDateTime.of(2008, 6, 30, 11, 30));
+        assertEquals(compile(DateTimeFormatters.isoLocalDate()).parse("+12345-06-30", target), true);
+        assertEquals(target.toLocalDate(), LocalDate.of(12345, 6, 30));
+        assertEquals(compile(DateTimeFormatters.isoLocalTime()).parse("11:30:05", target), true);
+        assertEquals(target.toLocalTime(), LocalTime.of(11, 30, 5));
+    }
+
+    public void test_parse_unsupportedFallsBack() {
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        CompiledParser test = compile(new DateTimeFormatterBuilder().appendValue(SECOND_OF_MINUTE, 2)
+                .appendFraction(NANO_OF_SECOND, 3, 9).appendLiteral('Z').toFormatter());
+        assertEquals(test.parse("12.12Z", target), false);  // standard parser accepts this
+        assertEquals(target.getParsedMask(), 0);
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import static javax.time.calendar.ISODateTimeRule.DAY_OF_MONTH;
+import static javax.time.calendar.ISODateTimeRule.HOUR_OF_DAY;
+import static javax.time.calendar.ISODateTimeRule.MILLI_OF_SECOND;
+import static javax.time.calendar.ISODateTimeRule.MONTH_OF_YEAR;
+import static javax.time.calendar.ISODateTimeRule.NANO_OF_SECOND;
+import static javax.time.calendar.ISODateTimeRule.YEAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.time.CalendricalException;
+import javax.time.calendar.Calendrical;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.LocalTime;
+import javax.time.calendar.OffsetDate;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.OffsetTime;
+import javax.time.calendar.Year;
+import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
+import javax.time.calendar.ZonedDateTime;
+import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test CompiledPrinter.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestCompiledPrinter {
+
+    private static final DateTimeFormatSymbols SYMBOLS = DateTimeFormatSymbols.DEFAULT;
+
+    private static CompiledPrinter compile(DateTimeFormatter formatter) {
+        return CompiledPrinter.compile(formatter.toPrinterParser(false), SYMBOLS);
+    }
+
+    //-----------------------------------------------------------------------
+    // compile()
+    //-----------------------------------------------------------------------
+    @DataProvider(name="compiled")
+    Object[][] data_compiled() {
+        return new Object[][] {
+            {DateTimeFormatters.isoLocalDate(), true},
+            {DateTimeFormatters.isoOffsetDate(), true},
+            {DateTimeFormatters.isoDate(), true},
+            {DateTimeFormatters.isoLocalTime(), true},
+            {DateTimeFormatters.isoOffsetTime(), true},
+            {DateTimeFormatters.isoTime(), true},
+            {DateTimeFormatters.isoLocalDateTime(), true},
+            {DateTimeFormatters.isoOffsetDateTime(), true},
+            {DateTimeFormatters.isoZonedDateTime(), true},
+            {DateTimeFormatters.isoDateTime(), true},
+            {DateTimeFormatters.isoOrdinalDate(), true},
+            {DateTimeFormatters.basicIsoDate(), true},
+            {DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss.SSS"), false},
+            {DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss"), true},
+            {DateTimeFormatters.isoWeekDate(), false},
+            {DateTimeFormatters.rfc1123(), false},
+            {DateTimeFormatters.pattern("dd MMM yyyy", Locale.ENGLISH), false},
+            {DateTimeFormatters.pattern("yy-MM-dd"), false},
+        };
+    }
+
+    @Test(dataProvider="compiled")
+    public void test_compile(DateTimeFormatter formatter, boolean compiled) {
+        CompiledPrinter test = compile(formatter);
+        if (compiled) {
+            assertNotNull(test);
+        } else {
+            assertNull(test);
+        }
+    }
+
+    public void test_compile_nonStandardSymbols() {
+        CompositePrinterParser pp = DateTimeFormatters.isoLocalDate().toPrinterParser(false);
+        assertNull(CompiledPrinter.compile(pp, SYMBOLS.withZeroDigit('A')));
+        assertNull(CompiledPrinter.compile(pp, SYMBOLS.withPositiveSign('P')));
+        assertNull(CompiledPrinter.compile(pp, SYMBOLS.withNegativeSign('M')));
+        assertNull(CompiledPrinter.compile(pp, SYMBOLS.withDecimalSeparator(',')));
+    }
+
+    //-----------------------------------------------------------------------
+    // print() matches the standard printers
+    //-----------------------------------------------------------------------
+    private static List<DateTimeFormatter> formatters() {
+        List<DateTimeFormatter> list = new ArrayList<DateTimeFormatter>();
+        list.add(DateTimeFormatters.isoLocalDate());
+        list.add(DateTimeFormatters.isoOffsetDate());
+        list.add(DateTimeFormatters.isoDate());
+        list.add(DateTimeFormatters.isoLocalTime());
+        list.add(DateTimeFormatters.isoOffsetTime());
+        list.add(DateTimeFormatters.isoTime());
+        list.add(DateTimeFormatters.isoLocalDateTime());
+        list.add(DateTimeFormatters.isoOffsetDateTime());
+        list.add(DateTimeFormatters.isoZonedDateTime());
+        list.add(DateTimeFormatters.isoDateTime());
+        list.add(DateTimeFormatters.isoOrdinalDate());
+        list.add(DateTimeFormatters.basicIsoDate());
+        list.add(DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss"));
+        list.add(DateTimeFormatters.pattern("yyyyMMddHHmmssZZZ"));
+        for (String pattern : ZoneOffsetPrinterParser.PATTERNS) {
+            list.add(new DateTimeFormatterBuilder().appendOffset("Z", pattern).toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendOffset("", pattern).appendLiteral('|').toFormatter());
+        }
+        for (SignStyle signStyle : SignStyle.values()) {
+            list.add(new DateTimeFormatterBuilder().appendValue(YEAR, 1, 10, signStyle).toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendValue(YEAR, 4, 10, signStyle).toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendValue(YEAR, 2, 4, signStyle).toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendValue(YEAR, 2, 4, signStyle).optionalStart().appendLiteral('?').toFormatter());
+            list.add(new DateTimeFormatterBuilder().appendLiteral('<').optionalStart().appendValue(YEAR, 2, 4, signStyle).toFormatter());
+        }
+        for (int min = 0; min <= 9; min++) {
+            for (int max = Math.max(min, 1); max <= 9; max++) {
+                list.add(new DateTimeFormatterBuilder().appendFraction(NANO_OF_SECOND, min, max).appendLiteral('|').toFormatter());
+            }
+        }
+        list.add(new DateTimeFormatterBuilder().appendValue(NANO_OF_SECOND, 9).toFormatter());
+        list.add(new DateTimeFormatterBuilder().appendValue(HOUR_OF_DAY).appendLiteral("T")
+                .optionalStart().appendValue(MONTH_OF_YEAR).optionalStart().appendValue(DAY_OF_MONTH, 3).toFormatter());
+        list.add(new DateTimeFormatterBuilder().appendValue(DAY_OF_MONTH, 1)
+                .optionalStart().appendLiteral('-').appendZoneId().toFormatter());
+        return list;
+    }
+
+    private static List<Calendrical> calendricals() {
+        List<Calendrical> list = new ArrayList<Calendrical>();
+        ZoneOffset[] offsets = {
+            ZoneOffset.UTC, ZoneOffset.ofHours(2), ZoneOffset.ofHoursMinutes(-5, -30),
+            ZoneOffset.ofHoursMinutesSeconds(1, 2, 3), ZoneOffset.ofHoursMinutesSeconds(-11, 0, -15),
+        };
+        LocalDate[] dates = {
+            LocalDate.of(2008, 6, 30), LocalDate.of(1, 1, 1), LocalDate.of(0, 12, 31),
+            LocalDate.of(-1, 3, 4), LocalDate.of(-12345, 5, 6), LocalDate.of(12345, 7, 8),
+            LocalDate.of(Year.MAX_YEAR, 12, 31), LocalDate.of(Year.MIN_YEAR, 1, 1),
+        };
+        LocalTime[] times = {
+            LocalTime.MIDNIGHT, LocalTime.of(11, 30, 59, 1), LocalTime.of(23, 5, 0, 500000000),
+            LocalTime.of(9, 0, 7, 123456000), LocalTime.of(12, 0, 0, 100), LocalTime.of(1, 2, 3, 999999999),
+        };
+        for (LocalDate date : dates) {
+            list.add(date);
+            for (ZoneOffset offset : offsets) {
+                list.add(OffsetDate.of(date, offset));
+            }
+        }
+        for (LocalTime time : times) {
+            list.add(time);
+            for (ZoneOffset offset : offsets) {
+                list.add(OffsetTime.of(time, offset));
+            }
+        }
+        for (LocalDate date : dates) {
+            for (LocalTime time : times) {
+                LocalDateTime dt = LocalDateTime.of(date, time);
+                list.add(dt);
+                for (ZoneOffset offset : offsets) {
+                    OffsetDateTime odt = OffsetDateTime.of(dt, offset);
+                    list.add(odt);
+                    list.add(ZonedDateTime.of(odt, ZoneId.of(offset)));
+                }
+            }
+        }
+        list.add(ZonedDateTime.of(LocalDateTime.of(2008, 6, 30, 11, 30), ZoneId.of("Europe/Paris")));
+        list.add(Year.of(2008));
+        return list;
+    }
+
+    public void test_print_matchesStandard() {
+        List<Calendrical> calendricals = calendricals();
+        for (DateTimeFormatter formatter : formatters()) {
+            CompositePrinterParser pp = formatter.toPrinterParser(false);
+            CompiledPrinter test = CompiledPrinter.compile(pp, SYMBOLS);
+            assertNotNull(test, formatter.toString());
+            for (Calendrical calendrical : calendricals) {
+                String expected;
+                try {
+                    StringBuilder buf = new StringBuilder();
+                    pp.print(new DateTimePrintContext(calendrical, SYMBOLS), buf);
+                    expected = buf.toString();
+                } catch (CalendricalException ex) {
+                    expected = null;
+                }
+                String message = formatter + " " + calendrical;
+                StringBuilder buf = new StringBuilder("ABC");
+                boolean printed = test.print(calendrical, buf);
+                if (expected == null) {
+                    assertEquals(printed, false, message);
+                    assertEquals(buf.toString(), "ABC", message);
+                    assertEquals(test.print(calendrical, new char[64], 0, 64), CompiledPrinter.UNSUPPORTED, message);
+                    assertEquals(test.print(calendrical, new char[1], 0, 1), CompiledPrinter.UNSUPPORTED, message);
+                } else if (printed) {
+                    assertEquals(buf.toString(), "ABC" + expected, message);
+                    char[] array = new char[expected.length() + 2];
+                    assertEquals(test.print(calendrical, array, 1, array.length - 1), expected.length() + 1, message);
+                    assertEquals(new String(array, 1, expected.length()), expected, message);
+                    if (expected.length() > 0) {
+                        assertEquals(test.print(calendrical, array, 1, expected.length()), CompiledPrinter.OVERFLOW, message);
+                    }
+                } else {
+                    assertEquals(calendrical instanceof Year, true, message);
+                }
+            }
+        }
+    }
+
+    public void test_print_milliOfSecond_notCompiled() {
+        DateTimeFormatter f = new DateTimeFormatterBuilder().appendValue(MILLI_OF_SECOND, 3).toFormatter();
+        assertNull(compile(f));
+    }
+
+}
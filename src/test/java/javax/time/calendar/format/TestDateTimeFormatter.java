@@ -36,6 +36,9 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
@@ -47,7 +50,10 @@ import javax.time.CalendricalException;
 import javax.time.calendar.Calendrical;
 import javax.time.calendar.CalendricalNormalizer;
 import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
 import javax.time.calendar.LocalTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneOffset;
 import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
 
 import org.testng.annotations.BeforeMethod;
@@ -218,6 +224,108 @@ public class TestDateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    public void test_print_CalendricalCharArray() throws Exception {
+        DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
+        char[] array = "XXXXXXXX".toCharArray();
+        assertEquals(test.print(LocalDate.of(2008, 6, 30), array, 2), 7);
+        assertEquals(new String(array), "XXONE30X");
+    }
+
+    public void test_print_CalendricalCharArray_iso() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoLocalDateTime();
+        char[] array = new char[30];
+        int end = test.print(LocalDateTime.of(2008, 6, 30, 11, 30, 5, 500000000), array, 1);
+        assertEquals(new String(array, 1, end - 1), "2008-06-30T11:30:05.5");
+    }
+
+    public void test_print_CalendricalCharArray_notCompiled() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.pattern("dd MMM yyyy", Locale.ENGLISH);
+        char[] array = new char[11];
+        assertEquals(test.print(LocalDate.of(2008, 6, 30), array, 0), 11);
+        assertEquals(new String(array), "30 Jun 2008");
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_print_CalendricalCharArray_tooSmall() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoLocalDate();
+        test.print(LocalDate.of(2008, 6, 30), new char[12], 3);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_print_CalendricalCharArray_tooSmall_notCompiled() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.pattern("dd MMM yyyy", Locale.ENGLISH);
+        test.print(LocalDate.of(2008, 6, 30), new char[10], 0);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_print_CalendricalCharArray_badOffset() throws Exception {
+        DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
+        test.print(LocalDate.of(2008, 6, 30), new char[10], 11);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_print_CalendricalCharArray_noSuchField() throws Exception {
+        DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
+        test.print(LocalTime.of(11, 30), new char[10], 0);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_print_CalendricalCharArray_nullArray() throws Exception {
+        DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
+        test.print(LocalDate.of(2008, 6, 30), (char[]) null, 0);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_print_CalendricalCharBuffer() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoLocalDate();
+        CharBuffer buffer = CharBuffer.allocate(20);
+        buffer.put('X');
+        test.print(LocalDate.of(2008, 6, 30), buffer);
+        assertEquals(buffer.position(), 11);
+        buffer.flip();
+        assertEquals(buffer.toString(), "X2008-06-30");
+    }
+
+    public void test_print_CalendricalCharBuffer_slice() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoLocalDate();
+        CharBuffer base = CharBuffer.wrap(new char[20]);
+        base.position(5);
+        CharBuffer buffer = base.slice();
+        test.print(LocalDate.of(2008, 6, 30), buffer);
+        assertEquals(buffer.position(), 10);
+        assertEquals(new String(base.array(), 5, 10), "2008-06-30");
+    }
+
+    public void test_print_CalendricalCharBuffer_direct() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoLocalDate();
+        CharBuffer buffer = ByteBuffer.allocateDirect(40).asCharBuffer();
+        assertEquals(buffer.hasArray(), false);
+        test.print(LocalDate.of(2008, 6, 30), buffer);
+        assertEquals(buffer.position(), 10);
+        buffer.flip();
+        assertEquals(buffer.toString(), "2008-06-30");
+    }
+
+    @Test(expectedExceptions=BufferOverflowException.class)
+    public void test_print_CalendricalCharBuffer_tooSmall() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoLocalDate();
+        CharBuffer buffer = CharBuffer.allocate(20);
+        buffer.limit(9);
+        try {
+            test.print(LocalDate.of(2008, 6, 30), buffer);
+        } catch (BufferOverflowException ex) {
+            assertEquals(buffer.position(), 0);
+            throw ex;
+        }
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_print_CalendricalCharBuffer_nullBuffer() throws Exception {
+        DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
+        test.print(LocalDate.of(2008, 6, 30), (CharBuffer) null);
+    }
+
     //-----------------------------------------------------------------------
     public void test_parse_String() throws Exception {
         DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
@@ -286,6 +394,66 @@ public class TestDateTimeFormatter {
         test.parse("ONE30");
     }
 
+    //-----------------------------------------------------------------------
+    public void test_parse_CharSequenceTarget_compiled() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.isoOffsetDateTime();
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        test.parse("2008-06-30T11:30:59.5+02:00", target);
+        OffsetDateTime expected = OffsetDateTime.of(LocalDateTime.of(2008, 6, 30, 11, 30, 59, 500000000), ZoneOffset.ofHours(2));
+        assertEquals(target.toOffsetDateTime(), expected);
+        assertEquals(target.toInstant(), expected.toInstant());
+    }
+
+    public void test_parse_CharSequenceTarget_reuse() throws Exception {
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        DateTimeFormatters.isoOffsetDateTime().parse("2008-06-30T11:30+02:00", target);
+        DateTimeFormatters.isoLocalDate().parse(new StringBuilder("2009-07-01"), target);
+        assertEquals(target.toLocalDate(), LocalDate.of(2009, 7, 1));
+        assertEquals(target.isTimeParsed(), false);
+        assertEquals(target.isOffsetParsed(), false);
+    }
+
+    public void test_parse_CharSequenceTarget_notCompiled() throws Exception {
+        DateTimeFormatter test = DateTimeFormatters.pattern("d MMM yyyy HH:mm", Locale.ENGLISH);
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        test.parse("30 Jun 2008 11:30", target);
+        assertEquals(target.toLocalDateTime(), LocalDateTime.of(2008, 6, 30, 11, 30));
+        assertEquals(target.isOffsetParsed(), false);
+    }
+
+    public void test_parse_CharSequenceTarget_zone() throws Exception {
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        DateTimeFormatters.isoZonedDateTime().parse("2008-06-30T11:30+02:00[Europe/Paris]", target);
+        assertEquals(target.toOffsetDateTime(), OffsetDateTime.of(LocalDateTime.of(2008, 6, 30, 11, 30), ZoneOffset.ofHours(2)));
+    }
+
+    @Test(expectedExceptions=CalendricalParseException.class)
+    public void test_parse_CharSequenceTarget_parseError() throws Exception {
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        try {
+            DateTimeFormatters.isoLocalDate().parse("2008-06-XX", target);
+        } catch (CalendricalParseException ex) {
+            assertEquals(ex.getErrorIndex(), 8);
+            assertEquals(target.isDateParsed(), false);
+            throw ex;
+        }
+    }
+
+    @Test(expectedExceptions=CalendricalParseException.class)
+    public void test_parse_CharSequenceTarget_parseIncomplete() throws Exception {
+        DateTimeFormatters.isoLocalDate().parse("2008-06-30X", new DateTimeParseTarget());
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_CharSequenceTarget_nullText() throws Exception {
+        DateTimeFormatters.isoLocalDate().parse((CharSequence) null, new DateTimeParseTarget());
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_CharSequenceTarget_nullTarget() throws Exception {
+        DateTimeFormatters.isoLocalDate().parse("2008-06-30", (DateTimeParseTarget) null);
+    }
+
     //-----------------------------------------------------------------------
     public void test_parse_StringParsePosition() throws Exception {
         DateTimeFormatter test = new DateTimeFormatter(Locale.ENGLISH, compPP);
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test DateTimeFormatterCache.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestDateTimeFormatterCache {
+
+    public void test_get_hitAndMiss() {
+        DateTimeFormatterCache test = new DateTimeFormatterCache(4);
+        DateTimeFormatter first = test.get("d MMM yyyy", Locale.UK);
+        assertEquals(first.toString(), "Value(DayOfMonth)' 'Text(MonthOfYear,SHORT)' 'Value(Year,4,19,EXCEEDS_PAD)");
+        assertEquals(first.getLocale(), Locale.UK);
+        assertSame(test.get("d MMM yyyy", Locale.UK), first);
+        assertEquals(test.get("d MMM yyyy", Locale.FRANCE).getLocale(), Locale.FRANCE);
+        assertEquals(test.size(), 2);
+        assertEquals(test.getHitCount(), 1);
+        assertEquals(test.getMissCount(), 2);
+        assertEquals(test.getEvictionCount(), 0);
+        assertEquals(test.toString(), "DateTimeFormatterCache[size=2,maximumSize=4,hits=1,misses=2,evictions=0]");
+    }
+
+    public void test_get_evictsLeastRecentlyUsed() {
+        DateTimeFormatterCache test = new DateTimeFormatterCache(2);
+        DateTimeFormatter a = test.get("yyyy", Locale.UK);
+        DateTimeFormatter b = test.get("MM", Locale.UK);
+        assertSame(test.get("yyyy", Locale.UK), a);  // b is now least recently used
+        test.get("dd", Locale.UK);
+        assertEquals(test.size(), 2);
+        assertEquals(test.getEvictionCount(), 1);
+        assertSame(test.get("yyyy", Locale.UK), a);
+        assertTrue(test.get("MM", Locale.UK) != b);
+        assertEquals(test.getEvictionCount(), 2);
+    }
+
+    public void test_clear() {
+        DateTimeFormatterCache test = new DateTimeFormatterCache(2);
+        DateTimeFormatter a = test.get("yyyy", Locale.UK);
+        test.clear();
+        assertEquals(test.size(), 0);
+        assertTrue(test.get("yyyy", Locale.UK) != a);
+        assertEquals(test.getMissCount(), 2);
+    }
+
+    public void test_get_invalidPatternNotCached() {
+        DateTimeFormatterCache test = new DateTimeFormatterCache(2);
+        try {
+            test.get("p", Locale.UK);
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        assertEquals(test.size(), 0);
+        assertEquals(test.getMissCount(), 1);
+    }
+
+    public void test_get_concurrent() throws Exception {
+        final DateTimeFormatterCache test = new DateTimeFormatterCache(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 2000; i++) {
+                            String pattern = "yyyy'" + (i % 12) + "'";
+                            DateTimeFormatter formatter = test.get(pattern, Locale.UK);
+                            if (formatter.toString().endsWith("'" + (i % 12) + "'") == false) {
+                                throw new IllegalStateException(formatter.toString());
+                            }
+                        }
+                    } catch (Throwable ex) {
+                        failure.set(ex);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(failure.get(), null);
+        assertTrue(test.size() <= 8);
+        assertEquals(test.getHitCount() + test.getMissCount(), 4 * 2000);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_constructor_invalidSize() {
+        new DateTimeFormatterCache(0);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullPattern() {
+        new DateTimeFormatterCache(2).get(null, Locale.UK);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullLocale() {
+        new DateTimeFormatterCache(2).get("yyyy", null);
+    }
+
+}
@@ -143,6 +143,17 @@ public class TestDateTimeFormatters {
         DateTimeFormatters.pattern("yyyy", null);
     }
 
+    public void test_pattern_cached() {
+        DateTimeFormatterCache cache = DateTimeFormatters.patternCache();
+        DateTimeFormatter first = DateTimeFormatters.pattern("yyyy-MM-dd'cached'", Locale.UK);
+        long hits = cache.getHitCount();
+        DateTimeFormatter second = DateTimeFormatters.pattern("yyyy-MM-dd'cached'", Locale.UK);
+        assertTrue(first == second);
+        assertEquals(cache.getHitCount(), hits + 1);
+        assertEquals(cache.getMaximumSize(), 256);
+        assertTrue(DateTimeFormatters.pattern("yyyy-MM-dd'cached'", Locale.FRANCE) != first);
+    }
+
     //-----------------------------------------------------------------------
     //-----------------------------------------------------------------------
     //-----------------------------------------------------------------------
@@ -35,11 +35,14 @@ import static javax.time.calendar.ISODateTimeRule.DAY_OF_MONTH;
 import static javax.time.calendar.ISODateTimeRule.MONTH_OF_YEAR;
 import static javax.time.calendar.ISODateTimeRule.YEAR;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import java.util.List;
 import java.util.Locale;
 
 import javax.time.calendar.Calendrical;
+import javax.time.calendar.DateTimeField;
 import javax.time.calendar.DateTimeRule;
 import javax.time.calendar.LocalDate;
 import javax.time.calendar.ZoneId;
@@ -123,6 +126,184 @@ public class TestDateTimeParseContext {
         assertEquals(context.getParsed().get(1), LocalDate.of(2010, 6, 30));
     }
 
+    public void test_getParsed_modifyList_setRemoveInsert() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        List<Calendrical> list = context.getParsed();
+        assertEquals(list.set(0, LocalDate.of(2010, 6, 30)), YEAR.field(2008L));
+        assertEquals(context.getParsed(YEAR), null);
+        assertEquals(context.getParsed(LocalDate.class), LocalDate.of(2010, 6, 30));
+        list.add(1, DAY_OF_MONTH.field(3));
+        assertEquals(context.getParsed().size(), 3);
+        assertEquals(context.getParsed().get(1), DAY_OF_MONTH.field(3));
+        assertEquals(context.getParsed().get(2), MONTH_OF_YEAR.field(6));
+        assertEquals(list.remove(0), LocalDate.of(2010, 6, 30));
+        assertEquals(context.getParsed().size(), 2);
+        assertEquals(context.getParsed(DAY_OF_MONTH), DAY_OF_MONTH.field(3));
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_getParsed_list_get_outOfRange() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.getParsed().get(1);
+    }
+
+    public void test_getParsed_Class_field() throws Exception {
+        context.setParsed(ZoneOffset.ofHours(1));
+        context.setParsedField(YEAR, 2008);
+        assertEquals(context.getParsed(DateTimeField.class), YEAR.field(2008L));
+        assertEquals(context.getParsed(Calendrical.class), ZoneOffset.ofHours(1));
+        assertEquals(context.getParsed(ZoneOffset.class), ZoneOffset.ofHours(1));
+    }
+
+    public void test_getParsed_first() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.setParsedField(YEAR, 2009);
+        assertEquals(context.getParsed(YEAR), YEAR.field(2008L));
+    }
+
+    public void test_setParsedField_manyFields() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            context.setParsedField(YEAR, i);
+        }
+        assertEquals(context.getParsed().size(), 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(context.getParsed().get(i), YEAR.field(i));
+        }
+    }
+
+    //-------------------------------------------------------------------------
+    public void test_optional_successful() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.endOptional(true);
+        assertEquals(context.getParsed().size(), 2);
+        assertEquals(context.getParsed(MONTH_OF_YEAR), MONTH_OF_YEAR.field(6));
+    }
+
+    public void test_optional_unsuccessful() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.setParsed(ZoneOffset.ofHours(1));
+        context.endOptional(false);
+        assertEquals(context.getParsed().size(), 1);
+        assertEquals(context.getParsed(MONTH_OF_YEAR), null);
+        assertEquals(context.getParsed(ZoneOffset.class), null);
+        context.setParsedField(DAY_OF_MONTH, 3);
+        assertEquals(context.getParsed().size(), 2);
+        assertEquals(context.getParsed().get(1), DAY_OF_MONTH.field(3));
+    }
+
+    public void test_optional_nested() throws Exception {
+        context.startOptional();
+        context.setParsedField(YEAR, 2008);
+        for (int i = 0; i < 40; i++) {
+            context.startOptional();
+            context.setParsedField(MONTH_OF_YEAR, i);
+        }
+        for (int i = 0; i < 40; i++) {
+            context.endOptional(i % 2 == 0);
+        }
+        context.endOptional(true);
+        // the outermost failure discards all inner data
+        assertEquals(context.getParsed().size(), 1);
+        assertEquals(context.getParsed().get(0), YEAR.field(2008L));
+    }
+
+    public void test_optional_nested_innerFails() throws Exception {
+        context.startOptional();
+        context.setParsedField(YEAR, 2008);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.endOptional(false);
+        context.setParsedField(DAY_OF_MONTH, 3);
+        context.endOptional(true);
+        assertEquals(context.getParsed().size(), 2);
+        assertEquals(context.getParsed().get(0), YEAR.field(2008L));
+        assertEquals(context.getParsed().get(1), DAY_OF_MONTH.field(3));
+    }
+
+    public void test_optional_unsuccessful_modifyList() throws Exception {
+        context.setParsedField(YEAR, 2011);
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.startOptional();
+        context.getParsed().remove(0);
+        context.endOptional(false);
+        assertEquals(context.getParsed().size(), 2);
+        assertEquals(context.getParsed().get(0), YEAR.field(2011));
+        assertEquals(context.getParsed().get(1), MONTH_OF_YEAR.field(6));
+    }
+
+    public void test_optional_unsuccessful_modifyList_setRemoveAdd() throws Exception {
+        context.setParsedField(YEAR, 2011);
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.startOptional();
+        context.setParsedField(DAY_OF_MONTH, 3);
+        context.startOptional();
+        List<Calendrical> list = context.getParsed();
+        list.set(0, ZoneOffset.ofHours(1));
+        list.remove(1);
+        list.add(0, YEAR.field(2012));
+        context.endOptional(false);
+        assertEquals(context.getParsed().size(), 3);
+        assertEquals(context.getParsed().get(0), YEAR.field(2011));
+        assertEquals(context.getParsed().get(1), MONTH_OF_YEAR.field(6));
+        assertEquals(context.getParsed().get(2), DAY_OF_MONTH.field(3));
+        list.remove(2);
+        list.set(1, MONTH_OF_YEAR.field(7));
+        context.endOptional(false);
+        assertEquals(context.getParsed().size(), 2);
+        assertEquals(context.getParsed().get(0), YEAR.field(2011));
+        assertEquals(context.getParsed().get(1), MONTH_OF_YEAR.field(6));
+    }
+
+    public void test_optional_successful_modifyList() throws Exception {
+        context.setParsedField(YEAR, 2011);
+        context.startOptional();
+        context.getParsed().set(0, YEAR.field(2012));
+        context.endOptional(true);
+        assertEquals(context.getParsed().size(), 1);
+        assertEquals(context.getParsed().get(0), YEAR.field(2012));
+    }
+
+    //-------------------------------------------------------------------------
+    public void test_acquire_reused() throws Exception {
+        DateTimeParseContext first = DateTimeParseContext.acquire(symbols);
+        first.setParsedField(YEAR, 2008);
+        first.setStrict(false);
+        first.setCaseSensitive(false);
+        first.startOptional();
+        first.release();
+        DateTimeFormatSymbols other = DateTimeFormatSymbols.of(Locale.FRENCH);
+        DateTimeParseContext second = DateTimeParseContext.acquire(other);
+        assertSame(second, first);
+        assertEquals(second.getParsed().size(), 0);
+        assertEquals(second.getSymbols(), other);
+        assertEquals(second.isStrict(), true);
+        assertEquals(second.isCaseSensitive(), true);
+        second.release();
+    }
+
+    public void test_release_clearsData() throws Exception {
+        DateTimeParseContext context = DateTimeParseContext.acquire(symbols);
+        context.setParsed(LocalDate.of(2010, 6, 30));
+        context.release();
+        assertEquals(context.getParsed().size(), 0);
+        assertEquals(context.getSymbols(), null);
+    }
+
+    public void test_acquire_inUse() throws Exception {
+        DateTimeParseContext first = DateTimeParseContext.acquire(symbols);
+        first.setParsedField(YEAR, 2008);
+        DateTimeParseContext second = DateTimeParseContext.acquire(symbols);
+        assertNotSame(second, first);
+        assertEquals(first.getParsed().size(), 1);
+        second.release();
+        first.release();
+    }
+
     //-------------------------------------------------------------------------
     public void test_setParsed() throws Exception {
         context.setParsed(LocalDate.of(2010, 6, 30));
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.format;
+
+import static org.testng.Assert.assertEquals;
+
+import javax.time.CalendricalException;
+import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.LocalTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneOffset;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test DateTimeParseTarget.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestDateTimeParseTarget {
+
+    private static DateTimeParseTarget target(LocalDateTime dateTime, ZoneOffset offset) {
+        DateTimeParseTarget target = new DateTimeParseTarget();
+        target.setDate(dateTime.toLocalDate());
+        target.setTime(dateTime.toLocalTime());
+        target.set(DateTimeParseTarget.OFFSET, offset.getAmountSeconds());
+        return target;
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_constructor() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        assertEquals(test.isDateParsed(), false);
+        assertEquals(test.isTimeParsed(), false);
+        assertEquals(test.isOffsetParsed(), false);
+        assertEquals(test.getYear(), 0);
+        assertEquals(test.getOffsetSeconds(), 0);
+        assertEquals(test.toString(), "{}");
+    }
+
+    public void test_getters() {
+        DateTimeParseTarget test = target(LocalDateTime.of(2008, 6, 30, 11, 30, 59, 500), ZoneOffset.ofHours(2));
+        assertEquals(test.isDateParsed(), true);
+        assertEquals(test.isTimeParsed(), true);
+        assertEquals(test.isOffsetParsed(), true);
+        assertEquals(test.getYear(), 2008);
+        assertEquals(test.getMonthOfYear(), 6);
+        assertEquals(test.getDayOfMonth(), 30);
+        assertEquals(test.getHourOfDay(), 11);
+        assertEquals(test.getMinuteOfHour(), 30);
+        assertEquals(test.getSecondOfMinute(), 59);
+        assertEquals(test.getNanoOfSecond(), 500);
+        assertEquals(test.getOffsetSeconds(), 7200);
+        assertEquals(test.toString(), "{Year=2008, MonthOfYear=6, DayOfMonth=30, HourOfDay=11, " +
+                "MinuteOfHour=30, SecondOfMinute=59, NanoOfSecond=500, OffsetSeconds=7200}");
+    }
+
+    public void test_clear() {
+        DateTimeParseTarget test = target(LocalDateTime.of(2008, 6, 30, 11, 30), ZoneOffset.ofHours(2));
+        test.clear();
+        assertEquals(test.isDateParsed(), false);
+        assertEquals(test.isTimeParsed(), false);
+        assertEquals(test.isOffsetParsed(), false);
+        assertEquals(test.getYear(), 0);
+        assertEquals(test.getHourOfDay(), 0);
+        assertEquals(test.toString(), "{}");
+    }
+
+    public void test_isTimeParsed_hourMinuteOnly() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        test.set(DateTimeParseTarget.HOUR, 11);
+        assertEquals(test.isTimeParsed(), false);
+        test.set(DateTimeParseTarget.MINUTE, 30);
+        assertEquals(test.isTimeParsed(), true);
+        assertEquals(test.toLocalTime(), LocalTime.of(11, 30));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toCalendricals() {
+        LocalDateTime ldt = LocalDateTime.of(2008, 6, 30, 11, 30, 59, 500);
+        DateTimeParseTarget test = target(ldt, ZoneOffset.ofHours(2));
+        assertEquals(test.toLocalDate(), ldt.toLocalDate());
+        assertEquals(test.toLocalTime(), ldt.toLocalTime());
+        assertEquals(test.toLocalDateTime(), ldt);
+        assertEquals(test.toOffsetDateTime(), OffsetDateTime.of(ldt, ZoneOffset.ofHours(2)));
+    }
+
+    @DataProvider(name="instants")
+    Object[][] data_instants() {
+        return new Object[][] {
+            {LocalDateTime.of(1970, 1, 1, 0, 0), ZoneOffset.UTC},
+            {LocalDateTime.of(2008, 6, 30, 11, 30, 59, 500), ZoneOffset.ofHours(2)},
+            {LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999999), ZoneOffset.ofHoursMinutesSeconds(-5, -30, -15)},
+            {LocalDateTime.of(-1004, 2, 29, 12, 0), ZoneOffset.ofHours(18)},
+            {LocalDateTime.of(99999, 12, 31, 23, 59, 59, 1), ZoneOffset.ofHours(-18)},
+        };
+    }
+
+    @Test(dataProvider="instants")
+    public void test_toInstant(LocalDateTime ldt, ZoneOffset offset) {
+        DateTimeParseTarget test = target(ldt, offset);
+        assertEquals(test.toInstant(), OffsetDateTime.of(ldt, offset).toInstant());
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_toLocalDate_notParsed() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        test.setTime(LocalTime.of(11, 30));
+        test.toLocalDate();
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_toLocalDate_invalid() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        test.set(DateTimeParseTarget.YEAR, 2007);
+        test.set(DateTimeParseTarget.MONTH, 2);
+        test.set(DateTimeParseTarget.DAY, 29);
+        test.toLocalDate();
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_toLocalTime_notParsed() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        test.setDate(LocalDate.of(2008, 6, 30));
+        test.toLocalTime();
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_toOffsetDateTime_offsetNotParsed() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        test.setDate(LocalDate.of(2008, 6, 30));
+        test.setTime(LocalTime.of(11, 30));
+        test.toOffsetDateTime();
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_toInstant_offsetNotParsed() {
+        DateTimeParseTarget test = new DateTimeParseTarget();
+        test.setDate(LocalDate.of(2008, 6, 30));
+        test.setTime(LocalTime.of(11, 30));
+        test.toInstant();
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_toInstant_invalidTime() {
+        DateTimeParseTarget test = target(LocalDateTime.of(2008, 6, 30, 11, 30), ZoneOffset.UTC);
+        test.set(DateTimeParseTarget.HOUR, 24);
+        test.toInstant();
+    }
+
+}
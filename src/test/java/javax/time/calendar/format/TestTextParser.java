@@ -31,16 +31,23 @@
  */
 package javax.time.calendar.format;
 
+import static javax.time.calendar.ISODateTimeRule.AMPM_OF_DAY;
 import static javax.time.calendar.ISODateTimeRule.DAY_OF_MONTH;
 import static javax.time.calendar.ISODateTimeRule.DAY_OF_WEEK;
 import static javax.time.calendar.ISODateTimeRule.MONTH_OF_YEAR;
+import static javax.time.calendar.ISODateTimeRule.QUARTER_OF_YEAR;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map.Entry;
 
 import javax.time.calendar.DateTimeField;
 import javax.time.calendar.DateTimeRule;
+import javax.time.calendar.format.DateTimeFormatterBuilder.SignStyle;
 import javax.time.calendar.format.DateTimeFormatterBuilder.TextStyle;
 
 import org.testng.annotations.DataProvider;
@@ -328,6 +335,93 @@ public class TestTextParser extends AbstractTestPrinterParser {
         assertParsed(parseContext, MONTH_OF_YEAR, 1);
     }
 
+    //-----------------------------------------------------------------------
+    public void test_parse_localeChange() throws Exception {
+        TextPrinterParser pp = new TextPrinterParser(MONTH_OF_YEAR, TextStyle.FULL);
+        assertEquals(pp.parse(parseContext, "janvier", 0), ~0);
+        parseContext.setSymbols(DateTimeFormatSymbols.of(Locale.FRENCH));
+        assertEquals(pp.parse(parseContext, "janvier", 0), 7);
+        assertParsed(parseContext, MONTH_OF_YEAR, 1);
+        parseContext.setSymbols(DateTimeFormatSymbols.of(Locale.ENGLISH));
+        assertEquals(pp.parse(parseContext, "janvier", 0), ~0);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="matchLinear")
+    Object[][] data_matchLinear() {
+        List<Object[]> data = new ArrayList<Object[]>();
+        Locale[] locales = {Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN, Locale.JAPANESE, new Locale("ru"), new Locale("ka")};
+        DateTimeRule[] rules = {MONTH_OF_YEAR, DAY_OF_WEEK, AMPM_OF_DAY, QUARTER_OF_YEAR, DAY_OF_MONTH};
+        for (Locale locale : locales) {
+            for (DateTimeRule rule : rules) {
+                for (TextStyle style : TextStyle.values()) {
+                    data.add(new Object[] {locale, rule, style});
+                }
+            }
+        }
+        return data.toArray(new Object[data.size()][]);
+    }
+
+    @Test(dataProvider="matchLinear")
+    public void test_parse_matchesLinearScan(Locale locale, DateTimeRule rule, TextStyle style) throws Exception {
+        List<String> inputs = new ArrayList<String>();
+        inputs.add("");
+        inputs.add("1");
+        inputs.add("Xx");
+        Iterator<Entry<String, DateTimeField>> it = new SimpleDateTimeTextProvider().getTextIterator(rule, null, locale);
+        while (it != null && it.hasNext()) {
+            String text = it.next().getKey();
+            for (int i = 0; i <= text.length(); i++) {
+                String prefix = text.substring(0, i);
+                inputs.add(prefix);
+                inputs.add(prefix.toUpperCase(locale));
+                inputs.add(prefix.toLowerCase(locale));
+            }
+            inputs.add(text + "Xx");
+        }
+        DateTimeFormatSymbols symbols = DateTimeFormatSymbols.of(locale);
+        TextPrinterParser pp = new TextPrinterParser(rule, style);
+        for (int i = 0; i < 4; i++) {
+            boolean strict = (i < 2);
+            boolean caseSensitive = (i % 2 == 0);
+            for (String input : inputs) {
+                DateTimeParseContext expectedContext = new DateTimeParseContext(symbols);
+                expectedContext.setStrict(strict);
+                expectedContext.setCaseSensitive(caseSensitive);
+                DateTimeParseContext actualContext = new DateTimeParseContext(symbols);
+                actualContext.setStrict(strict);
+                actualContext.setCaseSensitive(caseSensitive);
+                int expectedPos = parseLinear(rule, style, expectedContext, "-" + input, 1);
+                int actualPos = pp.parse(actualContext, "-" + input, 1);
+                String msg = locale + " " + rule + " " + style + " " + strict + " " + caseSensitive + " '" + input + "'";
+                assertEquals(actualPos, expectedPos, msg);
+                assertEquals(actualContext.getParsed(rule), expectedContext.getParsed(rule), msg);
+            }
+        }
+    }
+
+    /**
+     * Parses by scanning the text provider entries in order.
+     */
+    private int parseLinear(DateTimeRule rule, TextStyle style, DateTimeParseContext context, CharSequence parseText, int position) {
+        TextStyle parseStyle = (context.isStrict() ? style : null);
+        Iterator<Entry<String, DateTimeField>> it = new SimpleDateTimeTextProvider().getTextIterator(rule, parseStyle, context.getLocale());
+        if (it != null) {
+            while (it.hasNext()) {
+                Entry<String, DateTimeField> entry = it.next();
+                String text = entry.getKey();
+                if (FormatUtils.regionMatches(!context.isCaseSensitive(), text, 0, parseText, position, text.length())) {
+                    context.setParsed(entry.getValue());
+                    return position + text.length();
+                }
+            }
+            if (context.isStrict()) {
+                return ~position;
+            }
+        }
+        return new NumberPrinterParser(rule, 1, 19, SignStyle.NORMAL).parse(context, parseText, position);
+    }
+
     private void assertParsed(DateTimeParseContext context, DateTimeRule rule, Number value) {
         if (value == null) {
             assertEquals(context.getParsed(rule), null);
@@ -32,13 +32,20 @@
 package javax.time.calendar.format;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
 import javax.time.calendar.format.DateTimeFormatterBuilder.TextStyle;
+import javax.time.calendar.zone.ZoneRules;
+import javax.time.calendar.zone.ZoneRulesDataProvider;
 import javax.time.calendar.zone.ZoneRulesGroup;
+import javax.time.calendar.zone.ZoneRulesVersion;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -107,6 +114,64 @@ public class TestZoneIdParser extends AbstractTestPrinterParser {
         assertParsed(null);
     }
 
+    public void test_parse_longestCompleteMatch() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser();
+        int result = pp.parse(parseContext, "OTHEREtc/GMT+1XOTHER", 5);
+        assertEquals(result, 5 + 9);
+        assertParsed(ZoneId.of("Etc/GMT+1"));
+    }
+
+    public void test_parse_longestCompleteMatch_longer() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser();
+        int result = pp.parse(parseContext, "OTHEREtc/GMT+12OTHER", 5);
+        assertEquals(result, 5 + 10);
+        assertParsed(ZoneId.of("Etc/GMT+12"));
+    }
+
+    public void test_parse_sameInstance() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser();
+        pp.parse(parseContext, AMERICA_DENVER, 0);
+        ZoneId first = parseContext.getParsed(ZoneId.class);
+        setUp();
+        pp.parse(parseContext, AMERICA_DENVER, 0);
+        assertSame(parseContext.getParsed(ZoneId.class), first);
+    }
+
+    public void test_parse_registeredAfterFirstParse() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser();
+        assertEquals(pp.parse(parseContext, "PARSEMOCK:Somewhere", 0), ~0);
+        ZoneRulesGroup.registerProvider(new MockParseProvider());
+        int result = pp.parse(parseContext, "PARSEMOCK:Somewhere", 0);
+        assertEquals(result, 19);
+        assertParsed(ZoneId.of("PARSEMOCK:Somewhere"));
+    }
+
+    static class MockParseProvider implements ZoneRulesDataProvider {
+        public String getGroupID() {
+            return "PARSEMOCK";
+        }
+        public Set<ZoneRulesVersion> getVersions() {
+            ZoneRulesVersion version = new ZoneRulesVersion() {
+                public String getVersionID() {
+                    return "v1";
+                }
+                public boolean isRegionID(String regionID) {
+                    return regionID.equals("Somewhere");
+                }
+                public Set<String> getRegionIDs() {
+                    return new HashSet<String>(Arrays.asList("Somewhere"));
+                }
+                public ZoneRules getZoneRules(String regionID) {
+                    return ZoneRules.ofFixed(ZoneOffset.ofHours(3));
+                }
+            };
+            return new HashSet<ZoneRulesVersion>(Arrays.asList(version));
+        }
+        public Set<String> getRegionIDs() {
+            return new HashSet<String>(Arrays.asList("Somewhere"));
+        }
+    }
+
     //-----------------------------------------------------------------------
     @DataProvider(name="zones")
     Object[][] populateTestData() {
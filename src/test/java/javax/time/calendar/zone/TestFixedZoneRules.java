@@ -109,6 +109,7 @@ public class TestFixedZoneRules {
         FixedZoneRules test = new FixedZoneRules(OFFSET_PONE);
         assertEquals(test.getDaylightSavings(INSTANT), Period.ZERO);
         assertEquals(test.getOffset(INSTANT), OFFSET_PONE);
+        assertEquals(test.getOffset(INSTANT.getEpochSecond()), OFFSET_PONE);
         assertEquals(test.getOffsetInfo(LDT), new ZoneOffsetInfo(LDT, OFFSET_PONE, null));
         assertEquals(test.getOffsetInfo(INSTANT), new ZoneOffsetInfo(LDT, OFFSET_PONE, null));
         assertEquals(test.getStandardOffset(INSTANT), OFFSET_PONE);
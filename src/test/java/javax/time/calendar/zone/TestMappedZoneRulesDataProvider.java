@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.time.CalendricalException;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test MappedZoneRulesDataProvider.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestMappedZoneRulesDataProvider {
+
+    private File file;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        file = File.createTempFile("ZoneRules", ".dat");
+        file.deleteOnExit();
+        InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("javax/time/calendar/zone/ZoneRules.dat");
+        OutputStream out = new FileOutputStream(file);
+        try {
+            byte[] bytes = new byte[8192];
+            int len;
+            while ((len = in.read(bytes)) > 0) {
+                out.write(bytes, 0, len);
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+    }
+
+    private File writeFile(byte[] bytes) throws Exception {
+        File badFile = File.createTempFile("ZoneRules", ".dat");
+        badFile.deleteOnExit();
+        OutputStream out = new FileOutputStream(badFile);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+        return badFile;
+    }
+
+    //-----------------------------------------------------------------------
+    // of()
+    //-----------------------------------------------------------------------
+    public void test_of() {
+        MappedZoneRulesDataProvider test = MappedZoneRulesDataProvider.of(file);
+        assertEquals(test.getGroupID(), "TZDB");
+        assertEquals(test.getRegionIDs().contains("Europe/London"), true);
+        assertEquals(test.getRegionIDs(), ZoneRulesGroup.getGroup("TZDB").getRegionIDs(ZoneRulesGroup.getGroup("TZDB").getLatestVersionID()));
+    }
+
+    public void test_of_versions() {
+        MappedZoneRulesDataProvider test = MappedZoneRulesDataProvider.of(file);
+        Set<String> versionIDs = new HashSet<String>();
+        for (ZoneRulesVersion version : test.getVersions()) {
+            versionIDs.add(version.getVersionID());
+        }
+        assertEquals(versionIDs.equals(ZoneRulesGroup.getGroup("TZDB").getAvailableVersionIDs()), true);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_of_null() {
+        MappedZoneRulesDataProvider.of(null);
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_of_missingFile() {
+        MappedZoneRulesDataProvider.of(new File(file.getPath() + ".missing"));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_of_badFormat() throws Exception {
+        MappedZoneRulesDataProvider.of(writeFile(new byte[] {2, 0, 4, 'T', 'Z', 'D', 'B'}));
+    }
+
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_of_truncated() throws Exception {
+        MappedZoneRulesDataProvider.of(writeFile(new byte[] {1, 0, 4, 'T', 'Z'}));
+    }
+
+    //-----------------------------------------------------------------------
+    // getZoneRules()
+    //-----------------------------------------------------------------------
+    public void test_getZoneRules_matchesResource() {
+        MappedZoneRulesDataProvider test = MappedZoneRulesDataProvider.of(file);
+        ZoneRulesGroup group = ZoneRulesGroup.getGroup("TZDB");
+        for (ZoneRulesVersion version : test.getVersions()) {
+            if (version.getVersionID().startsWith("2010") == false) {
+                continue;  // limit test time
+            }
+            for (String regionID : version.getRegionIDs()) {
+                ZoneRules rules = version.getZoneRules(regionID);
+                assertEquals(rules, group.getRules(regionID, version.getVersionID()), regionID + '#' + version.getVersionID());
+            }
+        }
+    }
+
+    public void test_getZoneRules_cached() {
+        MappedZoneRulesDataProvider test = MappedZoneRulesDataProvider.of(file);
+        ZoneRulesVersion version = test.getVersions().iterator().next();
+        ZoneRules rules = version.getZoneRules("Europe/Paris");
+        assertSame(version.getZoneRules("Europe/Paris"), rules);
+    }
+
+    public void test_getZoneRules_unknownRegion() {
+        MappedZoneRulesDataProvider test = MappedZoneRulesDataProvider.of(file);
+        ZoneRulesVersion version = test.getVersions().iterator().next();
+        assertEquals(version.isRegionID("Europe/Lon"), false);
+        assertNull(version.getZoneRules("Europe/Lon"));
+    }
+
+    //-----------------------------------------------------------------------
+    // toString()
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        MappedZoneRulesDataProvider test = MappedZoneRulesDataProvider.of(file);
+        assertEquals(test.toString().startsWith("TZDB:#"), true);
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2011, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.calendar.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import javax.time.Instant;
+import javax.time.calendar.IllegalCalendarFieldValueException;
+import javax.time.calendar.LocalDateTime;
+import javax.time.calendar.OffsetDateTime;
+import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test PrecomputedZoneRules.
+ *
+ * @author Stephen Colebourne
+ */
+@Test
+public class TestPrecomputedZoneRules {
+
+    private static final ZoneOffset OFFSET_ZERO = ZoneOffset.ofHours(0);
+    private static final ZoneOffset OFFSET_PONE = ZoneOffset.ofHours(1);
+
+    private static ZoneRules rules(String regionID) {
+        return ZoneId.of(regionID + "#2009b").getRules();
+    }
+
+    //-----------------------------------------------------------------------
+    // Basics
+    //-----------------------------------------------------------------------
+    public void test_interfaces() {
+        assertTrue(Serializable.class.isAssignableFrom(PrecomputedZoneRules.class));
+    }
+
+    public void test_serialization() throws Exception {
+        ZoneRules test = rules("Europe/London").withPrecomputedTransitions(1970, 2100);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        out.writeObject(test);
+        baos.close();
+        byte[] bytes = baos.toByteArray();
+        
+        ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
+        ObjectInputStream in = new ObjectInputStream(bais);
+        ZoneRules result = (ZoneRules) in.readObject();
+        
+        assertEquals(result, test);
+        assertEquals(result.getOffset(OffsetDateTime.ofMidnight(2008, 6, 1, ZoneOffset.UTC)), OFFSET_PONE);
+    }
+
+    //-----------------------------------------------------------------------
+    // withPrecomputedTransitions()
+    //-----------------------------------------------------------------------
+    public void test_withPrecomputedTransitions() {
+        ZoneRules base = rules("Europe/London");
+        PrecomputedZoneRules test = (PrecomputedZoneRules) base.withPrecomputedTransitions(1970, 2100);
+        assertEquals(test.getStartYear(), 1970);
+        assertEquals(test.getEndYear(), 2100);
+    }
+
+    public void test_withPrecomputedTransitions_rerange() {
+        ZoneRules base = rules("Europe/London");
+        PrecomputedZoneRules test = (PrecomputedZoneRules) base.withPrecomputedTransitions(1970, 2100);
+        PrecomputedZoneRules rerange = (PrecomputedZoneRules) test.withPrecomputedTransitions(2000, 2010);
+        assertEquals(rerange.getStartYear(), 2000);
+        assertEquals(rerange.getEndYear(), 2010);
+        assertEquals(rerange, base.withPrecomputedTransitions(2000, 2010));
+    }
+
+    public void test_withPrecomputedTransitions_fixed() {
+        ZoneRules base = ZoneRules.ofFixed(OFFSET_PONE);
+        assertSame(base.withPrecomputedTransitions(1970, 2100), base);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_withPrecomputedTransitions_endBeforeStart() {
+        rules("Europe/London").withPrecomputedTransitions(2000, 1999);
+    }
+
+    @Test(expectedExceptions=IllegalCalendarFieldValueException.class)
+    public void test_withPrecomputedTransitions_invalidYear() {
+        rules("Europe/London").withPrecomputedTransitions(Integer.MIN_VALUE, 2000);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_withPrecomputedTransitions_fixed_endBeforeStart() {
+        ZoneRules.ofFixed(OFFSET_PONE).withPrecomputedTransitions(2000, 1999);
+    }
+
+    //-----------------------------------------------------------------------
+    // queries
+    //-----------------------------------------------------------------------
+    @DataProvider(name="regions")
+    Object[][] data_regions() {
+        return new Object[][] {
+            {"Europe/London"},
+            {"Europe/Paris"},
+            {"America/New_York"},
+            {"America/St_Johns"},
+            {"Asia/Kathmandu"},
+            {"Australia/Lord_Howe"},
+            {"Pacific/Apia"},
+        };
+    }
+
+    @Test(dataProvider="regions")
+    public void test_getOffset_matchesRules(String regionID) {
+        ZoneRules base = rules(regionID);
+        ZoneRules test = base.withPrecomputedTransitions(1970, 2100);
+        long start = OffsetDateTime.ofMidnight(1965, 1, 1, ZoneOffset.UTC).toEpochSecond();
+        long end = OffsetDateTime.ofMidnight(2105, 1, 1, ZoneOffset.UTC).toEpochSecond();
+        for (long epochSec = start; epochSec < end; epochSec += 3 * 3600 + 1799) {
+            assertEquals(test.getOffset(epochSec), base.getOffset(epochSec));
+            assertEquals(test.getOffset(Instant.ofEpochSecond(epochSec)), base.getOffset(epochSec));
+        }
+    }
+
+    @Test(dataProvider="regions")
+    public void test_getOffsetInfo_matchesRules(String regionID) {
+        ZoneRules base = rules(regionID);
+        ZoneRules test = base.withPrecomputedTransitions(1970, 2100);
+        LocalDateTime start = LocalDateTime.ofMidnight(1965, 1, 1);
+        LocalDateTime end = LocalDateTime.ofMidnight(2105, 1, 1);
+        for (LocalDateTime dt = start; dt.isBefore(end); dt = dt.plusSeconds(3 * 3600 + 1799)) {
+            assertEquals(test.getOffsetInfo(dt), base.getOffsetInfo(dt));
+        }
+    }
+
+    @Test(dataProvider="regions")
+    public void test_transitions_matchRules(String regionID) {
+        ZoneRules base = rules(regionID);
+        ZoneRules test = base.withPrecomputedTransitions(1970, 2100);
+        ZoneOffsetTransition trans = base.nextTransition(OffsetDateTime.ofMidnight(1969, 1, 1, ZoneOffset.UTC));
+        while (trans != null && trans.getDateTimeBefore().getYear() < 2102) {
+            long epochSec = trans.getInstant().getEpochSecond();
+            for (long sec = epochSec - 1; sec <= epochSec + 1; sec++) {
+                assertEquals(test.getOffset(sec), base.getOffset(sec));
+            }
+            for (LocalDateTime dt : new LocalDateTime[] {
+                    trans.getDateTimeBefore().toLocalDateTime(), trans.getDateTimeAfter().toLocalDateTime()}) {
+                assertEquals(test.getOffsetInfo(dt.minusNanos(1)), base.getOffsetInfo(dt.minusNanos(1)));
+                assertEquals(test.getOffsetInfo(dt), base.getOffsetInfo(dt));
+                assertEquals(test.getOffsetInfo(dt.plusNanos(1)), base.getOffsetInfo(dt.plusNanos(1)));
+            }
+            trans = base.nextTransition(trans.getInstant());
+        }
+    }
+
+    public void test_London_getOffsetInfo_gap() {
+        ZoneRules test = rules("Europe/London").withPrecomputedTransitions(1970, 2100);
+        ZoneOffsetInfo info = test.getOffsetInfo(LocalDateTime.of(2008, 3, 30, 1, 0, 0, 0));
+        assertEquals(info.isTransition(), true);
+        assertEquals(info.getTransition().isGap(), true);
+        assertEquals(info.getTransition().getOffsetBefore(), OFFSET_ZERO);
+        assertEquals(info.getTransition().getOffsetAfter(), OFFSET_PONE);
+    }
+
+    public void test_London_getOffsetInfo_overlap() {
+        ZoneRules test = rules("Europe/London").withPrecomputedTransitions(1970, 2100);
+        ZoneOffsetInfo info = test.getOffsetInfo(LocalDateTime.of(2008, 10, 26, 1, 0, 0, 0));
+        assertEquals(info.isTransition(), true);
+        assertEquals(info.getTransition().isOverlap(), true);
+        assertEquals(info.getTransition().getOffsetBefore(), OFFSET_PONE);
+        assertEquals(info.getTransition().getOffsetAfter(), OFFSET_ZERO);
+    }
+
+    public void test_delegates() {
+        ZoneRules base = rules("Europe/London");
+        ZoneRules test = base.withPrecomputedTransitions(1970, 2100);
+        Instant instant = OffsetDateTime.ofMidnight(2008, 6, 1, ZoneOffset.UTC).toInstant();
+        assertEquals(test.getStandardOffset(instant), base.getStandardOffset(instant));
+        assertEquals(test.nextTransition(instant), base.nextTransition(instant));
+        assertEquals(test.previousTransition(instant), base.previousTransition(instant));
+        assertEquals(test.getTransitions(), base.getTransitions());
+        assertEquals(test.getTransitionRules(), base.getTransitionRules());
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        ZoneRules test1 = rules("Europe/London").withPrecomputedTransitions(1970, 2100);
+        ZoneRules test1b = rules("Europe/London").withPrecomputedTransitions(1970, 2100);
+        ZoneRules test2 = rules("Europe/London").withPrecomputedTransitions(1980, 2100);
+        ZoneRules test3 = rules("Europe/Paris").withPrecomputedTransitions(1970, 2100);
+        assertEquals(test1.equals(test1), true);
+        assertEquals(test1.equals(test1b), true);
+        assertEquals(test1.equals(test2), false);
+        assertEquals(test1.equals(test3), false);
+        assertEquals(test1.equals(rules("Europe/London")), false);
+        assertEquals(test1.equals(null), false);
+        assertEquals(test1.hashCode() == test1b.hashCode(), true);
+    }
+
+    public void test_toString() {
+        ZoneRules test = rules("Europe/London").withPrecomputedTransitions(1970, 2100);
+        assertTrue(test.toString().startsWith("PrecomputedZoneRules[1970-2100,"));
+        assertFalse(test.toString().endsWith(","));
+    }
+
+}
@@ -45,6 +45,7 @@ import java.lang.reflect.Modifier;
 import java.util.Iterator;
 import java.util.List;
 
+import javax.time.Instant;
 import javax.time.calendar.DayOfWeek;
 import javax.time.calendar.LocalDate;
 import javax.time.calendar.LocalDateTime;
@@ -957,6 +958,55 @@ public class TestStandardZoneRules {
 
     //-----------------------------------------------------------------------
     // equals() / hashCode()
+    //-----------------------------------------------------------------------
+    // getOffset(long)
+    //-----------------------------------------------------------------------
+    public void test_getOffset_epochSecond_London_toDST() {
+        StandardZoneRules test = europeLondon();
+        long cutover = OffsetDateTime.of(2008, 3, 30, 1, 0, ZoneOffset.UTC).toEpochSecond();
+        assertEquals(test.getOffset(cutover - 1), OFFSET_ZERO);
+        assertEquals(test.getOffset(cutover), OFFSET_PONE);
+    }
+
+    public void test_getOffset_epochSecond_London_fromDST() {
+        StandardZoneRules test = europeLondon();
+        long cutover = OffsetDateTime.of(2008, 10, 26, 1, 0, ZoneOffset.UTC).toEpochSecond();
+        assertEquals(test.getOffset(cutover - 1), OFFSET_PONE);
+        assertEquals(test.getOffset(cutover), OFFSET_ZERO);
+    }
+
+    public void test_getOffset_epochSecond_matchesInstant() {
+        StandardZoneRules[] rules = {europeLondon(), europeParis(), americaNewYork(), asiaKathmandu()};
+        long start = OffsetDateTime.ofMidnight(1800, 1, 1, ZoneOffset.UTC).toEpochSecond();
+        long end = OffsetDateTime.ofMidnight(2200, 1, 1, ZoneOffset.UTC).toEpochSecond();
+        for (StandardZoneRules test : rules) {
+            for (long epochSec = start; epochSec < end; epochSec += 86400 * 3 + 3599) {
+                Instant instant = Instant.ofEpochSecond(epochSec);
+                assertEquals(test.getOffset(epochSec), test.getOffset(instant));
+            }
+        }
+    }
+
+    public void test_getOffset_epochSecond_transitionRules() {
+        StandardZoneRules test = europeLondon();
+        for (int year = 2000; year < 2150; year++) {
+            for (ZoneOffsetTransition trans : createTransitions(test, year)) {
+                long epochSec = trans.getInstant().getEpochSecond();
+                assertEquals(test.getOffset(epochSec - 1), trans.getOffsetBefore());
+                assertEquals(test.getOffset(epochSec), trans.getOffsetAfter());
+            }
+        }
+    }
+
+    private ZoneOffsetTransition[] createTransitions(StandardZoneRules test, int year) {
+        List<ZoneOffsetTransitionRule> rules = test.getTransitionRules();
+        ZoneOffsetTransition[] transitions = new ZoneOffsetTransition[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            transitions[i] = rules.get(i).createTransition(year);
+        }
+        return transitions;
+    }
+
     //-----------------------------------------------------------------------
     public void test_equals() {
         StandardZoneRules test1 = europeLondon();
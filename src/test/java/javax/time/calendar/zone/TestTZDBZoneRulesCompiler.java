@@ -33,22 +33,40 @@ package javax.time.calendar.zone;
 
 import static org.testng.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarFile;
 
 import javax.time.calendar.DayOfWeek;
 import javax.time.calendar.LocalDate;
+import javax.time.calendar.LocalDateTime;
 import javax.time.calendar.LocalTime;
 import javax.time.calendar.MonthOfYear;
 import javax.time.calendar.Year;
+import javax.time.calendar.ZoneId;
+import javax.time.calendar.ZoneOffset;
 import javax.time.calendar.zone.TZDBZoneRulesCompiler.LeapSecondRule;
 import javax.time.calendar.zone.TZDBZoneRulesCompiler.TZDBMonthDayTime;
 import javax.time.calendar.zone.TZDBZoneRulesCompiler.TZDBRule;
 import javax.time.calendar.zone.ZoneRulesBuilder.TimeDefinition;
 
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 /**
@@ -436,4 +454,151 @@ public class TestTZDBZoneRulesCompiler {
         }
     }
 
+    //-----------------------------------------------------------------------
+    // outputTZData()
+    //-----------------------------------------------------------------------
+    @DataProvider(name="formats")
+    Object[][] data_formats() {
+        return new Object[][] {{1}, {2}};
+    }
+
+    @Test(dataProvider="formats")
+    public void test_outputTZData_roundTrip(int format) throws Exception {
+        ZoneRules london = ZoneId.of("Europe/London").getRules();
+        ZoneRules paris = ZoneId.of("Europe/Paris").getRules();
+        ZoneRules fixed = ZoneRules.ofFixed(ZoneOffset.ofHours(1));
+        ZoneRules precomputed = ZoneId.of("America/New_York").getRules().withPrecomputedTransitions(1970, 2020);
+        ZoneRules delta1 = new ZoneRulesBuilder()
+            .addWindow(ZoneOffset.ofHours(1), LocalDateTime.of(1950, 1, 1, 1, 0), TimeDefinition.WALL)
+            .addWindowForever(ZoneOffset.ofHours(2)).toRules("Test/Delta");
+        ZoneRules delta2 = new ZoneRulesBuilder()
+            .addWindow(ZoneOffset.ofHours(1), LocalDateTime.of(1950, 1, 1, 1, 0), TimeDefinition.WALL)
+            .addWindow(ZoneOffset.ofHours(2), LocalDateTime.of(1980, 1, 1, 1, 0), TimeDefinition.WALL)
+            .addWindowForever(ZoneOffset.ofHoursMinutes(1, 30)).toRules("Test/Delta");
+        
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        SortedMap<String, ZoneRules> version1 = new TreeMap<String, ZoneRules>();
+        version1.put("Europe/London", london);
+        version1.put("Europe/Paris", paris);
+        version1.put("Test/Delta", delta1);
+        version1.put("Test/Fixed", fixed);
+        version1.put("Test/Removed", london);
+        allBuiltZones.put("2010a", version1);
+        SortedMap<String, ZoneRules> version2 = new TreeMap<String, ZoneRules>();
+        version2.put("Europe/London", london);
+        version2.put("Europe/Paris", london);
+        version2.put("Test/Added", precomputed);
+        version2.put("Test/Delta", delta2);
+        version2.put("Test/Fixed", fixed);
+        allBuiltZones.put("2010b", version2);
+        Set<String> allRegionIds = new TreeSet<String>();
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
+        for (SortedMap<String, ZoneRules> builtZones : allBuiltZones.values()) {
+            allRegionIds.addAll(builtZones.keySet());
+            allRules.addAll(builtZones.values());
+        }
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        TZDBZoneRulesCompiler.outputTZData(out, allBuiltZones, allRegionIds, allRules, format);
+        out.close();
+        byte[] bytes = baos.toByteArray();
+        assertEquals(bytes[0], format);
+        
+        ResourceZoneRulesDataProvider provider = new ResourceZoneRulesDataProvider(new ByteArrayInputStream(bytes));
+        assertEquals(provider.getGroupID(), "TZDB");
+        assertEquals(provider.getRegionIDs().equals(allRegionIds), true);
+        assertEquals(provider.getVersions().size(), 2);
+        for (ZoneRulesVersion version : provider.getVersions()) {
+            SortedMap<String, ZoneRules> builtZones = allBuiltZones.get(version.getVersionID());
+            assertEquals(version.getRegionIDs().equals(builtZones.keySet()), true);
+            for (String regionId : builtZones.keySet()) {
+                assertEquals(version.getZoneRules(regionId), builtZones.get(regionId));
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // process()
+    //-----------------------------------------------------------------------
+    public void test_process_cachesUnchangedVersion() throws Exception {
+        File baseDir = File.createTempFile("tzdb", "");
+        baseDir.delete();
+        File srcDir = new File(baseDir, "2010c");
+        srcDir.mkdirs();
+        try {
+            write(new File(srcDir, "testzones"), "Zone\tTest/Zone\t1:00\t-\tTST\nLink\tTest/Zone\tTest/Alias\n");
+            write(new File(srcDir, "leapseconds"), "Leap\t1972\tJun\t30\t23:59:60\t+\tS\n");
+            File jarFile = new File(baseDir, "jsr-310-TZDB-2010c.jar");
+            File allFile = new File(baseDir, "jsr-310-TZDB-all.jar");
+            
+            process(srcDir, baseDir, true);
+            assertEquals(jarFile.exists(), true);
+            assertEquals(new File(baseDir, "jsr-310-TZDB-2010c.hash").exists(), true);
+            assertEquals(regionIds(allFile).equals(new HashSet<String>(Arrays.asList("Test/Zone", "Test/Alias"))), true);
+            
+            // unchanged, so not output again
+            jarFile.setLastModified(1000000000000L);
+            allFile.delete();
+            process(srcDir, baseDir, true);
+            assertEquals(jarFile.lastModified(), 1000000000000L);
+            assertEquals(regionIds(allFile).equals(new HashSet<String>(Arrays.asList("Test/Zone", "Test/Alias"))), true);
+            
+            // cache disabled
+            process(srcDir, baseDir, false);
+            assertEquals(jarFile.lastModified() != 1000000000000L, true);
+            
+            // changed
+            jarFile.setLastModified(1000000000000L);
+            write(new File(srcDir, "testzones"), "Zone\tTest/Zone\t2:00\t-\tTST\n");
+            process(srcDir, baseDir, true);
+            assertEquals(jarFile.lastModified() != 1000000000000L, true);
+            assertEquals(regionIds(allFile).equals(Collections.singleton("Test/Zone")), true);
+        } finally {
+            for (File file : srcDir.listFiles()) {
+                file.delete();
+            }
+            srcDir.delete();
+            for (File file : baseDir.listFiles()) {
+                file.delete();
+            }
+            baseDir.delete();
+        }
+    }
+
+    private void write(File file, String text) throws Exception {
+        FileWriter out = new FileWriter(file);
+        out.write(text);
+        out.close();
+    }
+
+    private Set<String> regionIds(File jarFile) throws Exception {
+        JarFile jar = new JarFile(jarFile);
+        try {
+            return new ResourceZoneRulesDataProvider(jar.getInputStream(jar.getEntry("javax/time/calendar/zone/ZoneRules.dat"))).getRegionIDs();
+        } finally {
+            jar.close();
+        }
+    }
+
+    static final Method PROCESS;
+    static {
+        try {
+            PROCESS = TZDBZoneRulesCompiler.class.getDeclaredMethod("process", List.class, List.class, File.class, Boolean.TYPE, Boolean.TYPE);
+            PROCESS.setAccessible(true);
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+    private void process(File srcDir, File dstDir, boolean useCache) throws Exception {
+        try {
+            PROCESS.invoke(null, Arrays.asList(srcDir), Arrays.asList("testzones"), dstDir, useCache, false);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() != null) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
 }
@@ -38,6 +38,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.time.CalendricalException;
 import javax.time.calendar.DayOfWeek;
@@ -132,9 +133,11 @@ public class TestZoneRulesGroup {
         for (ZoneRulesGroup group : pre) {
             assertEquals(group.getID().equals("TEMPMOCK.-_"), false);
         }
+        int generation = ZoneRulesGroup.getGeneration();
         
         ZoneRulesGroup.registerProvider(new MockTempProvider());
         
+        assertEquals(ZoneRulesGroup.getGeneration() == generation, false);
         for (ZoneRulesGroup group : pre) {
             assertEquals(group.getID().equals("TEMPMOCK.-_"), false);
         }
@@ -221,6 +224,108 @@ public class TestZoneRulesGroup {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions=CalendricalException.class)
+    public void test_registerProvider_duplicateVersion_nothingRegistered() {
+        int generation = ZoneRulesGroup.getGeneration();
+        try {
+            ZoneRulesGroup.registerProvider(new MockVersionProvider("DUPMOCK", "v1", "v1"));
+        } finally {
+            assertEquals(ZoneRulesGroup.isValidGroupID("DUPMOCK"), false);
+            assertEquals(ZoneRulesGroup.getParsableIDs().contains("DUPMOCK:Place"), false);
+            assertEquals(ZoneRulesGroup.getGeneration(), generation);
+        }
+    }
+
+    public void test_registerProvider_concurrent() throws Exception {
+        final int count = 50;
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int base = t * count;
+            writers[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < count; i++) {
+                            ZoneRulesGroup.registerProvider(new MockVersionProvider("CONCMOCK", "v" + (base + i)));
+                        }
+                    } catch (Throwable ex) {
+                        failure.set(ex);
+                    }
+                }
+            };
+        }
+        Thread reader = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    while (failure.get() == null) {
+                        if (ZoneRulesGroup.isValidGroupID("CONCMOCK")) {
+                            // a visible group always has its versions and IDs
+                            ZoneRulesGroup group = ZoneRulesGroup.getGroup("CONCMOCK");
+                            String versionID = group.getLatestVersionID();
+                            assertEquals(group.isValidRules("Place", versionID), true);
+                            assertEquals(ZoneRulesGroup.getParsableIDs().contains("CONCMOCK:Place"), true);
+                            if (group.getAvailableVersionIDs().size() == writers.length * count) {
+                                return;
+                            }
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.set(ex);
+                }
+            }
+        };
+        int generation = ZoneRulesGroup.getGeneration();
+        reader.start();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        reader.join();
+        assertEquals(failure.get(), null);
+        assertEquals(ZoneRulesGroup.getGroup("CONCMOCK").getAvailableVersionIDs().size(), writers.length * count);
+        assertEquals(ZoneRulesGroup.getGeneration(), generation + writers.length * count);
+    }
+
+    static class MockVersionProvider implements ZoneRulesDataProvider {
+        private final String groupID;
+        private final String[] versionIDs;
+        MockVersionProvider(String groupID, String... versionIDs) {
+            this.groupID = groupID;
+            this.versionIDs = versionIDs;
+        }
+        public String getGroupID() {
+            return groupID;
+        }
+        public Set<ZoneRulesVersion> getVersions() {
+            Set<ZoneRulesVersion> versions = new HashSet<ZoneRulesVersion>();
+            for (final String versionID : versionIDs) {
+                versions.add(new ZoneRulesVersion() {
+                    public String getVersionID() {
+                        return versionID;
+                    }
+                    public boolean isRegionID(String regionID) {
+                        return regionID.equals("Place");
+                    }
+                    public Set<String> getRegionIDs() {
+                        return Collections.singleton("Place");
+                    }
+                    public ZoneRules getZoneRules(String regionID) {
+                        return ZoneRules.ofFixed(ZoneOffset.ofHours(1));
+                    }
+                });
+            }
+            return versions;
+        }
+        public Set<String> getRegionIDs() {
+            return Collections.singleton("Place");
+        }
+    }
+
     //-----------------------------------------------------------------------
     // isValidRules()
     //-----------------------------------------------------------------------